@@ -0,0 +1,23 @@
+#!/usr/bin/env bash
+# Run all benchmarks with GC profiler and write the JMH JSON results to baseline/<version>/.
+set -euo pipefail
+
+VERSION="${1:?usage: run-baseline.sh <version>}"
+OUTPUT="baseline/${VERSION}"
+JAR="target/benchmarks.jar"
+
+cd "$(dirname "$0")"
+mkdir -p "${OUTPUT}"
+[ -f "${JAR}" ] || mvn -B -q package
+
+java -jar "${JAR}" GridBenchmark -prof gc -rf json -rff "${OUTPUT}/grid.json"
+java -jar "${JAR}" CubeBenchmark -prof gc -rf json -rff "${OUTPUT}/cube.json"
+java -jar "${JAR}" PackBenchmark -prof gc -rf json -rff "${OUTPUT}/pack.json"
+for threads in 1 4 8; do
+	java -jar "${JAR}" ReaderBenchmark -t "${threads}" -prof gc -rf json -rff "${OUTPUT}/reader-t${threads}.json"
+done
+for parallelism in 1 2 4 8; do
+	java -jar "${JAR}" CubeBenchmark.readTYX -prof gc \
+		-jvmArgsAppend "-Djava.util.concurrent.ForkJoinPool.common.parallelism=${parallelism}" \
+		-rf json -rff "${OUTPUT}/cube-parallelism-${parallelism}.json"
+done
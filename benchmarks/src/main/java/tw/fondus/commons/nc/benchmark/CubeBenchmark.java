@@ -0,0 +1,85 @@
+package tw.fondus.commons.nc.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tw.fondus.commons.nc.NetCDFReader;
+import tw.fondus.commons.nc.util.NetCDFUtils;
+import tw.fondus.commons.nc.vo.index.IndexTYX;
+import ucar.ma2.Array;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The benchmarks of the Time-Y-X three-dimension cube hot paths in NetCDF tools.
+ *
+ * @author Brad Chen
+ * @since 1.3.0
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.MINUTES )
+@Warmup( iterations = 2, time = 5 )
+@Measurement( iterations = 5, time = 5 )
+@Fork( value = 1, jvmArgsAppend = { "-Xms4g", "-Xmx16g" } )
+public class CubeBenchmark {
+	@Param( { "500", "1000" } )
+	public int size;
+
+	@Param( { "1", "24", "144" } )
+	public int times;
+
+	private Array cube;
+	private List<List<BigDecimal>> tyxValues;
+	private BigDecimal scale;
+	private BigDecimal offset;
+	private BigDecimal missing;
+
+	@Setup( Level.Trial )
+	public void setUp() throws IOException {
+		Path path = SyntheticGrids.create( this.times, this.size, this.size );
+		try ( NetCDFReader reader = NetCDFReader.read( path ) ) {
+			this.cube = reader.getNetCDF().findVariable( SyntheticGrids.VARIABLE ).read();
+		}
+		Files.deleteIfExists( path );
+
+		this.scale = new BigDecimal( String.valueOf( SyntheticGrids.SCALE ) );
+		this.offset = BigDecimal.ZERO;
+		this.missing = new BigDecimal( SyntheticGrids.MISSING );
+		this.tyxValues = NetCDFUtils.readTYXDimensionArrayValues( this.cube, this.scale, this.offset, this.missing );
+	}
+
+	@Benchmark
+	public long parallelRange3D() {
+		return NetCDFUtils.parallelRange3D( this.times, this.size, this.size ).mapToLong( IndexTYX::getCol ).sum();
+	}
+
+	@Benchmark
+	public List<List<BigDecimal>> readTYXDimensionArrayValues() {
+		return NetCDFUtils.readTYXDimensionArrayValues( this.cube, this.scale, this.offset, this.missing );
+	}
+
+	@Benchmark
+	public float[][] readTYXDimensionArrayFloats() {
+		return NetCDFUtils.readTYXDimensionArrayFloats( this.cube, SyntheticGrids.SCALE, 0F, SyntheticGrids.MISSING, false );
+	}
+
+	@Benchmark
+	public Array create3DArrayFloat() {
+		return NetCDFUtils.create3DArrayFloat( this.tyxValues, this.size, this.size );
+	}
+}
@@ -0,0 +1,89 @@
+package tw.fondus.commons.nc.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import tw.fondus.commons.nc.NetCDFReader;
+import tw.fondus.commons.nc.util.NetCDFUtils;
+import ucar.ma2.Array;
+import ucar.ma2.Index;
+import ucar.ma2.InvalidRangeException;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The benchmarks of the Y-X two-dimension grid hot paths in NetCDF tools.
+ *
+ * @author Brad Chen
+ * @since 1.3.0
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.SECONDS )
+@Warmup( iterations = 3, time = 2 )
+@Measurement( iterations = 5, time = 2 )
+@Fork( value = 1, jvmArgsAppend = { "-Xms4g", "-Xmx8g" } )
+public class GridBenchmark {
+	@Param( { "500", "1000", "2000", "4000" } )
+	public int size;
+
+	private Array grid;
+	private List<BigDecimal> yxValues;
+	private BigDecimal scale;
+	private BigDecimal offset;
+	private BigDecimal missing;
+
+	@Setup( Level.Trial )
+	public void setUp() throws IOException, InvalidRangeException {
+		Path path = SyntheticGrids.create( 1, this.size, this.size );
+		try ( NetCDFReader reader = NetCDFReader.read( path ) ) {
+			this.grid = reader.getNetCDF().findVariable( SyntheticGrids.VARIABLE ).read().reduce();
+		}
+		Files.deleteIfExists( path );
+
+		this.scale = new BigDecimal( String.valueOf( SyntheticGrids.SCALE ) );
+		this.offset = BigDecimal.ZERO;
+		this.missing = new BigDecimal( SyntheticGrids.MISSING );
+		this.yxValues = NetCDFUtils.readYXDimensionArrayValues( this.grid, this.scale, this.offset, this.missing );
+	}
+
+	@Benchmark
+	public void readArrayValue( Blackhole blackhole ) {
+		Index index = this.grid.getIndex();
+		for ( int y = 0; y < this.size; y++ ) {
+			for ( int x = 0; x < this.size; x++ ) {
+				blackhole.consume( NetCDFUtils.readArrayValue( this.grid, index.set( y, x ), this.scale, this.offset, this.missing ) );
+			}
+		}
+	}
+
+	@Benchmark
+	public List<BigDecimal> readYXDimensionArrayValues() {
+		return NetCDFUtils.readYXDimensionArrayValues( this.grid, this.scale, this.offset, this.missing );
+	}
+
+	@Benchmark
+	public float[] readYXDimensionArrayFloats() {
+		return NetCDFUtils.readYXDimensionArrayFloats( this.grid, SyntheticGrids.SCALE, 0F, SyntheticGrids.MISSING, false );
+	}
+
+	@Benchmark
+	public Array create2DArrayFloat() {
+		return NetCDFUtils.create2DArrayFloat( this.yxValues, this.size, this.size );
+	}
+}
@@ -0,0 +1,100 @@
+package tw.fondus.commons.nc.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tw.fondus.commons.nc.util.NetCDFUtils;
+import tw.fondus.commons.nc.util.PackUtils;
+import tw.fondus.commons.nc.util.key.VariableAttribute;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The benchmarks of the bulk pack and unpack kernels compare with the BigDecimal path in NetCDF tools.
+ *
+ * @author Brad Chen
+ * @since 1.3.0
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.SECONDS )
+@Warmup( iterations = 3, time = 2 )
+@Measurement( iterations = 5, time = 2 )
+@Fork( value = 1, jvmArgsAppend = { "-Xms4g", "-Xmx8g" } )
+public class PackBenchmark {
+	@Param( { "500", "1000", "2000" } )
+	public int size;
+
+	private float[] values;
+	private short[] packed;
+	private float[] unpacked;
+	private BigDecimal[] decimals;
+	private BigDecimal[] packedDecimals;
+	private BigDecimal scale;
+	private BigDecimal offset;
+	private BigDecimal missing;
+
+	@Setup( Level.Trial )
+	public void setUp() {
+		int cells = this.size * this.size;
+		Random random = new Random( 42 );
+		this.values = new float[ cells ];
+		for ( int i = 0; i < cells; i++ ) {
+			// Ten percent missing, as the radar grid outside the coverage
+			this.values[ i ] = random.nextInt( 10 ) == 0 ? VariableAttribute.MISSING.floatValue() : random.nextFloat() * 200F;
+		}
+		this.packed = PackUtils.packShorts( this.values, SyntheticGrids.SCALE, 0F, SyntheticGrids.MISSING );
+		this.unpacked = new float[ cells ];
+
+		this.scale = new BigDecimal( String.valueOf( SyntheticGrids.SCALE ) );
+		this.offset = BigDecimal.ZERO;
+		this.missing = new BigDecimal( SyntheticGrids.MISSING );
+		this.decimals = new BigDecimal[ cells ];
+		this.packedDecimals = new BigDecimal[ cells ];
+		for ( int i = 0; i < cells; i++ ) {
+			this.decimals[ i ] = new BigDecimal( String.valueOf( this.values[ i ] ) );
+			this.packedDecimals[ i ] = new BigDecimal( this.packed[ i ] );
+		}
+	}
+
+	@Benchmark
+	public BigDecimal[] packageValue() {
+		BigDecimal[] target = new BigDecimal[ this.decimals.length ];
+		for ( int i = 0; i < target.length; i++ ) {
+			target[ i ] = NetCDFUtils.packageValue( this.decimals[ i ], this.scale, this.offset );
+		}
+		return target;
+	}
+
+	@Benchmark
+	public short[] packShorts() {
+		PackUtils.packShorts( this.values, SyntheticGrids.SCALE, 0F, SyntheticGrids.MISSING, this.packed );
+		return this.packed;
+	}
+
+	@Benchmark
+	public BigDecimal[] originalValue() {
+		BigDecimal[] target = new BigDecimal[ this.packedDecimals.length ];
+		for ( int i = 0; i < target.length; i++ ) {
+			target[ i ] = NetCDFUtils.originalValue( this.packedDecimals[ i ], this.scale, this.offset, this.missing );
+		}
+		return target;
+	}
+
+	@Benchmark
+	public float[] unpackShorts() {
+		PackUtils.unpack( this.packed, SyntheticGrids.SCALE, 0F, SyntheticGrids.MISSING, this.unpacked );
+		return this.unpacked;
+	}
+}
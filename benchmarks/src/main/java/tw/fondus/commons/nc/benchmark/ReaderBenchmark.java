@@ -0,0 +1,82 @@
+package tw.fondus.commons.nc.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import tw.fondus.commons.nc.NetCDFReader;
+import tw.fondus.commons.nc.util.TimeFactor;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The benchmarks of the NetCDF reader hot paths, each benchmark thread opens own reader of the shared synthetic file.
+ *
+ * @author Brad Chen
+ * @since 1.3.0
+ */
+@State( Scope.Thread )
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.SECONDS )
+@Warmup( iterations = 3, time = 2 )
+@Measurement( iterations = 5, time = 2 )
+@Fork( 1 )
+public class ReaderBenchmark {
+	private NetCDFReader reader;
+
+	@Setup( Level.Trial )
+	public void setUp( SyntheticFile file ) throws IOException {
+		this.reader = NetCDFReader.read( file.path );
+	}
+
+	@TearDown( Level.Trial )
+	public void tearDown() {
+		this.reader.close();
+	}
+
+	@Benchmark
+	public List<Long> findTimes() {
+		return this.reader.findTimes( TimeFactor.MINUTE );
+	}
+
+	@Benchmark
+	public NetCDFReader open( SyntheticFile file ) throws IOException {
+		try ( NetCDFReader opened = NetCDFReader.read( file.path ) ) {
+			return opened;
+		}
+	}
+
+	/**
+	 * The synthetic file shared by all benchmark threads.
+	 */
+	@State( Scope.Benchmark )
+	public static class SyntheticFile {
+		@Param( { "1", "144", "500" } )
+		public int times;
+
+		private Path path;
+
+		@Setup( Level.Trial )
+		public void setUp() throws IOException {
+			this.path = SyntheticGrids.create( this.times, 10, 10 );
+		}
+
+		@TearDown( Level.Trial )
+		public void tearDown() throws IOException {
+			Files.deleteIfExists( this.path );
+		}
+	}
+}
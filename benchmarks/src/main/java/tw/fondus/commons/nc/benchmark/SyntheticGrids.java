@@ -0,0 +1,91 @@
+package tw.fondus.commons.nc.benchmark;
+
+import tw.fondus.commons.nc.NetCDFBuilder;
+import tw.fondus.commons.nc.NetCDFWriter;
+import tw.fondus.commons.nc.util.NetCDFUtils;
+import tw.fondus.commons.nc.util.TimeFactor;
+import tw.fondus.commons.nc.util.key.DimensionName;
+import tw.fondus.commons.nc.util.key.VariableAttribute;
+import tw.fondus.commons.nc.util.key.VariableName;
+import ucar.ma2.ArrayDouble;
+import ucar.ma2.ArrayShort;
+import ucar.ma2.DataType;
+import ucar.ma2.InvalidRangeException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * The synthetic grids generator of benchmarks, the file is written with the NetCDF builder.
+ *
+ * @author Brad Chen
+ * @since 1.3.0
+ */
+public class SyntheticGrids {
+	public static final String VARIABLE = "precipitation_radar";
+	public static final float SCALE = 0.25F;
+	public static final short MISSING = Short.MIN_VALUE;
+
+	private SyntheticGrids() {}
+
+	/**
+	 * Create the T-Y-X synthetic NetCDF file at temporary directory, the values are short packed with scale factor.
+	 *
+	 * @param tSize size of time
+	 * @param ySize size of y
+	 * @param xSize size of x
+	 * @return path of file
+	 * @throws IOException has IO Exception
+	 */
+	public static Path create( int tSize, int ySize, int xSize ) throws IOException {
+		Path path = Files.createTempFile( "synthetic-" + tSize + "x" + ySize + "x" + xSize + "-", ".nc" );
+		path.toFile().deleteOnExit();
+		try ( NetCDFWriter writer = NetCDFBuilder.create( path, true )
+				.addDimension( DimensionName.TIME, tSize )
+				.addDimension( DimensionName.Y, ySize )
+				.addDimension( DimensionName.X, xSize )
+				.addVariable( VariableName.TIME, DataType.DOUBLE, DimensionName.TIME )
+				.addVariableAttribute( VariableName.TIME, VariableAttribute.KEY_UNITS, VariableAttribute.UNITS_TIME_MINUTES )
+				.addVariable( VariableName.Y, DataType.DOUBLE, DimensionName.Y )
+				.addVariable( VariableName.X, DataType.DOUBLE, DimensionName.X )
+				.addVariable( VARIABLE, DataType.SHORT, DimensionName.TIME, DimensionName.Y, DimensionName.X )
+				.addVariableAttribute( VARIABLE, VariableAttribute.KEY_SCALE, SCALE )
+				.addVariableAttribute( VARIABLE, VariableAttribute.KEY_OFFSET, 0F )
+				.addVariableAttribute( VARIABLE, VariableAttribute.KEY_MISSING, MISSING )
+				.build() ) {
+			writer.writeValues( VariableName.TIME, axis( tSize, 1577836800000L / TimeFactor.MINUTE, 10 ) )
+					.writeValues( VariableName.Y, axis( ySize, 20, 0.0125 ) )
+					.writeValues( VariableName.X, axis( xSize, 118, 0.0125 ) );
+
+			ArrayShort.D3 step = new ArrayShort.D3( 1, ySize, xSize );
+			for ( int t = 0; t < tSize; t++ ) {
+				for ( int y = 0; y < ySize; y++ ) {
+					for ( int x = 0; x < xSize; x++ ) {
+						step.set( 0, y, x, ( x + y + t ) % 101 == 0 ? MISSING : (short) ( ( x * 7 + y * 3 + t ) % 4000 ) );
+					}
+				}
+				writer.writeValues( VARIABLE, step, new int[]{ t, 0, 0 } );
+			}
+		} catch (InvalidRangeException e) {
+			throw new IOException( e );
+		}
+		return path;
+	}
+
+	/**
+	 * Create the regular axis values.
+	 *
+	 * @param size size of axis
+	 * @param start start value
+	 * @param step step value
+	 * @return axis array
+	 */
+	private static ArrayDouble.D1 axis( int size, double start, double step ) {
+		ArrayDouble.D1 axis = NetCDFUtils.empty1DArrayDouble( size );
+		for ( int i = 0; i < size; i++ ) {
+			axis.set( i, start + i * step );
+		}
+		return axis;
+	}
+}
@@ -3,6 +3,7 @@ package tw.fondus.commons.nc;
 import ucar.nc2.Attribute;
 import ucar.nc2.NetcdfFile;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.Optional;
 import java.util.function.Function;
@@ -82,4 +83,41 @@ public abstract class AbstractReader implements AutoCloseable {
 	protected <T> T orElseThrow( Optional<T> opt, String message ) {
 		return opt.orElseThrow( () -> new NetCDFException( message ) );
 	}
+
+	/**
+	 * Open the file with only one probe and open, instead of the probe with can open before open. <br/>
+	 * The open is the probe whether the format is classified by the header magic or not,
+	 * and throw the message of can't open if failed, same as the probe with can open before.
+	 *
+	 * @param path string of file location
+	 * @param opener file opener
+	 * @return opened file
+	 * @throws IOException has IO Exception
+	 * @since 1.3.0
+	 */
+	protected static <T> T open( String path, FileOpener<T> opener ) throws IOException {
+		try {
+			return opener.open( path );
+		} catch (IOException e) {
+			throw new IllegalStateException( MESSAGE_CANT_OPEN, e );
+		}
+	}
+
+	/**
+	 * The opener of file.
+	 *
+	 * @author Brad Chen
+	 * @since 1.3.0
+	 */
+	@FunctionalInterface
+	protected interface FileOpener<T> {
+		/**
+		 * Open the file.
+		 *
+		 * @param path string of file location
+		 * @return opened file
+		 * @throws IOException has IO Exception
+		 */
+		T open( String path ) throws IOException;
+	}
 }
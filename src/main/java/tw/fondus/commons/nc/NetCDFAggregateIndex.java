@@ -0,0 +1,307 @@
+package tw.fondus.commons.nc;
+
+import com.google.common.base.Preconditions;
+import tw.fondus.commons.nc.vo.axis.TimeAxis;
+import tw.fondus.commons.nc.vo.index.IndexRange;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * The file-to-time index of the files joined along the time dimension, the members are sorted by the first time. <br/>
+ * The times of each member are kept in milliseconds, so the aggregated time axis is known without opening the files. <br/>
+ * The index can be saved to disk, and refreshed by only scanning the new or changed files with the modification time and size. <br/>
+ * It's immutable and safe to share between threads.
+ *
+ * @author Brad Chen
+ * @since 1.3.0
+ */
+public class NetCDFAggregateIndex {
+	private static final int MAGIC = 0x41474958;
+	private static final int VERSION = 1;
+
+	private final long constFactor;
+	private final List<Member> members;
+	private final int[] offsets;
+	private final TimeAxis timeAxis;
+
+	private NetCDFAggregateIndex( long constFactor, List<Member> members ) {
+		List<Member> sorted = new ArrayList<>( members );
+		sorted.sort( Comparator.comparingLong( Member::getFirstTime ) );
+		this.offsets = new int[ sorted.size() + 1 ];
+		for ( int i = 0; i < sorted.size(); i++ ) {
+			Member member = sorted.get( i );
+			Preconditions.checkArgument( i == 0 || member.getFirstTime() > sorted.get( i - 1 ).getLastTime(),
+					"NetCDFAggregateIndex: the times of file: " + member.getPath() + " overlap with the previous file." );
+			this.offsets[ i + 1 ] = this.offsets[ i ] + member.getSteps();
+		}
+		this.constFactor = constFactor;
+		this.members = Collections.unmodifiableList( sorted );
+		this.timeAxis = new TimeAxis( sorted.stream().flatMapToLong( member -> Arrays.stream( member.times ) ).toArray() );
+	}
+
+	/**
+	 * Scan the time axis of files in parallel and build the index.
+	 *
+	 * @param files files joined along the time dimension
+	 * @param constFactor time factor from the time of file to milliseconds, e.g. TimeFactor.MINUTE
+	 * @return index
+	 * @throws IOException has IO Exception
+	 */
+	public static NetCDFAggregateIndex scan( List<Path> files, long constFactor ) throws IOException {
+		return refresh( files, constFactor, null );
+	}
+
+	/**
+	 * Build the index of files with the previous index, only the new or changed files are scanned. <br/>
+	 * If the time factor of previous index is not same, all files are scanned.
+	 *
+	 * @param files files joined along the time dimension
+	 * @param constFactor time factor from the time of file to milliseconds, e.g. TimeFactor.MINUTE
+	 * @param previous previous index, it's nullable
+	 * @return index
+	 * @throws IOException has IO Exception
+	 */
+	public static NetCDFAggregateIndex refresh( List<Path> files, long constFactor, NetCDFAggregateIndex previous ) throws IOException {
+		Preconditions.checkNotNull( files, "NetCDFAggregateIndex: files should not be null." );
+		Preconditions.checkArgument( constFactor > 0, "NetCDFAggregateIndex: the time factor should be greater than 0." );
+		Map<Path, Member> known = new HashMap<>();
+		if ( previous != null && previous.constFactor == constFactor ) {
+			previous.members.forEach( member -> known.put( member.getPath(), member ) );
+		}
+
+		try {
+			List<Member> members = files.parallelStream()
+					.map( file -> file.toAbsolutePath().normalize() )
+					.distinct()
+					.map( file -> {
+						try {
+							BasicFileAttributes attributes = Files.readAttributes( file, BasicFileAttributes.class );
+							long modified = attributes.lastModifiedTime().toMillis();
+							long size = attributes.size();
+							Member member = known.get( file );
+							return member != null && member.isSame( modified, size ) ? member : scan( file, constFactor, modified, size );
+						} catch (IOException e) {
+							throw new UncheckedIOException( e );
+						}
+					} )
+					.collect( Collectors.toList() );
+			return new NetCDFAggregateIndex( constFactor, members );
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+	}
+
+	/**
+	 * Load the index from file.
+	 *
+	 * @param path path of index file
+	 * @return index
+	 * @throws IOException has IO Exception
+	 */
+	public static NetCDFAggregateIndex load( Path path ) throws IOException {
+		Preconditions.checkNotNull( path );
+		try ( DataInputStream input = new DataInputStream( new BufferedInputStream( Files.newInputStream( path ) ) ) ) {
+			if ( input.readInt() != MAGIC || input.readInt() != VERSION ) {
+				throw new IOException( "NetCDFAggregateIndex: the file is not an aggregate index: " + path );
+			}
+			long constFactor = input.readLong();
+			int count = input.readInt();
+			List<Member> members = new ArrayList<>( count );
+			for ( int i = 0; i < count; i++ ) {
+				Path file = Paths.get( input.readUTF() );
+				long modified = input.readLong();
+				long size = input.readLong();
+				long[] times = new long[ input.readInt() ];
+				for ( int t = 0; t < times.length; t++ ) {
+					times[ t ] = input.readLong();
+				}
+				members.add( new Member( file, modified, size, times ) );
+			}
+			return new NetCDFAggregateIndex( constFactor, members );
+		}
+	}
+
+	/**
+	 * Save the index to file.
+	 *
+	 * @param path path of index file
+	 * @throws IOException has IO Exception
+	 */
+	public void save( Path path ) throws IOException {
+		Preconditions.checkNotNull( path );
+		try ( DataOutputStream output = new DataOutputStream( new BufferedOutputStream( Files.newOutputStream( path ) ) ) ) {
+			output.writeInt( MAGIC );
+			output.writeInt( VERSION );
+			output.writeLong( this.constFactor );
+			output.writeInt( this.members.size() );
+			for ( Member member : this.members ) {
+				output.writeUTF( member.getPath().toString() );
+				output.writeLong( member.modified );
+				output.writeLong( member.size );
+				output.writeInt( member.times.length );
+				for ( long time : member.times ) {
+					output.writeLong( time );
+				}
+			}
+		}
+	}
+
+	public long getConstFactor() {
+		return constFactor;
+	}
+
+	/**
+	 * Get the members sorted by the first time.
+	 *
+	 * @return members
+	 */
+	public List<Member> getMembers() {
+		return members;
+	}
+
+	/**
+	 * Get the aggregated time axis in milliseconds.
+	 *
+	 * @return time axis
+	 */
+	public TimeAxis getTimeAxis() {
+		return timeAxis;
+	}
+
+	/**
+	 * Get the count of aggregated time steps.
+	 *
+	 * @return count of time steps
+	 */
+	public int getSteps() {
+		return this.offsets[ this.members.size() ];
+	}
+
+	/**
+	 * Get the aggregated time index of the first time step of member.
+	 *
+	 * @param member index of member
+	 * @return time index
+	 */
+	public int getOffset( int member ) {
+		return this.offsets[ member ];
+	}
+
+	/**
+	 * Find the index of member which contains the aggregated time index.
+	 *
+	 * @param timeIndex aggregated time index
+	 * @return index of member
+	 */
+	public int memberOf( int timeIndex ) {
+		Preconditions.checkElementIndex( timeIndex, this.getSteps(), "NetCDFAggregateIndex: the time index" );
+		int index = Arrays.binarySearch( this.offsets, timeIndex );
+		return index >= 0 ? index : -index - 2;
+	}
+
+	/**
+	 * Find the aggregated time index range of the times between start and end, both are inclusive.
+	 *
+	 * @param startTime start time in milliseconds
+	 * @param endTime end time in milliseconds
+	 * @return index range, it's optional
+	 */
+	public Optional<IndexRange> rangeIndices( long startTime, long endTime ) {
+		return this.timeAxis.rangeIndices( startTime, endTime );
+	}
+
+	/**
+	 * Scan the time axis of file.
+	 *
+	 * @param file path of file
+	 * @param constFactor time factor
+	 * @param modified modification time of file
+	 * @param size size of file
+	 * @return member
+	 * @throws IOException has IO Exception
+	 */
+	private static Member scan( Path file, long constFactor, long modified, long size ) throws IOException {
+		try ( NetCDFReader reader = NetCDFReader.read( file ) ) {
+			TimeAxis axis = reader.findTimeAxis( constFactor )
+					.orElseThrow( () -> new NetCDFException( "NetCDFAggregateIndex: the file: " + file + " without time variable." ) );
+			Preconditions.checkArgument( axis.size() > 0 && axis.isAscending(),
+					"NetCDFAggregateIndex: the times of file: " + file + " should be ascending and not empty." );
+			return new Member( file, modified, size, axis.getTimes() );
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "NetCDFAggregateIndex{" + "members=" + members.size() + ", steps=" + this.getSteps() + ", constFactor=" + constFactor + '}';
+	}
+
+	/**
+	 * The member file of index.
+	 *
+	 * @author Brad Chen
+	 * @since 1.3.0
+	 */
+	public static class Member {
+		private final Path path;
+		private final long modified;
+		private final long size;
+		private final long[] times;
+
+		private Member( Path path, long modified, long size, long[] times ) {
+			this.path = path;
+			this.modified = modified;
+			this.size = size;
+			this.times = times;
+		}
+
+		public Path getPath() {
+			return path;
+		}
+
+		public int getSteps() {
+			return this.times.length;
+		}
+
+		public long getFirstTime() {
+			return this.times[ 0 ];
+		}
+
+		public long getLastTime() {
+			return this.times[ this.times.length - 1 ];
+		}
+
+		/**
+		 * Check the file on disk is same as the scanned file.
+		 *
+		 * @param modified modification time of file
+		 * @param size size of file
+		 * @return is same or not
+		 */
+		private boolean isSame( long modified, long size ) {
+			return this.modified == modified && this.size == size;
+		}
+
+		@Override
+		public String toString() {
+			return "Member{" + "path=" + path + ", steps=" + times.length + '}';
+		}
+	}
+}
@@ -0,0 +1,516 @@
+package tw.fondus.commons.nc;
+
+import com.google.common.base.Preconditions;
+import tw.fondus.commons.nc.util.key.VariableAttribute;
+import tw.fondus.commons.nc.vo.axis.TimeAxis;
+import tw.fondus.commons.nc.vo.grid.TimeStepGrid;
+import tw.fondus.commons.nc.vo.index.IndexRange;
+import tw.fondus.commons.nc.vo.index.IndexYX;
+import ucar.ma2.Array;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * NetCDF aggregate reader presents the files split along the time dimension as one virtual dataset, e.g. the archive of one file per hour. <br/>
+ * The members are resolved with the file-to-time index, which can be persisted so the headers are not scanned again at startup. <br/>
+ * The member files are opened lazily through the bounded reader pool, and the next member is opened in parallel while the current one is read. <br/>
+ * The times are in milliseconds, and the time index is the aggregated index over all members. <br/>
+ * The members should have the same variables and grid, the time dimension should be the first dimension of variable.
+ *
+ * @author Brad Chen
+ * @since 1.3.0
+ */
+public class NetCDFAggregateReader implements AutoCloseable {
+	private static final float MISSING_FLOAT = VariableAttribute.MISSING.floatValue();
+
+	private final NetCDFAggregateIndex index;
+	private final NetCDFReaderPool pool;
+	private final AtomicInteger currentMember = new AtomicInteger( -1 );
+
+	/**
+	 * The constructor.
+	 *
+	 * @param index file-to-time index
+	 * @param maxHandles max count of opened member files
+	 */
+	private NetCDFAggregateReader( NetCDFAggregateIndex index, int maxHandles ) {
+		Preconditions.checkNotNull( index, "NetCDFAggregateReader: index should not be null." );
+		Preconditions.checkArgument( maxHandles > 1, "NetCDFAggregateReader: the max handles should be greater than 1 to keep the prefetched file." );
+		this.index = index;
+		this.pool = new NetCDFReaderPool( maxHandles, Long.MAX_VALUE );
+	}
+
+	/**
+	 * Open the aggregate reader with the file-to-time index.
+	 *
+	 * @param index file-to-time index
+	 * @param maxHandles max count of opened member files, it should be greater than 1
+	 * @return reader
+	 */
+	public static NetCDFAggregateReader open( NetCDFAggregateIndex index, int maxHandles ) {
+		return new NetCDFAggregateReader( index, maxHandles );
+	}
+
+	/**
+	 * Open the aggregate reader of files, the file headers are scanned in parallel.
+	 *
+	 * @param files files joined along the time dimension
+	 * @param constFactor time factor from the time of file to milliseconds, e.g. TimeFactor.MINUTE
+	 * @param maxHandles max count of opened member files, it should be greater than 1
+	 * @return reader
+	 * @throws IOException has IO Exception
+	 */
+	public static NetCDFAggregateReader open( List<Path> files, long constFactor, int maxHandles ) throws IOException {
+		return new NetCDFAggregateReader( NetCDFAggregateIndex.scan( files, constFactor ), maxHandles );
+	}
+
+	/**
+	 * Open the aggregate reader of files with the persisted index. <br/>
+	 * If the index file exists, only the new or changed files are scanned, and the index file is saved when changed.
+	 *
+	 * @param files files joined along the time dimension
+	 * @param constFactor time factor from the time of file to milliseconds, e.g. TimeFactor.MINUTE
+	 * @param indexPath path of index file
+	 * @param maxHandles max count of opened member files, it should be greater than 1
+	 * @return reader
+	 * @throws IOException has IO Exception
+	 */
+	public static NetCDFAggregateReader open( List<Path> files, long constFactor, Path indexPath, int maxHandles ) throws IOException {
+		Preconditions.checkNotNull( indexPath, "NetCDFAggregateReader: index path should not be null." );
+		NetCDFAggregateIndex previous = null;
+		if ( Files.exists( indexPath ) ) {
+			try {
+				previous = NetCDFAggregateIndex.load( indexPath );
+			} catch (IOException e) {
+				// nothing to do, the broken index is scanned again
+			}
+		}
+
+		NetCDFAggregateIndex index = NetCDFAggregateIndex.refresh( files, constFactor, previous );
+		if ( previous == null || !index.getMembers().equals( previous.getMembers() ) ) {
+			index.save( indexPath );
+		}
+		return new NetCDFAggregateReader( index, maxHandles );
+	}
+
+	public NetCDFAggregateIndex getIndex() {
+		return index;
+	}
+
+	/**
+	 * Get the aggregated time axis in milliseconds.
+	 *
+	 * @return time axis
+	 */
+	public TimeAxis getTimeAxis() {
+		return this.index.getTimeAxis();
+	}
+
+	/**
+	 * Get the aggregated time values in milliseconds.
+	 *
+	 * @return list of time value
+	 */
+	public List<Long> findTimes() {
+		return this.index.getTimeAxis().toList();
+	}
+
+	/**
+	 * Check the variable exists in the first member.
+	 *
+	 * @param id id of variable
+	 * @return has variable or not
+	 */
+	public boolean hasVariable( String id ) {
+		Preconditions.checkNotNull( id );
+		return !this.index.getMembers().isEmpty() && this.withReader( 0, reader -> reader.hasVariable( id ) );
+	}
+
+	/**
+	 * Read the section of variable value across the members, only the section is read from disk. <br/>
+	 * The count of ranges should equal to the rank of variable, the first range is the aggregated time index range,
+	 * the null range means the whole dimension.
+	 *
+	 * @param id id of variable
+	 * @param ranges index ranges of each dimension
+	 * @return array values of section, it's optional
+	 */
+	public Optional<Array> readSection( String id, IndexRange... ranges ) {
+		Preconditions.checkNotNull( id );
+		Preconditions.checkNotNull( ranges );
+		Preconditions.checkArgument( ranges.length > 0, "NetCDFAggregateReader: the ranges should not be empty." );
+		if ( this.index.getSteps() == 0 ) {
+			return Optional.empty();
+		}
+		IndexRange timeRange = ranges[ 0 ] != null ? ranges[ 0 ] : new IndexRange( 0, this.index.getSteps() - 1 );
+		Preconditions.checkPositionIndexes( timeRange.getStart(), timeRange.getEnd() + 1, this.index.getSteps() );
+
+		return this.concat( this.readMembers( timeRange, ( member, localRange ) -> this.withReader( member, reader -> {
+			IndexRange[] localRanges = ranges.clone();
+			localRanges[ 0 ] = localRange;
+			return reader.readSection( id, localRanges );
+		} ) ) );
+	}
+
+	/**
+	 * Read the subset of variable value with bounding box across all members, only the subset is read from disk.
+	 *
+	 * @param id id of variable
+	 * @param minX min x or lon of bounding box
+	 * @param minY min y or lat of bounding box
+	 * @param maxX max x or lon of bounding box
+	 * @param maxY max y or lat of bounding box
+	 * @return array values of subset, it's optional
+	 */
+	public Optional<Array> readSubset( String id, double minX, double minY, double maxX, double maxY ) {
+		return this.allRange().flatMap( range -> this.readSubset( id, range, minX, minY, maxX, maxY ) );
+	}
+
+	/**
+	 * Read the subset of variable value with time window and bounding box, only the members in the time window are opened. <br/>
+	 * If the time window or bounding box not intersect with the files, will return empty.
+	 *
+	 * @param id id of variable
+	 * @param startTime start time in milliseconds, inclusive
+	 * @param endTime end time in milliseconds, inclusive
+	 * @param minX min x or lon of bounding box
+	 * @param minY min y or lat of bounding box
+	 * @param maxX max x or lon of bounding box
+	 * @param maxY max y or lat of bounding box
+	 * @return array values of subset, it's optional
+	 */
+	public Optional<Array> readSubset( String id, long startTime, long endTime, double minX, double minY, double maxX, double maxY ) {
+		return this.index.rangeIndices( startTime, endTime ).flatMap( range -> this.readSubset( id, range, minX, minY, maxX, maxY ) );
+	}
+
+	/**
+	 * Read the time series at the grid points from the Time, Y, X three-dimension variable across all members.
+	 *
+	 * @param id id of variable
+	 * @param points grid index of points
+	 * @return time series, first index is point, it's optional
+	 */
+	public Optional<float[][]> readPointSeries( String id, List<IndexYX> points ) {
+		return this.allRange().flatMap( range -> this.readPointSeries( id, points, range ) );
+	}
+
+	/**
+	 * Read the time series at the grid points in the time window from the Time, Y, X three-dimension variable. <br/>
+	 * If the time window not intersect with the files, will return empty.
+	 *
+	 * @param id id of variable
+	 * @param points grid index of points
+	 * @param startTime start time in milliseconds, inclusive
+	 * @param endTime end time in milliseconds, inclusive
+	 * @return time series, first index is point, it's optional
+	 */
+	public Optional<float[][]> readPointSeries( String id, List<IndexYX> points, long startTime, long endTime ) {
+		return this.index.rangeIndices( startTime, endTime ).flatMap( range -> this.readPointSeries( id, points, range ) );
+	}
+
+	/**
+	 * Read the time series of the stations from the Time, Station two-dimension variable across all members. <br/>
+	 * The unknown station ids are ignored.
+	 *
+	 * @param id id of variable
+	 * @param stationIds station ids
+	 * @return time series by station id with the order of station ids, it's optional
+	 */
+	public Optional<Map<String, float[]>> readStationSeries( String id, Collection<String> stationIds ) {
+		return this.allRange().flatMap( range -> this.readStationSeries( id, stationIds, range ) );
+	}
+
+	/**
+	 * Read the time series of the stations in the time window from the Time, Station two-dimension variable. <br/>
+	 * The unknown station ids are ignored, if the station not exist in some members, the steps of them will be default missing.
+	 *
+	 * @param id id of variable
+	 * @param stationIds station ids
+	 * @param startTime start time in milliseconds, inclusive
+	 * @param endTime end time in milliseconds, inclusive
+	 * @return time series by station id with the order of station ids, it's optional
+	 */
+	public Optional<Map<String, float[]>> readStationSeries( String id, Collection<String> stationIds, long startTime, long endTime ) {
+		return this.index.rangeIndices( startTime, endTime ).flatMap( range -> this.readStationSeries( id, stationIds, range ) );
+	}
+
+	/**
+	 * Stream the time steps of the Time, Y, X three-dimension variable across all members, each step is read lazily from disk. <br/>
+	 * The member is leased when its first step is consumed, and released when its steps are done, the time index is aggregated. <br/>
+	 * The stream should be closed after used.
+	 *
+	 * @param id id of variable
+	 * @return stream of time steps
+	 */
+	public Stream<TimeStepGrid> streamTimeSteps( String id ) {
+		return this.allRange().map( range -> this.streamTimeSteps( id, range ) ).orElseGet( Stream::empty );
+	}
+
+	/**
+	 * Stream the time steps in the time window of the Time, Y, X three-dimension variable, each step is read lazily from disk. <br/>
+	 * If the time window not intersect with the files, will return empty stream.
+	 *
+	 * @param id id of variable
+	 * @param startTime start time in milliseconds, inclusive
+	 * @param endTime end time in milliseconds, inclusive
+	 * @return stream of time steps
+	 */
+	public Stream<TimeStepGrid> streamTimeSteps( String id, long startTime, long endTime ) {
+		return this.index.rangeIndices( startTime, endTime ).map( range -> this.streamTimeSteps( id, range ) ).orElseGet( Stream::empty );
+	}
+
+	/**
+	 * Get the count of opened member files.
+	 *
+	 * @return count of opened member files
+	 */
+	public int getOpenHandles() {
+		return this.pool.getOpenHandles();
+	}
+
+	@Override
+	public void close() {
+		this.pool.close();
+	}
+
+	@Override
+	public String toString() {
+		return "NetCDFAggregateReader{" + "index=" + index + ", pool=" + pool + '}';
+	}
+
+	/**
+	 * Get the aggregated time index range of all members.
+	 *
+	 * @return index range, it's optional
+	 */
+	private Optional<IndexRange> allRange() {
+		return this.index.getSteps() == 0 ? Optional.empty() : Optional.of( new IndexRange( 0, this.index.getSteps() - 1 ) );
+	}
+
+	private Optional<Array> readSubset( String id, IndexRange timeRange, double minX, double minY, double maxX, double maxY ) {
+		Preconditions.checkNotNull( id );
+		return this.concat( this.readMembers( timeRange, ( member, localRange ) -> this.withReader( member, reader ->
+				reader.bboxToIndexRange( minX, minY, maxX, maxY )
+						.flatMap( rangeYX -> reader.findVariable( id ).flatMap( variable -> {
+							Preconditions.checkArgument( variable.getRank() == 3,
+									"NetCDFAggregateReader: the variable should be Time, Y, X three-dimension." );
+							return reader.readSection( id, localRange, rangeYX.getYRange(), rangeYX.getXRange() );
+						} ) ) ) ) );
+	}
+
+	private Optional<float[][]> readPointSeries( String id, List<IndexYX> points, IndexRange timeRange ) {
+		Preconditions.checkNotNull( id );
+		Preconditions.checkNotNull( points, "NetCDFAggregateReader: points should not be null." );
+		long constFactor = this.index.getConstFactor();
+		TimeAxis axis = this.index.getTimeAxis();
+		List<Optional<float[][]>> parts = this.readMembers( timeRange, ( member, localRange ) -> {
+			int offset = this.index.getOffset( member );
+			long startTime = axis.getTime( offset + localRange.getStart() );
+			long endTime = axis.getTime( offset + localRange.getEnd() );
+			return this.withReader( member, reader -> reader.readPointSeries( id, points, constFactor, startTime, endTime ) );
+		} );
+		if ( parts.stream().anyMatch( part -> !part.isPresent() ) ) {
+			return Optional.empty();
+		}
+
+		float[][] series = new float[ points.size() ][ timeRange.getSize() ];
+		int offset = 0;
+		for ( Optional<float[][]> part : parts ) {
+			float[][] values = part.get();
+			int steps = values.length > 0 ? values[ 0 ].length : 0;
+			for ( int p = 0; p < values.length; p++ ) {
+				System.arraycopy( values[ p ], 0, series[ p ], offset, steps );
+			}
+			offset += steps;
+		}
+		return Optional.of( series );
+	}
+
+	private Optional<Map<String, float[]>> readStationSeries( String id, Collection<String> stationIds, IndexRange timeRange ) {
+		Preconditions.checkNotNull( id );
+		Preconditions.checkNotNull( stationIds, "NetCDFAggregateReader: station ids should not be null." );
+		long constFactor = this.index.getConstFactor();
+		TimeAxis axis = this.index.getTimeAxis();
+		List<Optional<Map<String, float[]>>> parts = this.readMembers( timeRange, ( member, localRange ) -> {
+			int offset = this.index.getOffset( member );
+			long startTime = axis.getTime( offset + localRange.getStart() );
+			long endTime = axis.getTime( offset + localRange.getEnd() );
+			return this.withReader( member, reader -> reader.readStationSeries( id, stationIds, constFactor, startTime, endTime ) );
+		} );
+		if ( parts.stream().anyMatch( part -> !part.isPresent() ) ) {
+			return Optional.empty();
+		}
+
+		Map<String, float[]> series = new LinkedHashMap<>();
+		stationIds.stream()
+				.filter( stationId -> parts.stream().anyMatch( part -> part.get().containsKey( stationId ) ) )
+				.forEach( stationId -> series.put( stationId, new float[ timeRange.getSize() ] ) );
+		// The steps of member is the local range, the member may have none of the stations
+		int member = this.index.memberOf( timeRange.getStart() );
+		int offset = 0;
+		for ( Optional<Map<String, float[]>> part : parts ) {
+			Map<String, float[]> values = part.get();
+			int steps = this.localRange( member++, timeRange ).getSize();
+			for ( Map.Entry<String, float[]> entry : series.entrySet() ) {
+				float[] value = values.get( entry.getKey() );
+				int copied = value != null ? Math.min( value.length, steps ) : 0;
+				if ( copied > 0 ) {
+					System.arraycopy( value, 0, entry.getValue(), offset, copied );
+				}
+				Arrays.fill( entry.getValue(), offset + copied, offset + steps, MISSING_FLOAT );
+			}
+			offset += steps;
+		}
+		return Optional.of( series );
+	}
+
+	private Stream<TimeStepGrid> streamTimeSteps( String id, IndexRange timeRange ) {
+		Preconditions.checkNotNull( id );
+		int first = this.index.memberOf( timeRange.getStart() );
+		int last = this.index.memberOf( timeRange.getEnd() );
+		long constFactor = this.index.getConstFactor();
+		TimeAxis axis = this.index.getTimeAxis();
+		return IntStream.rangeClosed( first, last ).boxed().flatMap( member -> {
+			int offset = this.index.getOffset( member );
+			IndexRange localRange = this.localRange( member, timeRange );
+			NetCDFReaderPool.Lease lease = this.lease( member );
+			try {
+				return lease.getReader()
+						.streamTimeSteps( id, constFactor, axis.getTime( offset + localRange.getStart() ), axis.getTime( offset + localRange.getEnd() ) )
+						.map( step -> new TimeStepGrid( offset + step.getTimeIndex(), step.getYSize(), step.getXSize(), step.getValues() ) )
+						.onClose( lease::close );
+			} catch (RuntimeException e) {
+				lease.close();
+				throw e;
+			}
+		} );
+	}
+
+	/**
+	 * Read the members in the aggregated time index range with the order of time.
+	 *
+	 * @param timeRange aggregated time index range
+	 * @param reader reader of member with the index of member and the local time index range
+	 * @param <T> type of part
+	 * @return parts of members
+	 */
+	private <T> List<T> readMembers( IndexRange timeRange, MemberReader<T> reader ) {
+		int first = this.index.memberOf( timeRange.getStart() );
+		int last = this.index.memberOf( timeRange.getEnd() );
+		List<T> parts = new ArrayList<>( last - first + 1 );
+		for ( int member = first; member <= last; member++ ) {
+			parts.add( reader.read( member, this.localRange( member, timeRange ) ) );
+		}
+		return parts;
+	}
+
+	/**
+	 * Get the local time index range of member in the aggregated time index range.
+	 *
+	 * @param member index of member
+	 * @param timeRange aggregated time index range
+	 * @return local time index range
+	 */
+	private IndexRange localRange( int member, IndexRange timeRange ) {
+		int offset = this.index.getOffset( member );
+		int steps = this.index.getMembers().get( member ).getSteps();
+		return new IndexRange( Math.max( timeRange.getStart() - offset, 0 ), Math.min( timeRange.getEnd() - offset, steps - 1 ) );
+	}
+
+	/**
+	 * Concatenate the parts along the first dimension.
+	 *
+	 * @param parts parts of members
+	 * @return concatenated array, it's optional
+	 */
+	private Optional<Array> concat( List<Optional<Array>> parts ) {
+		if ( parts.isEmpty() || parts.stream().anyMatch( part -> !part.isPresent() ) ) {
+			return Optional.empty();
+		}
+		if ( parts.size() == 1 ) {
+			return parts.get( 0 );
+		}
+
+		Array head = parts.get( 0 ).get();
+		int[] shape = head.getShape();
+		shape[ 0 ] = parts.stream().mapToInt( part -> part.get().getShape()[ 0 ] ).sum();
+		Array result = Array.factory( head.getDataType(), shape );
+		int offset = 0;
+		for ( Optional<Array> part : parts ) {
+			Array values = part.get();
+			int size = (int) values.getSize();
+			Array.arraycopy( values, 0, result, offset, size );
+			offset += size;
+		}
+		return Optional.of( result );
+	}
+
+	/**
+	 * Apply the function with the leased reader of member, and prefetch the next member in parallel.
+	 *
+	 * @param member index of member
+	 * @param function function of reader
+	 * @param <T> type of result
+	 * @return result of function
+	 */
+	private <T> T withReader( int member, Function<NetCDFReader, T> function ) {
+		try ( NetCDFReaderPool.Lease lease = this.lease( member ) ) {
+			return function.apply( lease.getReader() );
+		}
+	}
+
+	/**
+	 * Lease the reader of member, and prefetch the next member in parallel. <br/>
+	 * The next member is prefetched only when the read moved to the new member and the next one is not pooled yet,
+	 * so the repeated reads of same member don't queue the useless prefetch.
+	 *
+	 * @param member index of member
+	 * @return lease of reader
+	 */
+	private NetCDFReaderPool.Lease lease( int member ) {
+		Path path = this.index.getMembers().get( member ).getPath();
+		boolean moved = this.currentMember.getAndSet( member ) != member;
+		Path next = moved && member + 1 < this.index.getMembers().size() ? this.index.getMembers().get( member + 1 ).getPath() : null;
+		if ( next != null && !this.pool.isPooled( next ) ) {
+			CompletableFuture.runAsync( () -> {
+				try ( NetCDFReaderPool.Lease ignored = this.pool.lease( next ) ) {
+					// opened and kept idle in the pool
+				} catch (IOException | IllegalStateException e) {
+					// nothing to do, the failure is thrown when the member is read
+				}
+			}, PrefetchExecutor.get() );
+		}
+
+		try {
+			return this.pool.lease( path );
+		} catch (IOException e) {
+			throw new NetCDFException( "NetCDFAggregateReader: open the file: " + path + " failed.", e );
+		}
+	}
+
+	/**
+	 * The reader of member with the local time index range.
+	 *
+	 * @param <T> type of part
+	 * @author Brad Chen
+	 * @since 1.3.0
+	 */
+	@FunctionalInterface
+	private interface MemberReader<T> {
+		T read( int member, IndexRange localRange );
+	}
+}
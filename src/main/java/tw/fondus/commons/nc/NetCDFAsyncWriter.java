@@ -0,0 +1,210 @@
+package tw.fondus.commons.nc;
+
+import com.google.common.base.Preconditions;
+import ucar.ma2.Array;
+import ucar.ma2.InvalidRangeException;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * NetCDF asynchronous writer is used to overlap the compute and the disk IO. <br/>
+ * The producers hand off the values to the bounded queue, and the dedicated writer thread drain it in order. <br/>
+ * The producer is blocked when the queue is full, so the memory of pending values is bounded. <br/>
+ * With the queue capacity 2, the producer can fill the next buffer while the previous one is writing. <br/>
+ * The values should not be modified until the returned future is completed. <br/>
+ * The producers submit under the shared lock and the close put the end task under the exclusive lock,
+ * so the end task is always the last one of the queue.
+ *
+ * @author Brad Chen
+ * @since 1.3.0
+ */
+public class NetCDFAsyncWriter implements AutoCloseable {
+	private static final WriteTask END = new WriteTask( null, null, null );
+
+	private final NetCDFWriter writer;
+	private final BlockingQueue<WriteTask> queue;
+	private final Thread thread;
+	private final AtomicReference<Throwable> error = new AtomicReference<>();
+	private final AtomicBoolean closed = new AtomicBoolean();
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+	/**
+	 * The constructor.
+	 *
+	 * @param writer NetCDF writer
+	 * @param capacity max pending write tasks
+	 */
+	NetCDFAsyncWriter( @Nonnull NetCDFWriter writer, int capacity ) {
+		Preconditions.checkArgument( capacity > 0, "NetCDFAsyncWriter: the capacity should be greater than 0." );
+		this.writer = writer;
+		this.queue = new ArrayBlockingQueue<>( capacity );
+		this.thread = new Thread( this::drain, "netcdf-async-writer" );
+		this.thread.setDaemon( true );
+		this.thread.start();
+	}
+
+	/**
+	 * Submit data to write the named variable, data must be same type and rank as Variable.
+	 *
+	 * @param name name of variable
+	 * @param values values of variable
+	 * @return future which completed after the values written
+	 */
+	public CompletableFuture<Void> writeValues( String name, Array values ) {
+		return this.submit( new WriteTask( name, values, null ) );
+	}
+
+	/**
+	 * Submit data to write the named variable, data must be same type and rank as Variable.<br/>
+	 * offset to start writing, ignore the string size dimension.
+	 *
+	 * @param name name of variable
+	 * @param values values of variable
+	 * @param origin origin
+	 * @return future which completed after the values written
+	 */
+	public CompletableFuture<Void> writeValues( String name, Array values, int[] origin ) {
+		Preconditions.checkNotNull( origin, "NetCDFAsyncWriter: origin should not be null." );
+		return this.submit( new WriteTask( name, values, origin.clone() ) );
+	}
+
+	/**
+	 * Wait for all pending values written, close the NetCDF writer, and throw the first write error if has.
+	 *
+	 * @throws IOException has IO Exception
+	 */
+	@Override
+	public void close() throws IOException {
+		if ( !this.closed.compareAndSet( false, true ) ) {
+			return;
+		}
+
+		// Wait for the producers which passed the check, include the one blocked by the full queue
+		boolean interrupted = false;
+		boolean ended = false;
+		this.lock.writeLock().lock();
+		try {
+			while ( !ended ) {
+				try {
+					this.queue.put( END );
+					ended = true;
+				} catch (InterruptedException e) {
+					interrupted = true;
+				}
+			}
+		} finally {
+			this.lock.writeLock().unlock();
+		}
+		while ( this.thread.isAlive() ) {
+			try {
+				this.thread.join();
+			} catch (InterruptedException e) {
+				interrupted = true;
+			}
+		}
+
+		try {
+			this.writer.close();
+		} catch (IOException e) {
+			if ( !this.error.compareAndSet( null, e ) ) {
+				this.error.get().addSuppressed( e );
+			}
+		} finally {
+			if ( interrupted ) {
+				Thread.currentThread().interrupt();
+			}
+		}
+
+		Throwable throwable = this.error.get();
+		if ( throwable instanceof IOException ) {
+			throw (IOException) throwable;
+		} else if ( throwable != null ) {
+			throw new IOException( "NetCDFAsyncWriter: write values has error.", throwable );
+		}
+	}
+
+	/**
+	 * Put the write task to the queue, it's blocked when the queue is full, and the close is waiting for it.
+	 *
+	 * @param task write task
+	 * @return future of write task
+	 */
+	private CompletableFuture<Void> submit( WriteTask task ) {
+		Preconditions.checkNotNull( task.name, "NetCDFAsyncWriter: name should not be null." );
+		Preconditions.checkNotNull( task.values, "NetCDFAsyncWriter: values should not be null." );
+		this.lock.readLock().lock();
+		try {
+			Preconditions.checkState( !this.closed.get(), "NetCDFAsyncWriter: the writer has been closed." );
+			this.queue.put( task );
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new NetCDFException( "NetCDFAsyncWriter: interrupted while waiting for the queue.", e );
+		} finally {
+			this.lock.readLock().unlock();
+		}
+		return task.future;
+	}
+
+	/**
+	 * Drain the queue on the writer thread, after the first error the remaining tasks are failed without writing.
+	 */
+	private void drain() {
+		while ( true ) {
+			WriteTask task;
+			try {
+				task = this.queue.take();
+			} catch (InterruptedException e) {
+				// nothing to do, only stop by the end task
+				continue;
+			}
+			if ( task == END ) {
+				return;
+			}
+
+			Throwable previous = this.error.get();
+			if ( previous != null ) {
+				task.future.completeExceptionally( previous );
+				continue;
+			}
+
+			try {
+				if ( task.origin == null ) {
+					this.writer.writeValues( task.name, task.values );
+				} else {
+					this.writer.writeValues( task.name, task.values, task.origin );
+				}
+				task.future.complete( null );
+			} catch (IOException | InvalidRangeException | RuntimeException e) {
+				this.error.compareAndSet( null, e );
+				task.future.completeExceptionally( e );
+			}
+		}
+	}
+
+	/**
+	 * The pending write task.
+	 *
+	 * @author Brad Chen
+	 * @since 1.3.0
+	 */
+	private static class WriteTask {
+		private final String name;
+		private final Array values;
+		private final int[] origin;
+		private final CompletableFuture<Void> future = new CompletableFuture<>();
+
+		private WriteTask( String name, Array values, int[] origin ) {
+			this.name = name;
+			this.values = values;
+			this.origin = origin;
+		}
+	}
+}
@@ -1,5 +1,7 @@
 package tw.fondus.commons.nc;
 
+import com.google.common.base.Preconditions;
+import tw.fondus.commons.nc.util.AccessPattern;
 import tw.fondus.commons.nc.util.NetCDFUtils;
 import tw.fondus.commons.nc.util.ValidateUtils;
 import ucar.ma2.DataType;
@@ -132,6 +134,7 @@ public class NetCDFBuilder {
 		private String path;
 		private boolean isLargeFile;
 		private NetcdfFileWriter writer;
+		private NetCDFChunking chunking;
 
 		public NetCDFDefiner() {
 			this.dimensionsMap = new HashMap<>();
@@ -174,14 +177,19 @@ public class NetCDFBuilder {
 		/**
 		 * Create an new NetCDF file with specified version.<br/>
 		 * Writing to the netCDF-4 file format requires installing the netCDF C
-		 * library.
+		 * library. The netCDF-4 file is created with the chunking strategy of this definer.
 		 *
 		 * @param version netcdf version
 		 * @return definer
 		 * @throws IOException has IO Exception
 		 */
 		private NetCDFDefiner create( NetcdfFileWriter.Version version ) throws IOException {
-			this.writer = NetcdfFileWriter.createNew( version, this.path );
+			if ( version.isNetdf4format() ) {
+				this.chunking = new NetCDFChunking();
+				this.writer = NetcdfFileWriter.createNew( version, this.path, this.chunking );
+			} else {
+				this.writer = NetcdfFileWriter.createNew( version, this.path );
+			}
 			if ( version.equals( NetcdfFileWriter.Version.netcdf3 ) ) {
 				this.writer.setLargeFile( this.isLargeFile );
 			}
@@ -436,6 +444,90 @@ public class NetCDFBuilder {
 			return this;
 		}
 
+		/**
+		 * Set the chunk shape of variable, the rank should equal to the rank of variable.<br/>
+		 * Only used by netCDF-4.
+		 *
+		 * @param name variable name
+		 * @param chunkShape chunk shape
+		 * @return definer
+		 */
+		public NetCDFDefiner setChunking( String name, int... chunkShape ) {
+			this.validateChunking( name );
+			this.chunking.setChunkShape( name, chunkShape );
+			return this;
+		}
+
+		/**
+		 * Set the access pattern of variable, the chunk shape is computed with the pattern if not set.<br/>
+		 * Only used by netCDF-4.
+		 *
+		 * @param name variable name
+		 * @param pattern access pattern
+		 * @return definer
+		 */
+		public NetCDFDefiner setAccessPattern( String name, AccessPattern pattern ) {
+			this.validateChunking( name );
+			this.chunking.setAccessPattern( name, pattern );
+			return this;
+		}
+
+		/**
+		 * Set the deflate level and shuffle filter of variable, the level is between 0 and 9, 0 means no compression.<br/>
+		 * Only used by netCDF-4.
+		 *
+		 * @param name variable name
+		 * @param level deflate level
+		 * @param shuffle use the shuffle filter or not
+		 * @return definer
+		 */
+		public NetCDFDefiner setDeflate( String name, int level, boolean shuffle ) {
+			this.validateChunking( name );
+			this.chunking.setDeflate( name, level, shuffle );
+			return this;
+		}
+
+		/**
+		 * Set the default access pattern of variables, the default is the chunking of netCDF-java.<br/>
+		 * Only used by netCDF-4.
+		 *
+		 * @param pattern access pattern
+		 * @return definer
+		 */
+		public NetCDFDefiner setDefaultAccessPattern( AccessPattern pattern ) {
+			this.validateChunking();
+			this.chunking.setDefaultAccessPattern( pattern );
+			return this;
+		}
+
+		/**
+		 * Set the default deflate level and shuffle filter of variables, the default is level 5 with shuffle as netCDF-java.<br/>
+		 * Only used by netCDF-4.
+		 *
+		 * @param level deflate level
+		 * @param shuffle use the shuffle filter or not
+		 * @return definer
+		 */
+		public NetCDFDefiner setDefaultDeflate( int level, boolean shuffle ) {
+			this.validateChunking();
+			this.chunking.setDefaultDeflate( level, shuffle );
+			return this;
+		}
+
+		/**
+		 * Set the target bytes of the chunk computed with the access pattern, the default is 1 MB.<br/>
+		 * It should not greater than the chunk cache of reader, or the chunks will be read again for each access.<br/>
+		 * Only used by netCDF-4.
+		 *
+		 * @param chunkBytes target bytes of chunk
+		 * @return definer
+		 */
+		public NetCDFDefiner setChunkBytes( long chunkBytes ) {
+			this.validateChunking();
+			this.chunking.setChunkBytes( chunkBytes );
+			return this;
+		}
+
 		/**
 		 * After you have added all of the Dimensions, Variables, and
 		 * Attributes, call build() to actually create the file. You must be in
@@ -449,6 +541,24 @@ public class NetCDFBuilder {
 			return new NetCDFWriter( this.writer );
 		}
 
+		/**
+		 * Validate the definer is in define mode with the netCDF-4 format.
+		 */
+		private void validateChunking() {
+			ValidateUtils.validateDefine( this.writer );
+			Preconditions.checkState( this.chunking != null, "NetCDFBuilder: the chunking only supported by netCDF-4 file." );
+		}
+
+		/**
+		 * Validate the definer is in define mode with the netCDF-4 format, and has the variable.
+		 *
+		 * @param name variable name
+		 */
+		private void validateChunking( String name ) {
+			this.validateChunking();
+			ValidateUtils.validateVariable( this.writer, name, false );
+		}
+
 		/**
 		 * Validate has dimensions and collect to list.
 		 * 
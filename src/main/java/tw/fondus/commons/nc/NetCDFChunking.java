@@ -0,0 +1,221 @@
+package tw.fondus.commons.nc;
+
+import com.google.common.base.Preconditions;
+import tw.fondus.commons.nc.util.AccessPattern;
+import ucar.nc2.Variable;
+import ucar.nc2.write.Nc4Chunking;
+import ucar.nc2.write.Nc4ChunkingDefault;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The chunking and compression strategy of netCDF-4 output, it's configured by the NetCDF definer before the file created. <br/>
+ * The chunk shape is the explicit shape of variable, or computed with the access pattern and the target chunk bytes. <br/>
+ * The variable without the chunk shape or the access pattern keep the chunking of netCDF-java default, and the default
+ * compression is same as netCDF-java, deflate level 5 with shuffle, so the output is unchanged if nothing configured. <br/>
+ * It's not thread safe, and should be used by one definer.
+ *
+ * @author Brad Chen
+ * @since 1.3.0
+ */
+class NetCDFChunking implements Nc4Chunking {
+	/**
+	 * The default target bytes of chunk, the one step map or the one point series is read with few chunks.
+	 */
+	static final long DEFAULT_CHUNK_BYTES = 1L << 20;
+
+	/**
+	 * The expected length of unlimited dimension when compute the chunk shape, it's unknown before the values appended.
+	 */
+	static final int UNLIMITED_LENGTH = 1024;
+
+	/**
+	 * The default deflate level and shuffle filter, which are same as netCDF-java default.
+	 */
+	static final int DEFAULT_DEFLATE_LEVEL = 5;
+	static final boolean DEFAULT_SHUFFLE = true;
+
+	private final Nc4Chunking library = new Nc4ChunkingDefault();
+
+	private final Map<String, int[]> chunkShapes = new HashMap<>();
+	private final Map<String, AccessPattern> patterns = new HashMap<>();
+	private final Map<String, Integer> deflateLevels = new HashMap<>();
+	private final Map<String, Boolean> shuffles = new HashMap<>();
+	private AccessPattern defaultPattern;
+	private int defaultDeflateLevel = DEFAULT_DEFLATE_LEVEL;
+	private boolean defaultShuffle = DEFAULT_SHUFFLE;
+	private long chunkBytes = DEFAULT_CHUNK_BYTES;
+
+	void setChunkShape( String name, int[] chunkShape ) {
+		Preconditions.checkArgument( chunkShape.length > 0, "NetCDFChunking: the chunk shape should not be empty." );
+		for ( int size : chunkShape ) {
+			Preconditions.checkArgument( size > 0, "NetCDFChunking: the chunk size should be greater than 0." );
+		}
+		this.chunkShapes.put( name, chunkShape.clone() );
+	}
+
+	void setAccessPattern( String name, AccessPattern pattern ) {
+		this.patterns.put( name, Preconditions.checkNotNull( pattern, "NetCDFChunking: pattern should not be null." ) );
+	}
+
+	void setDeflate( String name, int level, boolean shuffle ) {
+		validateLevel( level );
+		this.deflateLevels.put( name, level );
+		this.shuffles.put( name, shuffle );
+	}
+
+	void setDefaultAccessPattern( AccessPattern pattern ) {
+		this.defaultPattern = Preconditions.checkNotNull( pattern, "NetCDFChunking: pattern should not be null." );
+	}
+
+	void setDefaultDeflate( int level, boolean shuffle ) {
+		validateLevel( level );
+		this.defaultDeflateLevel = level;
+		this.defaultShuffle = shuffle;
+	}
+
+	void setChunkBytes( long chunkBytes ) {
+		Preconditions.checkArgument( chunkBytes > 0, "NetCDFChunking: the chunk bytes should be greater than 0." );
+		this.chunkBytes = chunkBytes;
+	}
+
+	@Override
+	public boolean isChunked( Variable variable ) {
+		if ( variable.getRank() == 0 ) {
+			return false;
+		}
+		if ( this.isConfigured( variable ) ) {
+			return variable.getRank() > 1 || variable.isUnlimited() || this.getDeflateLevel( variable ) > 0;
+		}
+
+		// The compressed variable should be chunked
+		return this.library.isChunked( variable ) || this.deflateLevels.getOrDefault( variable.getShortName(), 0 ) > 0;
+	}
+
+	@Override
+	public long[] computeChunking( Variable variable ) {
+		int rank = variable.getRank();
+		int[] chunkShape = this.chunkShapes.get( variable.getShortName() );
+		if ( chunkShape != null ) {
+			Preconditions.checkState( chunkShape.length == rank,
+					"NetCDFChunking: the rank of chunk shape should equal to the rank of variable: " + variable.getShortName() + "." );
+			for ( int i = 0; i < rank; i++ ) {
+				Preconditions.checkState( variable.getDimension( i ).isUnlimited() || chunkShape[ i ] <= variable.getShape( i ),
+						"NetCDFChunking: the chunk size should not be greater than the fixed dimension length of variable: "
+								+ variable.getShortName() + "." );
+			}
+		} else if ( !this.isConfigured( variable ) && this.library.isChunked( variable ) ) {
+			return this.library.computeChunking( variable );
+		} else {
+			int[] shape = variable.getShape();
+			boolean[] unlimited = new boolean[ rank ];
+			for ( int i = 0; i < rank; i++ ) {
+				unlimited[ i ] = variable.getDimension( i ).isUnlimited();
+			}
+			AccessPattern pattern = this.patterns.getOrDefault( variable.getShortName(), this.defaultPattern );
+			chunkShape = computeChunkShape( pattern == null ? AccessPattern.BALANCED : pattern,
+					shape, unlimited, variable.getDataType().getSize(), this.chunkBytes );
+		}
+
+		long[] chunking = new long[ rank ];
+		for ( int i = 0; i < rank; i++ ) {
+			chunking[ i ] = chunkShape[ i ];
+		}
+		return chunking;
+	}
+
+	@Override
+	public int getDeflateLevel( Variable variable ) {
+		return this.deflateLevels.getOrDefault( variable.getShortName(), this.defaultDeflateLevel );
+	}
+
+	@Override
+	public boolean isShuffle( Variable variable ) {
+		return this.shuffles.getOrDefault( variable.getShortName(), this.defaultShuffle );
+	}
+
+	/**
+	 * Compute the chunk shape with the access pattern, the chunk is about the target bytes and not greater than the shape. <br/>
+	 * The map chunk is one step of the whole last two dimensions, the rows are split if it's too large. <br/>
+	 * The time series chunk is the long span of first dimension with the square tile of the last two dimensions. <br/>
+	 * The balanced chunk is scaled from the shape with the same ratio on each dimension.
+	 *
+	 * @param pattern access pattern
+	 * @param shape shape of variable, the unlimited dimension is expected as the unlimited length
+	 * @param unlimited the dimension is unlimited or not
+	 * @param elementSize bytes of element
+	 * @param chunkBytes target bytes of chunk
+	 * @return chunk shape
+	 */
+	static int[] computeChunkShape( AccessPattern pattern, int[] shape, boolean[] unlimited, int elementSize, long chunkBytes ) {
+		int rank = shape.length;
+		long elements = Math.max( 1, chunkBytes / Math.max( 1, elementSize ) );
+		long[] lengths = new long[ rank ];
+		for ( int i = 0; i < rank; i++ ) {
+			lengths[ i ] = unlimited[ i ] ? Math.max( shape[ i ], UNLIMITED_LENGTH ) : Math.max( shape[ i ], 1 );
+		}
+
+		long[] chunk = new long[ rank ];
+		if ( rank == 1 ) {
+			chunk[ 0 ] = pattern == AccessPattern.MAP && unlimited[ 0 ] ? 1 : Math.min( lengths[ 0 ], elements );
+		} else if ( pattern == AccessPattern.MAP ) {
+			// One step of the leading dimensions, and the whole plane of last two dimensions
+			for ( int i = 0; i < rank - 2; i++ ) {
+				chunk[ i ] = 1;
+			}
+			long x = lengths[ rank - 1 ];
+			chunk[ rank - 1 ] = Math.min( x, elements );
+			chunk[ rank - 2 ] = Math.max( 1, Math.min( lengths[ rank - 2 ], elements / chunk[ rank - 1 ] ) );
+		} else if ( pattern == AccessPattern.TIME_SERIES ) {
+			// The long span of first dimension, and the square tile of the last dimensions with the remaining budget
+			chunk[ 0 ] = Math.min( lengths[ 0 ], elements );
+			for ( int i = 1; i < rank - 2; i++ ) {
+				chunk[ i ] = 1;
+			}
+			long cells = Math.max( 1, elements / chunk[ 0 ] );
+			if ( rank == 2 ) {
+				chunk[ 1 ] = Math.min( lengths[ 1 ], cells );
+			} else {
+				long side = Math.max( 1, (long) Math.sqrt( cells ) );
+				chunk[ rank - 2 ] = Math.min( lengths[ rank - 2 ], side );
+				chunk[ rank - 1 ] = Math.min( lengths[ rank - 1 ], Math.max( 1, cells / chunk[ rank - 2 ] ) );
+			}
+		} else {
+			double total = 1;
+			for ( long length : lengths ) {
+				total *= length;
+			}
+			double ratio = Math.min( 1, Math.pow( elements / total, 1D / rank ) );
+			for ( int i = 0; i < rank; i++ ) {
+				chunk[ i ] = Math.max( 1, Math.min( lengths[ i ], Math.round( lengths[ i ] * ratio ) ) );
+			}
+		}
+
+		int[] chunkShape = new int[ rank ];
+		for ( int i = 0; i < rank; i++ ) {
+			chunkShape[ i ] = (int) chunk[ i ];
+		}
+		return chunkShape;
+	}
+
+	/**
+	 * Check the chunk shape of variable is configured, with the explicit shape or the access pattern.
+	 *
+	 * @param variable variable
+	 * @return is configured or not
+	 */
+	private boolean isConfigured( Variable variable ) {
+		String name = variable.getShortName();
+		return this.chunkShapes.containsKey( name ) || this.patterns.containsKey( name ) || this.defaultPattern != null;
+	}
+
+	/**
+	 * Validate the deflate level.
+	 *
+	 * @param level deflate level
+	 */
+	private static void validateLevel( int level ) {
+		Preconditions.checkArgument( level >= 0 && level <= 9, "NetCDFChunking: the deflate level should be between 0 and 9." );
+	}
+}
@@ -1,11 +1,25 @@
 package tw.fondus.commons.nc;
 
 import com.google.common.base.Preconditions;
+import tw.fondus.commons.nc.util.NetCDFFormat;
 import tw.fondus.commons.nc.util.NetCDFUtils;
+import tw.fondus.commons.nc.util.StatisticsUtils;
+import tw.fondus.commons.nc.util.VariableCodec;
 import tw.fondus.commons.nc.util.key.DimensionName;
 import tw.fondus.commons.nc.util.key.VariableAttribute;
 import tw.fondus.commons.nc.util.key.VariableName;
+import tw.fondus.commons.nc.vo.axis.CoordinateAxis;
+import tw.fondus.commons.nc.vo.axis.TimeAxis;
+import tw.fondus.commons.nc.vo.grid.TimeStepGrid;
+import tw.fondus.commons.nc.vo.index.IndexRange;
+import tw.fondus.commons.nc.vo.index.IndexRangeYX;
+import tw.fondus.commons.nc.vo.index.IndexYX;
+import tw.fondus.commons.nc.vo.statistics.GridStatistics;
+import tw.fondus.commons.nc.vo.statistics.Statistics;
+import tw.fondus.commons.nc.zonal.CellWeightIndex;
+import tw.fondus.commons.nc.zonal.Polygon;
 import ucar.ma2.Array;
+import ucar.ma2.Index;
 import ucar.ma2.InvalidRangeException;
 import ucar.nc2.Attribute;
 import ucar.nc2.Dimension;
@@ -17,18 +31,41 @@ import java.io.IOException;
 import java.math.BigDecimal;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
 import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
- * NetCDF reader which contains API to to avoid the null point with read NetCDF.
+ * NetCDF reader which contains API to to avoid the null point with read NetCDF. <br/>
+ * The file IO is serialized on the NetCDF file, so the reader can be shared between threads, e.g. leased from the reader pool.
  * 
  * @author Brad Chen
  *
  */
 public class NetCDFReader extends AbstractReader {
+	/**
+	 * The max cells of each time block when read the point series.
+	 */
+	private static final int POINT_BLOCK_CELLS = 1 << 22;
+
 	private final Optional<NetcdfFile> optNetCDF;
+	private final NetCDFFormat format;
+	private final Map<Long, TimeAxis> timeAxisCache;
+	private final Map<String, CoordinateAxis> coordinateAxisCache;
+	private final Map<String, VariableCodec> codecCache;
+	private volatile Map<String, Integer> stationIndexMap;
+	private volatile boolean pooled;
 
 	/**
 	 * The constructor.
@@ -36,8 +73,12 @@ public class NetCDFReader extends AbstractReader {
 	 * @param netcdf netcdf
 	 * @since 0.7.0
 	 */
-	private NetCDFReader( NetcdfFile netcdf ) {
+	private NetCDFReader( NetcdfFile netcdf, NetCDFFormat format ) {
 		this.optNetCDF = Optional.ofNullable( netcdf );
+		this.format = format;
+		this.timeAxisCache = new ConcurrentHashMap<>();
+		this.coordinateAxisCache = new ConcurrentHashMap<>();
+		this.codecCache = new ConcurrentHashMap<>();
 	}
 
 	/**
@@ -53,7 +94,8 @@ public class NetCDFReader extends AbstractReader {
 	}
 
 	/**
-	 * Open the NetCDF with reader.
+	 * Open the NetCDF with reader. <br/>
+	 * The format is detected with the header magic, and the file is opened only once.
 	 * 
 	 * @param path string of file location
 	 * @return reader
@@ -62,12 +104,13 @@ public class NetCDFReader extends AbstractReader {
 	 */
 	public static NetCDFReader read( String path ) throws IOException {
 		Preconditions.checkNotNull( path );
-		Preconditions.checkState( NetcdfDataset.canOpen( path ), MESSAGE_CANT_OPEN );
-		return new NetCDFReader( NetcdfDataset.openFile( path, null ) );
+		NetCDFFormat format = NetCDFFormat.detect( path );
+		return new NetCDFReader( open( path, location -> NetcdfDataset.openFile( location, null ) ), format );
 	}
 	
 	/**
-	 * Open the data set through the netCDF API, with reader.
+	 * Open the data set through the netCDF API, with reader. <br/>
+	 * The format is detected with the header magic, and the file is opened only once.
 	 * 
 	 * @param path string of file location
 	 * @return reader
@@ -76,8 +119,18 @@ public class NetCDFReader extends AbstractReader {
 	 */
 	public static NetCDFReader readDataset( String path ) throws IOException {
 		Preconditions.checkNotNull( path );
-		Preconditions.checkState( NetcdfDataset.canOpen( path ), MESSAGE_CANT_OPEN );
-		return new NetCDFReader( NetcdfDataset.openDataset( path ) );
+		NetCDFFormat format = NetCDFFormat.detect( path );
+		return new NetCDFReader( open( path, NetcdfDataset::openDataset ), format );
+	}
+
+	/**
+	 * Get the format of file which is detected with the header magic.
+	 *
+	 * @return format of file
+	 * @since 1.3.0
+	 */
+	public NetCDFFormat getFormat() {
+		return this.format;
 	}
 	
 	@Override
@@ -157,6 +210,17 @@ public class NetCDFReader extends AbstractReader {
 				nc -> nc.findVariable( id ) );
 	}
 
+	/**
+	 * Find the packing codec of variable, which is resolved once from the attributes and cached by the reader.
+	 *
+	 * @param id id of variable
+	 * @return codec of variable, it's optional
+	 * @since 1.3.0
+	 */
+	public Optional<VariableCodec> findCodec( String id ){
+		return this.findVariable( id ).map( this::findCodec );
+	}
+
 	/**
 	 * Find the time variable values from the NetCDF file with default time factor. <br/>
 	 * If NetCDF not contain time variable, will return empty list.
@@ -177,64 +241,145 @@ public class NetCDFReader extends AbstractReader {
 	 * @since 0.7.0
 	 */
 	public List<Long> findTimes( long constFactor ){
-		List<Long> times = new ArrayList<>();
-		this.findVariable( VariableName.TIME )
-			.ifPresent( variable -> {
-				try {
-					Array array = variable.read();
-					IntStream.range( 0, (int) array.getSize() )
-						.parallel()
-						.mapToObj( i -> array.getLong( i ) * constFactor )
-						.forEachOrdered( times::add );
-				} catch (IOException e) {
-					// nothing to do
-				}
-			} );
-		return times;
+		return this.findTimeAxis( constFactor )
+				.map( TimeAxis::toList )
+				.orElseGet( ArrayList::new );
 	}
 
 	/**
-	 * Find the y coordinates from the NetCDF file.<br/>
+	 * Find the time axis from the NetCDF file with default time factor, it's cached by the reader.
+	 *
+	 * @return time axis, it's optional
+	 * @since 1.3.0
+	 */
+	public Optional<TimeAxis> findTimeAxis(){
+		return this.findTimeAxis( 1 );
+	}
+
+	/**
+	 * Find the time axis from the NetCDF file with specified time factor, it's cached by the reader. <br/>
+	 * The time variable is read once, then each time factor is scaled from it.
+	 *
+	 * @param constFactor time factor
+	 * @return time axis, it's optional
+	 * @since 1.3.0
+	 */
+	public Optional<TimeAxis> findTimeAxis( long constFactor ){
+		TimeAxis cached = this.timeAxisCache.get( constFactor );
+		if ( cached != null ) {
+			return Optional.of( cached );
+		}
+
+		Optional<TimeAxis> optAxis = constFactor == 1 ? this.readTimeAxis() :
+				this.findTimeAxis( 1 ).map( axis -> axis.scale( constFactor ) );
+		optAxis.ifPresent( axis -> this.timeAxisCache.putIfAbsent( constFactor, axis ) );
+		return optAxis.map( axis -> this.timeAxisCache.get( constFactor ) );
+	}
+
+	/**
+	 * Find the y coordinates from the NetCDF file, it's built from the cached coordinate axis.<br/>
 	 * The variable read weight is <b>y -> lat</b>.
 	 *
 	 * @return y coordinates, it's optional
 	 * @since 1.1.6
 	 */
 	public Optional<List<BigDecimal>> findYCoordinates(){
-		Optional<List<BigDecimal>> optional = this.findOneDimensionArrayValues( VariableName.Y );
-		return optional.isPresent() ? optional : this.findOneDimensionArrayValues( VariableName.LAT );
+		return this.findYAxis().map( this::toCoordinates );
 	}
 
 	/**
-	 * Find the lat coordinates from the NetCDF file.
+	 * Find the lat coordinates from the NetCDF file, it's built from the cached coordinate axis.
 	 *
 	 * @return lat coordinates, it's optional
 	 * @since 1.1.9
 	 */
 	public Optional<List<BigDecimal>> findLatCoordinates(){
-		return this.findOneDimensionArrayValues( VariableName.LAT );
+		return this.findCoordinateAxis( VariableName.LAT ).map( this::toCoordinates );
 	}
 
 	/**
-	 * Find the x coordinates from the NetCDF file.<br/>
+	 * Find the x coordinates from the NetCDF file, it's built from the cached coordinate axis.<br/>
 	 * The variable read weight is <b>x -> lon</b>.
 	 *
 	 * @return x coordinates, it's optional
 	 * @since 1.1.6
 	 */
 	public Optional<List<BigDecimal>> findXCoordinates(){
-		Optional<List<BigDecimal>> optional = this.findOneDimensionArrayValues( VariableName.X );
-		return optional.isPresent() ? optional : this.findOneDimensionArrayValues( VariableName.LON );
+		return this.findXAxis().map( this::toCoordinates );
 	}
 
 	/**
-	 * Find the lon coordinates from the NetCDF file.
+	 * Find the lon coordinates from the NetCDF file, it's built from the cached coordinate axis.
 	 *
 	 * @return lon coordinates, it's optional
 	 * @since 1.1.9
 	 */
 	public Optional<List<BigDecimal>> findLonCoordinates(){
-		return this.findOneDimensionArrayValues( VariableName.LON );
+		return this.findCoordinateAxis( VariableName.LON ).map( this::toCoordinates );
+	}
+
+	/**
+	 * Find the y coordinate axis from the NetCDF file, it's cached by the reader.<br/>
+	 * The variable read weight is <b>y -> lat</b>.
+	 *
+	 * @return y coordinate axis, it's optional
+	 * @since 1.3.0
+	 */
+	public Optional<CoordinateAxis> findYAxis(){
+		Optional<CoordinateAxis> optional = this.findCoordinateAxis( VariableName.Y );
+		return optional.isPresent() ? optional : this.findCoordinateAxis( VariableName.LAT );
+	}
+
+	/**
+	 * Find the x coordinate axis from the NetCDF file, it's cached by the reader.<br/>
+	 * The variable read weight is <b>x -> lon</b>.
+	 *
+	 * @return x coordinate axis, it's optional
+	 * @since 1.3.0
+	 */
+	public Optional<CoordinateAxis> findXAxis(){
+		Optional<CoordinateAxis> optional = this.findCoordinateAxis( VariableName.X );
+		return optional.isPresent() ? optional : this.findCoordinateAxis( VariableName.LON );
+	}
+
+	/**
+	 * Find the grid index of the nearest cell with the coordinate axes. <br/>
+	 * If the point is outside the grid more than half cell, will return empty.
+	 *
+	 * @param x x or lon of point
+	 * @param y y or lat of point
+	 * @return grid index, it's optional
+	 * @since 1.3.0
+	 */
+	public Optional<IndexYX> nearestIndex( double x, double y ){
+		Optional<CoordinateAxis> optXAxis = this.findXAxis();
+		Optional<CoordinateAxis> optYAxis = this.findYAxis();
+		if ( !optXAxis.isPresent() || !optYAxis.isPresent() ) {
+			return Optional.empty();
+		}
+
+		int col = optXAxis.get().nearestIndex( x );
+		int row = optYAxis.get().nearestIndex( y );
+		return col < 0 || row < 0 ? Optional.empty() : Optional.of( new IndexYX( col, row ) );
+	}
+
+	/**
+	 * Find the index ranges of the cells inside the bounding box with the coordinate axes. <br/>
+	 * If the bounding box not intersect with the coordinates, will return empty.
+	 *
+	 * @param minX min x or lon of bounding box
+	 * @param minY min y or lat of bounding box
+	 * @param maxX max x or lon of bounding box
+	 * @param maxY max y or lat of bounding box
+	 * @return index ranges of y and x, it's optional
+	 * @since 1.3.0
+	 */
+	public Optional<IndexRangeYX> bboxToIndexRange( double minX, double minY, double maxX, double maxY ){
+		Preconditions.checkArgument( minX <= maxX && minY <= maxY, "NetCDFReader: the min of bounding box should not greater than max." );
+		Optional<IndexRange> xRange = this.findXAxis().flatMap( axis -> axis.rangeIndex( minX, maxX ) );
+		Optional<IndexRange> yRange = this.findYAxis().flatMap( axis -> axis.rangeIndex( minY, maxY ) );
+		return xRange.isPresent() && yRange.isPresent() ?
+				Optional.of( new IndexRangeYX( yRange.get(), xRange.get() ) ) : Optional.empty();
 	}
 
 	/**
@@ -246,7 +391,9 @@ public class NetCDFReader extends AbstractReader {
 	public Optional<List<String>> findStationIds(){
 		return this.findVariable( VariableName.ID_STATION ).map( variable -> {
 			try {
-				return NetCDFUtils.readStringValues( variable );
+				synchronized ( this.getNetCDF() ) {
+					return NetCDFUtils.readStringValues( variable );
+				}
 			} catch (IOException e) {
 				// nothing to do
 			}
@@ -333,7 +480,9 @@ public class NetCDFReader extends AbstractReader {
 		return this.validFileOpened( this.optNetCDF,
 				nc -> {
 					try {
-						return nc.readSection( id );
+						synchronized ( nc ) {
+							return nc.readSection( id );
+						}
 					} catch (IOException | InvalidRangeException e) {
 						// nothing to do
 					}
@@ -341,6 +490,357 @@ public class NetCDFReader extends AbstractReader {
 				} );
 	}
 	
+	/**
+	 * Read the section of variable value, only the section is read from disk. <br/>
+	 * The count of ranges should equal to the rank of variable, the null range means the whole dimension.
+	 *
+	 * @param id id of variable
+	 * @param ranges index ranges of each dimension
+	 * @return array values of section, it's optional
+	 * @since 1.3.0
+	 */
+	public Optional<Array> readSection( String id, IndexRange... ranges ) {
+		Preconditions.checkNotNull( id );
+		Preconditions.checkNotNull( ranges );
+		return this.findVariable( id ).map( variable -> {
+			Preconditions.checkArgument( ranges.length == variable.getRank(),
+					"NetCDFReader: the count of ranges should equal to the rank of variable." );
+			int[] origin = new int[ ranges.length ];
+			int[] shape = variable.getShape();
+			for ( int i = 0; i < ranges.length; i++ ) {
+				if ( ranges[ i ] != null ) {
+					Preconditions.checkPositionIndexes( ranges[ i ].getStart(), ranges[ i ].getEnd() + 1, shape[ i ] );
+					origin[ i ] = ranges[ i ].getStart();
+					shape[ i ] = ranges[ i ].getSize();
+				}
+			}
+			try {
+				synchronized ( this.getNetCDF() ) {
+					return variable.read( origin, shape );
+				}
+			} catch (IOException | InvalidRangeException e) {
+				// nothing to do
+			}
+			return null;
+		} );
+	}
+
+	/**
+	 * Read the subset of variable value with bounding box, only the subset is read from disk. <br/>
+	 * The y and x dimensions are resolved with the coordinates, the other dimensions are read whole. <br/>
+	 * If the bounding box not intersect with the coordinates, will return empty.
+	 *
+	 * @param id id of variable
+	 * @param minX min x or lon of bounding box
+	 * @param minY min y or lat of bounding box
+	 * @param maxX max x or lon of bounding box
+	 * @param maxY max y or lat of bounding box
+	 * @return array values of subset, it's optional
+	 * @since 1.3.0
+	 */
+	public Optional<Array> readSubset( String id, double minX, double minY, double maxX, double maxY ) {
+		return this.readSubset( id, Optional.empty(), minX, minY, maxX, maxY );
+	}
+
+	/**
+	 * Read the subset of variable value with time window and bounding box, only the subset is read from disk. <br/>
+	 * The time dimension is resolved with the time axis, the y and x dimensions are resolved with the coordinates. <br/>
+	 * If the time window or bounding box not intersect with the file, will return empty.
+	 *
+	 * @param id id of variable
+	 * @param constFactor time factor of time axis
+	 * @param startTime start time, inclusive
+	 * @param endTime end time, inclusive
+	 * @param minX min x or lon of bounding box
+	 * @param minY min y or lat of bounding box
+	 * @param maxX max x or lon of bounding box
+	 * @param maxY max y or lat of bounding box
+	 * @return array values of subset, it's optional
+	 * @since 1.3.0
+	 */
+	public Optional<Array> readSubset( String id, long constFactor, long startTime, long endTime,
+			double minX, double minY, double maxX, double maxY ) {
+		Optional<IndexRange> timeRange = this.findTimeAxis( constFactor ).flatMap( axis -> axis.rangeIndices( startTime, endTime ) );
+		if ( !timeRange.isPresent() ) {
+			return Optional.empty();
+		}
+		return this.readSubset( id, timeRange, minX, minY, maxX, maxY );
+	}
+
+	/**
+	 * Read the time series at the grid points from the Time, Y, X three-dimension variable. <br/>
+	 * The time steps are read block by block only with the extent of points, and the blocks are decoded in parallel. <br/>
+	 * The values are decoded with the scale, offset factor and missing value of variable, if is missing value, will be default missing.
+	 *
+	 * @param id id of variable
+	 * @param points grid index of points
+	 * @return time series, first index is point, it's optional
+	 * @since 1.3.0
+	 */
+	public Optional<float[][]> readPointSeries( String id, List<IndexYX> points ) {
+		Preconditions.checkNotNull( id );
+		Preconditions.checkNotNull( points, "NetCDFReader: points should not be null." );
+		return this.findVariable( id ).flatMap( variable -> {
+			Preconditions.checkArgument( variable.getRank() == 3, "NetCDFReader: the variable should be Time, Y, X three-dimension." );
+			int[] shape = variable.getShape();
+			points.forEach( point -> {
+				Preconditions.checkElementIndex( point.getRow(), shape[ 1 ], "NetCDFReader: the row of point" );
+				Preconditions.checkElementIndex( point.getCol(), shape[ 2 ], "NetCDFReader: the col of point" );
+			} );
+			return this.readPointSeries( variable, points.toArray( new IndexYX[ 0 ] ), Optional.empty() );
+		} );
+	}
+
+	/**
+	 * Read the time series in the time window at the grid points from the Time, Y, X three-dimension variable. <br/>
+	 * Only the time steps in the window are read, if the time window not intersect with the file, will return empty.
+	 *
+	 * @param id id of variable
+	 * @param points grid index of points
+	 * @param constFactor time factor of time axis
+	 * @param startTime start time, inclusive
+	 * @param endTime end time, inclusive
+	 * @return time series, first index is point, it's optional
+	 * @since 1.3.0
+	 */
+	public Optional<float[][]> readPointSeries( String id, List<IndexYX> points, long constFactor, long startTime, long endTime ) {
+		Preconditions.checkNotNull( id );
+		Preconditions.checkNotNull( points, "NetCDFReader: points should not be null." );
+		Optional<IndexRange> timeRange = this.findTimeAxis( constFactor ).flatMap( axis -> axis.rangeIndices( startTime, endTime ) );
+		if ( !timeRange.isPresent() ) {
+			return Optional.empty();
+		}
+		return this.findVariable( id ).flatMap( variable -> {
+			Preconditions.checkArgument( variable.getRank() == 3, "NetCDFReader: the variable should be Time, Y, X three-dimension." );
+			int[] shape = variable.getShape();
+			points.forEach( point -> {
+				Preconditions.checkElementIndex( point.getRow(), shape[ 1 ], "NetCDFReader: the row of point" );
+				Preconditions.checkElementIndex( point.getCol(), shape[ 2 ], "NetCDFReader: the col of point" );
+			} );
+			return this.readPointSeries( variable, points.toArray( new IndexYX[ 0 ] ), timeRange );
+		} );
+	}
+
+	/**
+	 * Read the time series at the coordinates from the Time, Y, X three-dimension variable. <br/>
+	 * The coordinates are resolved to the nearest cell, if the point is outside the grid, the time series will be default missing.
+	 *
+	 * @param id id of variable
+	 * @param xs x or lon of points
+	 * @param ys y or lat of points
+	 * @return time series, first index is point, it's optional
+	 * @since 1.3.0
+	 */
+	public Optional<float[][]> readPointSeries( String id, double[] xs, double[] ys ) {
+		Preconditions.checkNotNull( id );
+		Preconditions.checkNotNull( xs, "NetCDFReader: xs should not be null." );
+		Preconditions.checkNotNull( ys, "NetCDFReader: ys should not be null." );
+		Preconditions.checkArgument( xs.length == ys.length, "NetCDFReader: the length of xs and ys should be equal." );
+		IndexYX[] points = new IndexYX[ xs.length ];
+		for ( int p = 0; p < points.length; p++ ) {
+			points[ p ] = this.nearestIndex( xs[ p ], ys[ p ] ).orElse( null );
+		}
+		return this.findVariable( id ).flatMap( variable -> {
+			Preconditions.checkArgument( variable.getRank() == 3, "NetCDFReader: the variable should be Time, Y, X three-dimension." );
+			return this.readPointSeries( variable, points, Optional.empty() );
+		} );
+	}
+
+	/**
+	 * Read the time series of all stations from the Time, Station two-dimension variable in one pass.
+	 *
+	 * @param id id of variable
+	 * @return time series by station id with the order of file, it's optional
+	 * @since 1.3.0
+	 */
+	public Optional<Map<String, float[]>> readStationSeries( String id ) {
+		return this.findStationIds().flatMap( stationIds -> this.readStationSeries( id, stationIds ) );
+	}
+
+	/**
+	 * Read the time series of the stations from the Time, Station two-dimension variable in one pass. <br/>
+	 * The unknown station ids are ignored.
+	 *
+	 * @param id id of variable
+	 * @param stationIds station ids
+	 * @return time series by station id with the order of station ids, it's optional
+	 * @since 1.3.0
+	 */
+	public Optional<Map<String, float[]>> readStationSeries( String id, Collection<String> stationIds ) {
+		return this.readStationSeries( id, stationIds, Optional.empty() );
+	}
+
+	/**
+	 * Read the time series of the stations in the time window from the Time, Station two-dimension variable in one pass. <br/>
+	 * The unknown station ids are ignored, if the time window not intersect with the file, will return empty.
+	 *
+	 * @param id id of variable
+	 * @param stationIds station ids
+	 * @param constFactor time factor of time axis
+	 * @param startTime start time, inclusive
+	 * @param endTime end time, inclusive
+	 * @return time series by station id with the order of station ids, it's optional
+	 * @since 1.3.0
+	 */
+	public Optional<Map<String, float[]>> readStationSeries( String id, Collection<String> stationIds, long constFactor,
+			long startTime, long endTime ) {
+		Optional<IndexRange> timeRange = this.findTimeAxis( constFactor ).flatMap( axis -> axis.rangeIndices( startTime, endTime ) );
+		if ( !timeRange.isPresent() ) {
+			return Optional.empty();
+		}
+		return this.readStationSeries( id, stationIds, timeRange );
+	}
+
+	/**
+	 * Stream the time steps of the Time, Y, X three-dimension variable, each step is read lazily from disk with section read. <br/>
+	 * The next step is read ahead on the background thread, and the stream is split by the time blocks,
+	 * so the aggregation over the long archive is in constant memory, and the parallel stream fan out by the blocks. <br/>
+	 * The values are decoded with the scale, offset factor and missing value of variable, if is missing value, will be default missing. <br/>
+	 * If the variable not exist, will return empty stream, the read failure is thrown as NetCDF exception while consuming. <br/>
+	 * The stream should be closed after used, e.g. with try-with-resources, so the pending read-ahead is cancelled
+	 * when the stream is short-circuited, before the reader is closed.
+	 *
+	 * @param id id of variable
+	 * @return stream of time steps
+	 * @since 1.3.0
+	 */
+	public Stream<TimeStepGrid> streamTimeSteps( String id ) {
+		return this.streamTimeSteps( id, Optional.empty() );
+	}
+
+	/**
+	 * Stream the time steps in the time window of the Time, Y, X three-dimension variable, each step is read lazily from disk with section read. <br/>
+	 * If the variable not exist or the time window not intersect with the file, will return empty stream. <br/>
+	 * The stream should be closed after used.
+	 *
+	 * @param id id of variable
+	 * @param constFactor time factor of time axis
+	 * @param startTime start time, inclusive
+	 * @param endTime end time, inclusive
+	 * @return stream of time steps
+	 * @since 1.3.0
+	 */
+	public Stream<TimeStepGrid> streamTimeSteps( String id, long constFactor, long startTime, long endTime ) {
+		Optional<IndexRange> timeRange = this.findTimeAxis( constFactor ).flatMap( axis -> axis.rangeIndices( startTime, endTime ) );
+		if ( !timeRange.isPresent() ) {
+			return Stream.empty();
+		}
+		return this.streamTimeSteps( id, timeRange );
+	}
+
+	/**
+	 * Compute the statistics of each cell over the time steps of the Time, Y, X three-dimension variable, e.g. the accumulation and the max. <br/>
+	 * The time steps are streamed in order with the read-ahead, each step is accumulated by the row blocks in parallel,
+	 * and the missing values are skipped. <br/>
+	 * If the variable not exist or not three-dimension, will return empty.
+	 *
+	 * @param id id of variable
+	 * @return statistics of each cell, it's optional
+	 * @since 1.3.0
+	 */
+	public Optional<GridStatistics> computeCellStatistics( String id ) {
+		return this.computeCellStatistics( id, Optional.empty() );
+	}
+
+	/**
+	 * Compute the statistics of each cell over the time steps in the time window, e.g. the 24-hour accumulation. <br/>
+	 * If the time window not intersect with the file, will return empty.
+	 *
+	 * @param id id of variable
+	 * @param constFactor time factor of time axis
+	 * @param startTime start time, inclusive
+	 * @param endTime end time, inclusive
+	 * @return statistics of each cell, it's optional
+	 * @since 1.3.0
+	 */
+	public Optional<GridStatistics> computeCellStatistics( String id, long constFactor, long startTime, long endTime ) {
+		Optional<IndexRange> timeRange = this.findTimeAxis( constFactor ).flatMap( axis -> axis.rangeIndices( startTime, endTime ) );
+		if ( !timeRange.isPresent() ) {
+			return Optional.empty();
+		}
+		return this.computeCellStatistics( id, timeRange );
+	}
+
+	/**
+	 * Compute the statistics of each time step over the cells inside the mask, e.g. the areal rainfall. <br/>
+	 * The time steps are streamed in parallel by the time blocks, and the missing values are skipped. <br/>
+	 * If the variable not exist or not three-dimension, will return empty.
+	 *
+	 * @param id id of variable
+	 * @param mask row-major mask of cells with the order of file, the true is inside, it's nullable for all cells
+	 * @return statistics of each time step, it's optional
+	 * @since 1.3.0
+	 */
+	public Optional<Statistics[]> computeStepStatistics( String id, boolean[] mask ) {
+		return this.computeStepStatistics( id, mask, Optional.empty() );
+	}
+
+	/**
+	 * Compute the statistics of each time step in the time window over the cells inside the mask. <br/>
+	 * If the time window not intersect with the file, will return empty.
+	 *
+	 * @param id id of variable
+	 * @param mask row-major mask of cells with the order of file, the true is inside, it's nullable for all cells
+	 * @param constFactor time factor of time axis
+	 * @param startTime start time, inclusive
+	 * @param endTime end time, inclusive
+	 * @return statistics of each time step, it's optional
+	 * @since 1.3.0
+	 */
+	public Optional<Statistics[]> computeStepStatistics( String id, boolean[] mask, long constFactor, long startTime, long endTime ) {
+		Optional<IndexRange> timeRange = this.findTimeAxis( constFactor ).flatMap( axis -> axis.rangeIndices( startTime, endTime ) );
+		if ( !timeRange.isPresent() ) {
+			return Optional.empty();
+		}
+		return this.computeStepStatistics( id, mask, timeRange );
+	}
+
+	/**
+	 * Build the cell-weight index of zones on the grid of the file, with the X, Y or lon, lat coordinates. <br/>
+	 * The index can be saved to disk and reused by the files with the same grid.
+	 *
+	 * @param zones polygon by zone id, the order is kept
+	 * @return cell-weight index, it's optional
+	 * @since 1.3.0
+	 */
+	public Optional<CellWeightIndex> buildCellWeightIndex( Map<String, Polygon> zones ) {
+		Preconditions.checkNotNull( zones, "NetCDFReader: zones should not be null." );
+		return this.findYAxis().flatMap( yAxis -> this.findXAxis().map( xAxis -> CellWeightIndex.build( yAxis, xAxis, zones ) ) );
+	}
+
+	/**
+	 * Read the weighted mean of each zone at each time step from the Time, Y, X three-dimension variable, e.g. the basin-averaged rainfall. <br/>
+	 * The time steps are streamed in parallel by the time blocks, and each step is a sparse product with the cell-weight index.
+	 *
+	 * @param id id of variable
+	 * @param index cell-weight index built on the same grid
+	 * @return weighted mean, first index is time and second index is zone, it's optional
+	 * @since 1.3.0
+	 */
+	public Optional<double[][]> readZonalMeans( String id, CellWeightIndex index ) {
+		return this.readZonalMeans( id, index, Optional.empty() );
+	}
+
+	/**
+	 * Read the weighted mean of each zone at each time step in the time window from the Time, Y, X three-dimension variable. <br/>
+	 * If the time window not intersect with the file, will return empty.
+	 *
+	 * @param id id of variable
+	 * @param index cell-weight index built on the same grid
+	 * @param constFactor time factor of time axis
+	 * @param startTime start time, inclusive
+	 * @param endTime end time, inclusive
+	 * @return weighted mean, first index is time and second index is zone, it's optional
+	 * @since 1.3.0
+	 */
+	public Optional<double[][]> readZonalMeans( String id, CellWeightIndex index, long constFactor, long startTime, long endTime ) {
+		Optional<IndexRange> timeRange = this.findTimeAxis( constFactor ).flatMap( axis -> axis.rangeIndices( startTime, endTime ) );
+		if ( !timeRange.isPresent() ) {
+			return Optional.empty();
+		}
+		return this.readZonalMeans( id, index, timeRange );
+	}
+
 	/**
 	 * Check the NetCDF has dimension.
 	 * 
@@ -415,17 +915,426 @@ public class NetCDFReader extends AbstractReader {
 		return this.orElseThrow( this.optNetCDF.map( NetcdfFile::toString ), MESSAGE_NOT_OPEN );
 	}
 
+	/**
+	 * Close the NetCDF file, the reader leased from the pool is not closed, it's closed by the pool.
+	 */
 	@Override
 	public void close() {
+		if ( !this.pooled ) {
+			this.closeNetCDF();
+		}
+	}
+
+	/**
+	 * Mark the reader is shared by the pool, so the close of lease holder is ignored.
+	 *
+	 * @return reader
+	 * @since 1.3.0
+	 */
+	NetCDFReader pooled() {
+		this.pooled = true;
+		return this;
+	}
+
+	/**
+	 * Close the NetCDF file whether the reader is pooled or not.
+	 *
+	 * @since 1.3.0
+	 */
+	void closeNetCDF() {
 		this.optNetCDF.ifPresent( nc -> {
+			// Wait the running read, e.g. the read-ahead of time step stream
+			synchronized ( nc ) {
+				try {
+					nc.close();
+				} catch (IOException e) {
+					// nothing to do
+				}
+			}
+		} );
+	}
+
+	/**
+	 * Read the time variable as time axis, the NetCDF file IO is serialized.
+	 *
+	 * @return time axis, it's optional
+	 * @since 1.3.0
+	 */
+	private Optional<TimeAxis> readTimeAxis(){
+		return this.findVariable( VariableName.TIME )
+				.map( variable -> {
+					try {
+						Array array;
+						synchronized ( this.getNetCDF() ) {
+							array = variable.read();
+						}
+						long[] times = new long[ (int) array.getSize() ];
+						for ( int i = 0; i < times.length; i++ ) {
+							times[ i ] = array.getLong( i );
+						}
+						return new TimeAxis( times );
+					} catch (IOException e) {
+						// nothing to do
+					}
+					return null;
+				} );
+	}
+
+	/**
+	 * Read the subset of variable value with resolved time range and bounding box.
+	 *
+	 * @param id id of variable
+	 * @param timeRange time range, it's optional
+	 * @param minX min x or lon of bounding box
+	 * @param minY min y or lat of bounding box
+	 * @param maxX max x or lon of bounding box
+	 * @param maxY max y or lat of bounding box
+	 * @return array values of subset, it's optional
+	 * @since 1.3.0
+	 */
+	private Optional<Array> readSubset( String id, Optional<IndexRange> timeRange,
+			double minX, double minY, double maxX, double maxY ) {
+		Preconditions.checkNotNull( id );
+		Optional<Variable> optVariable = this.findVariable( id );
+		Optional<IndexRangeYX> optRangeYX = this.bboxToIndexRange( minX, minY, maxX, maxY );
+		if ( !optVariable.isPresent() || !optRangeYX.isPresent() ) {
+			return Optional.empty();
+		}
+
+		Variable variable = optVariable.get();
+		int rank = variable.getRank();
+		int tIndex = -1;
+		int yIndex = -1;
+		int xIndex = -1;
+		for ( int i = 0; i < rank; i++ ) {
+			String dimension = variable.getDimension( i ).getShortName();
+			if ( DimensionName.TIME.equals( dimension ) ) {
+				tIndex = i;
+			} else if ( DimensionName.Y.equals( dimension ) || DimensionName.LAT.equals( dimension ) || DimensionName.ROW.equals( dimension ) ) {
+				yIndex = i;
+			} else if ( DimensionName.X.equals( dimension ) || DimensionName.LON.equals( dimension ) || DimensionName.COL.equals( dimension ) ) {
+				xIndex = i;
+			}
+		}
+
+		// The dimensions with other names fall back to the position, e.g. latitude and longitude
+		if ( ( yIndex < 0 || xIndex < 0 ) && rank >= 2 ) {
+			yIndex = rank - 2;
+			xIndex = rank - 1;
+		}
+		if ( tIndex < 0 && rank == 3 ) {
+			tIndex = 0;
+		}
+
+		IndexRange[] ranges = new IndexRange[ rank ];
+		for ( int i = 0; i < rank; i++ ) {
+			if ( i == tIndex && timeRange.isPresent() ) {
+				ranges[ i ] = timeRange.get();
+			} else if ( i == yIndex ) {
+				ranges[ i ] = optRangeYX.get().getYRange();
+			} else if ( i == xIndex ) {
+				ranges[ i ] = optRangeYX.get().getXRange();
+			} else {
+				ranges[ i ] = new IndexRange( 0, variable.getShape( i ) - 1 );
+			}
+		}
+		return this.readSection( id, ranges );
+	}
+
+	/**
+	 * Read the time series at the grid points block by block, the null point is filled with default missing.
+	 *
+	 * @param variable Time, Y, X three-dimension variable
+	 * @param points grid index of points, it's nullable
+	 * @param timeRange time range, it's optional
+	 * @return time series, first index is point, it's optional
+	 * @since 1.3.0
+	 */
+	private Optional<float[][]> readPointSeries( Variable variable, IndexYX[] points, Optional<IndexRange> timeRange ) {
+		int[] shape = variable.getShape();
+		int tStart = timeRange.map( IndexRange::getStart ).orElse( 0 );
+		int tSize = timeRange.map( IndexRange::getSize ).orElse( shape[ 0 ] );
+		float[][] series = new float[ points.length ][ tSize ];
+		float missingValue = VariableAttribute.MISSING.floatValue();
+		int minRow = Integer.MAX_VALUE;
+		int maxRow = -1;
+		int minCol = Integer.MAX_VALUE;
+		int maxCol = -1;
+		for ( int p = 0; p < points.length; p++ ) {
+			if ( points[ p ] == null ) {
+				Arrays.fill( series[ p ], missingValue );
+			} else {
+				minRow = Math.min( minRow, points[ p ].getRow() );
+				maxRow = Math.max( maxRow, points[ p ].getRow() );
+				minCol = Math.min( minCol, points[ p ].getCol() );
+				maxCol = Math.max( maxCol, points[ p ].getCol() );
+			}
+		}
+		if ( maxRow < 0 || tSize == 0 ) {
+			return Optional.of( series );
+		}
+
+		VariableCodec codec = this.findCodec( variable );
+
+		int originRow = minRow;
+		int originCol = minCol;
+		int rows = maxRow - minRow + 1;
+		int cols = maxCol - minCol + 1;
+		int blockTimes = Math.max( 1, Math.min( tSize, POINT_BLOCK_CELLS / ( rows * cols ) ) );
+		int blocks = ( tSize + blockTimes - 1 ) / blockTimes;
+		AtomicBoolean failed = new AtomicBoolean();
+		IntStream.range( 0, blocks ).parallel().forEach( block -> {
+			int fromTime = block * blockTimes;
+			int times = Math.min( blockTimes, tSize - fromTime );
+			Array values;
 			try {
-				nc.close();
-			} catch (IOException e) {
-				// nothing to do
+				synchronized ( this.getNetCDF() ) {
+					values = variable.read( new int[]{ tStart + fromTime, originRow, originCol }, new int[]{ times, rows, cols } );
+				}
+			} catch (IOException | InvalidRangeException e) {
+				failed.set( true );
+				return;
+			}
+
+			Index index = values.getIndex();
+			for ( int p = 0; p < points.length; p++ ) {
+				if ( points[ p ] != null ) {
+					int row = points[ p ].getRow() - originRow;
+					int col = points[ p ].getCol() - originCol;
+					for ( int t = 0; t < times; t++ ) {
+						series[ p ][ fromTime + t ] = codec.unpack( values.getFloat( index.set( t, row, col ) ) );
+					}
+				}
+			}
+		} );
+		return failed.get() ? Optional.empty() : Optional.of( series );
+	}
+
+	/**
+	 * Read the time series of the stations with resolved time range, the time blocks are read sequentially.
+	 *
+	 * @param id id of variable
+	 * @param stationIds station ids
+	 * @param timeRange time range, it's optional
+	 * @return time series by station id with the order of station ids, it's optional
+	 * @since 1.3.0
+	 */
+	private Optional<Map<String, float[]>> readStationSeries( String id, Collection<String> stationIds, Optional<IndexRange> timeRange ) {
+		Preconditions.checkNotNull( id );
+		Preconditions.checkNotNull( stationIds, "NetCDFReader: stationIds should not be null." );
+		Optional<Variable> optVariable = this.findVariable( id );
+		if ( !optVariable.isPresent() ) {
+			return Optional.empty();
+		}
+
+		Variable variable = optVariable.get();
+		Preconditions.checkArgument( variable.getRank() == 2, "NetCDFReader: the variable should be Time, Station two-dimension." );
+		int stationDimension = variable.findDimensionIndex( DimensionName.STATION );
+		Preconditions.checkArgument( stationDimension >= 0, "NetCDFReader: the variable should has station dimension." );
+		int timeDimension = 1 - stationDimension;
+
+		Map<String, Integer> stationIndexMap = this.findStationIndexMap();
+		Map<String, Integer> selected = new LinkedHashMap<>();
+		stationIds.stream()
+				.filter( stationIndexMap::containsKey )
+				.forEach( stationId -> selected.put( stationId, stationIndexMap.get( stationId ) ) );
+		int[] shape = variable.getShape();
+		IndexRange times = timeRange.orElse( new IndexRange( 0, shape[ timeDimension ] - 1 ) );
+		Map<String, float[]> series = new LinkedHashMap<>();
+		selected.keySet().forEach( stationId -> series.put( stationId, new float[ Math.max( 0, times.getSize() ) ] ) );
+		if ( selected.isEmpty() || times.getSize() <= 0 ) {
+			return Optional.of( series );
+		}
+
+		VariableCodec codec = this.findCodec( variable );
+
+		int minStation = selected.values().stream().mapToInt( Integer::intValue ).min().orElse( 0 );
+		int maxStation = selected.values().stream().mapToInt( Integer::intValue ).max().orElse( 0 );
+		int stations = maxStation - minStation + 1;
+		int blockTimes = Math.max( 1, POINT_BLOCK_CELLS / stations );
+		int[] origin = new int[ 2 ];
+		int[] section = new int[ 2 ];
+		origin[ stationDimension ] = minStation;
+		section[ stationDimension ] = stations;
+		try {
+			for ( int fromTime = 0; fromTime < times.getSize(); fromTime += blockTimes ) {
+				int blockSize = Math.min( blockTimes, times.getSize() - fromTime );
+				origin[ timeDimension ] = times.getStart() + fromTime;
+				section[ timeDimension ] = blockSize;
+				Array values;
+				synchronized ( this.getNetCDF() ) {
+					values = variable.read( origin, section );
+				}
+
+				Index index = values.getIndex();
+				int[] position = new int[ 2 ];
+				for ( Map.Entry<String, Integer> entry : selected.entrySet() ) {
+					float[] column = series.get( entry.getKey() );
+					position[ stationDimension ] = entry.getValue() - minStation;
+					for ( int t = 0; t < blockSize; t++ ) {
+						position[ timeDimension ] = t;
+						column[ fromTime + t ] = codec.unpack( values.getFloat( index.set( position ) ) );
+					}
+				}
+			}
+		} catch (IOException | InvalidRangeException e) {
+			return Optional.empty();
+		}
+		return Optional.of( series );
+	}
+
+	/**
+	 * Stream the time steps with resolved time range.
+	 *
+	 * @param id id of variable
+	 * @param timeRange time range, it's optional
+	 * @return stream of time steps
+	 * @since 1.3.0
+	 */
+	private Stream<TimeStepGrid> streamTimeSteps( String id, Optional<IndexRange> timeRange ) {
+		Preconditions.checkNotNull( id );
+		return this.findVariable( id ).map( variable -> {
+			Preconditions.checkArgument( variable.getRank() == 3, "NetCDFReader: the variable should be Time, Y, X three-dimension." );
+			IndexRange times = timeRange.orElse( new IndexRange( 0, variable.getShape()[ 0 ] - 1 ) );
+			TimeStepSpliterator spliterator = new TimeStepSpliterator( this.getNetCDF(), variable, this.findCodec( variable ),
+					times.getStart(), times.getEnd() + 1 );
+			return StreamSupport.stream( spliterator, false ).onClose( spliterator::close );
+		} ).orElseGet( Stream::empty );
+	}
+
+	/**
+	 * Compute the statistics of each cell with resolved time range.
+	 *
+	 * @param id id of variable
+	 * @param timeRange time range, it's optional
+	 * @return statistics of each cell, it's optional
+	 * @since 1.3.0
+	 */
+	private Optional<GridStatistics> computeCellStatistics( String id, Optional<IndexRange> timeRange ) {
+		Preconditions.checkNotNull( id );
+		return this.findVariable( id ).filter( variable -> variable.getRank() == 3 ).map( variable -> {
+			int[] shape = variable.getShape();
+			try ( Stream<TimeStepGrid> steps = this.streamTimeSteps( id, timeRange ) ) {
+				return StatisticsUtils.computeCells( steps, shape[ 1 ], shape[ 2 ] );
 			}
 		} );
 	}
 
+	/**
+	 * Compute the statistics of each time step with resolved time range.
+	 *
+	 * @param id id of variable
+	 * @param mask mask of cells, it's nullable
+	 * @param timeRange time range, it's optional
+	 * @return statistics of each time step, it's optional
+	 * @since 1.3.0
+	 */
+	private Optional<Statistics[]> computeStepStatistics( String id, boolean[] mask, Optional<IndexRange> timeRange ) {
+		Preconditions.checkNotNull( id );
+		return this.findVariable( id ).filter( variable -> variable.getRank() == 3 ).map( variable -> {
+			int[] shape = variable.getShape();
+			Preconditions.checkArgument( mask == null || mask.length == shape[ 1 ] * shape[ 2 ],
+					"NetCDFReader: the length of mask should equal to the cells of variable." );
+			IndexRange times = timeRange.orElse( new IndexRange( 0, shape[ 0 ] - 1 ) );
+			Statistics[] statistics = new Statistics[ Math.max( 0, times.getSize() ) ];
+			try ( Stream<TimeStepGrid> steps = this.streamTimeSteps( id, timeRange ) ) {
+				steps.parallel()
+						.forEach( step -> statistics[ step.getTimeIndex() - times.getStart() ] = StatisticsUtils.compute( step.getValues(), mask ) );
+			}
+			return statistics;
+		} );
+	}
+
+	/**
+	 * Read the weighted mean of each zone with resolved time range.
+	 *
+	 * @param id id of variable
+	 * @param index cell-weight index
+	 * @param timeRange time range, it's optional
+	 * @return weighted mean, first index is time and second index is zone, it's optional
+	 * @since 1.3.0
+	 */
+	private Optional<double[][]> readZonalMeans( String id, CellWeightIndex index, Optional<IndexRange> timeRange ) {
+		Preconditions.checkNotNull( id );
+		Preconditions.checkNotNull( index, "NetCDFReader: index should not be null." );
+		return this.findVariable( id ).map( variable -> {
+			int[] shape = variable.getShape();
+			Preconditions.checkArgument( shape.length == 3 && shape[ 1 ] == index.getYSize() && shape[ 2 ] == index.getXSize(),
+					"NetCDFReader: the cell-weight index is not built on the grid of variable." );
+			this.findYAxis().ifPresent( yAxis -> this.findXAxis().ifPresent( xAxis -> Preconditions.checkArgument(
+					index.isSameGrid( yAxis, xAxis ), "NetCDFReader: the cell-weight index is not built on the grid of file." ) ) );
+			IndexRange times = timeRange.orElse( new IndexRange( 0, shape[ 0 ] - 1 ) );
+			double[][] means = new double[ Math.max( 0, times.getSize() ) ][];
+			try ( Stream<TimeStepGrid> steps = this.streamTimeSteps( id, timeRange ) ) {
+				steps.parallel().forEach( step -> means[ step.getTimeIndex() - times.getStart() ] = index.means( step.getValues() ) );
+			}
+			return means;
+		} );
+	}
+
+	/**
+	 * Find the packing codec of variable, it's cached by the reader.
+	 *
+	 * @param variable variable
+	 * @return codec of variable
+	 * @since 1.3.0
+	 */
+	private VariableCodec findCodec( Variable variable ){
+		return this.codecCache.computeIfAbsent( variable.getFullName(), name -> VariableCodec.of( variable ) );
+	}
+
+	/**
+	 * Find the index of station id, it's cached by the reader.
+	 *
+	 * @return index by station id
+	 * @since 1.3.0
+	 */
+	private Map<String, Integer> findStationIndexMap() {
+		Map<String, Integer> cached = this.stationIndexMap;
+		if ( cached == null ) {
+			Map<String, Integer> indexMap = new HashMap<>();
+			this.findStationIds().ifPresent( stationIds ->
+					IntStream.range( 0, stationIds.size() ).forEach( i -> indexMap.putIfAbsent( stationIds.get( i ), i ) ) );
+			cached = Collections.unmodifiableMap( indexMap );
+			this.stationIndexMap = cached;
+		}
+		return cached;
+	}
+
+	/**
+	 * Find the coordinate axis of the one-dimension variable, it's cached by the reader.
+	 *
+	 * @param variableName variable name
+	 * @return coordinate axis, it's optional
+	 * @since 1.3.0
+	 */
+	private Optional<CoordinateAxis> findCoordinateAxis( String variableName ){
+		CoordinateAxis cached = this.coordinateAxisCache.get( variableName );
+		if ( cached != null ) {
+			return Optional.of( cached );
+		}
+
+		return this.findVariable( variableName )
+				.filter( variable -> variable.getRank() == 1 && variable.getSize() > 0 )
+				.map( variable -> {
+					try {
+						Array array;
+						synchronized ( this.getNetCDF() ) {
+							array = variable.read();
+						}
+						double[] values = new double[ (int) array.getSize() ];
+						for ( int i = 0; i < values.length; i++ ) {
+							values[ i ] = array.getDouble( i );
+						}
+						this.coordinateAxisCache.putIfAbsent( variableName, new CoordinateAxis( values ) );
+						return this.coordinateAxisCache.get( variableName );
+					} catch (IOException e) {
+						// nothing to do
+					}
+					return null;
+				} );
+	}
+
 	/**
 	 * Read the 1D variable first value.
 	 *
@@ -437,9 +1346,9 @@ public class NetCDFReader extends AbstractReader {
 		return this.findVariable( variableName )
 				.map( variable -> {
 					try {
-						BigDecimal value = NetCDFUtils.readArrayValue( variable.read(), 0 );
+						BigDecimal value = NetCDFUtils.readArrayValue( this.readOneValue( variable, 0 ), 0 );
 						return value.compareTo( VariableAttribute.MISSING ) == 0 ? null : value;
-					} catch (IOException e) {
+					} catch (IOException | InvalidRangeException e) {
 						return null;
 					}
 				} );
@@ -456,31 +1365,43 @@ public class NetCDFReader extends AbstractReader {
 		return this.findVariable( variableName )
 				.map( variable -> {
 					try {
-						BigDecimal value = NetCDFUtils.readArrayValue( variable.read(), variable.getShape(0 ) - 1 );
+						BigDecimal value = NetCDFUtils.readArrayValue( this.readOneValue( variable, variable.getShape( 0 ) - 1 ), 0 );
 						return value.compareTo( VariableAttribute.MISSING ) == 0 ? null : value;
-					} catch (IOException e) {
+					} catch (IOException | InvalidRangeException e) {
 						return null;
 					}
 				} );
 	}
 
 	/**
-	 * Find the one-dimension values from the NetCDF file.
+	 * Read the one value of the 1D variable, only the value is read from disk.
 	 *
-	 * @param variableName variable name
-	 * @return 1d values, it's optional
-	 * @since 1.1.6
+	 * @param variable variable
+	 * @param index index of value
+	 * @return array with one value
+	 * @throws IOException has IO Exception
+	 * @throws InvalidRangeException has Invalid Range Exception
+	 * @since 1.3.0
 	 */
-	private Optional<List<BigDecimal>> findOneDimensionArrayValues( String variableName ){
-		return this.findVariable( variableName )
-				.map( variable -> {
-					try {
-						Array array = variable.read();
-						return NetCDFUtils.readOneDimensionArrayValues( array );
-					} catch (IOException e) {
-						// nothing to do
-					}
-					return null;
-				} );
+	private Array readOneValue( Variable variable, int index ) throws IOException, InvalidRangeException {
+		synchronized ( this.getNetCDF() ) {
+			return variable.read( new int[]{ index }, new int[]{ 1 } );
+		}
+	}
+
+	/**
+	 * Convert the coordinate axis to the list of coordinates, the values are same as read from the variable.
+	 *
+	 * @param axis coordinate axis
+	 * @return list of coordinates
+	 * @since 1.3.0
+	 */
+	private List<BigDecimal> toCoordinates( CoordinateAxis axis ){
+		return Arrays.stream( axis.getValues() )
+				.mapToObj( value -> {
+					BigDecimal coordinate = new BigDecimal( String.valueOf( (float) value ) );
+					return coordinate.compareTo( VariableAttribute.MISSING ) == 0 ? VariableAttribute.MISSING : coordinate;
+				} )
+				.collect( Collectors.toList() );
 	}
 }
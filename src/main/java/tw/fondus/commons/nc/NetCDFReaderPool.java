@@ -0,0 +1,343 @@
+package tw.fondus.commons.nc;
+
+import com.google.common.base.Preconditions;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * NetCDF reader pool is used to share the opened readers of the same files. <br/>
+ * The reader is leased with reference counting, and keyed by the path and modification time,
+ * so the changed file on disk is opened again and the stale reader is closed after the last lease released. <br/>
+ * The pool is bounded by the count of handles and the estimated weight, which is the file size,
+ * the least recently used idle readers are evicted when the bound is exceeded. <br/>
+ * The leased reader is shared between threads, the close of reader by the lease holder is ignored,
+ * and the reader is closed by the pool. The file IO is outside the lock of pool.
+ *
+ * @author Brad Chen
+ * @since 1.3.0
+ */
+public class NetCDFReaderPool implements AutoCloseable {
+	private static final String MESSAGE_CLOSED = "NetCDFReaderPool: the pool has been closed.";
+
+	private final int maxHandles;
+	private final long maxWeight;
+	private final Map<Path, PoolEntry> entries;
+	private final AtomicLong hitCount = new AtomicLong();
+	private final AtomicLong missCount = new AtomicLong();
+	private final AtomicLong evictionCount = new AtomicLong();
+	private final AtomicLong invalidationCount = new AtomicLong();
+	private long weight;
+	private boolean closed;
+
+	/**
+	 * The constructor.
+	 *
+	 * @param maxHandles max count of opened handles
+	 * @param maxWeight max estimated weight in bytes of opened handles
+	 */
+	public NetCDFReaderPool( int maxHandles, long maxWeight ) {
+		Preconditions.checkArgument( maxHandles > 0, "NetCDFReaderPool: the max handles should be greater than 0." );
+		Preconditions.checkArgument( maxWeight > 0, "NetCDFReaderPool: the max weight should be greater than 0." );
+		this.maxHandles = maxHandles;
+		this.maxWeight = maxWeight;
+		this.entries = new LinkedHashMap<>( 16, 0.75F, true );
+	}
+
+	/**
+	 * Lease the reader of file, the lease should be closed after used.
+	 *
+	 * @param path path of file
+	 * @return lease of reader
+	 * @throws IOException has IO Exception
+	 */
+	public Lease lease( Path path ) throws IOException {
+		Preconditions.checkNotNull( path );
+		Path key = path.toAbsolutePath().normalize();
+		BasicFileAttributes attributes = Files.readAttributes( key, BasicFileAttributes.class );
+		long modified = attributes.lastModifiedTime().toMillis();
+		long size = attributes.size();
+
+		PoolEntry invalidated = null;
+		synchronized ( this ) {
+			Preconditions.checkState( !this.closed, MESSAGE_CLOSED );
+			PoolEntry entry = this.entries.get( key );
+			if ( entry != null ) {
+				if ( entry.isSame( modified, size ) ) {
+					this.hitCount.incrementAndGet();
+					return this.acquire( entry );
+				}
+				this.invalidationCount.incrementAndGet();
+				invalidated = this.remove( key, entry );
+			}
+		}
+		if ( invalidated != null ) {
+			invalidated.close();
+		}
+
+		// Open the file outside the lock, so the other files are not blocked
+		this.missCount.incrementAndGet();
+		PoolEntry opened = new PoolEntry( NetCDFReader.read( key ).pooled(), modified, size );
+		List<PoolEntry> closing = new ArrayList<>();
+		Lease lease = null;
+		synchronized ( this ) {
+			if ( !this.closed ) {
+				PoolEntry entry = this.entries.get( key );
+				if ( entry != null && entry.isSame( modified, size ) ) {
+					// Opened by the other thread at the same time
+					closing.add( opened );
+					lease = this.acquire( entry );
+				} else {
+					if ( entry != null ) {
+						PoolEntry stale = this.remove( key, entry );
+						if ( stale != null ) {
+							closing.add( stale );
+						}
+					}
+					this.entries.put( key, opened );
+					this.weight += opened.weight;
+					lease = this.acquire( opened );
+					closing.addAll( this.evict() );
+				}
+			}
+		}
+		if ( lease == null ) {
+			opened.close();
+			throw new IllegalStateException( MESSAGE_CLOSED );
+		}
+		closing.forEach( PoolEntry::close );
+		return lease;
+	}
+
+	/**
+	 * Invalidate the reader of file, it's closed after the last lease released.
+	 *
+	 * @param path path of file
+	 */
+	public void invalidate( Path path ) {
+		Preconditions.checkNotNull( path );
+		Path key = path.toAbsolutePath().normalize();
+		PoolEntry closing = null;
+		synchronized ( this ) {
+			PoolEntry entry = this.entries.get( key );
+			if ( entry != null ) {
+				this.invalidationCount.incrementAndGet();
+				closing = this.remove( key, entry );
+			}
+		}
+		if ( closing != null ) {
+			closing.close();
+		}
+	}
+
+	public long getHitCount() {
+		return this.hitCount.get();
+	}
+
+	public long getMissCount() {
+		return this.missCount.get();
+	}
+
+	public long getEvictionCount() {
+		return this.evictionCount.get();
+	}
+
+	public long getInvalidationCount() {
+		return this.invalidationCount.get();
+	}
+
+	/**
+	 * Get the count of opened handles in the pool.
+	 *
+	 * @return count of opened handles
+	 */
+	public synchronized int getOpenHandles() {
+		return this.entries.size();
+	}
+
+	/**
+	 * Check the file is opened in the pool, the changed file is still pooled until the next lease detected it.
+	 *
+	 * @param path path of file
+	 * @return is pooled or not
+	 */
+	public synchronized boolean isPooled( Path path ) {
+		Preconditions.checkNotNull( path );
+		return this.entries.containsKey( path.toAbsolutePath().normalize() );
+	}
+
+	/**
+	 * Get the estimated weight in bytes of opened handles in the pool.
+	 *
+	 * @return estimated weight
+	 */
+	public synchronized long getWeight() {
+		return this.weight;
+	}
+
+	/**
+	 * Close all idle readers, the leased readers are closed after the last lease released.
+	 */
+	@Override
+	public void close() {
+		List<PoolEntry> closing = new ArrayList<>();
+		synchronized ( this ) {
+			this.closed = true;
+			new ArrayList<>( this.entries.entrySet() ).forEach( entry -> {
+				PoolEntry removed = this.remove( entry.getKey(), entry.getValue() );
+				if ( removed != null ) {
+					closing.add( removed );
+				}
+			} );
+		}
+		closing.forEach( PoolEntry::close );
+	}
+
+	@Override
+	public synchronized String toString() {
+		return "NetCDFReaderPool{" + "handles=" + this.entries.size() + ", weight=" + this.weight + ", hits=" + this.hitCount +
+				", misses=" + this.missCount + ", evictions=" + this.evictionCount + ", invalidations=" + this.invalidationCount + '}';
+	}
+
+	/**
+	 * Acquire the lease of entry, it should be called with the lock.
+	 *
+	 * @param entry pool entry
+	 * @return lease of reader
+	 */
+	private Lease acquire( PoolEntry entry ) {
+		entry.references++;
+		return new Lease( entry );
+	}
+
+	/**
+	 * Release the lease of entry, the stale entry is closed after the last lease released.
+	 *
+	 * @param entry pool entry
+	 */
+	private void release( PoolEntry entry ) {
+		List<PoolEntry> closing = new ArrayList<>();
+		synchronized ( this ) {
+			entry.references--;
+			if ( entry.references == 0 ) {
+				if ( entry.removed ) {
+					closing.add( entry );
+				} else {
+					closing.addAll( this.evict() );
+				}
+			}
+		}
+		closing.forEach( PoolEntry::close );
+	}
+
+	/**
+	 * Remove the entry from pool, it should be called with the lock.
+	 *
+	 * @param key key of entry
+	 * @param entry pool entry
+	 * @return the entry if it's idle and should be closed, otherwise null
+	 */
+	private PoolEntry remove( Path key, PoolEntry entry ) {
+		this.entries.remove( key );
+		this.weight -= entry.weight;
+		entry.removed = true;
+		return entry.references == 0 ? entry : null;
+	}
+
+	/**
+	 * Evict the least recently used idle entries until the bound is satisfied, it should be called with the lock.
+	 *
+	 * @return evicted entries should be closed
+	 */
+	private List<PoolEntry> evict() {
+		List<PoolEntry> evicted = new ArrayList<>();
+		Iterator<PoolEntry> iterator = this.entries.values().iterator();
+		while ( ( this.entries.size() > this.maxHandles || this.weight > this.maxWeight ) && iterator.hasNext() ) {
+			PoolEntry entry = iterator.next();
+			if ( entry.references == 0 ) {
+				iterator.remove();
+				this.weight -= entry.weight;
+				entry.removed = true;
+				evicted.add( entry );
+				this.evictionCount.incrementAndGet();
+			}
+		}
+		return evicted;
+	}
+
+	/**
+	 * The lease of pooled reader, it should be closed to release the reader back to the pool.
+	 *
+	 * @author Brad Chen
+	 * @since 1.3.0
+	 */
+	public class Lease implements AutoCloseable {
+		private final PoolEntry entry;
+		private boolean released;
+
+		private Lease( PoolEntry entry ) {
+			this.entry = entry;
+		}
+
+		/**
+		 * Get the shared reader, the close of reader is ignored, it's released by the close of lease.
+		 *
+		 * @return reader
+		 */
+		public NetCDFReader getReader() {
+			Preconditions.checkState( !this.released, "NetCDFReaderPool: the lease has been released." );
+			return this.entry.reader;
+		}
+
+		@Override
+		public synchronized void close() {
+			if ( !this.released ) {
+				this.released = true;
+				release( this.entry );
+			}
+		}
+	}
+
+	/**
+	 * The entry of pool, the mutable fields are guarded by the pool lock.
+	 *
+	 * @author Brad Chen
+	 * @since 1.3.0
+	 */
+	private static class PoolEntry {
+		private final NetCDFReader reader;
+		private final long modified;
+		private final long weight;
+		private int references;
+		private boolean removed;
+
+		private PoolEntry( NetCDFReader reader, long modified, long weight ) {
+			this.reader = reader;
+			this.modified = modified;
+			this.weight = weight;
+		}
+
+		/**
+		 * Check the file on disk is same as the opened file.
+		 *
+		 * @param modified modification time of file
+		 * @param size size of file
+		 * @return is same or not
+		 */
+		private boolean isSame( long modified, long size ) {
+			return this.modified == modified && this.weight == size;
+		}
+
+		private void close() {
+			this.reader.closeNetCDF();
+		}
+	}
+}
@@ -0,0 +1,263 @@
+package tw.fondus.commons.nc;
+
+import com.google.common.base.Preconditions;
+import tw.fondus.commons.nc.util.ValidateUtils;
+import ucar.ma2.Array;
+import ucar.ma2.ArrayDouble;
+import ucar.ma2.InvalidRangeException;
+import ucar.nc2.NetcdfFileWriter;
+import ucar.nc2.Variable;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * NetCDF stream writer is used to append time steps to the variable with unlimited time dimension. <br/>
+ * It's keep at most buffer steps in memory, and flush them with one contiguous write. <br/>
+ * The stream writer is not thread safe, and the close only flush the buffer, the NetCDF writer should be closed by owner.
+ *
+ * @author Brad Chen
+ * @since 1.3.0
+ */
+public class NetCDFStreamWriter implements AutoCloseable {
+	private final NetcdfFileWriter writer;
+	private final Variable variable;
+	private final Variable timeVariable;
+	private final int[] stepShape;
+	private final int stepSize;
+	private final Array buffer;
+	private final ArrayDouble.D1 timeBuffer;
+	private int bufferedSteps;
+	private int nextStep;
+
+	/**
+	 * The constructor.
+	 *
+	 * @param writer NetCDF writer
+	 * @param name name of variable, the first dimension should be unlimited
+	 * @param timeName name of time variable, it's optional and should be one dimension with same unlimited dimension
+	 * @param bufferSteps max buffer steps
+	 */
+	NetCDFStreamWriter( @Nonnull NetcdfFileWriter writer, @Nonnull String name, String timeName, int bufferSteps ) {
+		Preconditions.checkArgument( bufferSteps > 0, "NetCDFStreamWriter: the buffer steps should be greater than 0." );
+		ValidateUtils.validateVariable( writer, name, false );
+		this.writer = writer;
+		this.variable = writer.findVariable( name );
+		Preconditions.checkState( this.variable.getRank() > 0 && this.variable.getDimension( 0 ).isUnlimited(),
+				"NetCDFStreamWriter: the first dimension of variable: " + name + " should be unlimited." );
+
+		if ( timeName == null ) {
+			this.timeVariable = null;
+			this.timeBuffer = null;
+		} else {
+			ValidateUtils.validateVariable( writer, timeName, false );
+			this.timeVariable = writer.findVariable( timeName );
+			Preconditions.checkState( this.timeVariable.getRank() == 1 && this.timeVariable.getDimension( 0 ).isUnlimited(),
+					"NetCDFStreamWriter: the time variable: " + timeName + " should be one dimension with unlimited dimension." );
+			this.timeBuffer = new ArrayDouble.D1( bufferSteps );
+		}
+
+		int[] shape = this.variable.getShape();
+		this.stepShape = Arrays.copyOfRange( shape, 1, shape.length );
+		this.stepSize = Arrays.stream( this.stepShape ).reduce( 1, ( a, b ) -> a * b );
+		int[] bufferShape = shape.clone();
+		bufferShape[ 0 ] = bufferSteps;
+		this.buffer = Array.factory( this.variable.getDataType(), bufferShape );
+		this.nextStep = shape[ 0 ];
+	}
+
+	/**
+	 * Append the time step values, the shape should be same as variable without the time dimension.
+	 *
+	 * @param step values of time step
+	 * @return stream writer
+	 * @throws IOException has IO Exception
+	 * @throws InvalidRangeException has Invalid Range Exception
+	 */
+	public NetCDFStreamWriter append( Array step ) throws IOException, InvalidRangeException {
+		Preconditions.checkState( this.timeVariable == null, "NetCDFStreamWriter: the time value is required with time variable." );
+		this.appendStep( step );
+		return this;
+	}
+
+	/**
+	 * Append the time step values with time value, the shape should be same as variable without the time dimension.
+	 *
+	 * @param time time value
+	 * @param step values of time step
+	 * @return stream writer
+	 * @throws IOException has IO Exception
+	 * @throws InvalidRangeException has Invalid Range Exception
+	 */
+	public NetCDFStreamWriter append( double time, Array step ) throws IOException, InvalidRangeException {
+		Preconditions.checkState( this.timeVariable != null, "NetCDFStreamWriter: the stream writer hasn't the time variable." );
+		this.timeBuffer.set( this.bufferedSteps, time );
+		this.appendStep( step );
+		return this;
+	}
+
+	/**
+	 * Append the batch of time steps, the shape should be same as variable except the time dimension.
+	 *
+	 * @param steps values of time steps, the first dimension is time
+	 * @return stream writer
+	 * @throws IOException has IO Exception
+	 * @throws InvalidRangeException has Invalid Range Exception
+	 */
+	public NetCDFStreamWriter appendBatch( Array steps ) throws IOException, InvalidRangeException {
+		Preconditions.checkState( this.timeVariable == null, "NetCDFStreamWriter: the time values are required with time variable." );
+		this.appendSteps( null, steps );
+		return this;
+	}
+
+	/**
+	 * Append the batch of time steps with time values, the shape should be same as variable except the time dimension.
+	 *
+	 * @param times time values
+	 * @param steps values of time steps, the first dimension is time
+	 * @return stream writer
+	 * @throws IOException has IO Exception
+	 * @throws InvalidRangeException has Invalid Range Exception
+	 */
+	public NetCDFStreamWriter appendBatch( double[] times, Array steps ) throws IOException, InvalidRangeException {
+		Preconditions.checkState( this.timeVariable != null, "NetCDFStreamWriter: the stream writer hasn't the time variable." );
+		Preconditions.checkNotNull( times, "NetCDFStreamWriter: times should not be null." );
+		this.appendSteps( times, steps );
+		return this;
+	}
+
+	/**
+	 * Get the count of time steps which has been written and buffered.
+	 *
+	 * @return count of time steps
+	 */
+	public int getSteps() {
+		return this.nextStep + this.bufferedSteps;
+	}
+
+	/**
+	 * Write the buffered time steps with one contiguous write.
+	 *
+	 * @return stream writer
+	 * @throws IOException has IO Exception
+	 * @throws InvalidRangeException has Invalid Range Exception
+	 */
+	public NetCDFStreamWriter flush() throws IOException, InvalidRangeException {
+		if ( this.bufferedSteps == 0 ) {
+			return this;
+		}
+
+		int[] origin = new int[ this.stepShape.length + 1 ];
+		origin[ 0 ] = this.nextStep;
+		this.writer.write( this.variable, origin, this.bufferedSection( this.buffer ) );
+		if ( this.timeVariable != null ) {
+			this.writer.write( this.timeVariable, new int[]{ this.nextStep }, this.bufferedSection( this.timeBuffer ) );
+		}
+		this.nextStep += this.bufferedSteps;
+		this.bufferedSteps = 0;
+		return this;
+	}
+
+	/**
+	 * Flush the buffered time steps, it's not close the NetCDF writer.
+	 *
+	 * @throws IOException has IO Exception
+	 */
+	@Override
+	public void close() throws IOException {
+		try {
+			this.flush();
+		} catch (InvalidRangeException e) {
+			throw new IOException( e );
+		}
+	}
+
+	/**
+	 * Copy the time step into buffer, if the buffer is full then flush.
+	 *
+	 * @param step values of time step
+	 * @throws IOException has IO Exception
+	 * @throws InvalidRangeException has Invalid Range Exception
+	 */
+	private void appendStep( Array step ) throws IOException, InvalidRangeException {
+		Preconditions.checkNotNull( step, "NetCDFStreamWriter: step should not be null." );
+		Preconditions.checkArgument( Arrays.equals( this.stepShape, step.getShape() ),
+				"NetCDFStreamWriter: the step shape should be " + Arrays.toString( this.stepShape ) + "." );
+		this.validateElementType( step );
+		Array.arraycopy( step, 0, this.buffer, this.bufferedSteps * this.stepSize, this.stepSize );
+		this.bufferedSteps++;
+		if ( this.bufferedSteps == this.timeBufferSize() ) {
+			this.flush();
+		}
+	}
+
+	/**
+	 * Append the batch of time steps step by step.
+	 *
+	 * @param times time values, it's null if without time variable
+	 * @param steps values of time steps, the first dimension is time
+	 * @throws IOException has IO Exception
+	 * @throws InvalidRangeException has Invalid Range Exception
+	 */
+	private void appendSteps( double[] times, Array steps ) throws IOException, InvalidRangeException {
+		Preconditions.checkNotNull( steps, "NetCDFStreamWriter: steps should not be null." );
+		int[] shape = steps.getShape();
+		Preconditions.checkArgument( shape.length == this.stepShape.length + 1 &&
+						Arrays.equals( this.stepShape, Arrays.copyOfRange( shape, 1, shape.length ) ),
+				"NetCDFStreamWriter: the steps shape should be [n, " + Arrays.toString( this.stepShape ) + "]." );
+		Preconditions.checkArgument( times == null || times.length == shape[ 0 ], "NetCDFStreamWriter: the times length should equals to steps." );
+		this.validateElementType( steps );
+
+		int copied = 0;
+		while ( copied < shape[ 0 ] ) {
+			int count = Math.min( shape[ 0 ] - copied, this.timeBufferSize() - this.bufferedSteps );
+			Array.arraycopy( steps, copied * this.stepSize, this.buffer, this.bufferedSteps * this.stepSize, count * this.stepSize );
+			if ( times != null ) {
+				for ( int i = 0; i < count; i++ ) {
+					this.timeBuffer.set( this.bufferedSteps + i, times[ copied + i ] );
+				}
+			}
+			this.bufferedSteps += count;
+			copied += count;
+			if ( this.bufferedSteps == this.timeBufferSize() ) {
+				this.flush();
+			}
+		}
+	}
+
+	/**
+	 * Validate the element type of values is same as the variable, the buffer is copied without conversion.
+	 *
+	 * @param values values of time steps
+	 */
+	private void validateElementType( Array values ) {
+		Preconditions.checkArgument( values.getElementType() == this.buffer.getElementType(),
+				"NetCDFStreamWriter: the element type of values should be " + this.buffer.getElementType().getSimpleName() + "." );
+	}
+
+	/**
+	 * Get the section of buffered time steps.
+	 *
+	 * @param array buffer array
+	 * @return section of buffered time steps
+	 * @throws InvalidRangeException has Invalid Range Exception
+	 */
+	private Array bufferedSection( Array array ) throws InvalidRangeException {
+		int[] shape = array.getShape();
+		if ( shape[ 0 ] == this.bufferedSteps ) {
+			return array;
+		}
+		shape[ 0 ] = this.bufferedSteps;
+		return array.section( new int[ shape.length ], shape );
+	}
+
+	/**
+	 * Get the max buffer steps.
+	 *
+	 * @return max buffer steps
+	 */
+	private int timeBufferSize() {
+		return this.buffer.getShape()[ 0 ];
+	}
+}
@@ -55,6 +55,43 @@ public class NetCDFWriter implements AutoCloseable {
 		return this;
 	}
 
+	/**
+	 * Create the stream writer to append time steps to the variable with unlimited time dimension.
+	 *
+	 * @param name name of variable, the first dimension should be unlimited
+	 * @param bufferSteps max buffer steps before flush
+	 * @return stream writer
+	 * @since 1.3.0
+	 */
+	public NetCDFStreamWriter stream( String name, int bufferSteps ) {
+		return new NetCDFStreamWriter( this.writer, name, null, bufferSteps );
+	}
+
+	/**
+	 * Create the stream writer to append time steps to the variable with unlimited time dimension, and also append the time variable.
+	 *
+	 * @param name name of variable, the first dimension should be unlimited
+	 * @param timeName name of time variable, it should be one dimension with same unlimited dimension
+	 * @param bufferSteps max buffer steps before flush
+	 * @return stream writer
+	 * @since 1.3.0
+	 */
+	public NetCDFStreamWriter stream( String name, String timeName, int bufferSteps ) {
+		return new NetCDFStreamWriter( this.writer, name, timeName, bufferSteps );
+	}
+
+	/**
+	 * Create the asynchronous writer, the values are written by the dedicated writer thread. <br/>
+	 * The asynchronous writer take over this writer, it will be closed with the asynchronous writer.
+	 *
+	 * @param capacity max pending write tasks, 2 is double buffering
+	 * @return asynchronous writer
+	 * @since 1.3.0
+	 */
+	public NetCDFAsyncWriter async( int capacity ) {
+		return new NetCDFAsyncWriter( this, capacity );
+	}
+
 	/**
 	 * Close NetCDF file IO.
 	 * 
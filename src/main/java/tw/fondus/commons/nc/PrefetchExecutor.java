@@ -0,0 +1,55 @@
+package tw.fondus.commons.nc;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The shared background executor of the read-ahead, e.g. the next time step of stream or the next member of aggregation. <br/>
+ * The threads are bounded by the available processors, the extra read-ahead is queued instead of a new thread,
+ * and the idle threads are released, so the many streams and readers don't pile up the threads.
+ *
+ * @author Brad Chen
+ * @since 1.3.0
+ */
+final class PrefetchExecutor {
+	/**
+	 * The maximum threads of read-ahead.
+	 */
+	static final int PARALLELISM = Math.max( 2, Runtime.getRuntime().availableProcessors() );
+
+	private static final AtomicInteger COUNTER = new AtomicInteger();
+	private static final ThreadPoolExecutor EXECUTOR = createExecutor();
+
+	/**
+	 * Avoid the constructor.
+	 */
+	private PrefetchExecutor() {}
+
+	/**
+	 * Get the shared executor of read-ahead.
+	 *
+	 * @return executor
+	 */
+	static Executor get() {
+		return EXECUTOR;
+	}
+
+	/**
+	 * Create the executor with the bounded daemon threads, the idle thread is released after one minute.
+	 *
+	 * @return executor
+	 */
+	private static ThreadPoolExecutor createExecutor() {
+		ThreadPoolExecutor executor = new ThreadPoolExecutor( PARALLELISM, PARALLELISM, 60L, TimeUnit.SECONDS,
+				new LinkedBlockingQueue<>(), runnable -> {
+					Thread thread = new Thread( runnable, "netcdf-prefetch-" + COUNTER.incrementAndGet() );
+					thread.setDaemon( true );
+					return thread;
+				} );
+		executor.allowCoreThreadTimeOut( true );
+		return executor;
+	}
+}
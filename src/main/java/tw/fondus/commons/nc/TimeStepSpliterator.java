@@ -0,0 +1,183 @@
+package tw.fondus.commons.nc;
+
+import tw.fondus.commons.nc.util.VariableCodec;
+import tw.fondus.commons.nc.vo.grid.TimeStepGrid;
+import ucar.ma2.Array;
+import ucar.ma2.InvalidRangeException;
+import ucar.nc2.NetcdfFile;
+import ucar.nc2.Variable;
+
+import java.io.IOException;
+import java.util.Queue;
+import java.util.Spliterator;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * The spliterator of Time, Y, X three-dimension variable which read the time steps lazily with section read. <br/>
+ * The next time step is read ahead on the background thread while the current step is consumed,
+ * and it's split by the time blocks, so the parallel stream read the blocks with each own read-ahead. <br/>
+ * The pending read-ahead of this and the split spliterators is cancelled by the close, e.g. the stream is short-circuited. <br/>
+ * The read-ahead runs on the shared bounded executor, and the running read holds the file monitor,
+ * so the close of reader waits the running read instead of closing the file under it.
+ *
+ * @author Brad Chen
+ * @since 1.3.0
+ */
+class TimeStepSpliterator implements Spliterator<TimeStepGrid> {
+	private final NetcdfFile netcdf;
+	private final Variable variable;
+	private final VariableCodec codec;
+	private final int ySize;
+	private final int xSize;
+	private final AtomicBoolean closed;
+	private final Queue<TimeStepSpliterator> splits;
+	private int index;
+	private int end;
+	private volatile CompletableFuture<TimeStepGrid> prefetch;
+
+	/**
+	 * The constructor.
+	 *
+	 * @param netcdf opened NetCDF, it's used to serialize the file IO
+	 * @param variable Time, Y, X three-dimension variable
+	 * @param codec packing codec of variable
+	 * @param index first index of time dimension, inclusive
+	 * @param end last index of time dimension, exclusive
+	 */
+	TimeStepSpliterator( NetcdfFile netcdf, Variable variable, VariableCodec codec, int index, int end ) {
+		this( netcdf, variable, codec, index, end, new AtomicBoolean(), new ConcurrentLinkedQueue<>() );
+	}
+
+	/**
+	 * The constructor of split spliterator, which shared the closed state with the parent.
+	 *
+	 * @param netcdf opened NetCDF, it's used to serialize the file IO
+	 * @param variable Time, Y, X three-dimension variable
+	 * @param codec packing codec of variable
+	 * @param index first index of time dimension, inclusive
+	 * @param end last index of time dimension, exclusive
+	 * @param closed closed state of the stream
+	 * @param splits all spliterators of the stream
+	 */
+	private TimeStepSpliterator( NetcdfFile netcdf, Variable variable, VariableCodec codec, int index, int end,
+			AtomicBoolean closed, Queue<TimeStepSpliterator> splits ) {
+		int[] shape = variable.getShape();
+		this.netcdf = netcdf;
+		this.variable = variable;
+		this.codec = codec;
+		this.ySize = shape[ 1 ];
+		this.xSize = shape[ 2 ];
+		this.index = index;
+		this.end = end;
+		this.closed = closed;
+		this.splits = splits;
+		this.splits.add( this );
+	}
+
+	/**
+	 * Cancel the pending read-ahead of this and the split spliterators, the remaining steps are not read.
+	 */
+	void close() {
+		if ( this.closed.compareAndSet( false, true ) ) {
+			this.splits.forEach( split -> {
+				CompletableFuture<TimeStepGrid> pending = split.prefetch;
+				if ( pending != null ) {
+					pending.cancel( false );
+				}
+			} );
+		}
+	}
+
+	@Override
+	public boolean tryAdvance( Consumer<? super TimeStepGrid> action ) {
+		if ( this.index >= this.end || this.closed.get() ) {
+			return false;
+		}
+
+		CompletableFuture<TimeStepGrid> current = this.prefetch != null ? this.prefetch : this.submit( this.index );
+		this.index++;
+		this.prefetch = this.index < this.end ? this.submit( this.index ) : null;
+		action.accept( this.join( current ) );
+		return true;
+	}
+
+	@Override
+	public Spliterator<TimeStepGrid> trySplit() {
+		// The prefetched step is kept by this spliterator
+		int from = this.prefetch != null ? this.index + 1 : this.index;
+		int remaining = this.end - from;
+		if ( remaining < 2 ) {
+			return null;
+		}
+
+		int middle = from + remaining / 2;
+		Spliterator<TimeStepGrid> split = new TimeStepSpliterator( this.netcdf, this.variable, this.codec, middle, this.end,
+				this.closed, this.splits );
+		this.end = middle;
+		return split;
+	}
+
+	@Override
+	public long estimateSize() {
+		return this.end - this.index;
+	}
+
+	@Override
+	public int characteristics() {
+		return ORDERED | SIZED | SUBSIZED | NONNULL | IMMUTABLE;
+	}
+
+	/**
+	 * Submit the read of time step to the background thread.
+	 *
+	 * @param timeIndex index of time dimension
+	 * @return future of time step
+	 */
+	private CompletableFuture<TimeStepGrid> submit( int timeIndex ) {
+		return CompletableFuture.supplyAsync( () -> this.read( timeIndex ), PrefetchExecutor.get() );
+	}
+
+	/**
+	 * Wait the time step, the read failure is thrown as NetCDF exception.
+	 *
+	 * @param future future of time step
+	 * @return time step
+	 */
+	private TimeStepGrid join( CompletableFuture<TimeStepGrid> future ) {
+		try {
+			return future.join();
+		} catch (CancellationException e) {
+			throw new NetCDFException( "TimeStepSpliterator: the stream has been closed.", e );
+		} catch (CompletionException e) {
+			throw e.getCause() instanceof NetCDFException ? (NetCDFException) e.getCause() :
+					new NetCDFException( "TimeStepSpliterator: read the time step failed.", e.getCause() );
+		}
+	}
+
+	/**
+	 * Read the time step with section read and decode to the original value.
+	 *
+	 * @param timeIndex index of time dimension
+	 * @return time step
+	 */
+	private TimeStepGrid read( int timeIndex ) {
+		if ( this.closed.get() ) {
+			throw new NetCDFException( "TimeStepSpliterator: the stream has been closed." );
+		}
+
+		Array array;
+		try {
+			synchronized ( this.netcdf ) {
+				array = this.variable.read( new int[]{ timeIndex, 0, 0 }, new int[]{ 1, this.ySize, this.xSize } );
+			}
+		} catch (IOException | InvalidRangeException e) {
+			throw new NetCDFException( "TimeStepSpliterator: read the time step: " + timeIndex + " failed.", e );
+		}
+		return new TimeStepGrid( timeIndex, this.ySize, this.xSize, this.codec.unpack( array ) );
+	}
+}
@@ -0,0 +1,161 @@
+package tw.fondus.commons.nc.catalog;
+
+import tw.fondus.commons.nc.util.NetCDFFormat;
+
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The header metadata of one file in the catalog. <br/>
+ * The times are in milliseconds, and the bounding box is the extent of the first and last coordinates,
+ * if the file without time or coordinates, the count of time is zero and the bounding box is NaN. <br/>
+ * It's immutable and safe to share between threads.
+ *
+ * @author Brad Chen
+ * @since 1.3.0
+ */
+public class CatalogEntry {
+	private final Path path;
+	private final long modified;
+	private final long size;
+	private final NetCDFFormat format;
+	private final List<String> variables;
+	private final Map<String, Integer> dimensions;
+	private final int timeCount;
+	private final long firstTime;
+	private final long lastTime;
+	private final double minX;
+	private final double minY;
+	private final double maxX;
+	private final double maxY;
+
+	/**
+	 * The constructor.
+	 *
+	 * @param path path of file
+	 * @param modified modification time of file
+	 * @param size size of file
+	 * @param format format of file
+	 * @param variables names of variables
+	 * @param dimensions lengths of dimensions by name
+	 * @param timeCount count of time
+	 * @param firstTime first time in milliseconds
+	 * @param lastTime last time in milliseconds
+	 * @param bbox bounding box with min x, min y, max x, max y
+	 */
+	CatalogEntry( Path path, long modified, long size, NetCDFFormat format, List<String> variables, Map<String, Integer> dimensions,
+			int timeCount, long firstTime, long lastTime, double[] bbox ) {
+		this.path = path;
+		this.modified = modified;
+		this.size = size;
+		this.format = format;
+		this.variables = Collections.unmodifiableList( variables );
+		this.dimensions = Collections.unmodifiableMap( dimensions );
+		this.timeCount = timeCount;
+		this.firstTime = firstTime;
+		this.lastTime = lastTime;
+		this.minX = bbox[ 0 ];
+		this.minY = bbox[ 1 ];
+		this.maxX = bbox[ 2 ];
+		this.maxY = bbox[ 3 ];
+	}
+
+	public Path getPath() {
+		return path;
+	}
+
+	public long getModified() {
+		return modified;
+	}
+
+	public long getSize() {
+		return size;
+	}
+
+	public NetCDFFormat getFormat() {
+		return format;
+	}
+
+	public List<String> getVariables() {
+		return variables;
+	}
+
+	public Map<String, Integer> getDimensions() {
+		return dimensions;
+	}
+
+	public int getTimeCount() {
+		return timeCount;
+	}
+
+	public long getFirstTime() {
+		return firstTime;
+	}
+
+	public long getLastTime() {
+		return lastTime;
+	}
+
+	public double getMinX() {
+		return minX;
+	}
+
+	public double getMinY() {
+		return minY;
+	}
+
+	public double getMaxX() {
+		return maxX;
+	}
+
+	public double getMaxY() {
+		return maxY;
+	}
+
+	/**
+	 * Check the file has time.
+	 *
+	 * @return has time or not
+	 */
+	public boolean hasTime() {
+		return this.timeCount > 0;
+	}
+
+	/**
+	 * Check the file has the bounding box of coordinates.
+	 *
+	 * @return has bounding box or not
+	 */
+	public boolean hasBoundingBox() {
+		return !Double.isNaN( this.minX ) && !Double.isNaN( this.minY );
+	}
+
+	/**
+	 * Check the file has the variable.
+	 *
+	 * @param id id of variable
+	 * @return has variable or not
+	 */
+	public boolean hasVariable( String id ) {
+		return this.variables.contains( id );
+	}
+
+	/**
+	 * Check the file on disk is same as the scanned file.
+	 *
+	 * @param modified modification time of file
+	 * @param size size of file
+	 * @return is same or not
+	 */
+	boolean isSame( long modified, long size ) {
+		return this.modified == modified && this.size == size;
+	}
+
+	@Override
+	public String toString() {
+		return "CatalogEntry{" + "path=" + path + ", format=" + format + ", variables=" + variables + ", times=" + timeCount +
+				", bbox=[" + minX + ", " + minY + ", " + maxX + ", " + maxY + "]}";
+	}
+}
@@ -0,0 +1,110 @@
+package tw.fondus.commons.nc.catalog;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * The query of catalog, the conditions are combined with and, the unset condition matches all files. <br/>
+ * The time range and bounding box are inclusive, and the file intersects with them is matched.
+ *
+ * @author Brad Chen
+ * @since 1.3.0
+ */
+public class CatalogQuery {
+	private String variable;
+	private boolean hasTime;
+	private long startTime;
+	private long endTime;
+	private boolean hasBoundingBox;
+	private double minX;
+	private double minY;
+	private double maxX;
+	private double maxY;
+
+	/**
+	 * Create the query matches all files.
+	 *
+	 * @return query
+	 */
+	public static CatalogQuery create() {
+		return new CatalogQuery();
+	}
+
+	/**
+	 * Match the files with the variable.
+	 *
+	 * @param id id of variable
+	 * @return query
+	 */
+	public CatalogQuery variable( String id ) {
+		Preconditions.checkNotNull( id, "CatalogQuery: variable should not be null." );
+		this.variable = id;
+		return this;
+	}
+
+	/**
+	 * Match the files intersect with the time range.
+	 *
+	 * @param startTime start time in milliseconds, inclusive
+	 * @param endTime end time in milliseconds, inclusive
+	 * @return query
+	 */
+	public CatalogQuery time( long startTime, long endTime ) {
+		Preconditions.checkArgument( startTime <= endTime, "CatalogQuery: the start should not greater than end." );
+		this.hasTime = true;
+		this.startTime = startTime;
+		this.endTime = endTime;
+		return this;
+	}
+
+	/**
+	 * Match the files intersect with the bounding box.
+	 *
+	 * @param minX min x or lon of bounding box
+	 * @param minY min y or lat of bounding box
+	 * @param maxX max x or lon of bounding box
+	 * @param maxY max y or lat of bounding box
+	 * @return query
+	 */
+	public CatalogQuery boundingBox( double minX, double minY, double maxX, double maxY ) {
+		Preconditions.checkArgument( minX <= maxX && minY <= maxY, "CatalogQuery: the min should not greater than max." );
+		this.hasBoundingBox = true;
+		this.minX = minX;
+		this.minY = minY;
+		this.maxX = maxX;
+		this.maxY = maxY;
+		return this;
+	}
+
+	String getVariable() {
+		return variable;
+	}
+
+	boolean hasTime() {
+		return hasTime;
+	}
+
+	long getStartTime() {
+		return startTime;
+	}
+
+	long getEndTime() {
+		return endTime;
+	}
+
+	/**
+	 * Check the entry is matched with the bounding box, the entry without bounding box is not matched.
+	 *
+	 * @param entry catalog entry
+	 * @return is matched or not
+	 */
+	boolean matchBoundingBox( CatalogEntry entry ) {
+		return !this.hasBoundingBox || ( entry.hasBoundingBox() && entry.getMinX() <= this.maxX && entry.getMaxX() >= this.minX &&
+				entry.getMinY() <= this.maxY && entry.getMaxY() >= this.minY );
+	}
+
+	@Override
+	public String toString() {
+		return "CatalogQuery{" + "variable=" + variable + ", time=" + ( hasTime ? "[" + startTime + ", " + endTime + "]" : "all" ) +
+				", bbox=" + ( hasBoundingBox ? "[" + minX + ", " + minY + ", " + maxX + ", " + maxY + "]" : "all" ) + '}';
+	}
+}
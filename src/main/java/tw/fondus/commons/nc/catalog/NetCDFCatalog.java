@@ -0,0 +1,429 @@
+package tw.fondus.commons.nc.catalog;
+
+import com.google.common.base.Preconditions;
+import tw.fondus.commons.nc.NetCDFException;
+import tw.fondus.commons.nc.NetCDFReader;
+import tw.fondus.commons.nc.util.NetCDFFormat;
+import tw.fondus.commons.nc.util.key.VariableName;
+import tw.fondus.commons.nc.vo.index.IndexRange;
+import ucar.ma2.Array;
+import ucar.nc2.Variable;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * The metadata catalog of the large NetCDF archive, which keep the header metadata of each file in the compact index. <br/>
+ * The metadata are extracted in parallel only from the header, the first and last values of time and coordinates,
+ * so the data are never read. <br/>
+ * The catalog can be saved to one binary file, and refreshed by only scanning the new or changed files with the modification time and size. <br/>
+ * The entries are sorted by the first time, and the variables are indexed by the bit sets,
+ * so the query by time range, bounding box and variable is answered without scanning the files. <br/>
+ * The files can't be opened by the NetCDF API are skipped. It's immutable and safe to share between threads.
+ *
+ * @author Brad Chen
+ * @since 1.3.0
+ */
+public class NetCDFCatalog {
+	private static final int MAGIC = 0x4E434354;
+	private static final int VERSION = 1;
+	private static final double[] NO_BOUNDING_BOX = { Double.NaN, Double.NaN, Double.NaN, Double.NaN };
+
+	private final long constFactor;
+	private final List<CatalogEntry> entries;
+	private final int timedCount;
+	private final long[] firstTimes;
+	private final long[] maxLastTimes;
+	private final Map<String, BitSet> variableIndex;
+
+	private NetCDFCatalog( long constFactor, List<CatalogEntry> entries ) {
+		List<CatalogEntry> sorted = new ArrayList<>( entries );
+		sorted.sort( Comparator.comparing( CatalogEntry::hasTime ).reversed()
+				.thenComparingLong( CatalogEntry::getFirstTime )
+				.thenComparing( CatalogEntry::getPath ) );
+		this.constFactor = constFactor;
+		this.entries = Collections.unmodifiableList( sorted );
+		this.timedCount = (int) sorted.stream().filter( CatalogEntry::hasTime ).count();
+
+		// The max of last times is ascending, so the entries end before the start time are skipped with binary search
+		this.firstTimes = new long[ this.timedCount ];
+		this.maxLastTimes = new long[ this.timedCount ];
+		for ( int i = 0; i < this.timedCount; i++ ) {
+			CatalogEntry entry = sorted.get( i );
+			this.firstTimes[ i ] = entry.getFirstTime();
+			this.maxLastTimes[ i ] = i == 0 ? entry.getLastTime() : Math.max( this.maxLastTimes[ i - 1 ], entry.getLastTime() );
+		}
+
+		this.variableIndex = new HashMap<>();
+		for ( int i = 0; i < sorted.size(); i++ ) {
+			for ( String variable : sorted.get( i ).getVariables() ) {
+				this.variableIndex.computeIfAbsent( variable, key -> new BitSet( sorted.size() ) ).set( i );
+			}
+		}
+	}
+
+	/**
+	 * Scan the NetCDF files under the directory in parallel and build the catalog, the files are recognized with the header magic.
+	 *
+	 * @param directory directory of archive
+	 * @param constFactor time factor from the time of file to milliseconds, e.g. TimeFactor.MINUTE
+	 * @return catalog
+	 * @throws IOException has IO Exception
+	 */
+	public static NetCDFCatalog scan( Path directory, long constFactor ) throws IOException {
+		return refresh( directory, constFactor, null );
+	}
+
+	/**
+	 * Scan the NetCDF files under the directory with the previous catalog, only the new or changed files are scanned.
+	 *
+	 * @param directory directory of archive
+	 * @param constFactor time factor from the time of file to milliseconds, e.g. TimeFactor.MINUTE
+	 * @param previous previous catalog, it's nullable
+	 * @return catalog
+	 * @throws IOException has IO Exception
+	 */
+	public static NetCDFCatalog refresh( Path directory, long constFactor, NetCDFCatalog previous ) throws IOException {
+		Preconditions.checkNotNull( directory, "NetCDFCatalog: directory should not be null." );
+		try ( Stream<Path> paths = Files.walk( directory ) ) {
+			return refresh( paths.filter( Files::isRegularFile ).collect( Collectors.toList() ), constFactor, previous );
+		}
+	}
+
+	/**
+	 * Scan the files in parallel and build the catalog.
+	 *
+	 * @param files files of archive
+	 * @param constFactor time factor from the time of file to milliseconds, e.g. TimeFactor.MINUTE
+	 * @return catalog
+	 * @throws IOException has IO Exception
+	 */
+	public static NetCDFCatalog scan( List<Path> files, long constFactor ) throws IOException {
+		return refresh( files, constFactor, null );
+	}
+
+	/**
+	 * Scan the files with the previous catalog, only the new or changed files are scanned, the removed files are dropped. <br/>
+	 * If the time factor of previous catalog is not same, all files are scanned.
+	 *
+	 * @param files files of archive
+	 * @param constFactor time factor from the time of file to milliseconds, e.g. TimeFactor.MINUTE
+	 * @param previous previous catalog, it's nullable
+	 * @return catalog
+	 * @throws IOException has IO Exception
+	 */
+	public static NetCDFCatalog refresh( List<Path> files, long constFactor, NetCDFCatalog previous ) throws IOException {
+		Preconditions.checkNotNull( files, "NetCDFCatalog: files should not be null." );
+		Preconditions.checkArgument( constFactor > 0, "NetCDFCatalog: the time factor should be greater than 0." );
+		Map<Path, CatalogEntry> known = new HashMap<>();
+		if ( previous != null && previous.constFactor == constFactor ) {
+			previous.entries.forEach( entry -> known.put( entry.getPath(), entry ) );
+		}
+
+		try {
+			List<CatalogEntry> entries = files.parallelStream()
+					.map( file -> file.toAbsolutePath().normalize() )
+					.distinct()
+					.map( file -> {
+						try {
+							BasicFileAttributes attributes = Files.readAttributes( file, BasicFileAttributes.class );
+							long modified = attributes.lastModifiedTime().toMillis();
+							long size = attributes.size();
+							CatalogEntry entry = known.get( file );
+							return entry != null && entry.isSame( modified, size ) ? Optional.of( entry ) :
+									scan( file, constFactor, modified, size );
+						} catch (IOException e) {
+							throw new UncheckedIOException( e );
+						}
+					} )
+					.filter( Optional::isPresent )
+					.map( Optional::get )
+					.collect( Collectors.toList() );
+			return new NetCDFCatalog( constFactor, entries );
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+	}
+
+	/**
+	 * Load the catalog from file.
+	 *
+	 * @param path path of catalog file
+	 * @return catalog
+	 * @throws IOException has IO Exception
+	 */
+	public static NetCDFCatalog load( Path path ) throws IOException {
+		Preconditions.checkNotNull( path );
+		try ( DataInputStream input = new DataInputStream( new BufferedInputStream( Files.newInputStream( path ) ) ) ) {
+			if ( input.readInt() != MAGIC || input.readInt() != VERSION ) {
+				throw new IOException( "NetCDFCatalog: the file is not a catalog: " + path );
+			}
+			long constFactor = input.readLong();
+			String[] names = new String[ input.readInt() ];
+			for ( int i = 0; i < names.length; i++ ) {
+				names[ i ] = input.readUTF();
+			}
+
+			NetCDFFormat[] formats = NetCDFFormat.values();
+			int count = input.readInt();
+			List<CatalogEntry> entries = new ArrayList<>( count );
+			for ( int i = 0; i < count; i++ ) {
+				Path file = Paths.get( input.readUTF() );
+				long modified = input.readLong();
+				long size = input.readLong();
+				NetCDFFormat format = formats[ input.readByte() ];
+				List<String> variables = new ArrayList<>();
+				for ( int v = input.readInt(); v > 0; v-- ) {
+					variables.add( names[ input.readInt() ] );
+				}
+				Map<String, Integer> dimensions = new LinkedHashMap<>();
+				for ( int d = input.readInt(); d > 0; d-- ) {
+					dimensions.put( names[ input.readInt() ], input.readInt() );
+				}
+				int timeCount = input.readInt();
+				long firstTime = input.readLong();
+				long lastTime = input.readLong();
+				double[] bbox = new double[ 4 ];
+				for ( int b = 0; b < bbox.length; b++ ) {
+					bbox[ b ] = input.readDouble();
+				}
+				entries.add( new CatalogEntry( file, modified, size, format, variables, dimensions, timeCount, firstTime, lastTime, bbox ) );
+			}
+			return new NetCDFCatalog( constFactor, entries );
+		}
+	}
+
+	/**
+	 * Save the catalog to file, the names of variables and dimensions are stored once in the string table.
+	 *
+	 * @param path path of catalog file
+	 * @throws IOException has IO Exception
+	 */
+	public void save( Path path ) throws IOException {
+		Preconditions.checkNotNull( path );
+		Map<String, Integer> names = new LinkedHashMap<>();
+		this.entries.forEach( entry -> {
+			entry.getVariables().forEach( name -> names.putIfAbsent( name, names.size() ) );
+			entry.getDimensions().keySet().forEach( name -> names.putIfAbsent( name, names.size() ) );
+		} );
+
+		try ( DataOutputStream output = new DataOutputStream( new BufferedOutputStream( Files.newOutputStream( path ) ) ) ) {
+			output.writeInt( MAGIC );
+			output.writeInt( VERSION );
+			output.writeLong( this.constFactor );
+			output.writeInt( names.size() );
+			for ( String name : names.keySet() ) {
+				output.writeUTF( name );
+			}
+
+			output.writeInt( this.entries.size() );
+			for ( CatalogEntry entry : this.entries ) {
+				output.writeUTF( entry.getPath().toString() );
+				output.writeLong( entry.getModified() );
+				output.writeLong( entry.getSize() );
+				output.writeByte( entry.getFormat().ordinal() );
+				output.writeInt( entry.getVariables().size() );
+				for ( String variable : entry.getVariables() ) {
+					output.writeInt( names.get( variable ) );
+				}
+				output.writeInt( entry.getDimensions().size() );
+				for ( Map.Entry<String, Integer> dimension : entry.getDimensions().entrySet() ) {
+					output.writeInt( names.get( dimension.getKey() ) );
+					output.writeInt( dimension.getValue() );
+				}
+				output.writeInt( entry.getTimeCount() );
+				output.writeLong( entry.getFirstTime() );
+				output.writeLong( entry.getLastTime() );
+				output.writeDouble( entry.getMinX() );
+				output.writeDouble( entry.getMinY() );
+				output.writeDouble( entry.getMaxX() );
+				output.writeDouble( entry.getMaxY() );
+			}
+		}
+	}
+
+	public long getConstFactor() {
+		return constFactor;
+	}
+
+	/**
+	 * Get the entries sorted by the first time, the entries without time are at the end.
+	 *
+	 * @return entries
+	 */
+	public List<CatalogEntry> getEntries() {
+		return entries;
+	}
+
+	/**
+	 * Find the entry of file.
+	 *
+	 * @param path path of file
+	 * @return entry, it's optional
+	 */
+	public Optional<CatalogEntry> findEntry( Path path ) {
+		Preconditions.checkNotNull( path );
+		Path key = path.toAbsolutePath().normalize();
+		return this.entries.stream().filter( entry -> entry.getPath().equals( key ) ).findFirst();
+	}
+
+	/**
+	 * Find the entries matched with the query, sorted by the first time.
+	 *
+	 * @param query query of catalog
+	 * @return matched entries
+	 */
+	public List<CatalogEntry> find( CatalogQuery query ) {
+		Preconditions.checkNotNull( query, "NetCDFCatalog: query should not be null." );
+		int from = 0;
+		int to = this.entries.size();
+		if ( query.hasTime() ) {
+			from = lowerBound( this.maxLastTimes, query.getStartTime() );
+			to = lowerBound( this.firstTimes, query.getEndTime() + 1 );
+		}
+
+		BitSet variables = query.getVariable() == null ? null : this.variableIndex.get( query.getVariable() );
+		if ( query.getVariable() != null && variables == null ) {
+			return Collections.emptyList();
+		}
+
+		List<CatalogEntry> matched = new ArrayList<>();
+		for ( int i = variables == null ? from : variables.nextSetBit( from ); i >= 0 && i < to;
+				i = variables == null ? i + 1 : variables.nextSetBit( i + 1 ) ) {
+			CatalogEntry entry = this.entries.get( i );
+			if ( ( !query.hasTime() || entry.getLastTime() >= query.getStartTime() ) && query.matchBoundingBox( entry ) ) {
+				matched.add( entry );
+			}
+		}
+		return matched;
+	}
+
+	/**
+	 * Find the names of all variables in the catalog.
+	 *
+	 * @return names of variables
+	 */
+	public List<String> findVariables() {
+		return this.variableIndex.keySet().stream().sorted().collect( Collectors.toList() );
+	}
+
+	/**
+	 * Scan the header metadata of file.
+	 *
+	 * @param file path of file
+	 * @param constFactor time factor
+	 * @param modified modification time of file
+	 * @param size size of file
+	 * @return entry, if the file can't be opened, will return empty
+	 */
+	private static Optional<CatalogEntry> scan( Path file, long constFactor, long modified, long size ) {
+		if ( NetCDFFormat.detect( file ) == NetCDFFormat.UNKNOWN ) {
+			return Optional.empty();
+		}
+
+		try ( NetCDFReader reader = NetCDFReader.read( file ) ) {
+			List<String> variables = reader.getVariables().stream().map( Variable::getShortName ).collect( Collectors.toList() );
+			Map<String, Integer> dimensions = new LinkedHashMap<>();
+			reader.getDimensions().forEach( dimension -> dimensions.put( dimension.getShortName(), dimension.getLength() ) );
+
+			Optional<double[]> times = readEnds( reader, VariableName.TIME );
+			int timeCount = times.isPresent() ? (int) reader.findVariable( VariableName.TIME ).get().getSize() : 0;
+			long firstTime = times.map( ends -> (long) ends[ 0 ] * constFactor ).orElse( 0L );
+			long lastTime = times.map( ends -> (long) ends[ 1 ] * constFactor ).orElse( 0L );
+
+			Optional<double[]> xs = readEnds( reader, VariableName.X, VariableName.LON );
+			Optional<double[]> ys = readEnds( reader, VariableName.Y, VariableName.LAT );
+			double[] bbox = xs.isPresent() && ys.isPresent() ?
+					new double[]{ Math.min( xs.get()[ 0 ], xs.get()[ 1 ] ), Math.min( ys.get()[ 0 ], ys.get()[ 1 ] ),
+							Math.max( xs.get()[ 0 ], xs.get()[ 1 ] ), Math.max( ys.get()[ 0 ], ys.get()[ 1 ] ) } :
+					NO_BOUNDING_BOX;
+			return Optional.of( new CatalogEntry( file, modified, size, reader.getFormat(), variables, dimensions,
+					timeCount, firstTime, lastTime, bbox ) );
+		} catch (IOException | IllegalStateException | NetCDFException e) {
+			// nothing to do, the file is skipped
+		}
+		return Optional.empty();
+	}
+
+	/**
+	 * Read the first and last values of the one-dimension variable, only the two values are read from disk. <br/>
+	 * The ids are tried in order, e.g. y -> lat.
+	 *
+	 * @param reader reader
+	 * @param ids ids of variable
+	 * @return first and last values, it's optional
+	 */
+	private static Optional<double[]> readEnds( NetCDFReader reader, String... ids ) {
+		for ( String id : ids ) {
+			Optional<double[]> ends = readEnds( reader, id );
+			if ( ends.isPresent() ) {
+				return ends;
+			}
+		}
+		return Optional.empty();
+	}
+
+	/**
+	 * Read the first and last values of the one-dimension variable, only the two values are read from disk.
+	 *
+	 * @param reader reader
+	 * @param id id of variable
+	 * @return first and last values, it's optional
+	 */
+	private static Optional<double[]> readEnds( NetCDFReader reader, String id ) {
+		return reader.findVariable( id )
+				.filter( variable -> variable.getRank() == 1 && variable.getSize() > 0 )
+				.flatMap( variable -> {
+					int last = (int) variable.getSize() - 1;
+					Optional<Array> first = reader.readSection( id, new IndexRange( 0, 0 ) );
+					Optional<Array> end = reader.readSection( id, new IndexRange( last, last ) );
+					return first.isPresent() && end.isPresent() ?
+							Optional.of( new double[]{ first.get().getDouble( 0 ), end.get().getDouble( 0 ) } ) : Optional.empty();
+				} );
+	}
+
+	/**
+	 * Find the first index of value greater than or equal to the key in the ascending values.
+	 *
+	 * @param values ascending values
+	 * @param key key
+	 * @return first index, or the length of values if not found
+	 */
+	private static int lowerBound( long[] values, long key ) {
+		int low = 0;
+		int high = values.length;
+		while ( low < high ) {
+			int middle = ( low + high ) >>> 1;
+			if ( values[ middle ] < key ) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+		return low;
+	}
+
+	@Override
+	public String toString() {
+		return "NetCDFCatalog{" + "entries=" + entries.size() + ", variables=" + variableIndex.size() + ", constFactor=" + constFactor + '}';
+	}
+}
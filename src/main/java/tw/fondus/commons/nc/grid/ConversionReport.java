@@ -0,0 +1,85 @@
+package tw.fondus.commons.nc.grid;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The report of bulk conversion, which contains the result of each file and the throughput metrics over the wall time.
+ *
+ * @author Brad Chen
+ * @since 1.3.0
+ */
+public class ConversionReport {
+	private final List<ConversionResult> results;
+	private final long elapsedNanos;
+
+	/**
+	 * The constructor.
+	 *
+	 * @param results results with the order of input files
+	 * @param elapsedNanos wall time in nanoseconds
+	 */
+	ConversionReport( List<ConversionResult> results, long elapsedNanos ) {
+		this.results = Collections.unmodifiableList( results );
+		this.elapsedNanos = elapsedNanos;
+	}
+
+	/**
+	 * Get the results with the order of input files.
+	 *
+	 * @return results
+	 */
+	public List<ConversionResult> getResults() {
+		return results;
+	}
+
+	public long getElapsedNanos() {
+		return elapsedNanos;
+	}
+
+	public int getFiles() {
+		return this.results.size();
+	}
+
+	public long getSucceeded() {
+		return this.results.stream().filter( ConversionResult::isSuccess ).count();
+	}
+
+	public long getFailed() {
+		return this.getFiles() - this.getSucceeded();
+	}
+
+	/**
+	 * Get the bytes of written values of all files.
+	 *
+	 * @return bytes of values
+	 */
+	public long getBytes() {
+		return this.results.stream().mapToLong( ConversionResult::getBytes ).sum();
+	}
+
+	/**
+	 * Get the throughput of written values in bytes per second over the wall time.
+	 *
+	 * @return bytes per second
+	 */
+	public double getBytesPerSecond() {
+		return this.elapsedNanos == 0 ? 0 : this.getBytes() * 1e9 / this.elapsedNanos;
+	}
+
+	/**
+	 * Get the throughput of converted files per second over the wall time.
+	 *
+	 * @return files per second
+	 */
+	public double getFilesPerSecond() {
+		return this.elapsedNanos == 0 ? 0 : this.getSucceeded() * 1e9 / this.elapsedNanos;
+	}
+
+	@Override
+	public String toString() {
+		return String.format( "ConversionReport{files=%d, failed=%d, bytes=%d, elapsed=%dms, %.2f MB/s, %.2f files/s}",
+				this.getFiles(), this.getFailed(), this.getBytes(), this.elapsedNanos / 1_000_000,
+				this.getBytesPerSecond() / ( 1 << 20 ), this.getFilesPerSecond() );
+	}
+}
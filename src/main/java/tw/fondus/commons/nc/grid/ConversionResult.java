@@ -0,0 +1,115 @@
+package tw.fondus.commons.nc.grid;
+
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * The result of converting one grid file to NetCDF, which contains the converted and skipped grids and the throughput metrics.
+ *
+ * @author Brad Chen
+ * @since 1.3.0
+ */
+public class ConversionResult {
+	private final Path input;
+	private final Path output;
+	private final List<String> variables;
+	private final List<String> skipped;
+	private final long bytes;
+	private final long elapsedNanos;
+	private final Optional<String> error;
+
+	/**
+	 * The constructor.
+	 *
+	 * @param input path of input file
+	 * @param output path of output file
+	 * @param variables names of converted grids
+	 * @param skipped names of skipped grids
+	 * @param bytes bytes of written values
+	 * @param elapsedNanos elapsed time in nanoseconds
+	 * @param error error message, it's nullable
+	 */
+	ConversionResult( Path input, Path output, List<String> variables, List<String> skipped, long bytes, long elapsedNanos, String error ) {
+		this.input = input;
+		this.output = output;
+		this.variables = Collections.unmodifiableList( variables );
+		this.skipped = Collections.unmodifiableList( skipped );
+		this.bytes = bytes;
+		this.elapsedNanos = elapsedNanos;
+		this.error = Optional.ofNullable( error );
+	}
+
+	public Path getInput() {
+		return input;
+	}
+
+	public Path getOutput() {
+		return output;
+	}
+
+	/**
+	 * Get the names of converted grids.
+	 *
+	 * @return names of grids
+	 */
+	public List<String> getVariables() {
+		return variables;
+	}
+
+	/**
+	 * Get the names of skipped grids, e.g. the grids with ensemble or run time dimension.
+	 *
+	 * @return names of grids
+	 */
+	public List<String> getSkipped() {
+		return skipped;
+	}
+
+	/**
+	 * Get the bytes of written values.
+	 *
+	 * @return bytes of values
+	 */
+	public long getBytes() {
+		return bytes;
+	}
+
+	public long getElapsedNanos() {
+		return elapsedNanos;
+	}
+
+	/**
+	 * Get the error message if the conversion failed.
+	 *
+	 * @return error message, it's optional
+	 */
+	public Optional<String> getError() {
+		return error;
+	}
+
+	/**
+	 * Check the conversion is success.
+	 *
+	 * @return is success or not
+	 */
+	public boolean isSuccess() {
+		return !this.error.isPresent();
+	}
+
+	/**
+	 * Get the throughput of written values in bytes per second.
+	 *
+	 * @return bytes per second
+	 */
+	public double getBytesPerSecond() {
+		return this.elapsedNanos == 0 ? 0 : this.bytes * 1e9 / this.elapsedNanos;
+	}
+
+	@Override
+	public String toString() {
+		return "ConversionResult{" + "input=" + input + ", variables=" + variables.size() + ", skipped=" + skipped.size() +
+				", bytes=" + bytes + ", elapsed=" + elapsedNanos / 1_000_000 + "ms" + error.map( message -> ", error=" + message ).orElse( "" ) + '}';
+	}
+}
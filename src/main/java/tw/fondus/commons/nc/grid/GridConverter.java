@@ -0,0 +1,415 @@
+package tw.fondus.commons.nc.grid;
+
+import com.google.common.base.Preconditions;
+import tw.fondus.commons.nc.NetCDFBuilder;
+import tw.fondus.commons.nc.NetCDFException;
+import tw.fondus.commons.nc.NetCDFWriter;
+import tw.fondus.commons.nc.util.key.VariableAttribute;
+import ucar.ma2.Array;
+import ucar.ma2.InvalidRangeException;
+import ucar.nc2.Dimension;
+import ucar.nc2.dataset.CoordinateAxis;
+import ucar.nc2.dataset.CoordinateAxis1D;
+import ucar.nc2.dataset.CoordinateAxis1DTime;
+import ucar.nc2.dt.GridCoordSystem;
+import ucar.nc2.dt.GridDatatype;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+/**
+ * The converter of grid files to NetCDF, e.g. the GRIB of GFS or WRF, the grids are read with the grid data reader
+ * and written with the NetCDF builder and writer. <br/>
+ * The files are converted concurrently on the bounded worker pool, each file is streamed grid by grid and time step by time step,
+ * and the slice of each read is limited by the max slice bytes, so the memory of each file is bounded. <br/>
+ * The grids with ensemble or run time dimension are skipped, and the x, y coordinates are copied only when they are one dimension. <br/>
+ * It's immutable and safe to share between threads.
+ *
+ * @author Brad Chen
+ * @since 1.3.0
+ */
+public class GridConverter {
+	/**
+	 * The default max bytes of each slice read.
+	 */
+	public static final long DEFAULT_SLICE_BYTES = 64L << 20;
+
+	private final int threads;
+	private final long maxSliceBytes;
+
+	/**
+	 * The constructor.
+	 *
+	 * @param threads max count of files converted concurrently
+	 * @param maxSliceBytes max bytes of each slice read in one file
+	 */
+	public GridConverter( int threads, long maxSliceBytes ) {
+		Preconditions.checkArgument( threads > 0, "GridConverter: the threads should be greater than 0." );
+		Preconditions.checkArgument( maxSliceBytes > 0, "GridConverter: the max slice bytes should be greater than 0." );
+		this.threads = threads;
+		this.maxSliceBytes = maxSliceBytes;
+	}
+
+	/**
+	 * Create the converter with the count of processors and default max slice bytes.
+	 *
+	 * @return converter
+	 */
+	public static GridConverter create() {
+		return new GridConverter( Runtime.getRuntime().availableProcessors(), DEFAULT_SLICE_BYTES );
+	}
+
+	public int getThreads() {
+		return threads;
+	}
+
+	public long getMaxSliceBytes() {
+		return maxSliceBytes;
+	}
+
+	/**
+	 * Convert the files to the output directory concurrently, the output is named with the input name and the nc extension. <br/>
+	 * The inputs with the same name in different directories are suffixed with the order, e.g. name_1.nc, so they don't write the same file.
+	 *
+	 * @param inputs paths of input files
+	 * @param outputDirectory directory of output files
+	 * @return report of conversion
+	 */
+	public ConversionReport convertAll( List<Path> inputs, Path outputDirectory ) {
+		Preconditions.checkNotNull( inputs, "GridConverter: inputs should not be null." );
+		Preconditions.checkNotNull( outputDirectory, "GridConverter: output directory should not be null." );
+		Map<Path, Path> jobs = new LinkedHashMap<>();
+		Set<String> names = new HashSet<>();
+		inputs.forEach( input -> {
+			String name = input.getFileName().toString();
+			int extension = name.lastIndexOf( '.' );
+			String base = extension > 0 ? name.substring( 0, extension ) : name;
+			String unique = base;
+			for ( int suffix = 1; !names.add( unique ); suffix++ ) {
+				unique = base + "_" + suffix;
+			}
+			jobs.put( input, outputDirectory.resolve( unique + ".nc" ) );
+		} );
+		return this.convertAll( jobs );
+	}
+
+	/**
+	 * Convert the files concurrently on the bounded worker pool, the failure of one file doesn't stop the others. <br/>
+	 * The outputs should be unique, or it will throw the exception before any conversion.
+	 *
+	 * @param jobs paths of output files by input files
+	 * @return report of conversion
+	 */
+	public ConversionReport convertAll( Map<Path, Path> jobs ) {
+		Preconditions.checkNotNull( jobs, "GridConverter: jobs should not be null." );
+		Set<Path> outputs = new HashSet<>();
+		jobs.values().forEach( output -> Preconditions.checkArgument( outputs.add( output.toAbsolutePath().normalize() ),
+				"GridConverter: the output should be unique: " + output + "." ) );
+		long start = System.nanoTime();
+		if ( jobs.isEmpty() ) {
+			return new ConversionReport( new ArrayList<>(), 0 );
+		}
+
+		ExecutorService executor = Executors.newFixedThreadPool( Math.min( this.threads, jobs.size() ), runnable -> {
+			Thread thread = new Thread( runnable, "grid-converter" );
+			thread.setDaemon( true );
+			return thread;
+		} );
+		try {
+			List<Future<ConversionResult>> futures = jobs.entrySet().stream()
+					.map( job -> executor.submit( () -> this.convert( job.getKey(), job.getValue() ) ) )
+					.collect( Collectors.toList() );
+			List<ConversionResult> results = new ArrayList<>( futures.size() );
+			for ( Future<ConversionResult> future : futures ) {
+				results.add( future.get() );
+			}
+			return new ConversionReport( results, System.nanoTime() - start );
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new NetCDFException( "GridConverter: the conversion has been interrupted.", e );
+		} catch (ExecutionException e) {
+			throw new NetCDFException( "GridConverter: the conversion failed.", e.getCause() );
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Convert the grid file to NetCDF on the current thread, if failed, the partial output is deleted.
+	 *
+	 * @param input path of input file
+	 * @param output path of output file
+	 * @return result of conversion
+	 */
+	public ConversionResult convert( Path input, Path output ) {
+		Preconditions.checkNotNull( input, "GridConverter: input should not be null." );
+		Preconditions.checkNotNull( output, "GridConverter: output should not be null." );
+		long start = System.nanoTime();
+		List<String> variables = new ArrayList<>();
+		List<String> skipped = new ArrayList<>();
+		long bytes = 0;
+		String error = null;
+		try ( GridDataReader reader = GridDataReader.read( input.toString() ) ) {
+			List<GridDatatype> grids = new ArrayList<>();
+			reader.getGridDataTypes().forEach( grid -> {
+				if ( this.isSupported( grid ) ) {
+					grids.add( grid );
+					variables.add( grid.getShortName() );
+				} else {
+					skipped.add( grid.getShortName() );
+				}
+			} );
+			if ( grids.isEmpty() ) {
+				throw new NetCDFException( "GridConverter: the file: " + input + " without supported grid." );
+			}
+			bytes = this.write( reader, grids, output );
+		} catch (IOException | InvalidRangeException | RuntimeException e) {
+			error = e.getMessage() != null ? e.getMessage() : e.toString();
+			variables.clear();
+			bytes = 0;
+			try {
+				Files.deleteIfExists( output );
+			} catch (IOException ignored) {
+				// nothing to do
+			}
+		}
+		return new ConversionResult( input, output, variables, skipped, bytes, System.nanoTime() - start, error );
+	}
+
+	/**
+	 * Define and write the grids and their coordinates to the output file.
+	 *
+	 * @param reader grid data reader
+	 * @param grids supported grids
+	 * @param output path of output file
+	 * @return bytes of written values
+	 * @throws IOException has IO Exception
+	 * @throws InvalidRangeException has Invalid Range Exception
+	 */
+	private long write( GridDataReader reader, List<GridDatatype> grids, Path output ) throws IOException, InvalidRangeException {
+		Map<String, Integer> dimensions = new LinkedHashMap<>();
+		Map<String, Coordinate> coordinates = new LinkedHashMap<>();
+		for ( GridDatatype grid : grids ) {
+			dimensionsOf( grid ).forEach( dimension -> dimensions.putIfAbsent( dimension.getShortName(), dimension.getLength() ) );
+			this.collectCoordinates( grid, coordinates );
+		}
+
+		NetCDFBuilder.NetCDFDefiner definer = NetCDFBuilder.create( output, true );
+		reader.getGlobalAttributes().stream()
+				.filter( attribute -> attribute.isString() )
+				.forEach( attribute -> definer.addGlobalAttribute( attribute.getShortName(), attribute.getStringValue() ) );
+		dimensions.forEach( definer::addDimension );
+		coordinates.forEach( ( name, coordinate ) -> {
+			definer.addVariable( name, coordinate.values.getDataType(), name )
+					.addVariableAttribute( name, VariableAttribute.KEY_AXIS, coordinate.axis );
+			if ( coordinate.units != null && !coordinate.units.isEmpty() ) {
+				definer.addVariableAttribute( name, VariableAttribute.KEY_UNITS, coordinate.units );
+			}
+		} );
+		grids.forEach( grid -> {
+			String name = grid.getShortName();
+			definer.addVariable( name, grid.getDataType(),
+					dimensionsOf( grid ).stream().map( Dimension::getShortName ).collect( Collectors.toList() ) );
+			if ( grid.getUnitsString() != null && !grid.getUnitsString().isEmpty() ) {
+				definer.addVariableAttribute( name, VariableAttribute.KEY_UNITS, grid.getUnitsString() );
+			}
+			if ( grid.getDescription() != null && !grid.getDescription().isEmpty() ) {
+				definer.addVariableAttribute( name, VariableAttribute.KEY_NAME_LONG, grid.getDescription() );
+			}
+		} );
+
+		long bytes = 0;
+		try ( NetCDFWriter writer = definer.build() ) {
+			for ( Map.Entry<String, Coordinate> coordinate : coordinates.entrySet() ) {
+				writer.writeValues( coordinate.getKey(), coordinate.getValue().values );
+			}
+			for ( GridDatatype grid : grids ) {
+				bytes += this.writeGrid( writer, grid );
+			}
+		}
+		return bytes;
+	}
+
+	/**
+	 * Write the grid time step by time step, each step is read as the whole volume, the levels or the rows
+	 * to keep the slice under the max slice bytes.
+	 *
+	 * @param writer NetCDF writer
+	 * @param grid grid
+	 * @return bytes of written values
+	 * @throws IOException has IO Exception
+	 * @throws InvalidRangeException has Invalid Range Exception
+	 */
+	private long writeGrid( NetCDFWriter writer, GridDatatype grid ) throws IOException, InvalidRangeException {
+		boolean hasTime = grid.getTimeDimension() != null;
+		boolean hasZ = grid.getZDimension() != null;
+		int tSize = hasTime ? grid.getTimeDimension().getLength() : 1;
+		int zSize = hasZ ? grid.getZDimension().getLength() : 1;
+		int ySize = grid.getYDimension().getLength();
+		int xSize = grid.getXDimension().getLength();
+		long rowBytes = (long) xSize * grid.getDataType().getSize();
+		long levelBytes = rowBytes * ySize;
+		long volumeBytes = levelBytes * zSize;
+
+		long bytes = 0;
+		for ( int t = 0; t < tSize; t++ ) {
+			if ( volumeBytes <= this.maxSliceBytes ) {
+				bytes += this.writeSlice( writer, grid, hasTime, hasZ, t, -1, -1 );
+			} else if ( levelBytes <= this.maxSliceBytes ) {
+				for ( int z = 0; z < zSize; z++ ) {
+					bytes += this.writeSlice( writer, grid, hasTime, hasZ, t, z, -1 );
+				}
+			} else {
+				for ( int z = 0; z < zSize; z++ ) {
+					for ( int y = 0; y < ySize; y++ ) {
+						bytes += this.writeSlice( writer, grid, hasTime, hasZ, t, z, y );
+					}
+				}
+			}
+		}
+		return bytes;
+	}
+
+	/**
+	 * Read the slice of grid and write it at the origin, the negative index means the whole dimension.
+	 *
+	 * @param writer NetCDF writer
+	 * @param grid grid
+	 * @param hasTime grid has time dimension or not
+	 * @param hasZ grid has z dimension or not
+	 * @param t index of time
+	 * @param z index of z, or -1 for all
+	 * @param y index of y, or -1 for all
+	 * @return bytes of written values
+	 * @throws IOException has IO Exception
+	 * @throws InvalidRangeException has Invalid Range Exception
+	 */
+	private long writeSlice( NetCDFWriter writer, GridDatatype grid, boolean hasTime, boolean hasZ, int t, int z, int y )
+			throws IOException, InvalidRangeException {
+		Array values = grid.readDataSlice( t, hasZ ? z : 0, y, -1 );
+		int rank = ( hasTime ? 1 : 0 ) + ( hasZ ? 1 : 0 ) + 2;
+		int[] origin = new int[ rank ];
+		int[] shape = new int[ rank ];
+		int i = 0;
+		if ( hasTime ) {
+			origin[ i ] = t;
+			shape[ i++ ] = 1;
+		}
+		if ( hasZ ) {
+			origin[ i ] = Math.max( z, 0 );
+			shape[ i++ ] = z < 0 ? grid.getZDimension().getLength() : 1;
+		}
+		origin[ i ] = Math.max( y, 0 );
+		shape[ i++ ] = y < 0 ? grid.getYDimension().getLength() : 1;
+		origin[ i ] = 0;
+		shape[ i ] = grid.getXDimension().getLength();
+
+		writer.writeValues( grid.getShortName(), values.reshape( shape ), origin );
+		return values.getSize() * grid.getDataType().getSize();
+	}
+
+	/**
+	 * Collect the coordinates of grid, the time is converted to minutes since epoch.
+	 *
+	 * @param grid grid
+	 * @param coordinates coordinates by dimension name
+	 * @throws IOException has IO Exception
+	 */
+	private void collectCoordinates( GridDatatype grid, Map<String, Coordinate> coordinates ) throws IOException {
+		GridCoordSystem system = grid.getCoordinateSystem();
+		CoordinateAxis1DTime timeAxis = system.getTimeAxis1D();
+		if ( grid.getTimeDimension() != null && timeAxis != null && !coordinates.containsKey( grid.getTimeDimension().getShortName() ) ) {
+			double[] times = timeAxis.getCalendarDates().stream().mapToDouble( date -> date.getMillis() / 60000D ).toArray();
+			coordinates.put( grid.getTimeDimension().getShortName(),
+					new Coordinate( Array.factory( times ), VariableAttribute.UNITS_TIME_MINUTES, VariableAttribute.AXIS_TIME ) );
+		}
+		CoordinateAxis1D zAxis = system.getVerticalAxis();
+		if ( grid.getZDimension() != null && zAxis != null && !coordinates.containsKey( grid.getZDimension().getShortName() ) ) {
+			coordinates.put( grid.getZDimension().getShortName(),
+					new Coordinate( Array.factory( zAxis.getCoordValues() ), zAxis.getUnitsString(), VariableAttribute.AXIS_Z ) );
+		}
+		this.collectHorizontal( system.getYHorizAxis(), grid.getYDimension(), VariableAttribute.AXIS_Y, coordinates );
+		this.collectHorizontal( system.getXHorizAxis(), grid.getXDimension(), VariableAttribute.AXIS_X, coordinates );
+	}
+
+	/**
+	 * Collect the one dimension horizontal coordinate.
+	 *
+	 * @param axis horizontal axis
+	 * @param dimension dimension of grid
+	 * @param axisType type of axis
+	 * @param coordinates coordinates by dimension name
+	 * @throws IOException has IO Exception
+	 */
+	private void collectHorizontal( CoordinateAxis axis, Dimension dimension, String axisType, Map<String, Coordinate> coordinates )
+			throws IOException {
+		if ( axis != null && axis.getRank() == 1 && !coordinates.containsKey( dimension.getShortName() ) ) {
+			coordinates.put( dimension.getShortName(), new Coordinate( axis.read(), axis.getUnitsString(), axisType ) );
+		}
+	}
+
+	/**
+	 * Check the grid is supported, which has y, x dimensions and without ensemble and run time dimensions.
+	 *
+	 * @param grid grid
+	 * @return is supported or not
+	 */
+	private boolean isSupported( GridDatatype grid ) {
+		return grid.getYDimension() != null && grid.getXDimension() != null &&
+				grid.getEnsembleDimension() == null && grid.getRunTimeDimension() == null;
+	}
+
+	/**
+	 * Get the dimensions of grid with the order of time, z, y, x.
+	 *
+	 * @param grid grid
+	 * @return dimensions
+	 */
+	private static List<Dimension> dimensionsOf( GridDatatype grid ) {
+		List<Dimension> dimensions = new ArrayList<>( 4 );
+		if ( grid.getTimeDimension() != null ) {
+			dimensions.add( grid.getTimeDimension() );
+		}
+		if ( grid.getZDimension() != null ) {
+			dimensions.add( grid.getZDimension() );
+		}
+		dimensions.add( grid.getYDimension() );
+		dimensions.add( grid.getXDimension() );
+		return dimensions;
+	}
+
+	@Override
+	public String toString() {
+		return "GridConverter{" + "threads=" + threads + ", maxSliceBytes=" + maxSliceBytes + '}';
+	}
+
+	/**
+	 * The coordinate values copied to the output file.
+	 *
+	 * @author Brad Chen
+	 * @since 1.3.0
+	 */
+	private static class Coordinate {
+		private final Array values;
+		private final String units;
+		private final String axis;
+
+		private Coordinate( Array values, String units, String axis ) {
+			this.values = values;
+			this.units = units;
+			this.axis = axis;
+		}
+	}
+}
@@ -2,10 +2,10 @@ package tw.fondus.commons.nc.grid;
 
 import com.google.common.base.Preconditions;
 import tw.fondus.commons.nc.AbstractReader;
+import tw.fondus.commons.nc.util.NetCDFFormat;
 import ucar.nc2.Attribute;
 import ucar.nc2.NetcdfFile;
 import ucar.nc2.VariableSimpleIF;
-import ucar.nc2.dataset.NetcdfDataset;
 import ucar.nc2.dt.GridDatatype;
 import ucar.nc2.dt.grid.GridDataset;
 import ucar.nc2.time.CalendarDate;
@@ -23,21 +23,35 @@ import java.util.Optional;
  */
 public class GridDataReader extends AbstractReader {
 	private Optional<GridDataset> optGrid;
+	private final NetCDFFormat format;
 	
-	private GridDataReader( GridDataset dataset ) {
+	private GridDataReader( GridDataset dataset, NetCDFFormat format ) {
 		this.optGrid = Optional.ofNullable( dataset );
+		this.format = format;
 	}
 	
 	/**
-	 * Open the file contain grid type data with reader.
+	 * Open the file contain grid type data with reader. <br/>
+	 * The format is detected with the header magic, and the file is opened only once.
 	 * 
 	 * @param path string of file location
 	 * @return reader
 	 * @throws IOException has IO Exception
 	 */
 	public static GridDataReader read( String path ) throws IOException {
-		Preconditions.checkState( NetcdfDataset.canOpen( path ), MESSAGE_CANT_OPEN );
-		return new GridDataReader( GridDataset.open( path ) );
+		Preconditions.checkNotNull( path );
+		NetCDFFormat format = NetCDFFormat.detect( path );
+		return new GridDataReader( open( path, GridDataset::open ), format );
+	}
+
+	/**
+	 * Get the format of file which is detected with the header magic.
+	 *
+	 * @return format of file
+	 * @since 1.3.0
+	 */
+	public NetCDFFormat getFormat() {
+		return this.format;
 	}
 	
 	/**
@@ -0,0 +1,258 @@
+package tw.fondus.commons.nc.mapped;
+
+import tw.fondus.commons.nc.NetCDFException;
+import ucar.ma2.DataType;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The header parser of netCDF-3 classic (CDF-1) and 64-bit offset (CDF-2) format. <br/>
+ * The header records the layout of each variable, so the variable can be located without the netCDF API.
+ *
+ * @author Brad Chen
+ * @since 1.3.0
+ */
+class ClassicHeader {
+	private static final int ABSENT = 0;
+	private static final int NC_DIMENSION = 0x0A;
+	private static final int NC_VARIABLE = 0x0B;
+	private static final int NC_ATTRIBUTE = 0x0C;
+	private static final int STREAMING = -1;
+
+	private final boolean isLargeFile;
+	private final int records;
+	private final Map<String, MappedVariable> variables;
+
+	private ClassicHeader( boolean isLargeFile, int records, Map<String, MappedVariable> variables ) {
+		this.isLargeFile = isLargeFile;
+		this.records = records;
+		this.variables = variables;
+	}
+
+	/**
+	 * Parse the header from the start of file channel, the channel position will be changed.
+	 *
+	 * @param channel file channel
+	 * @return header
+	 * @throws IOException has IO Exception
+	 */
+	static ClassicHeader parse( FileChannel channel ) throws IOException {
+		channel.position( 0 );
+		DataInputStream input = new DataInputStream( new BufferedInputStream( Channels.newInputStream( channel ) ) );
+
+		byte[] magic = new byte[ 4 ];
+		input.readFully( magic );
+		if ( magic[ 0 ] != 'C' || magic[ 1 ] != 'D' || magic[ 2 ] != 'F' || ( magic[ 3 ] != 1 && magic[ 3 ] != 2 ) ) {
+			throw new NetCDFException( "MappedNetCDFReader: the file isn't netCDF-3 classic or 64-bit offset format." );
+		}
+		boolean isLargeFile = magic[ 3 ] == 2;
+
+		int records = input.readInt();
+		if ( records == STREAMING ) {
+			throw new NetCDFException( "MappedNetCDFReader: the streaming record count isn't supported." );
+		}
+
+		// Dimensions, the length 0 is the record dimension
+		int dimensionSize = readListSize( input, NC_DIMENSION );
+		List<String> dimensionNames = new ArrayList<>( dimensionSize );
+		List<Integer> dimensionLengths = new ArrayList<>( dimensionSize );
+		for ( int i = 0; i < dimensionSize; i++ ) {
+			dimensionNames.add( readName( input ) );
+			dimensionLengths.add( input.readInt() );
+		}
+
+		// Global attributes are not used by the mapped reader
+		readAttributes( input );
+
+		int variableSize = readListSize( input, NC_VARIABLE );
+		Map<String, MappedVariable> variables = new LinkedHashMap<>();
+		for ( int i = 0; i < variableSize; i++ ) {
+			String name = readName( input );
+			int rank = input.readInt();
+			List<String> dimensions = new ArrayList<>( rank );
+			int[] shape = new int[ rank ];
+			boolean isRecord = false;
+			for ( int d = 0; d < rank; d++ ) {
+				int id = input.readInt();
+				dimensions.add( dimensionNames.get( id ) );
+				int length = dimensionLengths.get( id );
+				if ( d == 0 && length == 0 ) {
+					isRecord = true;
+					length = records;
+				}
+				shape[ d ] = length;
+			}
+			Map<String, Object> attributes = readAttributes( input );
+			DataType dataType = toDataType( input.readInt() );
+			long vsize = input.readInt() & 0xFFFFFFFFL;
+			long begin = isLargeFile ? input.readLong() : input.readInt() & 0xFFFFFFFFL;
+			variables.put( name, new MappedVariable( name, dataType, dimensions, shape, attributes, begin, vsize, isRecord ) );
+		}
+		return new ClassicHeader( isLargeFile, records, Collections.unmodifiableMap( variables ) );
+	}
+
+	/**
+	 * Get the file is 64-bit offset format or not.
+	 *
+	 * @return is 64-bit offset format or not
+	 */
+	boolean isLargeFile() {
+		return this.isLargeFile;
+	}
+
+	/**
+	 * Get the count of records.
+	 *
+	 * @return count of records
+	 */
+	int getRecords() {
+		return this.records;
+	}
+
+	/**
+	 * Get the variables by name, which keep the order of header.
+	 *
+	 * @return variables
+	 */
+	Map<String, MappedVariable> getVariables() {
+		return this.variables;
+	}
+
+	/**
+	 * Read the size of list, the list is absent or tagged with the expected tag.
+	 *
+	 * @param input input stream
+	 * @param tag expected tag
+	 * @return size of list
+	 * @throws IOException has IO Exception
+	 */
+	private static int readListSize( DataInputStream input, int tag ) throws IOException {
+		int actual = input.readInt();
+		int size = input.readInt();
+		if ( actual == ABSENT ) {
+			return 0;
+		}
+		if ( actual != tag ) {
+			throw new NetCDFException( "MappedNetCDFReader: the header is malformed, expected tag: " + tag + " but " + actual + "." );
+		}
+		return size;
+	}
+
+	/**
+	 * Read the attributes list, only the numeric and char attributes are kept.
+	 *
+	 * @param input input stream
+	 * @return attributes
+	 * @throws IOException has IO Exception
+	 */
+	private static Map<String, Object> readAttributes( DataInputStream input ) throws IOException {
+		int size = readListSize( input, NC_ATTRIBUTE );
+		Map<String, Object> attributes = new LinkedHashMap<>();
+		for ( int i = 0; i < size; i++ ) {
+			String name = readName( input );
+			DataType dataType = toDataType( input.readInt() );
+			int length = input.readInt();
+			int bytes = length * dataType.getSize();
+			if ( dataType == DataType.CHAR ) {
+				byte[] chars = new byte[ bytes ];
+				input.readFully( chars );
+				attributes.put( name, new String( chars, StandardCharsets.UTF_8 ).trim() );
+			} else {
+				Number[] values = new Number[ length ];
+				for ( int v = 0; v < length; v++ ) {
+					values[ v ] = readNumber( input, dataType );
+				}
+				attributes.put( name, length == 1 ? values[ 0 ] : values );
+			}
+			skipPadding( input, bytes );
+		}
+		return Collections.unmodifiableMap( attributes );
+	}
+
+	/**
+	 * Read the name which is padded to 4 bytes.
+	 *
+	 * @param input input stream
+	 * @return name
+	 * @throws IOException has IO Exception
+	 */
+	private static String readName( DataInputStream input ) throws IOException {
+		int length = input.readInt();
+		byte[] chars = new byte[ length ];
+		input.readFully( chars );
+		skipPadding( input, length );
+		return new String( chars, StandardCharsets.UTF_8 );
+	}
+
+	/**
+	 * Read the number with data type.
+	 *
+	 * @param input input stream
+	 * @param dataType data type
+	 * @return number
+	 * @throws IOException has IO Exception
+	 */
+	private static Number readNumber( DataInputStream input, DataType dataType ) throws IOException {
+		switch ( dataType ) {
+		case BYTE:
+			return input.readByte();
+		case SHORT:
+			return input.readShort();
+		case INT:
+			return input.readInt();
+		case FLOAT:
+			return input.readFloat();
+		default:
+			return input.readDouble();
+		}
+	}
+
+	/**
+	 * Skip the padding bytes to 4 bytes boundary.
+	 *
+	 * @param input input stream
+	 * @param length read length
+	 * @throws IOException has IO Exception
+	 */
+	private static void skipPadding( DataInputStream input, int length ) throws IOException {
+		int padding = ( 4 - length % 4 ) % 4;
+		if ( padding > 0 ) {
+			input.readFully( new byte[ padding ] );
+		}
+	}
+
+	/**
+	 * Convert the netCDF-3 type to data type.
+	 *
+	 * @param type netCDF-3 type
+	 * @return data type
+	 */
+	private static DataType toDataType( int type ) {
+		switch ( type ) {
+		case 1:
+			return DataType.BYTE;
+		case 2:
+			return DataType.CHAR;
+		case 3:
+			return DataType.SHORT;
+		case 4:
+			return DataType.INT;
+		case 5:
+			return DataType.FLOAT;
+		case 6:
+			return DataType.DOUBLE;
+		default:
+			throw new NetCDFException( "MappedNetCDFReader: the header is malformed, unknown type: " + type + "." );
+		}
+	}
+}
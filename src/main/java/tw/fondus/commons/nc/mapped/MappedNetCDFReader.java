@@ -0,0 +1,309 @@
+package tw.fondus.commons.nc.mapped;
+
+import com.google.common.base.Preconditions;
+import tw.fondus.commons.nc.NetCDFException;
+import ucar.ma2.Array;
+import ucar.ma2.DataType;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.ShortBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Memory-mapped reader of netCDF-3 classic and 64-bit offset format, which is written by the NetCDF builder. <br/>
+ * The non-record variables are contiguous in file, so it's served straight from the mapped buffer as typed views without heap copies. <br/>
+ * The record variables are interleaved with others, they should be read with the NetCDF reader. <br/>
+ * The views are read-only and big-endian, it's safe to read concurrently.
+ *
+ * @author Brad Chen
+ * @since 1.3.0
+ */
+public class MappedNetCDFReader implements AutoCloseable {
+	private static final String MESSAGE_CANT_MAP = "MappedNetCDFReader: the variable can't be mapped: ";
+
+	private final Path path;
+	private final FileChannel channel;
+	private final ClassicHeader header;
+	private final Map<String, MappedByteBuffer> mappedBuffers;
+
+	/**
+	 * The constructor.
+	 *
+	 * @param path path of file
+	 * @param channel file channel
+	 * @param header header of file
+	 */
+	private MappedNetCDFReader( Path path, FileChannel channel, ClassicHeader header ) {
+		this.path = path;
+		this.channel = channel;
+		this.header = header;
+		this.mappedBuffers = new ConcurrentHashMap<>();
+	}
+
+	/**
+	 * Open the netCDF-3 classic or 64-bit offset file with mapped reader.
+	 *
+	 * @param path path of file
+	 * @return reader
+	 * @throws IOException has IO Exception
+	 */
+	public static MappedNetCDFReader read( Path path ) throws IOException {
+		Preconditions.checkNotNull( path );
+		FileChannel channel = FileChannel.open( path, StandardOpenOption.READ );
+		try {
+			return new MappedNetCDFReader( path, channel, ClassicHeader.parse( channel ) );
+		} catch (IOException | RuntimeException e) {
+			channel.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * Open the netCDF-3 classic or 64-bit offset file with mapped reader.
+	 *
+	 * @param path string of file location
+	 * @return reader
+	 * @throws IOException has IO Exception
+	 */
+	public static MappedNetCDFReader read( String path ) throws IOException {
+		Preconditions.checkNotNull( path );
+		return read( Paths.get( path ) );
+	}
+
+	public String getPath() {
+		return this.path.toString();
+	}
+
+	/**
+	 * Get the file is 64-bit offset format or not.
+	 *
+	 * @return is 64-bit offset format or not
+	 */
+	public boolean isLargeFile() {
+		return this.header.isLargeFile();
+	}
+
+	/**
+	 * Get the count of records.
+	 *
+	 * @return count of records
+	 */
+	public int getRecords() {
+		return this.header.getRecords();
+	}
+
+	public List<MappedVariable> getVariables() {
+		return new ArrayList<>( this.header.getVariables().values() );
+	}
+
+	/**
+	 * Find the variable layout.
+	 *
+	 * @param id id of variable
+	 * @return variable layout, it's optional
+	 */
+	public Optional<MappedVariable> findVariable( String id ) {
+		return Optional.ofNullable( this.header.getVariables().get( id ) );
+	}
+
+	/**
+	 * Check the file has variable.
+	 *
+	 * @param id id of variable
+	 * @return has variable or not
+	 */
+	public boolean hasVariable( String id ) {
+		return this.findVariable( id ).isPresent();
+	}
+
+	/**
+	 * Map the raw bytes of non-record variable, the buffer is read-only and big-endian.
+	 *
+	 * @param id id of variable
+	 * @return raw bytes, it's optional
+	 */
+	public Optional<ByteBuffer> mapVariable( String id ) {
+		return this.findVariable( id ).map( this::view );
+	}
+
+	/**
+	 * Read the byte variable as view of mapped buffer.
+	 *
+	 * @param id id of variable
+	 * @return view of values, it's optional
+	 */
+	public Optional<ByteBuffer> readBytes( String id ) {
+		return this.findVariable( id, DataType.BYTE ).map( this::view );
+	}
+
+	/**
+	 * Read the short variable as view of mapped buffer.
+	 *
+	 * @param id id of variable
+	 * @return view of values, it's optional
+	 */
+	public Optional<ShortBuffer> readShorts( String id ) {
+		return this.findVariable( id, DataType.SHORT ).map( variable -> this.view( variable ).asShortBuffer() );
+	}
+
+	/**
+	 * Read the int variable as view of mapped buffer.
+	 *
+	 * @param id id of variable
+	 * @return view of values, it's optional
+	 */
+	public Optional<IntBuffer> readInts( String id ) {
+		return this.findVariable( id, DataType.INT ).map( variable -> this.view( variable ).asIntBuffer() );
+	}
+
+	/**
+	 * Read the float variable as view of mapped buffer.
+	 *
+	 * @param id id of variable
+	 * @return view of values, it's optional
+	 */
+	public Optional<FloatBuffer> readFloats( String id ) {
+		return this.findVariable( id, DataType.FLOAT ).map( variable -> this.view( variable ).asFloatBuffer() );
+	}
+
+	/**
+	 * Read the double variable as view of mapped buffer.
+	 *
+	 * @param id id of variable
+	 * @return view of values, it's optional
+	 */
+	public Optional<DoubleBuffer> readDoubles( String id ) {
+		return this.findVariable( id, DataType.DOUBLE ).map( variable -> this.view( variable ).asDoubleBuffer() );
+	}
+
+	/**
+	 * Read the non-record variable values into the heap array, it's used to share the NetCDF tools.
+	 *
+	 * @param id id of variable
+	 * @return values, it's optional
+	 */
+	public Optional<Array> readVariable( String id ) {
+		return this.findVariable( id ).map( variable -> {
+			ByteBuffer buffer = this.view( variable );
+			int size = (int) variable.getSize();
+			Object storage;
+			switch ( variable.getDataType() ) {
+			case BYTE:
+			case CHAR:
+				byte[] bytes = new byte[ size ];
+				buffer.get( bytes );
+				storage = variable.getDataType() == DataType.CHAR ? toChars( bytes ) : bytes;
+				break;
+			case SHORT:
+				short[] shorts = new short[ size ];
+				buffer.asShortBuffer().get( shorts );
+				storage = shorts;
+				break;
+			case INT:
+				int[] ints = new int[ size ];
+				buffer.asIntBuffer().get( ints );
+				storage = ints;
+				break;
+			case FLOAT:
+				float[] floats = new float[ size ];
+				buffer.asFloatBuffer().get( floats );
+				storage = floats;
+				break;
+			default:
+				double[] doubles = new double[ size ];
+				buffer.asDoubleBuffer().get( doubles );
+				storage = doubles;
+				break;
+			}
+			return Array.factory( variable.getDataType(), variable.getShape(), storage );
+		} );
+	}
+
+	/**
+	 * Close the file channel, the mapped buffers are released by the garbage collector.
+	 *
+	 * @throws IOException has IO Exception
+	 */
+	@Override
+	public void close() throws IOException {
+		this.mappedBuffers.clear();
+		this.channel.close();
+	}
+
+	@Override
+	public String toString() {
+		return "MappedNetCDFReader{" + "path=" + this.path + ", variables=" + this.header.getVariables().keySet() + '}';
+	}
+
+	/**
+	 * Find the variable and check the data type.
+	 *
+	 * @param id id of variable
+	 * @param dataType expected data type
+	 * @return variable layout, it's optional
+	 */
+	private Optional<MappedVariable> findVariable( String id, DataType dataType ) {
+		Optional<MappedVariable> optVariable = this.findVariable( id );
+		optVariable.ifPresent( variable -> Preconditions.checkArgument( variable.getDataType() == dataType,
+				"MappedNetCDFReader: the variable: " + id + " type is " + variable.getDataType() + " not " + dataType + "." ) );
+		return optVariable;
+	}
+
+	/**
+	 * Get the big-endian view of mapped variable, each view own the position.
+	 *
+	 * @param variable variable layout
+	 * @return view of mapped buffer
+	 */
+	private ByteBuffer view( MappedVariable variable ) {
+		Preconditions.checkState( !variable.isRecord(), "MappedNetCDFReader: the record variable: " + variable.getName() +
+				" isn't contiguous, it should be read with the NetCDF reader." );
+		MappedByteBuffer buffer = this.mappedBuffers.computeIfAbsent( variable.getName(), name -> this.map( variable ) );
+		return buffer.duplicate().order( ByteOrder.BIG_ENDIAN );
+	}
+
+	/**
+	 * Map the variable bytes from the file channel.
+	 *
+	 * @param variable variable layout
+	 * @return mapped buffer
+	 */
+	private MappedByteBuffer map( MappedVariable variable ) {
+		long bytes = variable.getBytes();
+		Preconditions.checkState( bytes <= Integer.MAX_VALUE,
+				"MappedNetCDFReader: the variable: " + variable.getName() + " is too large to map at once." );
+		try {
+			return this.channel.map( FileChannel.MapMode.READ_ONLY, variable.getBegin(), bytes );
+		} catch (IOException e) {
+			throw new NetCDFException( MESSAGE_CANT_MAP + variable.getName(), e );
+		}
+	}
+
+	/**
+	 * Convert the bytes to chars.
+	 *
+	 * @param bytes bytes
+	 * @return chars
+	 */
+	private static char[] toChars( byte[] bytes ) {
+		char[] chars = new char[ bytes.length ];
+		for ( int i = 0; i < bytes.length; i++ ) {
+			chars[ i ] = (char) ( bytes[ i ] & 0xFF );
+		}
+		return chars;
+	}
+}
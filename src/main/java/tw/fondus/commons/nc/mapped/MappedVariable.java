@@ -0,0 +1,119 @@
+package tw.fondus.commons.nc.mapped;
+
+import ucar.ma2.DataType;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * The value object used to store the variable layout of netCDF-3 classic or 64-bit offset format.
+ *
+ * @author Brad Chen
+ * @since 1.3.0
+ */
+public class MappedVariable {
+	private final String name;
+	private final DataType dataType;
+	private final List<String> dimensions;
+	private final int[] shape;
+	private final Map<String, Object> attributes;
+	private final long begin;
+	private final long vsize;
+	private final boolean isRecord;
+
+	MappedVariable( String name, DataType dataType, List<String> dimensions, int[] shape, Map<String, Object> attributes,
+			long begin, long vsize, boolean isRecord ) {
+		this.name = name;
+		this.dataType = dataType;
+		this.dimensions = dimensions;
+		this.shape = shape;
+		this.attributes = attributes;
+		this.begin = begin;
+		this.vsize = vsize;
+		this.isRecord = isRecord;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public DataType getDataType() {
+		return dataType;
+	}
+
+	public List<String> getDimensions() {
+		return dimensions;
+	}
+
+	public int[] getShape() {
+		return shape.clone();
+	}
+
+	public Map<String, Object> getAttributes() {
+		return attributes;
+	}
+
+	/**
+	 * Find the numeric attribute with key.
+	 *
+	 * @param key key of attribute
+	 * @return number, it's optional
+	 */
+	public Optional<Number> findNumberAttribute( String key ) {
+		Object value = this.attributes.get( key );
+		return value instanceof Number ? Optional.of( (Number) value ) : Optional.empty();
+	}
+
+	/**
+	 * Get the file offset of the first value.
+	 *
+	 * @return file offset
+	 */
+	public long getBegin() {
+		return begin;
+	}
+
+	/**
+	 * Get the size recorded in header, for record variable it's the size of one record.
+	 *
+	 * @return size recorded in header
+	 */
+	public long getVsize() {
+		return vsize;
+	}
+
+	/**
+	 * Get the variable use the record dimension or not, the record variable is interleaved with others.
+	 *
+	 * @return is record variable or not
+	 */
+	public boolean isRecord() {
+		return isRecord;
+	}
+
+	/**
+	 * Get the count of values.
+	 *
+	 * @return count of values
+	 */
+	public long getSize() {
+		return Arrays.stream( this.shape ).asLongStream().reduce( 1L, ( a, b ) -> a * b );
+	}
+
+	/**
+	 * Get the bytes of values without padding.
+	 *
+	 * @return bytes of values
+	 */
+	public long getBytes() {
+		return this.getSize() * this.dataType.getSize();
+	}
+
+	@Override
+	public String toString() {
+		return "MappedVariable{" + "name='" + name + '\'' + ", dataType=" + dataType + ", shape=" + Arrays.toString( shape ) +
+				", begin=" + begin + ", isRecord=" + isRecord + '}';
+	}
+}
@@ -0,0 +1,30 @@
+package tw.fondus.commons.nc.resample;
+
+/**
+ * The aggregation of values in the time window, the missing values are skipped.
+ *
+ * @author Brad Chen
+ * @since 1.3.0
+ */
+public enum Aggregation {
+	/**
+	 * The sum of values, e.g. the accumulation of rainfall.
+	 */
+	SUM,
+	/**
+	 * The mean of values, e.g. the hourly mean of tide level.
+	 */
+	MEAN,
+	/**
+	 * The max of values.
+	 */
+	MAX,
+	/**
+	 * The min of values.
+	 */
+	MIN,
+	/**
+	 * The last valid value in the time window.
+	 */
+	LAST
+}
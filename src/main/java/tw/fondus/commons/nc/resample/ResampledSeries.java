@@ -0,0 +1,49 @@
+package tw.fondus.commons.nc.resample;
+
+/**
+ * The value object used to store the resampled time series with primitive values.
+ *
+ * @author Brad Chen
+ * @since 1.3.0
+ */
+public class ResampledSeries {
+	private final long[] times;
+	private final float[] values;
+
+	public ResampledSeries( long[] times, float[] values ) {
+		this.times = times;
+		this.values = values;
+	}
+
+	/**
+	 * Get the label time of each window, the array is not copied.
+	 *
+	 * @return label times
+	 */
+	public long[] getTimes() {
+		return times;
+	}
+
+	/**
+	 * Get the aggregated value of each window, the window without enough values is default missing, the array is not copied.
+	 *
+	 * @return aggregated values
+	 */
+	public float[] getValues() {
+		return values;
+	}
+
+	/**
+	 * Get the count of windows.
+	 *
+	 * @return count of windows
+	 */
+	public int size() {
+		return times.length;
+	}
+
+	@Override
+	public String toString() {
+		return "ResampledSeries{" + "size=" + times.length + '}';
+	}
+}
@@ -0,0 +1,279 @@
+package tw.fondus.commons.nc.resample;
+
+import com.google.common.base.Preconditions;
+import tw.fondus.commons.nc.NetCDFBuilder;
+import tw.fondus.commons.nc.NetCDFException;
+import tw.fondus.commons.nc.NetCDFReader;
+import tw.fondus.commons.nc.NetCDFStreamWriter;
+import tw.fondus.commons.nc.NetCDFWriter;
+import tw.fondus.commons.nc.util.NetCDFUtils;
+import tw.fondus.commons.nc.util.key.VariableAttribute;
+import tw.fondus.commons.nc.util.key.VariableName;
+import tw.fondus.commons.nc.vo.axis.TimeAxis;
+import tw.fondus.commons.nc.vo.grid.TimeStepGrid;
+import ucar.ma2.Array;
+import ucar.ma2.DataType;
+import ucar.ma2.InvalidRangeException;
+import ucar.nc2.Variable;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * The temporal resampler of time series and Time, Y, X grids, e.g. the 10-minute QPE to the hourly accumulation. <br/>
+ * The windows are aligned to the multiple of interval since epoch, and labeled with the end time of window by default,
+ * which include the end time and exclude the start time, the left closed window is labeled with the start time. <br/>
+ * The missing values are skipped, and the window with less valid values than the min count is default missing. <br/>
+ * The grid is streamed step by step into the primitive accumulators, so the memory is constant with the length of file.
+ * It's immutable and safe to share between threads.
+ *
+ * @author Brad Chen
+ * @since 1.3.0
+ */
+public class TimeResampler {
+	/**
+	 * The max cells of output buffer when write the resampled grid.
+	 */
+	private static final int BUFFER_CELLS = 1 << 22;
+
+	private final Aggregation aggregation;
+	private final long interval;
+	private final int minCount;
+	private final boolean leftClosed;
+
+	private TimeResampler( Aggregation aggregation, long interval, int minCount, boolean leftClosed ) {
+		Preconditions.checkNotNull( aggregation, "TimeResampler: aggregation should not be null." );
+		Preconditions.checkArgument( interval > 0, "TimeResampler: the interval should be greater than 0." );
+		Preconditions.checkArgument( minCount > 0, "TimeResampler: the min count should be greater than 0." );
+		this.aggregation = aggregation;
+		this.interval = interval;
+		this.minCount = minCount;
+		this.leftClosed = leftClosed;
+	}
+
+	/**
+	 * Create the resampler with right closed windows and at least one valid value.
+	 *
+	 * @param aggregation aggregation of window
+	 * @param interval interval of window in milliseconds, e.g. TimeFactor.HOUR
+	 * @return resampler
+	 */
+	public static TimeResampler of( Aggregation aggregation, long interval ) {
+		return new TimeResampler( aggregation, interval, 1, false );
+	}
+
+	/**
+	 * Get the resampler with the min count of valid values in window.
+	 *
+	 * @param minCount min count of valid values
+	 * @return resampler
+	 */
+	public TimeResampler withMinCount( int minCount ) {
+		return new TimeResampler( this.aggregation, this.interval, minCount, this.leftClosed );
+	}
+
+	/**
+	 * Get the resampler with left closed windows, which include the start time and labeled with it.
+	 *
+	 * @return resampler
+	 */
+	public TimeResampler leftClosed() {
+		return new TimeResampler( this.aggregation, this.interval, this.minCount, true );
+	}
+
+	public Aggregation getAggregation() {
+		return aggregation;
+	}
+
+	public long getInterval() {
+		return interval;
+	}
+
+	public int getMinCount() {
+		return minCount;
+	}
+
+	public boolean isLeftClosed() {
+		return leftClosed;
+	}
+
+	/**
+	 * Get the label time of the window which contains the time.
+	 *
+	 * @param time time in milliseconds
+	 * @return label time of window
+	 */
+	public long windowOf( long time ) {
+		return this.leftClosed ? Math.floorDiv( time, this.interval ) * this.interval :
+				-Math.floorDiv( -time, this.interval ) * this.interval;
+	}
+
+	/**
+	 * Resample the time series, e.g. the station series. <br/>
+	 * The windows between the first and last time are all included, the gap window is default missing.
+	 *
+	 * @param times ascending times in milliseconds
+	 * @param values values of times
+	 * @return resampled series
+	 */
+	public ResampledSeries resample( long[] times, float[] values ) {
+		Preconditions.checkNotNull( times, "TimeResampler: times should not be null." );
+		Preconditions.checkNotNull( values, "TimeResampler: values should not be null." );
+		Preconditions.checkArgument( times.length == values.length, "TimeResampler: the length of times and values should be equal." );
+		Preconditions.checkArgument( new TimeAxis( times ).isAscending(), "TimeResampler: the times should be ascending." );
+		if ( times.length == 0 ) {
+			return new ResampledSeries( new long[ 0 ], new float[ 0 ] );
+		}
+
+		long first = this.windowOf( times[ 0 ] );
+		int windows = (int) ( ( this.windowOf( times[ times.length - 1 ] ) - first ) / this.interval ) + 1;
+		long[] labels = new long[ windows ];
+		float[] result = new float[ windows ];
+		WindowAccumulator accumulator = new WindowAccumulator( 1, 1, this.aggregation );
+		int window = 0;
+		for ( int i = 0; i < times.length; i++ ) {
+			int current = (int) ( ( this.windowOf( times[ i ] ) - first ) / this.interval );
+			for ( ; window < current; window++ ) {
+				labels[ window ] = first + window * this.interval;
+				result[ window ] = accumulator.result( this.aggregation, this.minCount )[ 0 ];
+				accumulator.reset();
+			}
+			accumulator.accept( new float[]{ values[ i ] }, this.aggregation );
+		}
+		labels[ window ] = first + window * this.interval;
+		result[ window ] = accumulator.result( this.aggregation, this.minCount )[ 0 ];
+		return new ResampledSeries( labels, result );
+	}
+
+	/**
+	 * Resample the Time, Y, X three-dimension variable and write to the new file with the NetCDF builder. <br/>
+	 * The time steps are streamed with read ahead, and each step is accumulated by the row blocks in parallel. <br/>
+	 * The new file has the unlimited time dimension, the Y, X coordinates are copied, and the values are float with default missing.
+	 *
+	 * @param reader reader of source file
+	 * @param id id of variable
+	 * @param constFactor time factor from the time of file to milliseconds, e.g. TimeFactor.MINUTE
+	 * @param output path of new file
+	 * @return count of windows
+	 * @throws IOException has IO Exception
+	 * @throws InvalidRangeException has Invalid Range Exception
+	 */
+	public int resample( NetCDFReader reader, String id, long constFactor, Path output ) throws IOException, InvalidRangeException {
+		Preconditions.checkNotNull( reader, "TimeResampler: reader should not be null." );
+		Preconditions.checkNotNull( id, "TimeResampler: id should not be null." );
+		Preconditions.checkNotNull( output, "TimeResampler: output should not be null." );
+		Variable variable = reader.findVariable( id )
+				.orElseThrow( () -> new NetCDFException( "TimeResampler: the variable: " + id + " not exist." ) );
+		Preconditions.checkArgument( variable.getRank() == 3, "TimeResampler: the variable should be Time, Y, X three-dimension." );
+		TimeAxis axis = reader.findTimeAxis( constFactor )
+				.orElseThrow( () -> new NetCDFException( "TimeResampler: the file without time variable." ) );
+		Preconditions.checkState( axis.isAscending(), "TimeResampler: the time should be ascending." );
+
+		String timeName = variable.getDimension( 0 ).getShortName();
+		String yName = variable.getDimension( 1 ).getShortName();
+		String xName = variable.getDimension( 2 ).getShortName();
+		int[] shape = variable.getShape();
+		int ySize = shape[ 1 ];
+		int xSize = shape[ 2 ];
+		String timeUnits = reader.findVariable( VariableName.TIME )
+				.map( time -> NetCDFUtils.readVariableAttribute( time, VariableAttribute.KEY_UNITS, VariableAttribute.UNITS_TIME_MINUTES ) )
+				.orElse( VariableAttribute.UNITS_TIME_MINUTES );
+		Optional<Variable> yVariable = reader.findVariable( yName ).filter( coordinate -> coordinate.getRank() == 1 );
+		Optional<Variable> xVariable = reader.findVariable( xName ).filter( coordinate -> coordinate.getRank() == 1 );
+
+		NetCDFBuilder.NetCDFDefiner definer = NetCDFBuilder.create( output, true )
+				.addUnlimitedDimension( timeName )
+				.addDimension( yName, ySize )
+				.addDimension( xName, xSize )
+				.addVariable( VariableName.TIME, DataType.DOUBLE, timeName )
+				.addVariableAttribute( VariableName.TIME, VariableAttribute.KEY_UNITS, timeUnits )
+				.addVariable( id, DataType.FLOAT, timeName, yName, xName )
+				.addVariableAttribute( id, VariableAttribute.KEY_MISSING, VariableAttribute.MISSING.floatValue() )
+				.addVariableAttribute( id, "cell_methods", timeName + ": " + this.aggregation.name().toLowerCase() );
+		String units = NetCDFUtils.readVariableAttribute( variable, VariableAttribute.KEY_UNITS, "" );
+		if ( !units.isEmpty() ) {
+			definer.addVariableAttribute( id, VariableAttribute.KEY_UNITS, units );
+		}
+		yVariable.ifPresent( coordinate -> this.defineCoordinate( definer, coordinate, yName ) );
+		xVariable.ifPresent( coordinate -> this.defineCoordinate( definer, coordinate, xName ) );
+
+		int windows = 0;
+		try ( NetCDFWriter writer = definer.build() ) {
+			if ( yVariable.isPresent() ) {
+				writer.writeValues( yName, reader.readVariable( yName ).orElseThrow( () -> new NetCDFException( "TimeResampler: read " + yName + " failed." ) ) );
+			}
+			if ( xVariable.isPresent() ) {
+				writer.writeValues( xName, reader.readVariable( xName ).orElseThrow( () -> new NetCDFException( "TimeResampler: read " + xName + " failed." ) ) );
+			}
+
+			int bufferSteps = Math.max( 1, BUFFER_CELLS / Math.max( 1, ySize * xSize ) );
+			try ( NetCDFStreamWriter stream = writer.stream( id, VariableName.TIME, bufferSteps );
+					Stream<TimeStepGrid> steps = reader.streamTimeSteps( id ) ) {
+				WindowAccumulator accumulator = new WindowAccumulator( ySize, xSize, this.aggregation );
+				Iterator<TimeStepGrid> iterator = steps.iterator();
+				long window = axis.size() > 0 ? this.windowOf( axis.getTime( 0 ) ) : 0;
+				while ( iterator.hasNext() ) {
+					TimeStepGrid step = iterator.next();
+					long label = this.windowOf( axis.getTime( step.getTimeIndex() ) );
+					for ( ; window < label; window += this.interval ) {
+						this.append( stream, accumulator, window, constFactor, ySize, xSize );
+						windows++;
+					}
+					accumulator.accept( step.getValues(), this.aggregation );
+				}
+				if ( axis.size() > 0 ) {
+					this.append( stream, accumulator, window, constFactor, ySize, xSize );
+					windows++;
+				}
+			}
+		}
+		return windows;
+	}
+
+	/**
+	 * Append the result of window to the stream writer and reset the accumulator.
+	 *
+	 * @param stream stream writer
+	 * @param accumulator accumulator of window
+	 * @param window label time of window
+	 * @param constFactor time factor from the time of file to milliseconds
+	 * @param ySize size of y dimension
+	 * @param xSize size of x dimension
+	 * @throws IOException has IO Exception
+	 * @throws InvalidRangeException has Invalid Range Exception
+	 */
+	private void append( NetCDFStreamWriter stream, WindowAccumulator accumulator, long window, long constFactor, int ySize, int xSize )
+			throws IOException, InvalidRangeException {
+		float[] values = accumulator.result( this.aggregation, this.minCount );
+		accumulator.reset();
+		stream.append( (double) window / constFactor, Array.factory( DataType.FLOAT, new int[]{ ySize, xSize }, values ) );
+	}
+
+	/**
+	 * Define the coordinate variable with the units of source.
+	 *
+	 * @param definer NetCDF definer
+	 * @param coordinate source coordinate variable
+	 * @param name name of dimension
+	 */
+	private void defineCoordinate( NetCDFBuilder.NetCDFDefiner definer, Variable coordinate, String name ) {
+		definer.addVariable( name, coordinate.getDataType(), name );
+		Arrays.asList( VariableAttribute.KEY_NAME, VariableAttribute.KEY_NAME_LONG, VariableAttribute.KEY_UNITS, VariableAttribute.KEY_AXIS )
+				.forEach( key -> {
+					String value = NetCDFUtils.readVariableAttribute( coordinate, key, "" );
+					if ( !value.isEmpty() ) {
+						definer.addVariableAttribute( name, key, value );
+					}
+				} );
+	}
+
+	@Override
+	public String toString() {
+		return "TimeResampler{" + "aggregation=" + aggregation + ", interval=" + interval + ", minCount=" + minCount +
+				", leftClosed=" + leftClosed + '}';
+	}
+}
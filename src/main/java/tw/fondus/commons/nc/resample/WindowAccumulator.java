@@ -0,0 +1,103 @@
+package tw.fondus.commons.nc.resample;
+
+import tw.fondus.commons.nc.util.ParallelUtils;
+import tw.fondus.commons.nc.util.key.VariableAttribute;
+
+import java.util.Arrays;
+
+/**
+ * The primitive accumulator of each cell in the time window, the cells are accumulated by the row blocks in parallel.
+ *
+ * @author Brad Chen
+ * @since 1.3.0
+ */
+class WindowAccumulator {
+	private static final float MISSING_FLOAT = VariableAttribute.MISSING.floatValue();
+
+	private final int rows;
+	private final int cols;
+	private final int[] counts;
+	private final double[] sums;
+	private final float[] values;
+
+	/**
+	 * The constructor.
+	 *
+	 * @param rows count of rows
+	 * @param cols count of cols
+	 * @param aggregation aggregation of window
+	 */
+	WindowAccumulator( int rows, int cols, Aggregation aggregation ) {
+		this.rows = rows;
+		this.cols = cols;
+		this.counts = new int[ rows * cols ];
+		this.sums = aggregation == Aggregation.SUM || aggregation == Aggregation.MEAN ? new double[ rows * cols ] : null;
+		this.values = this.sums == null ? new float[ rows * cols ] : null;
+	}
+
+	/**
+	 * Accumulate the values of one time step.
+	 *
+	 * @param step row-major values of time step
+	 * @param aggregation aggregation of window
+	 */
+	void accept( float[] step, Aggregation aggregation ) {
+		ParallelUtils.forEachRowBlock( this.rows, this.cols, ( fromRow, toRow ) -> {
+			for ( int i = fromRow * this.cols; i < toRow * this.cols; i++ ) {
+				float value = step[ i ];
+				if ( value == MISSING_FLOAT || Float.isNaN( value ) ) {
+					continue;
+				}
+				switch ( aggregation ) {
+				case SUM:
+				case MEAN:
+					this.sums[ i ] += value;
+					break;
+				case MAX:
+					this.values[ i ] = this.counts[ i ] == 0 ? value : Math.max( this.values[ i ], value );
+					break;
+				case MIN:
+					this.values[ i ] = this.counts[ i ] == 0 ? value : Math.min( this.values[ i ], value );
+					break;
+				default:
+					this.values[ i ] = value;
+					break;
+				}
+				this.counts[ i ]++;
+			}
+		} );
+	}
+
+	/**
+	 * Get the aggregated values of window, the cell without enough values is default missing.
+	 *
+	 * @param aggregation aggregation of window
+	 * @param minCount min count of valid values
+	 * @return row-major aggregated values
+	 */
+	float[] result( Aggregation aggregation, int minCount ) {
+		float[] result = new float[ this.counts.length ];
+		for ( int i = 0; i < result.length; i++ ) {
+			if ( this.counts[ i ] < minCount || this.counts[ i ] == 0 ) {
+				result[ i ] = MISSING_FLOAT;
+			} else if ( aggregation == Aggregation.SUM ) {
+				result[ i ] = (float) this.sums[ i ];
+			} else if ( aggregation == Aggregation.MEAN ) {
+				result[ i ] = (float) ( this.sums[ i ] / this.counts[ i ] );
+			} else {
+				result[ i ] = this.values[ i ];
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Reset the accumulator for the next window.
+	 */
+	void reset() {
+		Arrays.fill( this.counts, 0 );
+		if ( this.sums != null ) {
+			Arrays.fill( this.sums, 0 );
+		}
+	}
+}
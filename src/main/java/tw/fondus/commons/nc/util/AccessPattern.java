@@ -0,0 +1,23 @@
+package tw.fondus.commons.nc.util;
+
+/**
+ * The declared access pattern of variable, which decide the default chunk shape of netCDF-4 output. <br/>
+ * The dimensions are expected in the order of Time, [Z], Y, X or Time, Station.
+ *
+ * @author Brad Chen
+ * @since 1.3.0
+ */
+public enum AccessPattern {
+	/**
+	 * Read one time step map, the chunk is one time step with the whole Y, X plane.
+	 */
+	MAP,
+	/**
+	 * Read one point time series, the chunk is the long time span with the small Y, X tile.
+	 */
+	TIME_SERIES,
+	/**
+	 * Read both the maps and the time series, the chunk is scaled from the shape equally on each dimension.
+	 */
+	BALANCED
+}
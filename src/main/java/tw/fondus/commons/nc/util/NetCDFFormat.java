@@ -0,0 +1,172 @@
+package tw.fondus.commons.nc.util;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * The file formats which can be classified by the header magic, it's only read the first bytes without open the file with netCDF API.
+ *
+ * @author Brad Chen
+ * @since 1.3.0
+ */
+public enum NetCDFFormat {
+	/**
+	 * The netCDF-3 classic format, magic is CDF\001.
+	 */
+	NETCDF3_CLASSIC,
+	/**
+	 * The netCDF-3 64-bit offset format, magic is CDF\002.
+	 */
+	NETCDF3_64BIT_OFFSET,
+	/**
+	 * The netCDF-3 64-bit data format, magic is CDF\005.
+	 */
+	NETCDF3_64BIT_DATA,
+	/**
+	 * The HDF5 format, which include the netCDF-4 format.
+	 */
+	HDF5,
+	/**
+	 * The GRIB edition 1 format.
+	 */
+	GRIB1,
+	/**
+	 * The GRIB edition 2 format.
+	 */
+	GRIB2,
+	/**
+	 * The format can't be classified by the header magic, e.g. remote URL or other formats supported by netCDF API.
+	 */
+	UNKNOWN;
+
+	private static final byte[] HDF5_MAGIC = { (byte) 0x89, 'H', 'D', 'F', '\r', '\n', 0x1A, '\n' };
+	private static final byte[] GRIB_MAGIC = "GRIB".getBytes( StandardCharsets.US_ASCII );
+	private static final int GRIB_SEARCH_BYTES = 4096;
+	/**
+	 * The max offset of HDF5 super block to probe, the offsets after the header cost one read for each.
+	 */
+	private static final long HDF5_MAX_OFFSET = 8192;
+
+	/**
+	 * Check the format is netCDF-3 classic or 64-bit offset, which can be read with the mapped reader.
+	 *
+	 * @return is netCDF-3 classic or 64-bit offset or not
+	 */
+	public boolean isClassic() {
+		return this == NETCDF3_CLASSIC || this == NETCDF3_64BIT_OFFSET;
+	}
+
+	/**
+	 * Check the format is GRIB or not.
+	 *
+	 * @return is GRIB or not
+	 */
+	public boolean isGrib() {
+		return this == GRIB1 || this == GRIB2;
+	}
+
+	/**
+	 * Detect the format of file with the header magic. <br/>
+	 * If the path is not a local file or can't be read, will return unknown.
+	 *
+	 * @param path string of file location
+	 * @return format of file
+	 */
+	public static NetCDFFormat detect( String path ) {
+		if ( path == null ) {
+			return UNKNOWN;
+		}
+		try {
+			return detect( Paths.get( path ) );
+		} catch (InvalidPathException e) {
+			return UNKNOWN;
+		}
+	}
+
+	/**
+	 * Detect the format of file with the header magic. <br/>
+	 * If the path is not a local file or can't be read, will return unknown.
+	 *
+	 * @param path path of file
+	 * @return format of file
+	 */
+	public static NetCDFFormat detect( Path path ) {
+		if ( path == null || !Files.isRegularFile( path ) ) {
+			return UNKNOWN;
+		}
+
+		try ( RandomAccessFile file = new RandomAccessFile( path.toFile(), "r" ) ) {
+			long length = file.length();
+			byte[] header = new byte[ (int) Math.min( length, GRIB_SEARCH_BYTES ) ];
+			file.readFully( header );
+
+			if ( header.length >= 4 && header[ 0 ] == 'C' && header[ 1 ] == 'D' && header[ 2 ] == 'F' ) {
+				switch ( header[ 3 ] ) {
+				case 1:
+					return NETCDF3_CLASSIC;
+				case 2:
+					return NETCDF3_64BIT_OFFSET;
+				case 5:
+					return NETCDF3_64BIT_DATA;
+				default:
+					return UNKNOWN;
+				}
+			}
+
+			// The HDF5 super block is at 0, 512, 1024, 2048 and so on, the common offsets are in the header
+			for ( int offset = 0; offset < header.length; offset = offset == 0 ? 512 : offset * 2 ) {
+				if ( startsWith( header, offset, HDF5_MAGIC ) ) {
+					return HDF5;
+				}
+			}
+
+			// The GRIB message may be after the WMO header
+			for ( int i = 0; i + 8 <= header.length; i++ ) {
+				if ( startsWith( header, i, GRIB_MAGIC ) ) {
+					return header[ i + 7 ] == 2 ? GRIB2 : GRIB1;
+				}
+			}
+
+			// The few offsets after the header, the large user block is rare
+			byte[] magic = new byte[ HDF5_MAGIC.length ];
+			for ( long offset = 512; offset <= HDF5_MAX_OFFSET && offset + magic.length <= length; offset *= 2 ) {
+				if ( offset + magic.length <= header.length ) {
+					continue;
+				}
+				file.seek( offset );
+				file.readFully( magic );
+				if ( startsWith( magic, 0, HDF5_MAGIC ) ) {
+					return HDF5;
+				}
+			}
+		} catch (IOException e) {
+			// nothing to do
+		}
+		return UNKNOWN;
+	}
+
+	/**
+	 * Check the bytes start with magic at offset.
+	 *
+	 * @param bytes bytes
+	 * @param offset offset of bytes
+	 * @param magic magic bytes
+	 * @return is start with magic or not
+	 */
+	private static boolean startsWith( byte[] bytes, int offset, byte[] magic ) {
+		if ( offset + magic.length > bytes.length ) {
+			return false;
+		}
+		for ( int i = 0; i < magic.length; i++ ) {
+			if ( bytes[ offset + i ] != magic[ i ] ) {
+				return false;
+			}
+		}
+		return true;
+	}
+}
@@ -3,7 +3,6 @@ package tw.fondus.commons.nc.util;
 import com.google.common.base.Preconditions;
 import tw.fondus.commons.nc.util.key.VariableAttribute;
 import tw.fondus.commons.nc.vo.index.IndexTYX;
-import tw.fondus.commons.nc.vo.index.IndexYX;
 import ucar.ma2.Array;
 import ucar.ma2.ArrayChar;
 import ucar.ma2.ArrayDouble;
@@ -18,12 +17,15 @@ import ucar.nc2.Variable;
 import java.io.IOException;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
-import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
+import java.util.stream.LongStream;
 import java.util.stream.Stream;
 
 /**
@@ -33,6 +35,9 @@ import java.util.stream.Stream;
  *
  */
 public class NetCDFUtils {
+	private static final float MISSING_FLOAT = VariableAttribute.MISSING.floatValue();
+	private static final double MISSING_DOUBLE = VariableAttribute.MISSING.doubleValue();
+
 	/**
 	 * Avoid the constructor.
 	 */
@@ -118,7 +123,11 @@ public class NetCDFUtils {
 	public static ArrayShort.D1 create1DArrayShort( List<BigDecimal> values ){
 		Preconditions.checkNotNull( values, buildNotNullMessage( "values" ) );
 		ArrayShort.D1 array = empty1DArrayShort( values.size() );
-		parallelRange( values.size(), false ).forEachOrdered( i -> array.set( i, values.get( i ).shortValue() ) );
+		ParallelUtils.forEachRowBlock( values.size(), 1, ( from, to ) -> {
+			for ( int i = from; i < to; i++ ) {
+				array.set( i, values.get( i ).shortValue() );
+			}
+		} );
 		return array;
 	}
 
@@ -132,7 +141,11 @@ public class NetCDFUtils {
 	public static ArrayInt.D1 create1DArrayInteger( List<BigDecimal> values ){
 		Preconditions.checkNotNull( values, buildNotNullMessage( "values" ) );
 		ArrayInt.D1 array = empty1DArrayInteger( values.size() );
-		parallelRange( values.size(), false ).forEachOrdered( i -> array.set( i, values.get( i ).intValue() ) );
+		ParallelUtils.forEachRowBlock( values.size(), 1, ( from, to ) -> {
+			for ( int i = from; i < to; i++ ) {
+				array.set( i, values.get( i ).intValue() );
+			}
+		} );
 		return array;
 	}
 
@@ -146,7 +159,11 @@ public class NetCDFUtils {
 	public static ArrayFloat.D1 create1DArrayFloat( List<BigDecimal> values ){
 		Preconditions.checkNotNull( values, buildNotNullMessage( "values" ) );
 		ArrayFloat.D1 array = empty1DArrayFloat( values.size() );
-		parallelRange( values.size(), false ).forEachOrdered( i -> array.set( i, values.get( i ).floatValue() ) );
+		ParallelUtils.forEachRowBlock( values.size(), 1, ( from, to ) -> {
+			for ( int i = from; i < to; i++ ) {
+				array.set( i, values.get( i ).floatValue() );
+			}
+		} );
 		return array;
 	}
 
@@ -160,7 +177,11 @@ public class NetCDFUtils {
 	public static ArrayDouble.D1 create1DArrayDouble( List<BigDecimal> values ){
 		Preconditions.checkNotNull( values, buildNotNullMessage( "values" ) );
 		ArrayDouble.D1 array = empty1DArrayDouble( values.size() );
-		parallelRange( values.size(), false ).forEachOrdered( i -> array.set( i, values.get( i ).doubleValue() ) );
+		ParallelUtils.forEachRowBlock( values.size(), 1, ( from, to ) -> {
+			for ( int i = from; i < to; i++ ) {
+				array.set( i, values.get( i ).doubleValue() );
+			}
+		} );
 		return array;
 	}
 
@@ -176,12 +197,7 @@ public class NetCDFUtils {
 	public static ArrayShort.D2 create2DArrayShort( List<BigDecimal> yxValues, int ySize, int xSize ){
 		Preconditions.checkNotNull( yxValues, buildNotNullMessage( "yxValues" ) );
 		ArrayShort.D2 array = empty2DArrayShort( ySize, xSize );
-		parallelRange2D( ySize, xSize, false )
-				.forEachOrdered( index -> {
-					int x = index.getCol();
-					int y = index.getRow();
-					array.set( y, x, yxValues.get( create1DIndex( y, x, xSize ) ).shortValue() );
-				});
+		ParallelUtils.forEachIndex( ySize, xSize, ( t, y, x, cell ) -> array.set( y, x, yxValues.get( cell ).shortValue() ) );
 		return array;
 	}
 
@@ -197,12 +213,7 @@ public class NetCDFUtils {
 	public static ArrayInt.D2 create2DArrayInteger( List<BigDecimal> yxValues, int ySize, int xSize ){
 		Preconditions.checkNotNull( yxValues, buildNotNullMessage( "yxValues" ) );
 		ArrayInt.D2 array = empty2DArrayInteger( ySize, xSize );
-		parallelRange2D( ySize, xSize, false )
-				.forEachOrdered( index -> {
-					int x = index.getCol();
-					int y = index.getRow();
-					array.set( y, x, yxValues.get( create1DIndex( y, x, xSize ) ).intValue() );
-				});
+		ParallelUtils.forEachIndex( ySize, xSize, ( t, y, x, cell ) -> array.set( y, x, yxValues.get( cell ).intValue() ) );
 		return array;
 	}
 
@@ -218,12 +229,7 @@ public class NetCDFUtils {
 	public static ArrayFloat.D2 create2DArrayFloat( List<BigDecimal> yxValues, int ySize, int xSize ){
 		Preconditions.checkNotNull( yxValues, buildNotNullMessage( "yxValues" ) );
 		ArrayFloat.D2 array = empty2DArrayFloat( ySize, xSize );
-		parallelRange2D( ySize, xSize, false )
-				.forEachOrdered( index -> {
-					int x = index.getCol();
-					int y = index.getRow();
-					array.set( y, x, yxValues.get( create1DIndex( y, x, xSize ) ).floatValue() );
-				});
+		ParallelUtils.forEachIndex( ySize, xSize, ( t, y, x, cell ) -> array.set( y, x, yxValues.get( cell ).floatValue() ) );
 		return array;
 	}
 
@@ -239,12 +245,7 @@ public class NetCDFUtils {
 	public static ArrayDouble.D2 create2DArrayDouble( List<BigDecimal> yxValues, int ySize, int xSize ){
 		Preconditions.checkNotNull( yxValues, buildNotNullMessage( "yxValues" ) );
 		ArrayDouble.D2 array = empty2DArrayDouble( ySize, xSize );
-		parallelRange2D( ySize, xSize, false )
-				.forEachOrdered( index -> {
-					int x = index.getCol();
-					int y = index.getRow();
-					array.set( y, x, yxValues.get( create1DIndex( y, x, xSize ) ).doubleValue() );
-				});
+		ParallelUtils.forEachIndex( ySize, xSize, ( t, y, x, cell ) -> array.set( y, x, yxValues.get( cell ).doubleValue() ) );
 		return array;
 	}
 
@@ -276,13 +277,8 @@ public class NetCDFUtils {
 	public static ArrayShort.D3 create3DArrayShort( List<List<BigDecimal>> tyxValues, int ySize, int xSize ){
 		Preconditions.checkNotNull( tyxValues, buildNotNullMessage( "tyxValues" ) );
 		ArrayShort.D3 array = empty3DArrayShort( tyxValues.size(), ySize, xSize );
-		parallelRange3D( tyxValues.size(), ySize, xSize )
-			.forEachOrdered( index -> {
-				int t = index.getTime();
-				int x = index.getCol();
-				int y = index.getRow();
-				array.set( t, y, x, tyxValues.get( t ).get( create1DIndex( y, x, xSize ) ).shortValue() );
-			} );
+		ParallelUtils.forEachIndex( tyxValues.size(), ySize, xSize,
+				( t, y, x, cell ) -> array.set( t, y, x, tyxValues.get( t ).get( cell ).shortValue() ) );
 		return array;
 	}
 
@@ -298,13 +294,8 @@ public class NetCDFUtils {
 	public static ArrayInt.D3 create3DArrayInteger( List<List<BigDecimal>> tyxValues, int ySize, int xSize ){
 		Preconditions.checkNotNull( tyxValues, buildNotNullMessage( "tyxValues" ) );
 		ArrayInt.D3 array = empty3DArrayInteger( tyxValues.size(), ySize, xSize );
-		parallelRange3D( tyxValues.size(), ySize, xSize )
-				.forEachOrdered( index -> {
-					int t = index.getTime();
-					int x = index.getCol();
-					int y = index.getRow();
-					array.set( t, y, x, tyxValues.get( t ).get( create1DIndex( y, x, xSize ) ).intValue() );
-				} );
+		ParallelUtils.forEachIndex( tyxValues.size(), ySize, xSize,
+				( t, y, x, cell ) -> array.set( t, y, x, tyxValues.get( t ).get( cell ).intValue() ) );
 		return array;
 	}
 
@@ -320,13 +311,8 @@ public class NetCDFUtils {
 	public static ArrayFloat.D3 create3DArrayFloat( List<List<BigDecimal>> tyxValues, int ySize, int xSize ){
 		Preconditions.checkNotNull( tyxValues, buildNotNullMessage( "tyxValues" ) );
 		ArrayFloat.D3 array = empty3DArrayFloat( tyxValues.size(), ySize, xSize );
-		parallelRange3D( tyxValues.size(), ySize, xSize )
-				.forEachOrdered( index -> {
-					int t = index.getTime();
-					int x = index.getCol();
-					int y = index.getRow();
-					array.set( t, y, x, tyxValues.get( t ).get( create1DIndex( y, x, xSize ) ).floatValue() );
-				} );
+		ParallelUtils.forEachIndex( tyxValues.size(), ySize, xSize,
+				( t, y, x, cell ) -> array.set( t, y, x, tyxValues.get( t ).get( cell ).floatValue() ) );
 		return array;
 	}
 
@@ -342,16 +328,365 @@ public class NetCDFUtils {
 	public static ArrayDouble.D3 create3DArrayDouble( List<List<BigDecimal>> tyxValues, int ySize, int xSize ){
 		Preconditions.checkNotNull( tyxValues, buildNotNullMessage( "tyxValues" ) );
 		ArrayDouble.D3 array = empty3DArrayDouble( tyxValues.size(), ySize, xSize );
-		parallelRange3D( tyxValues.size(), ySize, xSize )
-				.forEachOrdered( index -> {
-					int t = index.getTime();
-					int x = index.getCol();
-					int y = index.getRow();
-					array.set( t, y, x, tyxValues.get( t ).get( create1DIndex( y, x, xSize ) ).doubleValue() );
-				} );
+		ParallelUtils.forEachIndex( tyxValues.size(), ySize, xSize,
+				( t, y, x, cell ) -> array.set( t, y, x, tyxValues.get( t ).get( cell ).doubleValue() ) );
 		return array;
 	}
 
+	/**
+	 * Create the 1D short array with primitive data values, the values are wrapped without copy.
+	 *
+	 * @param values values
+	 * @return 1D short array
+	 * @since 1.3.0
+	 */
+	public static ArrayShort.D1 create1DArrayShort( short[] values ){
+		Preconditions.checkNotNull( values, buildNotNullMessage( "values" ) );
+		return (ArrayShort.D1) wrapArray( DataType.SHORT, values, values.length, false, values.length );
+	}
+
+	/**
+	 * Create the 1D integer array with primitive data values, the values are wrapped without copy.
+	 *
+	 * @param values values
+	 * @return 1D integer array
+	 * @since 1.3.0
+	 */
+	public static ArrayInt.D1 create1DArrayInteger( int[] values ){
+		Preconditions.checkNotNull( values, buildNotNullMessage( "values" ) );
+		return (ArrayInt.D1) wrapArray( DataType.INT, values, values.length, false, values.length );
+	}
+
+	/**
+	 * Create the 1D float array with primitive data values, the values are wrapped without copy.
+	 *
+	 * @param values values
+	 * @return 1D float array
+	 * @since 1.3.0
+	 */
+	public static ArrayFloat.D1 create1DArrayFloat( float[] values ){
+		Preconditions.checkNotNull( values, buildNotNullMessage( "values" ) );
+		return (ArrayFloat.D1) wrapArray( DataType.FLOAT, values, values.length, false, values.length );
+	}
+
+	/**
+	 * Create the 1D double array with primitive data values, the values are wrapped without copy.
+	 *
+	 * @param values values
+	 * @return 1D double array
+	 * @since 1.3.0
+	 */
+	public static ArrayDouble.D1 create1DArrayDouble( double[] values ){
+		Preconditions.checkNotNull( values, buildNotNullMessage( "values" ) );
+		return (ArrayDouble.D1) wrapArray( DataType.DOUBLE, values, values.length, false, values.length );
+	}
+
+	/**
+	 * Create the 2D short array with y-x order one dimension primitive data values, the values are wrapped without copy.
+	 *
+	 * @param yxValues yx two dimension values
+	 * @param ySize y dimension size
+	 * @param xSize x dimension size
+	 * @return 2D short array
+	 * @since 1.3.0
+	 */
+	public static ArrayShort.D2 create2DArrayShort( short[] yxValues, int ySize, int xSize ){
+		return create2DArrayShort( yxValues, ySize, xSize, false );
+	}
+
+	/**
+	 * Create the 2D short array with y-x order one dimension primitive data values. <br/>
+	 * If not inverted Y dimension, the values are wrapped without copy, otherwise the rows are copied by inverted order.
+	 *
+	 * @param yxValues yx two dimension values
+	 * @param ySize y dimension size
+	 * @param xSize x dimension size
+	 * @param invertedY inverted Y dimension or not
+	 * @return 2D short array
+	 * @since 1.3.0
+	 */
+	public static ArrayShort.D2 create2DArrayShort( short[] yxValues, int ySize, int xSize, boolean invertedY ){
+		Preconditions.checkNotNull( yxValues, buildNotNullMessage( "yxValues" ) );
+		return (ArrayShort.D2) wrapArray( DataType.SHORT, yxValues, yxValues.length, invertedY, ySize, xSize );
+	}
+
+	/**
+	 * Create the 2D integer array with y-x order one dimension primitive data values, the values are wrapped without copy.
+	 *
+	 * @param yxValues yx two dimension values
+	 * @param ySize y dimension size
+	 * @param xSize x dimension size
+	 * @return 2D integer array
+	 * @since 1.3.0
+	 */
+	public static ArrayInt.D2 create2DArrayInteger( int[] yxValues, int ySize, int xSize ){
+		return create2DArrayInteger( yxValues, ySize, xSize, false );
+	}
+
+	/**
+	 * Create the 2D integer array with y-x order one dimension primitive data values. <br/>
+	 * If not inverted Y dimension, the values are wrapped without copy, otherwise the rows are copied by inverted order.
+	 *
+	 * @param yxValues yx two dimension values
+	 * @param ySize y dimension size
+	 * @param xSize x dimension size
+	 * @param invertedY inverted Y dimension or not
+	 * @return 2D integer array
+	 * @since 1.3.0
+	 */
+	public static ArrayInt.D2 create2DArrayInteger( int[] yxValues, int ySize, int xSize, boolean invertedY ){
+		Preconditions.checkNotNull( yxValues, buildNotNullMessage( "yxValues" ) );
+		return (ArrayInt.D2) wrapArray( DataType.INT, yxValues, yxValues.length, invertedY, ySize, xSize );
+	}
+
+	/**
+	 * Create the 2D float array with y-x order one dimension primitive data values, the values are wrapped without copy.
+	 *
+	 * @param yxValues yx two dimension values
+	 * @param ySize y dimension size
+	 * @param xSize x dimension size
+	 * @return 2D float array
+	 * @since 1.3.0
+	 */
+	public static ArrayFloat.D2 create2DArrayFloat( float[] yxValues, int ySize, int xSize ){
+		return create2DArrayFloat( yxValues, ySize, xSize, false );
+	}
+
+	/**
+	 * Create the 2D float array with y-x order one dimension primitive data values. <br/>
+	 * If not inverted Y dimension, the values are wrapped without copy, otherwise the rows are copied by inverted order.
+	 *
+	 * @param yxValues yx two dimension values
+	 * @param ySize y dimension size
+	 * @param xSize x dimension size
+	 * @param invertedY inverted Y dimension or not
+	 * @return 2D float array
+	 * @since 1.3.0
+	 */
+	public static ArrayFloat.D2 create2DArrayFloat( float[] yxValues, int ySize, int xSize, boolean invertedY ){
+		Preconditions.checkNotNull( yxValues, buildNotNullMessage( "yxValues" ) );
+		return (ArrayFloat.D2) wrapArray( DataType.FLOAT, yxValues, yxValues.length, invertedY, ySize, xSize );
+	}
+
+	/**
+	 * Create the 2D float array with y-x order one dimension buffer data values. <br/>
+	 * If the buffer is backed by the whole array and not inverted Y dimension, the array is wrapped without copy.
+	 *
+	 * @param yxValues yx two dimension values
+	 * @param ySize y dimension size
+	 * @param xSize x dimension size
+	 * @param invertedY inverted Y dimension or not
+	 * @return 2D float array
+	 * @since 1.3.0
+	 */
+	public static ArrayFloat.D2 create2DArrayFloat( FloatBuffer yxValues, int ySize, int xSize, boolean invertedY ){
+		Preconditions.checkNotNull( yxValues, buildNotNullMessage( "yxValues" ) );
+		return create2DArrayFloat( toArray( yxValues ), ySize, xSize, invertedY );
+	}
+
+	/**
+	 * Create the 2D double array with y-x order one dimension primitive data values, the values are wrapped without copy.
+	 *
+	 * @param yxValues yx two dimension values
+	 * @param ySize y dimension size
+	 * @param xSize x dimension size
+	 * @return 2D double array
+	 * @since 1.3.0
+	 */
+	public static ArrayDouble.D2 create2DArrayDouble( double[] yxValues, int ySize, int xSize ){
+		return create2DArrayDouble( yxValues, ySize, xSize, false );
+	}
+
+	/**
+	 * Create the 2D double array with y-x order one dimension primitive data values. <br/>
+	 * If not inverted Y dimension, the values are wrapped without copy, otherwise the rows are copied by inverted order.
+	 *
+	 * @param yxValues yx two dimension values
+	 * @param ySize y dimension size
+	 * @param xSize x dimension size
+	 * @param invertedY inverted Y dimension or not
+	 * @return 2D double array
+	 * @since 1.3.0
+	 */
+	public static ArrayDouble.D2 create2DArrayDouble( double[] yxValues, int ySize, int xSize, boolean invertedY ){
+		Preconditions.checkNotNull( yxValues, buildNotNullMessage( "yxValues" ) );
+		return (ArrayDouble.D2) wrapArray( DataType.DOUBLE, yxValues, yxValues.length, invertedY, ySize, xSize );
+	}
+
+	/**
+	 * Create the 2D double array with y-x order one dimension buffer data values. <br/>
+	 * If the buffer is backed by the whole array and not inverted Y dimension, the array is wrapped without copy.
+	 *
+	 * @param yxValues yx two dimension values
+	 * @param ySize y dimension size
+	 * @param xSize x dimension size
+	 * @param invertedY inverted Y dimension or not
+	 * @return 2D double array
+	 * @since 1.3.0
+	 */
+	public static ArrayDouble.D2 create2DArrayDouble( DoubleBuffer yxValues, int ySize, int xSize, boolean invertedY ){
+		Preconditions.checkNotNull( yxValues, buildNotNullMessage( "yxValues" ) );
+		return create2DArrayDouble( toArray( yxValues ), ySize, xSize, invertedY );
+	}
+
+	/**
+	 * Create the 3D short array with t-y-x order one dimension primitive data values, the values are wrapped without copy.
+	 *
+	 * @param tyxValues t-yx three dimension values
+	 * @param tSize t dimension size
+	 * @param ySize y dimension size
+	 * @param xSize x dimension size
+	 * @return 3D short array
+	 * @since 1.3.0
+	 */
+	public static ArrayShort.D3 create3DArrayShort( short[] tyxValues, int tSize, int ySize, int xSize ){
+		return create3DArrayShort( tyxValues, tSize, ySize, xSize, false );
+	}
+
+	/**
+	 * Create the 3D short array with t-y-x order one dimension primitive data values. <br/>
+	 * If not inverted Y dimension, the values are wrapped without copy, otherwise the rows of each time are copied by inverted order.
+	 *
+	 * @param tyxValues t-yx three dimension values
+	 * @param tSize t dimension size
+	 * @param ySize y dimension size
+	 * @param xSize x dimension size
+	 * @param invertedY inverted Y dimension or not
+	 * @return 3D short array
+	 * @since 1.3.0
+	 */
+	public static ArrayShort.D3 create3DArrayShort( short[] tyxValues, int tSize, int ySize, int xSize, boolean invertedY ){
+		Preconditions.checkNotNull( tyxValues, buildNotNullMessage( "tyxValues" ) );
+		return (ArrayShort.D3) wrapArray( DataType.SHORT, tyxValues, tyxValues.length, invertedY, tSize, ySize, xSize );
+	}
+
+	/**
+	 * Create the 3D integer array with t-y-x order one dimension primitive data values, the values are wrapped without copy.
+	 *
+	 * @param tyxValues t-yx three dimension values
+	 * @param tSize t dimension size
+	 * @param ySize y dimension size
+	 * @param xSize x dimension size
+	 * @return 3D integer array
+	 * @since 1.3.0
+	 */
+	public static ArrayInt.D3 create3DArrayInteger( int[] tyxValues, int tSize, int ySize, int xSize ){
+		return create3DArrayInteger( tyxValues, tSize, ySize, xSize, false );
+	}
+
+	/**
+	 * Create the 3D integer array with t-y-x order one dimension primitive data values. <br/>
+	 * If not inverted Y dimension, the values are wrapped without copy, otherwise the rows of each time are copied by inverted order.
+	 *
+	 * @param tyxValues t-yx three dimension values
+	 * @param tSize t dimension size
+	 * @param ySize y dimension size
+	 * @param xSize x dimension size
+	 * @param invertedY inverted Y dimension or not
+	 * @return 3D integer array
+	 * @since 1.3.0
+	 */
+	public static ArrayInt.D3 create3DArrayInteger( int[] tyxValues, int tSize, int ySize, int xSize, boolean invertedY ){
+		Preconditions.checkNotNull( tyxValues, buildNotNullMessage( "tyxValues" ) );
+		return (ArrayInt.D3) wrapArray( DataType.INT, tyxValues, tyxValues.length, invertedY, tSize, ySize, xSize );
+	}
+
+	/**
+	 * Create the 3D float array with t-y-x order one dimension primitive data values, the values are wrapped without copy.
+	 *
+	 * @param tyxValues t-yx three dimension values
+	 * @param tSize t dimension size
+	 * @param ySize y dimension size
+	 * @param xSize x dimension size
+	 * @return 3D float array
+	 * @since 1.3.0
+	 */
+	public static ArrayFloat.D3 create3DArrayFloat( float[] tyxValues, int tSize, int ySize, int xSize ){
+		return create3DArrayFloat( tyxValues, tSize, ySize, xSize, false );
+	}
+
+	/**
+	 * Create the 3D float array with t-y-x order one dimension primitive data values. <br/>
+	 * If not inverted Y dimension, the values are wrapped without copy, otherwise the rows of each time are copied by inverted order.
+	 *
+	 * @param tyxValues t-yx three dimension values
+	 * @param tSize t dimension size
+	 * @param ySize y dimension size
+	 * @param xSize x dimension size
+	 * @param invertedY inverted Y dimension or not
+	 * @return 3D float array
+	 * @since 1.3.0
+	 */
+	public static ArrayFloat.D3 create3DArrayFloat( float[] tyxValues, int tSize, int ySize, int xSize, boolean invertedY ){
+		Preconditions.checkNotNull( tyxValues, buildNotNullMessage( "tyxValues" ) );
+		return (ArrayFloat.D3) wrapArray( DataType.FLOAT, tyxValues, tyxValues.length, invertedY, tSize, ySize, xSize );
+	}
+
+	/**
+	 * Create the 3D float array with t-y-x order one dimension buffer data values. <br/>
+	 * If the buffer is backed by the whole array and not inverted Y dimension, the array is wrapped without copy.
+	 *
+	 * @param tyxValues t-yx three dimension values
+	 * @param tSize t dimension size
+	 * @param ySize y dimension size
+	 * @param xSize x dimension size
+	 * @param invertedY inverted Y dimension or not
+	 * @return 3D float array
+	 * @since 1.3.0
+	 */
+	public static ArrayFloat.D3 create3DArrayFloat( FloatBuffer tyxValues, int tSize, int ySize, int xSize, boolean invertedY ){
+		Preconditions.checkNotNull( tyxValues, buildNotNullMessage( "tyxValues" ) );
+		return create3DArrayFloat( toArray( tyxValues ), tSize, ySize, xSize, invertedY );
+	}
+
+	/**
+	 * Create the 3D double array with t-y-x order one dimension primitive data values, the values are wrapped without copy.
+	 *
+	 * @param tyxValues t-yx three dimension values
+	 * @param tSize t dimension size
+	 * @param ySize y dimension size
+	 * @param xSize x dimension size
+	 * @return 3D double array
+	 * @since 1.3.0
+	 */
+	public static ArrayDouble.D3 create3DArrayDouble( double[] tyxValues, int tSize, int ySize, int xSize ){
+		return create3DArrayDouble( tyxValues, tSize, ySize, xSize, false );
+	}
+
+	/**
+	 * Create the 3D double array with t-y-x order one dimension primitive data values. <br/>
+	 * If not inverted Y dimension, the values are wrapped without copy, otherwise the rows of each time are copied by inverted order.
+	 *
+	 * @param tyxValues t-yx three dimension values
+	 * @param tSize t dimension size
+	 * @param ySize y dimension size
+	 * @param xSize x dimension size
+	 * @param invertedY inverted Y dimension or not
+	 * @return 3D double array
+	 * @since 1.3.0
+	 */
+	public static ArrayDouble.D3 create3DArrayDouble( double[] tyxValues, int tSize, int ySize, int xSize, boolean invertedY ){
+		Preconditions.checkNotNull( tyxValues, buildNotNullMessage( "tyxValues" ) );
+		return (ArrayDouble.D3) wrapArray( DataType.DOUBLE, tyxValues, tyxValues.length, invertedY, tSize, ySize, xSize );
+	}
+
+	/**
+	 * Create the 3D double array with t-y-x order one dimension buffer data values. <br/>
+	 * If the buffer is backed by the whole array and not inverted Y dimension, the array is wrapped without copy.
+	 *
+	 * @param tyxValues t-yx three dimension values
+	 * @param tSize t dimension size
+	 * @param ySize y dimension size
+	 * @param xSize x dimension size
+	 * @param invertedY inverted Y dimension or not
+	 * @return 3D double array
+	 * @since 1.3.0
+	 */
+	public static ArrayDouble.D3 create3DArrayDouble( DoubleBuffer tyxValues, int tSize, int ySize, int xSize, boolean invertedY ){
+		Preconditions.checkNotNull( tyxValues, buildNotNullMessage( "tyxValues" ) );
+		return create3DArrayDouble( toArray( tyxValues ), tSize, ySize, xSize, invertedY );
+	}
+
 	/**
 	 * Create the empty 1D shout array with size.
 	 *
@@ -794,17 +1129,12 @@ public class NetCDFUtils {
 		int[] shape = values.getShape();
 		Preconditions.checkArgument( shape.length == 2, "NetCDFUtils: The values array shape size should be 2." );
 
-		List<BigDecimal> grid = new ArrayList<>();
 		int ySize = shape[ 0 ];
 		int xSize = shape[ 1 ];
-		Index index = values.getIndex();
-
-		parallelRange2D( ySize, xSize, invertedY ).forEachOrdered( index2D -> {
-			int x = index2D.getCol();
-			int y = index2D.getRow();
-			grid.add( NetCDFUtils.readArrayValue( values, index.set( y, x ), scale, offset, missing ) );
-		} );
-		return grid;
+		BigDecimal[] grid = new BigDecimal[ ySize * xSize ];
+		ParallelUtils.forEachArrayIndex( values, invertedY,
+				( index, t, y, x, cell ) -> grid[ cell ] = readArrayValue( values, index, scale, offset, missing ) );
+		return new ArrayList<>( Arrays.asList( grid ) );
 	}
 
 	/**
@@ -860,10 +1190,14 @@ public class NetCDFUtils {
 		int[] shape = values.getShape();
 		Preconditions.checkArgument( shape.length == 3, "NetCDFUtils: The values array shape size should be 3." );
 
-		int timeSize = shape[ 0 ];
-		return IntStream.range( 0, timeSize )
-				.parallel()
-				.mapToObj( time -> sliceTDimensionArrayYXValues( values, time, scale, offset, missing, invertedY ) )
+		int tSize = shape[ 0 ];
+		int ySize = shape[ 1 ];
+		int xSize = shape[ 2 ];
+		BigDecimal[][] timeGrids = new BigDecimal[ tSize ][ ySize * xSize ];
+		ParallelUtils.forEachArrayIndex( values, invertedY,
+				( index, t, y, x, cell ) -> timeGrids[ t ][ cell ] = readArrayValue( values, index, scale, offset, missing ) );
+		return Stream.of( timeGrids )
+				.map( grid -> new ArrayList<>( Arrays.asList( grid ) ) )
 				.collect( Collectors.toList() );
 	}
 
@@ -929,16 +1263,272 @@ public class NetCDFUtils {
 		Preconditions.checkArgument( shape.length == 3, "NetCDFUtils: The values array shape size should be 3." );
 		Preconditions.checkElementIndex( tIndex, shape[0], "NetCDFUtils: the tIndex should not greater than t dimension size." );
 
-		List<BigDecimal> grid = new ArrayList<>();
 		int ySize = shape[ 1 ];
 		int xSize = shape[ 2 ];
-		Index index = values.getIndex();
+		BigDecimal[] grid = new BigDecimal[ ySize * xSize ];
+		ParallelUtils.forEachArrayIndex( values, tIndex, invertedY,
+				( index, t, y, x, cell ) -> grid[ cell ] = readArrayValue( values, index, scale, offset, missing ) );
+		return new ArrayList<>( Arrays.asList( grid ) );
+	}
 
-		parallelRange2D( ySize, xSize, invertedY ).forEachOrdered( index2D -> {
-			int x = index2D.getCol();
-			int y = index2D.getRow();
-			grid.add( NetCDFUtils.readArrayValue( values, index.set( tIndex, y, x ), scale, offset, missing ) );
-		} );
+	/**
+	 * Read the Y, X array values from the Y, X two-dimension array to primitive float array with default scale, offset factor to original value, missing value and not inverted Y dimension.
+	 *
+	 * @param values array values
+	 * @return yx one dimension values
+	 * @since 1.3.0
+	 */
+	public static float[] readYXDimensionArrayFloats( Array values ){
+		return readYXDimensionArrayFloats( values, 1F, 0F, VariableAttribute.MISSING.floatValue(), false );
+	}
+
+	/**
+	 * Read the Y, X array values from the Y, X two-dimension array to primitive float array with scale, offset factor to original value and missing value.
+	 *
+	 * @param values array values
+	 * @param scale value scale factor
+	 * @param offset value offset factor
+	 * @param missing missing value
+	 * @param invertedY inverted Y dimension or not
+	 * @return yx one dimension values
+	 * @since 1.3.0
+	 */
+	public static float[] readYXDimensionArrayFloats( Array values, float scale, float offset, float missing, boolean invertedY ){
+		return readYXDimensionArrayFloats( values, VariableCodec.of( scale, offset, missing ), invertedY );
+	}
+
+	/**
+	 * Read the Y, X array values from the Y, X two-dimension array to primitive float array with packing codec.
+	 *
+	 * @param values array values
+	 * @param codec packing codec of variable
+	 * @param invertedY inverted Y dimension or not
+	 * @return yx one dimension values
+	 * @since 1.3.0
+	 */
+	public static float[] readYXDimensionArrayFloats( Array values, VariableCodec codec, boolean invertedY ){
+		Preconditions.checkNotNull( values, buildNotNullMessage( "values" ) );
+		Preconditions.checkNotNull( codec, buildNotNullMessage( "codec" ) );
+		int[] shape = values.getShape();
+		Preconditions.checkArgument( shape.length == 2, "NetCDFUtils: The values array shape size should be 2." );
+
+		int ySize = shape[ 0 ];
+		int xSize = shape[ 1 ];
+		float[] grid = new float[ ySize * xSize ];
+		ParallelUtils.forEachArrayIndex( values, invertedY,
+				( index, t, y, x, cell ) -> grid[ cell ] = codec.unpack( values.getFloat( index ) ) );
+		return grid;
+	}
+
+	/**
+	 * Read the Y, X array values from the Y, X two-dimension array to primitive double array with default scale, offset factor to original value, missing value and not inverted Y dimension.
+	 *
+	 * @param values array values
+	 * @return yx one dimension values
+	 * @since 1.3.0
+	 */
+	public static double[] readYXDimensionArrayDoubles( Array values ){
+		return readYXDimensionArrayDoubles( values, 1D, 0D, VariableAttribute.MISSING.doubleValue(), false );
+	}
+
+	/**
+	 * Read the Y, X array values from the Y, X two-dimension array to primitive double array with scale, offset factor to original value and missing value.
+	 *
+	 * @param values array values
+	 * @param scale value scale factor
+	 * @param offset value offset factor
+	 * @param missing missing value
+	 * @param invertedY inverted Y dimension or not
+	 * @return yx one dimension values
+	 * @since 1.3.0
+	 */
+	public static double[] readYXDimensionArrayDoubles( Array values, double scale, double offset, double missing, boolean invertedY ){
+		Preconditions.checkNotNull( values, buildNotNullMessage( "values" ) );
+		int[] shape = values.getShape();
+		Preconditions.checkArgument( shape.length == 2, "NetCDFUtils: The values array shape size should be 2." );
+
+		int ySize = shape[ 0 ];
+		int xSize = shape[ 1 ];
+		double[] grid = new double[ ySize * xSize ];
+		ParallelUtils.forEachArrayIndex( values, invertedY,
+				( index, t, y, x, cell ) -> grid[ cell ] = originalValue( values.getDouble( index ), scale, offset, missing ) );
+		return grid;
+	}
+
+	/**
+	 * Read the Time, Y, X three-dimension array values to primitive float arrays with default scale, offset factor to original value, missing value and not inverted Y dimension.
+	 *
+	 * @param values array values
+	 * @return time-yx one dimension values, first index is time
+	 * @since 1.3.0
+	 */
+	public static float[][] readTYXDimensionArrayFloats( Array values ){
+		return readTYXDimensionArrayFloats( values, 1F, 0F, VariableAttribute.MISSING.floatValue(), false );
+	}
+
+	/**
+	 * Read the Time, Y, X three-dimension array values to primitive float arrays with scale, offset factor to original value and missing value.
+	 *
+	 * @param values array values
+	 * @param scale value scale factor
+	 * @param offset value offset factor
+	 * @param missing missing value
+	 * @param invertedY inverted Y dimension or not
+	 * @return time-yx one dimension values, first index is time
+	 * @since 1.3.0
+	 */
+	public static float[][] readTYXDimensionArrayFloats( Array values, float scale, float offset, float missing, boolean invertedY ){
+		return readTYXDimensionArrayFloats( values, VariableCodec.of( scale, offset, missing ), invertedY );
+	}
+
+	/**
+	 * Read the Time, Y, X three-dimension array values to primitive float arrays with packing codec.
+	 *
+	 * @param values array values
+	 * @param codec packing codec of variable
+	 * @param invertedY inverted Y dimension or not
+	 * @return time-yx one dimension values, first index is time
+	 * @since 1.3.0
+	 */
+	public static float[][] readTYXDimensionArrayFloats( Array values, VariableCodec codec, boolean invertedY ){
+		Preconditions.checkNotNull( values, buildNotNullMessage( "values" ) );
+		Preconditions.checkNotNull( codec, buildNotNullMessage( "codec" ) );
+		int[] shape = values.getShape();
+		Preconditions.checkArgument( shape.length == 3, "NetCDFUtils: The values array shape size should be 3." );
+
+		int tSize = shape[ 0 ];
+		int ySize = shape[ 1 ];
+		int xSize = shape[ 2 ];
+		float[][] timeGrids = new float[ tSize ][ ySize * xSize ];
+		ParallelUtils.forEachArrayIndex( values, invertedY,
+				( index, t, y, x, cell ) -> timeGrids[ t ][ cell ] = codec.unpack( values.getFloat( index ) ) );
+		return timeGrids;
+	}
+
+	/**
+	 * Read the Time, Y, X three-dimension array values to primitive double arrays with default scale, offset factor to original value, missing value and not inverted Y dimension.
+	 *
+	 * @param values array values
+	 * @return time-yx one dimension values, first index is time
+	 * @since 1.3.0
+	 */
+	public static double[][] readTYXDimensionArrayDoubles( Array values ){
+		return readTYXDimensionArrayDoubles( values, 1D, 0D, VariableAttribute.MISSING.doubleValue(), false );
+	}
+
+	/**
+	 * Read the Time, Y, X three-dimension array values to primitive double arrays with scale, offset factor to original value and missing value.
+	 *
+	 * @param values array values
+	 * @param scale value scale factor
+	 * @param offset value offset factor
+	 * @param missing missing value
+	 * @param invertedY inverted Y dimension or not
+	 * @return time-yx one dimension values, first index is time
+	 * @since 1.3.0
+	 */
+	public static double[][] readTYXDimensionArrayDoubles( Array values, double scale, double offset, double missing, boolean invertedY ){
+		Preconditions.checkNotNull( values, buildNotNullMessage( "values" ) );
+		int[] shape = values.getShape();
+		Preconditions.checkArgument( shape.length == 3, "NetCDFUtils: The values array shape size should be 3." );
+
+		int tSize = shape[ 0 ];
+		int ySize = shape[ 1 ];
+		int xSize = shape[ 2 ];
+		double[][] timeGrids = new double[ tSize ][ ySize * xSize ];
+		ParallelUtils.forEachArrayIndex( values, invertedY,
+				( index, t, y, x, cell ) -> timeGrids[ t ][ cell ] = originalValue( values.getDouble( index ), scale, offset, missing ) );
+		return timeGrids;
+	}
+
+	/**
+	 * Slice the Y, X array values at t index from the Time, Y, X three-dimension array to primitive float array with default scale, offset factor to original value, missing value and not inverted Y dimension.
+	 *
+	 * @param values array values
+	 * @param tIndex t dimension index
+	 * @return yx one dimension values
+	 * @since 1.3.0
+	 */
+	public static float[] sliceTDimensionArrayYXFloats( Array values, int tIndex ){
+		return sliceTDimensionArrayYXFloats( values, tIndex, 1F, 0F, VariableAttribute.MISSING.floatValue(), false );
+	}
+
+	/**
+	 * Slice the Y, X array values at t index from the Time, Y, X three-dimension array to primitive float array with scale, offset factor to original value and missing value.
+	 *
+	 * @param values array values
+	 * @param tIndex t dimension index
+	 * @param scale value scale factor
+	 * @param offset value offset factor
+	 * @param missing missing value
+	 * @param invertedY inverted Y dimension or not
+	 * @return yx one dimension values
+	 * @since 1.3.0
+	 */
+	public static float[] sliceTDimensionArrayYXFloats( Array values, int tIndex, float scale, float offset, float missing, boolean invertedY ){
+		return sliceTDimensionArrayYXFloats( values, tIndex, VariableCodec.of( scale, offset, missing ), invertedY );
+	}
+
+	/**
+	 * Slice the Y, X array values at t index from the Time, Y, X three-dimension array to primitive float array with packing codec.
+	 *
+	 * @param values array values
+	 * @param tIndex t dimension index
+	 * @param codec packing codec of variable
+	 * @param invertedY inverted Y dimension or not
+	 * @return yx one dimension values
+	 * @since 1.3.0
+	 */
+	public static float[] sliceTDimensionArrayYXFloats( Array values, int tIndex, VariableCodec codec, boolean invertedY ){
+		Preconditions.checkNotNull( values, buildNotNullMessage( "values" ) );
+		Preconditions.checkNotNull( codec, buildNotNullMessage( "codec" ) );
+		int[] shape = values.getShape();
+		Preconditions.checkArgument( shape.length == 3, "NetCDFUtils: The values array shape size should be 3." );
+		Preconditions.checkElementIndex( tIndex, shape[0], "NetCDFUtils: the tIndex should not greater than t dimension size." );
+
+		int ySize = shape[ 1 ];
+		int xSize = shape[ 2 ];
+		float[] grid = new float[ ySize * xSize ];
+		ParallelUtils.forEachArrayIndex( values, tIndex, invertedY,
+				( index, t, y, x, cell ) -> grid[ cell ] = codec.unpack( values.getFloat( index ) ) );
+		return grid;
+	}
+
+	/**
+	 * Slice the Y, X array values at t index from the Time, Y, X three-dimension array to primitive double array with default scale, offset factor to original value, missing value and not inverted Y dimension.
+	 *
+	 * @param values array values
+	 * @param tIndex t dimension index
+	 * @return yx one dimension values
+	 * @since 1.3.0
+	 */
+	public static double[] sliceTDimensionArrayYXDoubles( Array values, int tIndex ){
+		return sliceTDimensionArrayYXDoubles( values, tIndex, 1D, 0D, VariableAttribute.MISSING.doubleValue(), false );
+	}
+
+	/**
+	 * Slice the Y, X array values at t index from the Time, Y, X three-dimension array to primitive double array with scale, offset factor to original value and missing value.
+	 *
+	 * @param values array values
+	 * @param tIndex t dimension index
+	 * @param scale value scale factor
+	 * @param offset value offset factor
+	 * @param missing missing value
+	 * @param invertedY inverted Y dimension or not
+	 * @return yx one dimension values
+	 * @since 1.3.0
+	 */
+	public static double[] sliceTDimensionArrayYXDoubles( Array values, int tIndex, double scale, double offset, double missing, boolean invertedY ){
+		Preconditions.checkNotNull( values, buildNotNullMessage( "values" ) );
+		int[] shape = values.getShape();
+		Preconditions.checkArgument( shape.length == 3, "NetCDFUtils: The values array shape size should be 3." );
+		Preconditions.checkElementIndex( tIndex, shape[0], "NetCDFUtils: the tIndex should not greater than t dimension size." );
+
+		int ySize = shape[ 1 ];
+		int xSize = shape[ 2 ];
+		double[] grid = new double[ ySize * xSize ];
+		ParallelUtils.forEachArrayIndex( values, tIndex, invertedY,
+				( index, t, y, x, cell ) -> grid[ cell ] = originalValue( values.getDouble( index ), scale, offset, missing ) );
 		return grid;
 	}
 
@@ -972,12 +1562,14 @@ public class NetCDFUtils {
 		Preconditions.checkElementIndex( stationIndex, shape[1], "NetCDFUtils: the stationIndex should not greater than station dimension size." );
 
 		int tSize = shape[ 0 ];
-		Index index = values.getIndex();
-
-		return IntStream.range( 0, tSize )
-				.parallel()
-				.mapToObj( time -> NetCDFUtils.readArrayValue( values, index.set( time, stationIndex ), scale, offset, missing ) )
-				.collect( Collectors.toList() );
+		BigDecimal[] series = new BigDecimal[ tSize ];
+		ParallelUtils.forEachRowBlock( tSize, 1, ( fromTime, toTime ) -> {
+			Index index = values.getIndex();
+			for ( int time = fromTime; time < toTime; time++ ) {
+				series[ time ] = readArrayValue( values, index.set( time, stationIndex ), scale, offset, missing );
+			}
+		} );
+		return new ArrayList<>( Arrays.asList( series ) );
 	}
 
 	/**
@@ -1023,6 +1615,34 @@ public class NetCDFUtils {
 		return value.compareTo( missing ) == 0 ? VariableAttribute.MISSING : value.multiply( scale ).add( offset );
 	}
 
+	/**
+	 * Unpack the primitive package value with scale, offset factor to original value, if is missing value, return default missing.
+	 *
+	 * @param value package value
+	 * @param scale value scale factor
+	 * @param offset value offset factor
+	 * @param missing missing value
+	 * @return original value, if is missing value, return default missing
+	 * @since 1.3.0
+	 */
+	public static float originalValue( float value, float scale, float offset, float missing ) {
+		return value == missing ? MISSING_FLOAT : value * scale + offset;
+	}
+
+	/**
+	 * Unpack the primitive package value with scale, offset factor to original value, if is missing value, return default missing.
+	 *
+	 * @param value package value
+	 * @param scale value scale factor
+	 * @param offset value offset factor
+	 * @param missing missing value
+	 * @return original value, if is missing value, return default missing
+	 * @since 1.3.0
+	 */
+	public static double originalValue( double value, double scale, double offset, double missing ) {
+		return value == missing ? MISSING_DOUBLE : value * scale + offset;
+	}
+
 	/**
 	 * Package the original value with scale, offset factor to package value, if is missing value, return default missing.
 	 *
@@ -1081,65 +1701,99 @@ public class NetCDFUtils {
 	}
 
 	/**
-	 * Get int stream with range.
+	 * Get three dimensional index parallel stream with range. <br/>
+	 * It's allocate an index object per cell, use the {@link ParallelUtils#forEachIndex(int, int, int, ParallelUtils.IndexVisitor)} instead.
 	 *
-	 * @param to to index
-	 * @param inverted is inverted or not
-	 * @return IntStream
-	 * @since 1.1.3
+	 * @param times times
+	 * @param rows size of row
+	 * @param cols size of col
+	 * @return stream of three dimensional index
+	 * @since 1.2.0
 	 */
-	@SuppressWarnings( "unused" )
-	private static IntStream range( int to, boolean inverted ){
-		return inverted ? IntStream.range( 0, to ).map( i -> to - i - 1 ) : IntStream.range( 0, to );
+	@Deprecated
+	public static Stream<IndexTYX> parallelRange3D( int times, int rows, int cols ){
+		long cells = (long) rows * cols;
+		return LongStream.range( 0, times * cells )
+				.parallel()
+				.mapToObj( i -> new IndexTYX( (int) ( i % cols ), (int) ( ( i % cells ) / cols ), (int) ( i / cells ) ) );
 	}
-
+	
 	/**
-	 * Get int parallel stream with range.
+	 * Wrap the primitive java array to the NetCDF array with shape, the last two dimensions are y, x. <br/>
+	 * If inverted Y dimension, the rows are copied by inverted order with blocked row copy.
 	 *
-	 * @param to to index
-	 * @param inverted is inverted or not
-	 * @return IntStream
-	 * @since 1.2.0
+	 * @param dataType data type
+	 * @param storage primitive java array
+	 * @param length length of primitive java array
+	 * @param invertedY inverted Y dimension or not
+	 * @param shape shape of array
+	 * @return NetCDF array
+	 * @since 1.3.0
 	 */
-	private static IntStream parallelRange( int to, boolean inverted ){
-		return inverted ? IntStream.range( 0, to ).parallel().map( i -> to - i - 1 ) : IntStream.range( 0, to ).parallel();
+	private static Array wrapArray( DataType dataType, Object storage, int length, boolean invertedY, int... shape ){
+		long size = 1;
+		for ( int dimension : shape ) {
+			Preconditions.checkArgument( dimension > 0, "NetCDFUtils: The dimension size should be greater than 0." );
+			size *= dimension;
+		}
+		Preconditions.checkArgument( size == length, "NetCDFUtils: The values length should equals to the shape size." );
+		return Array.factory( dataType, shape, invertedY && shape.length > 1 ?
+				invertRows( storage, shape[ shape.length - 2 ], shape[ shape.length - 1 ] ) : storage );
 	}
 
 	/**
-	 * Get two dimensional index parallel stream with range.
+	 * Copy the primitive java array with inverted rows of each y-x grid.
 	 *
-	 * @param rows size of row
-	 * @param cols size of col
-	 * @param inverted is inverted or not
-	 * @return stream of two dimensional index
-	 * @since 1.2.0
+	 * @param storage primitive java array
+	 * @param ySize y dimension size
+	 * @param xSize x dimension size
+	 * @return inverted primitive java array
+	 * @since 1.3.0
+	 */
+	private static Object invertRows( Object storage, int ySize, int xSize ){
+		int length = java.lang.reflect.Array.getLength( storage );
+		Object inverted = java.lang.reflect.Array.newInstance( storage.getClass().getComponentType(), length );
+		ParallelUtils.forEachRowBlock( length / xSize, xSize, ( fromRow, toRow ) -> {
+			for ( int row = fromRow; row < toRow; row++ ) {
+				int sourceRow = row - row % ySize + ( ySize - row % ySize - 1 );
+				System.arraycopy( storage, sourceRow * xSize, inverted, row * xSize, xSize );
+			}
+		} );
+		return inverted;
+	}
+
+	/**
+	 * Get the float array of buffer remaining values, if the buffer is backed by the whole array, return the backed array.
+	 *
+	 * @param buffer float buffer
+	 * @return float array
+	 * @since 1.3.0
 	 */
-	private static Stream<IndexYX> parallelRange2D( int rows, int cols, boolean inverted ){
-		return parallelRange( rows, inverted )
-				.mapToObj( y -> IntStream.range( 0, cols ).parallel().mapToObj( x -> new IndexYX( x, y ) ) )
-				.flatMap( Function.identity() );
+	private static float[] toArray( FloatBuffer buffer ){
+		if ( buffer.hasArray() && buffer.arrayOffset() == 0 && buffer.position() == 0 && buffer.remaining() == buffer.array().length ){
+			return buffer.array();
+		}
+		float[] values = new float[ buffer.remaining() ];
+		buffer.duplicate().get( values );
+		return values;
 	}
 
 	/**
-	 * Get two dimensional index parallel stream with range.
+	 * Get the double array of buffer remaining values, if the buffer is backed by the whole array, return the backed array.
 	 *
-	 * @param times times
-	 * @param rows size of row
-	 * @param cols size of col
-	 * @return stream of three dimensional index
-	 * @since 1.2.0
+	 * @param buffer double buffer
+	 * @return double array
+	 * @since 1.3.0
 	 */
-	public static Stream<IndexTYX> parallelRange3D( int times, int rows, int cols ){
-		return IntStream.range( 0, times )
-				.parallel()
-				.mapToObj( t -> IntStream.range( 0, rows )
-						.parallel()
-						.mapToObj( y -> IntStream.range( 0, cols ).parallel().mapToObj( x -> new IndexTYX( x, y, t ) ) )
-						.flatMap( Function.identity() )
-				)
-				.flatMap( Function.identity() );
+	private static double[] toArray( DoubleBuffer buffer ){
+		if ( buffer.hasArray() && buffer.arrayOffset() == 0 && buffer.position() == 0 && buffer.remaining() == buffer.array().length ){
+			return buffer.array();
+		}
+		double[] values = new double[ buffer.remaining() ];
+		buffer.duplicate().get( values );
+		return values;
 	}
-	
+
 	/**
 	 * Convert Number to BigDecimal.
 	 * 
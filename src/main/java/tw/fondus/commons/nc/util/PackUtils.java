@@ -0,0 +1,249 @@
+package tw.fondus.commons.nc.util;
+
+import com.google.common.base.Preconditions;
+import tw.fondus.commons.nc.util.key.VariableAttribute;
+
+/**
+ * The bulk pack and unpack kernels of the scale, offset factor between the primitive original values and the short or int package values. <br/>
+ * The loops are simple counted loops over the primitive arrays without the object or the method call in body, so the JIT can unroll and vectorize them. <br/>
+ * The package value is rounded half up with the double precision, the same as the BigDecimal path of NetCDF tools with the binary value,
+ * and clamped to the range of storage type without the missing value. <br/>
+ * The default missing and NaN are packed to the missing value, and the missing value is unpacked to the default missing.
+ *
+ * @author Brad Chen
+ * @since 1.3.0
+ */
+public class PackUtils {
+	private static final float MISSING_FLOAT = VariableAttribute.MISSING.floatValue();
+	private static final double MISSING_DOUBLE = VariableAttribute.MISSING.doubleValue();
+
+	/**
+	 * Avoid the constructor.
+	 */
+	private PackUtils() {}
+
+	/**
+	 * Pack the original values to the short package values.
+	 *
+	 * @param values original values
+	 * @param scale value scale factor
+	 * @param offset value offset factor
+	 * @param missing missing value of package
+	 * @return package values
+	 */
+	public static short[] packShorts( float[] values, float scale, float offset, short missing ) {
+		Preconditions.checkNotNull( values, "PackUtils: values should not be null." );
+		short[] target = new short[ values.length ];
+		packShorts( values, scale, offset, missing, target );
+		return target;
+	}
+
+	/**
+	 * Pack the original values to the short package values.
+	 *
+	 * @param values original values
+	 * @param scale value scale factor
+	 * @param offset value offset factor
+	 * @param missing missing value of package
+	 * @param target package values, the length should not less than original values
+	 */
+	public static void packShorts( float[] values, float scale, float offset, short missing, short[] target ) {
+		validate( values.length, target.length, scale );
+		double lower = missing == Short.MIN_VALUE ? Short.MIN_VALUE + 1 : Short.MIN_VALUE;
+		double upper = missing == Short.MAX_VALUE ? Short.MAX_VALUE - 1 : Short.MAX_VALUE;
+		for ( int i = 0; i < values.length; i++ ) {
+			float value = values[ i ];
+			double packed = clamp( round( ( value - (double) offset ) / scale ), lower, upper );
+			target[ i ] = value == MISSING_FLOAT || value != value ? missing : (short) packed;
+		}
+	}
+
+	/**
+	 * Pack the original values to the short package values.
+	 *
+	 * @param values original values
+	 * @param scale value scale factor
+	 * @param offset value offset factor
+	 * @param missing missing value of package
+	 * @param target package values, the length should not less than original values
+	 */
+	public static void packShorts( double[] values, double scale, double offset, short missing, short[] target ) {
+		validate( values.length, target.length, scale );
+		double lower = missing == Short.MIN_VALUE ? Short.MIN_VALUE + 1 : Short.MIN_VALUE;
+		double upper = missing == Short.MAX_VALUE ? Short.MAX_VALUE - 1 : Short.MAX_VALUE;
+		for ( int i = 0; i < values.length; i++ ) {
+			double value = values[ i ];
+			double packed = clamp( round( ( value - offset ) / scale ), lower, upper );
+			target[ i ] = value == MISSING_DOUBLE || value != value ? missing : (short) packed;
+		}
+	}
+
+	/**
+	 * Pack the original values to the int package values.
+	 *
+	 * @param values original values
+	 * @param scale value scale factor
+	 * @param offset value offset factor
+	 * @param missing missing value of package
+	 * @return package values
+	 */
+	public static int[] packInts( float[] values, float scale, float offset, int missing ) {
+		Preconditions.checkNotNull( values, "PackUtils: values should not be null." );
+		int[] target = new int[ values.length ];
+		packInts( values, scale, offset, missing, target );
+		return target;
+	}
+
+	/**
+	 * Pack the original values to the int package values.
+	 *
+	 * @param values original values
+	 * @param scale value scale factor
+	 * @param offset value offset factor
+	 * @param missing missing value of package
+	 * @param target package values, the length should not less than original values
+	 */
+	public static void packInts( float[] values, float scale, float offset, int missing, int[] target ) {
+		validate( values.length, target.length, scale );
+		double lower = missing == Integer.MIN_VALUE ? Integer.MIN_VALUE + 1D : Integer.MIN_VALUE;
+		double upper = missing == Integer.MAX_VALUE ? Integer.MAX_VALUE - 1D : Integer.MAX_VALUE;
+		for ( int i = 0; i < values.length; i++ ) {
+			float value = values[ i ];
+			double packed = clamp( round( ( value - (double) offset ) / scale ), lower, upper );
+			target[ i ] = value == MISSING_FLOAT || value != value ? missing : (int) packed;
+		}
+	}
+
+	/**
+	 * Pack the original values to the int package values.
+	 *
+	 * @param values original values
+	 * @param scale value scale factor
+	 * @param offset value offset factor
+	 * @param missing missing value of package
+	 * @param target package values, the length should not less than original values
+	 */
+	public static void packInts( double[] values, double scale, double offset, int missing, int[] target ) {
+		validate( values.length, target.length, scale );
+		double lower = missing == Integer.MIN_VALUE ? Integer.MIN_VALUE + 1D : Integer.MIN_VALUE;
+		double upper = missing == Integer.MAX_VALUE ? Integer.MAX_VALUE - 1D : Integer.MAX_VALUE;
+		for ( int i = 0; i < values.length; i++ ) {
+			double value = values[ i ];
+			double packed = clamp( round( ( value - offset ) / scale ), lower, upper );
+			target[ i ] = value == MISSING_DOUBLE || value != value ? missing : (int) packed;
+		}
+	}
+
+	/**
+	 * Unpack the short package values to the original values.
+	 *
+	 * @param values package values
+	 * @param scale value scale factor
+	 * @param offset value offset factor
+	 * @param missing missing value of package
+	 * @param target original values, the length should not less than package values
+	 */
+	public static void unpack( short[] values, float scale, float offset, short missing, float[] target ) {
+		validate( values.length, target.length );
+		for ( int i = 0; i < values.length; i++ ) {
+			short value = values[ i ];
+			target[ i ] = value == missing ? MISSING_FLOAT : value * scale + offset;
+		}
+	}
+
+	/**
+	 * Unpack the short package values to the original values.
+	 *
+	 * @param values package values
+	 * @param scale value scale factor
+	 * @param offset value offset factor
+	 * @param missing missing value of package
+	 * @param target original values, the length should not less than package values
+	 */
+	public static void unpack( short[] values, double scale, double offset, short missing, double[] target ) {
+		validate( values.length, target.length );
+		for ( int i = 0; i < values.length; i++ ) {
+			short value = values[ i ];
+			target[ i ] = value == missing ? MISSING_DOUBLE : value * scale + offset;
+		}
+	}
+
+	/**
+	 * Unpack the int package values to the original values.
+	 *
+	 * @param values package values
+	 * @param scale value scale factor
+	 * @param offset value offset factor
+	 * @param missing missing value of package
+	 * @param target original values, the length should not less than package values
+	 */
+	public static void unpack( int[] values, float scale, float offset, int missing, float[] target ) {
+		validate( values.length, target.length );
+		for ( int i = 0; i < values.length; i++ ) {
+			int value = values[ i ];
+			target[ i ] = value == missing ? MISSING_FLOAT : value * scale + offset;
+		}
+	}
+
+	/**
+	 * Unpack the int package values to the original values.
+	 *
+	 * @param values package values
+	 * @param scale value scale factor
+	 * @param offset value offset factor
+	 * @param missing missing value of package
+	 * @param target original values, the length should not less than package values
+	 */
+	public static void unpack( int[] values, double scale, double offset, int missing, double[] target ) {
+		validate( values.length, target.length );
+		for ( int i = 0; i < values.length; i++ ) {
+			int value = values[ i ];
+			target[ i ] = value == missing ? MISSING_DOUBLE : value * scale + offset;
+		}
+	}
+
+	/**
+	 * Round half up, the half is rounded away from zero as same as the BigDecimal.
+	 *
+	 * @param value value
+	 * @return rounded value
+	 */
+	private static double round( double value ) {
+		double rounded = Math.floor( Math.abs( value ) + 0.5 );
+		return value < 0 ? -rounded : rounded;
+	}
+
+	/**
+	 * Clamp the value to the range.
+	 *
+	 * @param value value
+	 * @param lower lower bound
+	 * @param upper upper bound
+	 * @return clamped value
+	 */
+	private static double clamp( double value, double lower, double upper ) {
+		return value < lower ? lower : Math.min( value, upper );
+	}
+
+	/**
+	 * Validate the length of target and the scale factor.
+	 *
+	 * @param length length of values
+	 * @param targetLength length of target
+	 * @param scale value scale factor
+	 */
+	private static void validate( int length, int targetLength, double scale ) {
+		validate( length, targetLength );
+		Preconditions.checkArgument( scale != 0D, "PackUtils: the scale should not be zero." );
+	}
+
+	/**
+	 * Validate the length of target.
+	 *
+	 * @param length length of values
+	 * @param targetLength length of target
+	 */
+	private static void validate( int length, int targetLength ) {
+		Preconditions.checkArgument( targetLength >= length, "PackUtils: the target is shorter than values." );
+	}
+}
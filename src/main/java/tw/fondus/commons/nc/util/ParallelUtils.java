@@ -0,0 +1,271 @@
+package tw.fondus.commons.nc.util;
+
+import com.google.common.base.Preconditions;
+import ucar.ma2.Array;
+import ucar.ma2.Index;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * The parallel tools of NetCDF, it's used to split the grid into row blocks and process them on the fork-join pool.
+ *
+ * @author Brad Chen
+ * @since 1.3.0
+ */
+public class ParallelUtils {
+	/**
+	 * The minimum cells of each row block task.
+	 */
+	public static final int BLOCK_CELLS = 1 << 14;
+
+	/**
+	 * Avoid the constructor.
+	 */
+	private ParallelUtils() {}
+
+	/**
+	 * Process the row blocks on the common fork-join pool.
+	 *
+	 * @param rows size of row
+	 * @param cols size of col
+	 * @param consumer row block consumer
+	 */
+	public static void forEachRowBlock( int rows, int cols, RowBlockConsumer consumer ){
+		forEachRowBlock( ForkJoinPool.commonPool(), rows, cols, consumer );
+	}
+
+	/**
+	 * Process the row blocks on the specified fork-join pool.
+	 *
+	 * @param pool fork-join pool
+	 * @param rows size of row
+	 * @param cols size of col
+	 * @param consumer row block consumer
+	 */
+	public static void forEachRowBlock( ForkJoinPool pool, int rows, int cols, RowBlockConsumer consumer ){
+		Preconditions.checkNotNull( pool, "ParallelUtils: pool should not be null." );
+		Preconditions.checkNotNull( consumer, "ParallelUtils: consumer should not be null." );
+		Preconditions.checkArgument( rows >= 0 && cols >= 0, "ParallelUtils: rows and cols should not be negative." );
+		if ( rows == 0 ){
+			return;
+		}
+
+		int blockRows = blockRows( cols );
+		if ( rows <= blockRows ){
+			consumer.accept( 0, rows );
+		} else {
+			pool.invoke( new RowBlockTask( consumer, 0, rows, blockRows ) );
+		}
+	}
+
+	/**
+	 * Visit all y-x index with row blocks on the common fork-join pool, without any index object allocation.
+	 *
+	 * @param ySize size of y
+	 * @param xSize size of x
+	 * @param visitor index visitor, the time index is always 0
+	 */
+	public static void forEachIndex( int ySize, int xSize, IndexVisitor visitor ){
+		forEachIndex( 1, ySize, xSize, visitor );
+	}
+
+	/**
+	 * Visit all time-y-x index with row blocks on the common fork-join pool, without any index object allocation. <br/>
+	 * The time and y dimension are flatten to rows, so both of deep and wide cube can be split evenly.
+	 *
+	 * @param tSize size of time
+	 * @param ySize size of y
+	 * @param xSize size of x
+	 * @param visitor index visitor
+	 */
+	public static void forEachIndex( int tSize, int ySize, int xSize, IndexVisitor visitor ){
+		Preconditions.checkNotNull( visitor, "ParallelUtils: visitor should not be null." );
+		forEachRowBlock( tSize * ySize, xSize, ( fromRow, toRow ) -> {
+			for ( int timeRow = fromRow; timeRow < toRow; timeRow++ ) {
+				int t = timeRow / ySize;
+				int y = timeRow % ySize;
+				int offsetRow = y * xSize;
+				for ( int x = 0; x < xSize; x++ ) {
+					visitor.visit( t, y, x, offsetRow + x );
+				}
+			}
+		} );
+	}
+
+	/**
+	 * Visit all index of the Y, X two-dimension or Time, Y, X three-dimension array with row blocks on the common fork-join pool. <br/>
+	 * Each row block task own the array index cursor, it's already set to the visited position.
+	 *
+	 * @param values array values
+	 * @param invertedY inverted Y dimension or not
+	 * @param visitor array index visitor
+	 */
+	public static void forEachArrayIndex( Array values, boolean invertedY, ArrayIndexVisitor visitor ){
+		Preconditions.checkNotNull( values, "ParallelUtils: values should not be null." );
+		int[] shape = values.getShape();
+		Preconditions.checkArgument( shape.length == 2 || shape.length == 3, "ParallelUtils: The values array shape size should be 2 or 3." );
+		if ( shape.length == 2 ){
+			forEachArrayIndex( values, 1, shape[ 0 ], shape[ 1 ], invertedY,
+					( index, t, y, x ) -> index.set( y, x ), visitor );
+		} else {
+			forEachArrayIndex( values, shape[ 0 ], shape[ 1 ], shape[ 2 ], invertedY,
+					( index, t, y, x ) -> index.set( t, y, x ), visitor );
+		}
+	}
+
+	/**
+	 * Visit all index of the Y, X at t index from the Time, Y, X three-dimension array with row blocks on the common fork-join pool. <br/>
+	 * Each row block task own the array index cursor, it's already set to the visited position.
+	 *
+	 * @param values array values
+	 * @param tIndex t dimension index
+	 * @param invertedY inverted Y dimension or not
+	 * @param visitor array index visitor, the time index is always the t index
+	 */
+	public static void forEachArrayIndex( Array values, int tIndex, boolean invertedY, ArrayIndexVisitor visitor ){
+		Preconditions.checkNotNull( values, "ParallelUtils: values should not be null." );
+		int[] shape = values.getShape();
+		Preconditions.checkArgument( shape.length == 3, "ParallelUtils: The values array shape size should be 3." );
+		Preconditions.checkElementIndex( tIndex, shape[0], "ParallelUtils: the tIndex should not greater than t dimension size." );
+		forEachArrayIndex( values, 1, shape[ 1 ], shape[ 2 ], invertedY,
+				( index, t, y, x ) -> index.set( tIndex, y, x ),
+				( index, t, y, x, cell ) -> visitor.visit( index, tIndex, y, x, cell ) );
+	}
+
+	/**
+	 * Visit all index of the array with row blocks.
+	 *
+	 * @param values array values
+	 * @param tSize size of time
+	 * @param ySize size of y
+	 * @param xSize size of x
+	 * @param invertedY inverted Y dimension or not
+	 * @param setter array index setter
+	 * @param visitor array index visitor
+	 */
+	private static void forEachArrayIndex( Array values, int tSize, int ySize, int xSize, boolean invertedY,
+			IndexSetter setter, ArrayIndexVisitor visitor ){
+		Preconditions.checkNotNull( visitor, "ParallelUtils: visitor should not be null." );
+		forEachRowBlock( tSize * ySize, xSize, ( fromRow, toRow ) -> {
+			Index index = values.getIndex();
+			for ( int timeRow = fromRow; timeRow < toRow; timeRow++ ) {
+				int t = timeRow / ySize;
+				int row = timeRow % ySize;
+				int y = invertedY ? ySize - row - 1 : row;
+				int offsetRow = row * xSize;
+				for ( int x = 0; x < xSize; x++ ) {
+					setter.set( index, t, y, x );
+					visitor.visit( index, t, y, x, offsetRow + x );
+				}
+			}
+		} );
+	}
+
+	/**
+	 * Get the minimum rows of each row block with columns.
+	 *
+	 * @param cols size of col
+	 * @return rows of block
+	 */
+	public static int blockRows( int cols ){
+		return Math.max( 1, BLOCK_CELLS / Math.max( 1, cols ) );
+	}
+
+	/**
+	 * The consumer of row block, the range is [fromRow, toRow).
+	 *
+	 * @author Brad Chen
+	 * @since 1.3.0
+	 */
+	@FunctionalInterface
+	public interface RowBlockConsumer {
+		/**
+		 * Process the row block.
+		 *
+		 * @param fromRow from row index, inclusive
+		 * @param toRow to row index, exclusive
+		 */
+		void accept( int fromRow, int toRow );
+	}
+
+	/**
+	 * The visitor of primitive time-y-x index.
+	 *
+	 * @author Brad Chen
+	 * @since 1.3.0
+	 */
+	@FunctionalInterface
+	public interface IndexVisitor {
+		/**
+		 * Visit the index.
+		 *
+		 * @param t time index
+		 * @param y y index
+		 * @param x x index
+		 * @param cell one dimension y-x index in the time step, equals to create1DIndex( y, x, xSize )
+		 */
+		void visit( int t, int y, int x, int cell );
+	}
+
+	/**
+	 * The visitor of array index with the array index cursor.
+	 *
+	 * @author Brad Chen
+	 * @since 1.3.0
+	 */
+	@FunctionalInterface
+	public interface ArrayIndexVisitor {
+		/**
+		 * Visit the array index.
+		 *
+		 * @param index array index cursor, it's already set to the visited position and owned by the row block task
+		 * @param t time index
+		 * @param y y index of the array
+		 * @param x x index of the array
+		 * @param cell one dimension y-x output index in the time step, if inverted Y dimension the row is counted from the last y
+		 */
+		void visit( Index index, int t, int y, int x, int cell );
+	}
+
+	/**
+	 * The setter of array index cursor.
+	 */
+	@FunctionalInterface
+	private interface IndexSetter {
+		void set( Index index, int t, int y, int x );
+	}
+
+	/**
+	 * The fork-join task which split rows into half until the block rows reached.
+	 *
+	 * @author Brad Chen
+	 * @since 1.3.0
+	 */
+	private static class RowBlockTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private final transient RowBlockConsumer consumer;
+		private final int fromRow;
+		private final int toRow;
+		private final int blockRows;
+
+		private RowBlockTask( RowBlockConsumer consumer, int fromRow, int toRow, int blockRows ) {
+			this.consumer = consumer;
+			this.fromRow = fromRow;
+			this.toRow = toRow;
+			this.blockRows = blockRows;
+		}
+
+		@Override
+		protected void compute() {
+			if ( this.toRow - this.fromRow <= this.blockRows ){
+				this.consumer.accept( this.fromRow, this.toRow );
+			} else {
+				int middle = ( this.fromRow + this.toRow ) >>> 1;
+				invokeAll( new RowBlockTask( this.consumer, this.fromRow, middle, this.blockRows ),
+						new RowBlockTask( this.consumer, middle, this.toRow, this.blockRows ) );
+			}
+		}
+	}
+}
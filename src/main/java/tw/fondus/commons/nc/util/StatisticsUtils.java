@@ -0,0 +1,149 @@
+package tw.fondus.commons.nc.util;
+
+import com.google.common.base.Preconditions;
+import tw.fondus.commons.nc.util.key.VariableAttribute;
+import tw.fondus.commons.nc.vo.grid.TimeStepGrid;
+import tw.fondus.commons.nc.vo.statistics.GridStatistics;
+import tw.fondus.commons.nc.vo.statistics.Statistics;
+
+import java.util.Arrays;
+import java.util.stream.Stream;
+
+/**
+ * The statistics tools of grid values, the default missing and NaN are skipped. <br/>
+ * The reductions are one pass over the time steps stream, so the whole cube is not kept in the heap.
+ *
+ * @author Brad Chen
+ * @since 1.3.0
+ */
+public class StatisticsUtils {
+	private static final float MISSING_FLOAT = VariableAttribute.MISSING.floatValue();
+
+	/**
+	 * Avoid the constructor.
+	 */
+	private StatisticsUtils() {}
+
+	/**
+	 * Compute the statistics of values.
+	 *
+	 * @param values values
+	 * @return statistics
+	 */
+	public static Statistics compute( float[] values ) {
+		return compute( values, null );
+	}
+
+	/**
+	 * Compute the statistics of values inside the mask.
+	 *
+	 * @param values values
+	 * @param mask mask of values, the true is inside, it's nullable for all values
+	 * @return statistics
+	 */
+	public static Statistics compute( float[] values, boolean[] mask ) {
+		Preconditions.checkNotNull( values, "StatisticsUtils: values should not be null." );
+		Preconditions.checkArgument( mask == null || mask.length == values.length,
+				"StatisticsUtils: the length of mask should equal to the length of values." );
+		int count = 0;
+		double sum = 0;
+		float min = Float.POSITIVE_INFINITY;
+		float max = Float.NEGATIVE_INFINITY;
+		for ( int i = 0; i < values.length; i++ ) {
+			float value = values[ i ];
+			if ( ( mask == null || mask[ i ] ) && isValid( value ) ) {
+				count++;
+				sum += value;
+				min = Math.min( min, value );
+				max = Math.max( max, value );
+			}
+		}
+		return count == 0 ? new Statistics( 0, 0, Float.NaN, Float.NaN ) : new Statistics( count, sum, min, max );
+	}
+
+	/**
+	 * Compute the statistics of each cell over the time steps in one pass, e.g. the accumulation and the max of each cell. <br/>
+	 * The time steps are consumed in order by only one accumulator of the grid, and each step is accumulated by the row blocks in parallel,
+	 * so the heap is bounded by one grid whether the stream is parallel or not.
+	 *
+	 * @param steps stream of time steps
+	 * @param ySize size of y dimension
+	 * @param xSize size of x dimension
+	 * @return statistics of each cell
+	 */
+	public static GridStatistics computeCells( Stream<TimeStepGrid> steps, int ySize, int xSize ) {
+		Preconditions.checkNotNull( steps, "StatisticsUtils: steps should not be null." );
+		CellAccumulator accumulator = new CellAccumulator( ySize, xSize );
+		steps.sequential().forEach( accumulator::accept );
+		return accumulator.toStatistics();
+	}
+
+	/**
+	 * Check the value is not the default missing or NaN.
+	 *
+	 * @param value value
+	 * @return is valid or not
+	 */
+	private static boolean isValid( float value ) {
+		return value != MISSING_FLOAT && !Float.isNaN( value );
+	}
+
+	/**
+	 * The mutable accumulator of each cell, the steps are accepted one by one,
+	 * and the row blocks of one step are disjoint, so the cells are updated without lock.
+	 *
+	 * @author Brad Chen
+	 * @since 1.3.0
+	 */
+	private static class CellAccumulator {
+		private final int ySize;
+		private final int xSize;
+		private final int[] counts;
+		private final double[] sums;
+		private final float[] mins;
+		private final float[] maxs;
+		private int steps;
+
+		private CellAccumulator( int ySize, int xSize ) {
+			int cells = ySize * xSize;
+			this.ySize = ySize;
+			this.xSize = xSize;
+			this.counts = new int[ cells ];
+			this.sums = new double[ cells ];
+			this.mins = new float[ cells ];
+			this.maxs = new float[ cells ];
+			Arrays.fill( this.mins, Float.POSITIVE_INFINITY );
+			Arrays.fill( this.maxs, Float.NEGATIVE_INFINITY );
+		}
+
+		private void accept( TimeStepGrid step ) {
+			float[] values = step.getValues();
+			Preconditions.checkArgument( values.length == this.counts.length, "StatisticsUtils: the size of time step is not same." );
+			ParallelUtils.forEachRowBlock( this.ySize, this.xSize,
+					( fromRow, toRow ) -> this.accept( values, fromRow * this.xSize, toRow * this.xSize ) );
+			this.steps++;
+		}
+
+		private void accept( float[] values, int from, int to ) {
+			for ( int i = from; i < to; i++ ) {
+				float value = values[ i ];
+				if ( isValid( value ) ) {
+					this.counts[ i ]++;
+					this.sums[ i ] += value;
+					this.mins[ i ] = Math.min( this.mins[ i ], value );
+					this.maxs[ i ] = Math.max( this.maxs[ i ], value );
+				}
+			}
+		}
+
+		private GridStatistics toStatistics() {
+			for ( int i = 0; i < this.counts.length; i++ ) {
+				if ( this.counts[ i ] == 0 ) {
+					this.mins[ i ] = Float.NaN;
+					this.maxs[ i ] = Float.NaN;
+				}
+			}
+			return new GridStatistics( this.ySize, this.xSize, this.steps, this.counts, this.sums, this.mins, this.maxs );
+		}
+	}
+}
@@ -0,0 +1,347 @@
+package tw.fondus.commons.nc.util;
+
+import com.google.common.base.Preconditions;
+import tw.fondus.commons.nc.util.key.VariableAttribute;
+import ucar.ma2.Array;
+import ucar.nc2.Variable;
+
+import java.math.BigDecimal;
+
+/**
+ * The packing codec of variable, which is resolved once from the scale, offset factor and missing value attributes. <br/>
+ * The unpack kernels are specialized with the identity factor and the missing value,
+ * so the hot loop is only one multiply-add per value without the BigDecimal and the attribute look up. <br/>
+ * If the variable without the missing value attribute, the default missing is used as same as the NetCDF tools. <br/>
+ * The missing value is compared in the type of storage, the integer storage is compared with the integer missing value,
+ * and the double value is compared with the missing value without narrowed to float. <br/>
+ * It's immutable and safe to share between threads.
+ *
+ * @author Brad Chen
+ * @since 1.3.0
+ */
+public class VariableCodec {
+	private static final float MISSING_FLOAT = VariableAttribute.MISSING.floatValue();
+	private static final double MISSING_DOUBLE = VariableAttribute.MISSING.doubleValue();
+
+	/**
+	 * The codec with default scale, offset factor and missing value.
+	 */
+	public static final VariableCodec DEFAULT = new VariableCodec( 1F, 0F, MISSING_FLOAT );
+
+	private final float scale;
+	private final float offset;
+	private final float missing;
+	private final double fill;
+	private final boolean identity;
+	private final boolean checkMissing;
+	private final boolean integral;
+
+	private VariableCodec( float scale, float offset, double fill ) {
+		this.scale = scale;
+		this.offset = offset;
+		this.missing = (float) fill;
+		this.fill = fill;
+		this.identity = scale == 1F && offset == 0F;
+		// The missing value is unpacked to itself with identity factor, and the NaN never equal
+		this.checkMissing = !Double.isNaN( fill ) && !( this.identity && this.missing == MISSING_FLOAT );
+		this.integral = !Double.isInfinite( fill ) && fill == Math.rint( fill );
+	}
+
+	/**
+	 * Create the codec with scale, offset factor and missing value.
+	 *
+	 * @param scale value scale factor
+	 * @param offset value offset factor
+	 * @param missing missing value
+	 * @return codec
+	 */
+	public static VariableCodec of( float scale, float offset, float missing ) {
+		return new VariableCodec( scale, offset, missing );
+	}
+
+	/**
+	 * Create the codec with scale, offset factor and missing value.
+	 *
+	 * @param scale value scale factor
+	 * @param offset value offset factor
+	 * @param missing missing value
+	 * @return codec
+	 */
+	public static VariableCodec of( BigDecimal scale, BigDecimal offset, BigDecimal missing ) {
+		Preconditions.checkNotNull( scale, "VariableCodec: scale should not be null." );
+		Preconditions.checkNotNull( offset, "VariableCodec: offset should not be null." );
+		Preconditions.checkNotNull( missing, "VariableCodec: missing should not be null." );
+		return new VariableCodec( scale.floatValue(), offset.floatValue(), missing.doubleValue() );
+	}
+
+	/**
+	 * Resolve the codec from the scale, offset factor and missing value attributes of variable.
+	 *
+	 * @param variable variable
+	 * @return codec
+	 */
+	public static VariableCodec of( Variable variable ) {
+		Preconditions.checkNotNull( variable, "VariableCodec: variable should not be null." );
+		return of( NetCDFUtils.readVariableAttributeAsNumber( variable, VariableAttribute.KEY_SCALE, BigDecimal.ONE ),
+				NetCDFUtils.readVariableAttributeAsNumber( variable, VariableAttribute.KEY_OFFSET, BigDecimal.ZERO ),
+				NetCDFUtils.readVariableAttributeAsNumber( variable, VariableAttribute.KEY_MISSING, VariableAttribute.MISSING ) );
+	}
+
+	public float getScale() {
+		return scale;
+	}
+
+	public float getOffset() {
+		return offset;
+	}
+
+	public float getMissing() {
+		return missing;
+	}
+
+	/**
+	 * Check the codec is identity factor, the values are not changed except the missing value.
+	 *
+	 * @return is identity factor or not
+	 */
+	public boolean isIdentity() {
+		return identity;
+	}
+
+	/**
+	 * Unpack the package value to original value, if is missing value, return default missing.
+	 *
+	 * @param value package value
+	 * @return original value
+	 */
+	public float unpack( float value ) {
+		if ( value == this.missing ) {
+			return MISSING_FLOAT;
+		}
+		return this.identity ? value : value * this.scale + this.offset;
+	}
+
+	/**
+	 * Unpack the package value to original value, if is missing value, return default missing.
+	 *
+	 * @param value package value
+	 * @return original value
+	 */
+	public double unpack( double value ) {
+		if ( value == this.fill ) {
+			return MISSING_DOUBLE;
+		}
+		return this.identity ? value : value * this.scale + this.offset;
+	}
+
+	/**
+	 * Unpack the package values to original values.
+	 *
+	 * @param values package values
+	 * @param target original values, the length should not less than package values
+	 */
+	public void unpack( float[] values, float[] target ) {
+		Preconditions.checkArgument( target.length >= values.length, "VariableCodec: the target is shorter than values." );
+		if ( this.identity ) {
+			if ( this.checkMissing ) {
+				for ( int i = 0; i < values.length; i++ ) {
+					target[ i ] = values[ i ] == this.missing ? MISSING_FLOAT : values[ i ];
+				}
+			} else if ( values != target ) {
+				System.arraycopy( values, 0, target, 0, values.length );
+			}
+		} else if ( this.checkMissing ) {
+			for ( int i = 0; i < values.length; i++ ) {
+				target[ i ] = values[ i ] == this.missing ? MISSING_FLOAT : values[ i ] * this.scale + this.offset;
+			}
+		} else {
+			for ( int i = 0; i < values.length; i++ ) {
+				target[ i ] = values[ i ] * this.scale + this.offset;
+			}
+		}
+	}
+
+	/**
+	 * Unpack the short package values to original values.
+	 *
+	 * @param values package values
+	 * @param target original values, the length should not less than package values
+	 */
+	public void unpack( short[] values, float[] target ) {
+		this.unpackShorts( values, false, target );
+	}
+
+	/**
+	 * Unpack the unsigned short package values to original values, the missing value is matched as either 65535 or -1.
+	 *
+	 * @param values package values
+	 * @param target original values, the length should not less than package values
+	 */
+	public void unpackUnsigned( short[] values, float[] target ) {
+		this.unpackShorts( values, true, target );
+	}
+
+	/**
+	 * Unpack the int package values to original values.
+	 *
+	 * @param values package values
+	 * @param target original values, the length should not less than package values
+	 */
+	public void unpack( int[] values, float[] target ) {
+		this.unpackInts( values, false, target );
+	}
+
+	/**
+	 * Unpack the unsigned int package values to original values, the missing value is matched as either 4294967295 or -1.
+	 *
+	 * @param values package values
+	 * @param target original values, the length should not less than package values
+	 */
+	public void unpackUnsigned( int[] values, float[] target ) {
+		this.unpackInts( values, true, target );
+	}
+
+	/**
+	 * Unpack the package array values to original values with the order of array. <br/>
+	 * The float, short and int storage are unpacked straight from the backing array with the unsigned widened,
+	 * the others are read value by value.
+	 *
+	 * @param values package array values
+	 * @return original values
+	 */
+	public float[] unpack( Array values ) {
+		Preconditions.checkNotNull( values, "VariableCodec: values should not be null." );
+		Preconditions.checkArgument( values.getSize() <= Integer.MAX_VALUE, "VariableCodec: the values is too large." );
+		float[] target = new float[ (int) values.getSize() ];
+		Class<?> elementType = values.getElementType();
+		boolean unsigned = values.isUnsigned();
+		if ( elementType == float.class ) {
+			this.unpack( (float[]) values.get1DJavaArray( float.class ), target );
+		} else if ( elementType == short.class ) {
+			this.unpackShorts( (short[]) values.get1DJavaArray( short.class ), unsigned, target );
+		} else if ( elementType == int.class ) {
+			this.unpackInts( (int[]) values.get1DJavaArray( int.class ), unsigned, target );
+		} else if ( elementType == double.class ) {
+			for ( int i = 0; i < target.length; i++ ) {
+				target[ i ] = (float) this.unpack( values.getDouble( i ) );
+			}
+		} else {
+			for ( int i = 0; i < target.length; i++ ) {
+				target[ i ] = this.unpack( values.getFloat( i ) );
+			}
+		}
+		return target;
+	}
+
+	/**
+	 * Pack the original value to package value without round, if is default missing, return missing value.
+	 *
+	 * @param value original value
+	 * @return package value
+	 */
+	public float pack( float value ) {
+		if ( value == MISSING_FLOAT ) {
+			return this.missing;
+		}
+		return this.identity ? value : ( value - this.offset ) / this.scale;
+	}
+
+	/**
+	 * Pack the original values to package values without round.
+	 *
+	 * @param values original values
+	 * @param target package values, the length should not less than original values
+	 */
+	public void pack( float[] values, float[] target ) {
+		Preconditions.checkArgument( target.length >= values.length, "VariableCodec: the target is shorter than values." );
+		for ( int i = 0; i < values.length; i++ ) {
+			target[ i ] = values[ i ] == MISSING_FLOAT ? this.missing : ( values[ i ] - this.offset ) / this.scale;
+		}
+	}
+
+	/**
+	 * Pack the original values to the short package values with round half up and clamp, the missing value should be in range of short.
+	 *
+	 * @param values original values
+	 * @param target package values, the length should not less than original values
+	 * @throws IllegalArgumentException the missing value is NaN, fractional or out of range of short
+	 */
+	public void pack( float[] values, short[] target ) {
+		Preconditions.checkArgument( this.integral && this.fill >= Short.MIN_VALUE && this.fill <= Short.MAX_VALUE,
+				"VariableCodec: the missing value: " + this.fill + " should be the integer in range of short." );
+		PackUtils.packShorts( values, this.scale, this.offset, (short) this.fill, target );
+	}
+
+	/**
+	 * Pack the original values to the int package values with round half up and clamp, the missing value should be in range of int.
+	 *
+	 * @param values original values
+	 * @param target package values, the length should not less than original values
+	 * @throws IllegalArgumentException the missing value is NaN, fractional or out of range of int
+	 */
+	public void pack( float[] values, int[] target ) {
+		Preconditions.checkArgument( this.integral && this.fill >= Integer.MIN_VALUE && this.fill <= Integer.MAX_VALUE,
+				"VariableCodec: the missing value: " + this.fill + " should be the integer in range of int." );
+		PackUtils.packInts( values, this.scale, this.offset, (int) this.fill, target );
+	}
+
+	/**
+	 * Unpack the short package values to original values, the missing value is compared with the storage bits.
+	 *
+	 * @param values package values
+	 * @param unsigned the values are unsigned or not
+	 * @param target original values, the length should not less than package values
+	 */
+	private void unpackShorts( short[] values, boolean unsigned, float[] target ) {
+		Preconditions.checkArgument( target.length >= values.length, "VariableCodec: the target is shorter than values." );
+		if ( this.isStorageMissing( Short.MIN_VALUE, unsigned ? 0xFFFF : Short.MAX_VALUE ) ) {
+			short storageMissing = (short) this.fill;
+			for ( int i = 0; i < values.length; i++ ) {
+				target[ i ] = values[ i ] == storageMissing ? MISSING_FLOAT :
+						( unsigned ? values[ i ] & 0xFFFF : values[ i ] ) * this.scale + this.offset;
+			}
+		} else {
+			for ( int i = 0; i < values.length; i++ ) {
+				target[ i ] = ( unsigned ? values[ i ] & 0xFFFF : values[ i ] ) * this.scale + this.offset;
+			}
+		}
+	}
+
+	/**
+	 * Unpack the int package values to original values, the missing value is compared with the storage bits.
+	 *
+	 * @param values package values
+	 * @param unsigned the values are unsigned or not
+	 * @param target original values, the length should not less than package values
+	 */
+	private void unpackInts( int[] values, boolean unsigned, float[] target ) {
+		Preconditions.checkArgument( target.length >= values.length, "VariableCodec: the target is shorter than values." );
+		if ( this.isStorageMissing( Integer.MIN_VALUE, unsigned ? 0xFFFFFFFFL : Integer.MAX_VALUE ) ) {
+			int storageMissing = (int) (long) this.fill;
+			for ( int i = 0; i < values.length; i++ ) {
+				target[ i ] = values[ i ] == storageMissing ? MISSING_FLOAT :
+						( unsigned ? values[ i ] & 0xFFFFFFFFL : values[ i ] ) * this.scale + this.offset;
+			}
+		} else {
+			for ( int i = 0; i < values.length; i++ ) {
+				target[ i ] = ( unsigned ? values[ i ] & 0xFFFFFFFFL : values[ i ] ) * this.scale + this.offset;
+			}
+		}
+	}
+
+	/**
+	 * Check the missing value could be stored in the integer storage, the missing value out of range is never matched.
+	 *
+	 * @param min minimum of storage
+	 * @param max maximum of storage
+	 * @return the missing value should be checked or not
+	 */
+	private boolean isStorageMissing( long min, long max ) {
+		return this.checkMissing && this.integral && this.fill >= min && this.fill <= max;
+	}
+
+	@Override
+	public String toString() {
+		return "VariableCodec{" + "scale=" + scale + ", offset=" + offset + ", missing=" + missing + '}';
+	}
+}
@@ -0,0 +1,289 @@
+package tw.fondus.commons.nc.vo.axis;
+
+import com.google.common.base.Preconditions;
+import tw.fondus.commons.nc.vo.index.IndexRange;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * The value object used to store the coordinate axis with primitive values. <br/>
+ * The regular spacing is detected, so the regular axis lookup is O(1), the irregular monotonic axis use binary search,
+ * and the non-monotonic axis, e.g. station coordinates, fall back to the linear search. <br/>
+ * It's immutable and safe to share between threads.
+ *
+ * @author Brad Chen
+ * @since 1.3.0
+ */
+public class CoordinateAxis {
+	/**
+	 * The tolerance of regular spacing in unit of spacing, it's enough for the float coordinates.
+	 */
+	private static final double REGULAR_TOLERANCE = 1e-3;
+
+	private final double[] values;
+	private final double[] ascendingValues;
+	private final boolean monotonic;
+	private final boolean descending;
+	private final boolean regular;
+	private final double step;
+
+	/**
+	 * The constructor, the values are copied.
+	 *
+	 * @param values coordinate values
+	 */
+	public CoordinateAxis( double[] values ) {
+		Preconditions.checkNotNull( values, "CoordinateAxis: values should not be null." );
+		Preconditions.checkArgument( values.length > 0, "CoordinateAxis: values should not be empty." );
+		this.values = values.clone();
+		this.descending = this.values.length > 1 && this.values[ this.values.length - 1 ] < this.values[ 0 ];
+		this.ascendingValues = this.descending ? reverse( this.values ) : this.values;
+		this.monotonic = isStrictAscending( this.ascendingValues );
+		this.step = this.values.length > 1 ?
+				( this.ascendingValues[ this.values.length - 1 ] - this.ascendingValues[ 0 ] ) / ( this.values.length - 1 ) : 0;
+		this.regular = this.monotonic && this.values.length > 1 && isRegular( this.ascendingValues, this.step );
+	}
+
+	/**
+	 * Get the count of coordinates.
+	 *
+	 * @return count of coordinates
+	 */
+	public int size() {
+		return this.values.length;
+	}
+
+	/**
+	 * Get the coordinate value at index.
+	 *
+	 * @param index index of coordinate
+	 * @return coordinate value
+	 */
+	public double getValue( int index ) {
+		return this.values[ index ];
+	}
+
+	/**
+	 * Get the copy of coordinate values.
+	 *
+	 * @return coordinate values
+	 */
+	public double[] getValues() {
+		return this.values.clone();
+	}
+
+	public double getFirst() {
+		return this.values[ 0 ];
+	}
+
+	public double getLast() {
+		return this.values[ this.values.length - 1 ];
+	}
+
+	/**
+	 * Get the absolute spacing of regular axis, or the average spacing of irregular axis.
+	 *
+	 * @return spacing
+	 */
+	public double getStep() {
+		return this.step;
+	}
+
+	public boolean isRegular() {
+		return this.regular;
+	}
+
+	public boolean isMonotonic() {
+		return this.monotonic;
+	}
+
+	public boolean isDescending() {
+		return this.descending;
+	}
+
+	/**
+	 * Find the index of the nearest coordinate. <br/>
+	 * The value outside the axis extent more than half spacing is not found, except the non-monotonic axis.
+	 *
+	 * @param value coordinate value
+	 * @return index of nearest coordinate, or -1 if not found
+	 */
+	public int nearestIndex( double value ) {
+		if ( !this.monotonic ) {
+			return this.linearNearestIndex( value );
+		}
+
+		int last = this.values.length - 1;
+		int ascending;
+		if ( this.regular ) {
+			ascending = (int) Math.round( ( value - this.ascendingValues[ 0 ] ) / this.step );
+			if ( ascending < 0 || ascending > last ) {
+				return -1;
+			}
+		} else {
+			int index = Arrays.binarySearch( this.ascendingValues, value );
+			if ( index >= 0 ) {
+				ascending = index;
+			} else {
+				int upper = -index - 1;
+				if ( upper == 0 ) {
+					ascending = this.withinHalfStep( value, 0, 1 ) ? 0 : -1;
+				} else if ( upper > last ) {
+					ascending = this.withinHalfStep( value, last, last - 1 ) ? last : -1;
+				} else {
+					ascending = value - this.ascendingValues[ upper - 1 ] <= this.ascendingValues[ upper ] - value ? upper - 1 : upper;
+				}
+			}
+			if ( ascending < 0 ) {
+				return -1;
+			}
+		}
+		return this.toIndex( ascending );
+	}
+
+	/**
+	 * Find the index range of the coordinates between min and max, both are inclusive.
+	 *
+	 * @param min min value
+	 * @param max max value
+	 * @return index range, it's optional
+	 */
+	public Optional<IndexRange> rangeIndex( double min, double max ) {
+		Preconditions.checkArgument( min <= max, "CoordinateAxis: the min should not greater than max." );
+		if ( !this.monotonic ) {
+			return this.linearRangeIndex( min, max );
+		}
+
+		int last = this.values.length - 1;
+		int from;
+		int to;
+		if ( this.regular ) {
+			double first = this.ascendingValues[ 0 ];
+			from = Math.max( 0, (int) Math.ceil( ( min - first ) / this.step - REGULAR_TOLERANCE ) );
+			to = Math.min( last, (int) Math.floor( ( max - first ) / this.step + REGULAR_TOLERANCE ) );
+		} else {
+			int minIndex = Arrays.binarySearch( this.ascendingValues, min );
+			int maxIndex = Arrays.binarySearch( this.ascendingValues, max );
+			from = minIndex >= 0 ? minIndex : -minIndex - 1;
+			to = maxIndex >= 0 ? maxIndex : -maxIndex - 2;
+		}
+		if ( from > to || from > last || to < 0 ) {
+			return Optional.empty();
+		}
+		return this.descending ? Optional.of( new IndexRange( this.toIndex( to ), this.toIndex( from ) ) ) :
+				Optional.of( new IndexRange( from, to ) );
+	}
+
+	/**
+	 * Translate the index of ascending values to the index of values.
+	 *
+	 * @param ascending index of ascending values
+	 * @return index of values
+	 */
+	private int toIndex( int ascending ) {
+		return this.descending ? this.values.length - 1 - ascending : ascending;
+	}
+
+	/**
+	 * Check the value is within half spacing outside the edge.
+	 *
+	 * @param value coordinate value
+	 * @param edge edge index of ascending values
+	 * @param neighbor neighbor index of edge
+	 * @return is within half spacing or not
+	 */
+	private boolean withinHalfStep( double value, int edge, int neighbor ) {
+		double halfStep = this.values.length > 1 ? Math.abs( this.ascendingValues[ edge ] - this.ascendingValues[ neighbor ] ) / 2 : 0;
+		return Math.abs( value - this.ascendingValues[ edge ] ) <= halfStep;
+	}
+
+	/**
+	 * Find the index of the nearest coordinate with linear search.
+	 *
+	 * @param value coordinate value
+	 * @return index of nearest coordinate
+	 */
+	private int linearNearestIndex( double value ) {
+		int found = 0;
+		for ( int i = 1; i < this.values.length; i++ ) {
+			if ( Math.abs( this.values[ i ] - value ) < Math.abs( this.values[ found ] - value ) ) {
+				found = i;
+			}
+		}
+		return found;
+	}
+
+	/**
+	 * Find the index range of the coordinates between min and max with linear search.
+	 *
+	 * @param min min value
+	 * @param max max value
+	 * @return index range, it's optional
+	 */
+	private Optional<IndexRange> linearRangeIndex( double min, double max ) {
+		int from = -1;
+		int to = -1;
+		for ( int i = 0; i < this.values.length; i++ ) {
+			if ( this.values[ i ] >= min && this.values[ i ] <= max ) {
+				if ( from < 0 ) {
+					from = i;
+				}
+				to = i;
+			}
+		}
+		return from < 0 ? Optional.empty() : Optional.of( new IndexRange( from, to ) );
+	}
+
+	/**
+	 * Check the values are strict ascending or not.
+	 *
+	 * @param values values
+	 * @return is strict ascending or not
+	 */
+	private static boolean isStrictAscending( double[] values ) {
+		for ( int i = 1; i < values.length; i++ ) {
+			if ( !( values[ i ] > values[ i - 1 ] ) ) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Check the ascending values are regular spacing or not.
+	 *
+	 * @param values ascending values
+	 * @param step average spacing
+	 * @return is regular spacing or not
+	 */
+	private static boolean isRegular( double[] values, double step ) {
+		double tolerance = step * REGULAR_TOLERANCE;
+		for ( int i = 1; i < values.length - 1; i++ ) {
+			if ( Math.abs( values[ i ] - ( values[ 0 ] + i * step ) ) > tolerance ) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Reverse the values.
+	 *
+	 * @param values values
+	 * @return reversed values
+	 */
+	private static double[] reverse( double[] values ) {
+		double[] reversed = new double[ values.length ];
+		for ( int i = 0; i < values.length; i++ ) {
+			reversed[ i ] = values[ values.length - 1 - i ];
+		}
+		return reversed;
+	}
+
+	@Override
+	public String toString() {
+		return "CoordinateAxis{" + "size=" + values.length + ", first=" + getFirst() + ", last=" + getLast() +
+				", regular=" + regular + ", step=" + step + '}';
+	}
+}
@@ -0,0 +1,226 @@
+package tw.fondus.commons.nc.vo.axis;
+
+import com.google.common.base.Preconditions;
+import tw.fondus.commons.nc.vo.index.IndexRange;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * The value object used to store the time axis with primitive values. <br/>
+ * The lookup use binary search when the times are ascending, otherwise fall back to the linear search. <br/>
+ * The duplicate times are treated as ascending, the lookup find the first or the last one of the duplicates. <br/>
+ * It's immutable and safe to share between threads.
+ *
+ * @author Brad Chen
+ * @since 1.3.0
+ */
+public class TimeAxis {
+	private final long[] times;
+	private final boolean ascending;
+
+	/**
+	 * The constructor, the times are copied.
+	 *
+	 * @param times time values
+	 */
+	public TimeAxis( long[] times ) {
+		Preconditions.checkNotNull( times, "TimeAxis: times should not be null." );
+		this.times = times.clone();
+		this.ascending = isAscending( this.times );
+	}
+
+	/**
+	 * Get the count of time.
+	 *
+	 * @return count of time
+	 */
+	public int size() {
+		return this.times.length;
+	}
+
+	/**
+	 * Get the time value at index.
+	 *
+	 * @param index index of time
+	 * @return time value
+	 */
+	public long getTime( int index ) {
+		return this.times[ index ];
+	}
+
+	/**
+	 * Get the copy of time values.
+	 *
+	 * @return time values
+	 */
+	public long[] getTimes() {
+		return this.times.clone();
+	}
+
+	/**
+	 * Get the time values as boxed list.
+	 *
+	 * @return list of time value
+	 */
+	public List<Long> toList() {
+		return Arrays.stream( this.times ).boxed().collect( Collectors.toList() );
+	}
+
+	/**
+	 * Get the time axis with the time factor, e.g. minutes to milliseconds.
+	 *
+	 * @param constFactor time factor
+	 * @return scaled time axis
+	 */
+	public TimeAxis scale( long constFactor ) {
+		return new TimeAxis( Arrays.stream( this.times ).map( time -> time * constFactor ).toArray() );
+	}
+
+	/**
+	 * Find the index of the time value.
+	 *
+	 * @param time time value
+	 * @return index of time, or -1 if not found
+	 */
+	public int indexOfTime( long time ) {
+		if ( this.ascending ) {
+			int index = this.lowerBound( time );
+			return index < this.times.length && this.times[ index ] == time ? index : -1;
+		}
+		for ( int i = 0; i < this.times.length; i++ ) {
+			if ( this.times[ i ] == time ) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Find the index of the greatest time less than or equal to the time value.
+	 *
+	 * @param time time value
+	 * @return index of time, or -1 if not found
+	 */
+	public int floorIndex( long time ) {
+		if ( this.ascending ) {
+			return this.upperBound( time ) - 1;
+		}
+		int found = -1;
+		for ( int i = 0; i < this.times.length; i++ ) {
+			if ( this.times[ i ] <= time && ( found < 0 || this.times[ i ] > this.times[ found ] ) ) {
+				found = i;
+			}
+		}
+		return found;
+	}
+
+	/**
+	 * Find the index of the least time greater than or equal to the time value.
+	 *
+	 * @param time time value
+	 * @return index of time, or -1 if not found
+	 */
+	public int ceilingIndex( long time ) {
+		if ( this.ascending ) {
+			int ceiling = this.lowerBound( time );
+			return ceiling < this.times.length ? ceiling : -1;
+		}
+		int found = -1;
+		for ( int i = 0; i < this.times.length; i++ ) {
+			if ( this.times[ i ] >= time && ( found < 0 || this.times[ i ] < this.times[ found ] ) ) {
+				found = i;
+			}
+		}
+		return found;
+	}
+
+	/**
+	 * Find the index range of the times between start and end, both are inclusive. <br/>
+	 * The times should be ascending, the unsorted times can't be represented as the index range.
+	 *
+	 * @param start start time
+	 * @param end end time
+	 * @return index range, it's empty if not found or the times are not ascending
+	 */
+	public Optional<IndexRange> rangeIndices( long start, long end ) {
+		Preconditions.checkArgument( start <= end, "TimeAxis: the start should not greater than end." );
+		if ( !this.ascending ) {
+			return Optional.empty();
+		}
+		int from = this.ceilingIndex( start );
+		int to = this.floorIndex( end );
+		return from >= 0 && to >= from ? Optional.of( new IndexRange( from, to ) ) : Optional.empty();
+	}
+
+	/**
+	 * Get the times are ascending or not.
+	 *
+	 * @return is ascending or not
+	 */
+	public boolean isAscending() {
+		return this.ascending;
+	}
+
+	/**
+	 * Find the first index of the time greater than or equal to the time value, the times should be ascending.
+	 *
+	 * @param time time value
+	 * @return index of time, or the size if not found
+	 */
+	private int lowerBound( long time ) {
+		int low = 0;
+		int high = this.times.length;
+		while ( low < high ) {
+			int middle = ( low + high ) >>> 1;
+			if ( this.times[ middle ] < time ) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * Find the first index of the time greater than the time value, the times should be ascending.
+	 *
+	 * @param time time value
+	 * @return index of time, or the size if not found
+	 */
+	private int upperBound( long time ) {
+		int low = 0;
+		int high = this.times.length;
+		while ( low < high ) {
+			int middle = ( low + high ) >>> 1;
+			if ( this.times[ middle ] <= time ) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * Check the times are ascending or not, the duplicate times are treated as ascending.
+	 *
+	 * @param times time values
+	 * @return is ascending or not
+	 */
+	private static boolean isAscending( long[] times ) {
+		for ( int i = 1; i < times.length; i++ ) {
+			if ( times[ i ] < times[ i - 1 ] ) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public String toString() {
+		return "TimeAxis{" + "size=" + times.length + ", ascending=" + ascending + '}';
+	}
+}
@@ -0,0 +1,64 @@
+package tw.fondus.commons.nc.vo.grid;
+
+/**
+ * The value object used to store the Y, X grid values of one time step with primitive values. <br/>
+ * The values are row-major with the order of file, and decoded to the original value.
+ *
+ * @author Brad Chen
+ * @since 1.3.0
+ */
+public class TimeStepGrid {
+	private final int timeIndex;
+	private final int ySize;
+	private final int xSize;
+	private final float[] values;
+
+	public TimeStepGrid( int timeIndex, int ySize, int xSize, float[] values ) {
+		this.timeIndex = timeIndex;
+		this.ySize = ySize;
+		this.xSize = xSize;
+		this.values = values;
+	}
+
+	/**
+	 * Get the index of time dimension.
+	 *
+	 * @return index of time dimension
+	 */
+	public int getTimeIndex() {
+		return timeIndex;
+	}
+
+	public int getYSize() {
+		return ySize;
+	}
+
+	public int getXSize() {
+		return xSize;
+	}
+
+	/**
+	 * Get the row-major grid values, the array is not copied.
+	 *
+	 * @return grid values
+	 */
+	public float[] getValues() {
+		return values;
+	}
+
+	/**
+	 * Get the value at the grid index.
+	 *
+	 * @param y index of y dimension
+	 * @param x index of x dimension
+	 * @return value
+	 */
+	public float getValue( int y, int x ) {
+		return this.values[ y * this.xSize + x ];
+	}
+
+	@Override
+	public String toString() {
+		return "TimeStepGrid{" + "timeIndex=" + timeIndex + ", ySize=" + ySize + ", xSize=" + xSize + '}';
+	}
+}
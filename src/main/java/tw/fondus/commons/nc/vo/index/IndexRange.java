@@ -0,0 +1,56 @@
+package tw.fondus.commons.nc.vo.index;
+
+/**
+ * The value object used to store the index range of one dimension, both of start and end are inclusive.
+ *
+ * @author Brad Chen
+ * @since 1.3.0
+ */
+public class IndexRange {
+	private final int start;
+	private final int end;
+
+	public IndexRange( int start, int end ) {
+		this.start = start;
+		this.end = end;
+	}
+
+	public int getStart() {
+		return start;
+	}
+
+	public int getEnd() {
+		return end;
+	}
+
+	/**
+	 * Get the count of index in the range.
+	 *
+	 * @return count of index
+	 */
+	public int getSize() {
+		return end - start + 1;
+	}
+
+	@Override
+	public boolean equals( Object o ) {
+		if ( this == o ) {
+			return true;
+		}
+		if ( !( o instanceof IndexRange ) ) {
+			return false;
+		}
+		IndexRange that = (IndexRange) o;
+		return start == that.start && end == that.end;
+	}
+
+	@Override
+	public int hashCode() {
+		return 31 * start + end;
+	}
+
+	@Override
+	public String toString() {
+		return "IndexRange{" + "start=" + start + ", end=" + end + '}';
+	}
+}
@@ -0,0 +1,30 @@
+package tw.fondus.commons.nc.vo.index;
+
+/**
+ * The value object used to store the index ranges of y and x dimensions.
+ *
+ * @author Brad Chen
+ * @since 1.3.0
+ */
+public class IndexRangeYX {
+	private final IndexRange yRange;
+	private final IndexRange xRange;
+
+	public IndexRangeYX( IndexRange yRange, IndexRange xRange ) {
+		this.yRange = yRange;
+		this.xRange = xRange;
+	}
+
+	public IndexRange getYRange() {
+		return yRange;
+	}
+
+	public IndexRange getXRange() {
+		return xRange;
+	}
+
+	@Override
+	public String toString() {
+		return "IndexRangeYX{" + "yRange=" + yRange + ", xRange=" + xRange + '}';
+	}
+}
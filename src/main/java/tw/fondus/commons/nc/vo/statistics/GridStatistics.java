@@ -0,0 +1,111 @@
+package tw.fondus.commons.nc.vo.statistics;
+
+/**
+ * The value object used to store the statistics of each grid cell over the time steps with primitive values. <br/>
+ * The values are row-major with the order of file, the cell without any value has zero count and NaN min, max.
+ *
+ * @author Brad Chen
+ * @since 1.3.0
+ */
+public class GridStatistics {
+	private final int ySize;
+	private final int xSize;
+	private final int steps;
+	private final int[] counts;
+	private final double[] sums;
+	private final float[] mins;
+	private final float[] maxs;
+
+	public GridStatistics( int ySize, int xSize, int steps, int[] counts, double[] sums, float[] mins, float[] maxs ) {
+		this.ySize = ySize;
+		this.xSize = xSize;
+		this.steps = steps;
+		this.counts = counts;
+		this.sums = sums;
+		this.mins = mins;
+		this.maxs = maxs;
+	}
+
+	public int getYSize() {
+		return ySize;
+	}
+
+	public int getXSize() {
+		return xSize;
+	}
+
+	/**
+	 * Get the count of time steps.
+	 *
+	 * @return count of time steps
+	 */
+	public int getSteps() {
+		return steps;
+	}
+
+	/**
+	 * Get the count of values without the missing value of each cell, the array is not copied.
+	 *
+	 * @return count of values
+	 */
+	public int[] getCounts() {
+		return counts;
+	}
+
+	/**
+	 * Get the sum of each cell, e.g. the accumulation, the array is not copied.
+	 *
+	 * @return sum of values
+	 */
+	public double[] getSums() {
+		return sums;
+	}
+
+	/**
+	 * Get the min of each cell, the array is not copied.
+	 *
+	 * @return min of values
+	 */
+	public float[] getMins() {
+		return mins;
+	}
+
+	/**
+	 * Get the max of each cell, the array is not copied.
+	 *
+	 * @return max of values
+	 */
+	public float[] getMaxs() {
+		return maxs;
+	}
+
+	/**
+	 * Get the mean of each cell, the cell without any value is NaN.
+	 *
+	 * @return mean of values
+	 */
+	public double[] getMeans() {
+		double[] means = new double[ this.sums.length ];
+		for ( int i = 0; i < means.length; i++ ) {
+			means[ i ] = this.counts[ i ] == 0 ? Double.NaN : this.sums[ i ] / this.counts[ i ];
+		}
+		return means;
+	}
+
+	/**
+	 * Get the statistics of the cell.
+	 *
+	 * @param y index of y dimension
+	 * @param x index of x dimension
+	 * @return statistics of cell
+	 */
+	public Statistics getStatistics( int y, int x ) {
+		int cell = y * this.xSize + x;
+		return new Statistics( this.counts[ cell ], this.sums[ cell ], this.mins[ cell ], this.maxs[ cell ] );
+	}
+
+	@Override
+	public String toString() {
+		return "GridStatistics{" + "ySize=" + ySize + ", xSize=" + xSize + ", steps=" + steps + '}';
+	}
+}
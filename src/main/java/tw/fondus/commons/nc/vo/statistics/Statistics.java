@@ -0,0 +1,66 @@
+package tw.fondus.commons.nc.vo.statistics;
+
+/**
+ * The value object used to store the statistics of values without the missing value.
+ *
+ * @author Brad Chen
+ * @since 1.3.0
+ */
+public class Statistics {
+	private final int count;
+	private final double sum;
+	private final float min;
+	private final float max;
+
+	public Statistics( int count, double sum, float min, float max ) {
+		this.count = count;
+		this.sum = sum;
+		this.min = min;
+		this.max = max;
+	}
+
+	/**
+	 * Get the count of values without the missing value.
+	 *
+	 * @return count of values
+	 */
+	public int getCount() {
+		return count;
+	}
+
+	public double getSum() {
+		return sum;
+	}
+
+	/**
+	 * Get the min value, if without any value, will be NaN.
+	 *
+	 * @return min value
+	 */
+	public float getMin() {
+		return min;
+	}
+
+	/**
+	 * Get the max value, if without any value, will be NaN.
+	 *
+	 * @return max value
+	 */
+	public float getMax() {
+		return max;
+	}
+
+	/**
+	 * Get the mean value, if without any value, will be NaN.
+	 *
+	 * @return mean value
+	 */
+	public double getMean() {
+		return this.count == 0 ? Double.NaN : this.sum / this.count;
+	}
+
+	@Override
+	public String toString() {
+		return "Statistics{" + "count=" + count + ", sum=" + sum + ", min=" + min + ", max=" + max + '}';
+	}
+}
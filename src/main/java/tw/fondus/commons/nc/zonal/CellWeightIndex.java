@@ -0,0 +1,337 @@
+package tw.fondus.commons.nc.zonal;
+
+import com.google.common.base.Preconditions;
+import tw.fondus.commons.nc.util.key.VariableAttribute;
+import tw.fondus.commons.nc.vo.axis.CoordinateAxis;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * The sparse cell-weight index of zones on the grid, e.g. the basins on the radar grid. <br/>
+ * The weight of cell is the covered fraction by the zone, which is estimated with the sub-samples of cell,
+ * so the zonal mean of each frame is a sparse matrix-vector product instead of the full-grid scans. <br/>
+ * The index is only depend on the grid, it can be saved to disk and reused by the files with the same grid. <br/>
+ * It's immutable and safe to share between threads.
+ *
+ * @author Brad Chen
+ * @since 1.3.0
+ */
+public class CellWeightIndex {
+	private static final int MAGIC = 0x43574958;
+	private static final int VERSION = 1;
+	private static final float MISSING_FLOAT = VariableAttribute.MISSING.floatValue();
+
+	/**
+	 * The default count of sub-samples on each side of cell.
+	 */
+	public static final int DEFAULT_SAMPLES = 4;
+
+	private final int ySize;
+	private final int xSize;
+	private final double[] extent;
+	private final List<String> zoneIds;
+	private final int[][] cells;
+	private final float[][] weights;
+
+	private CellWeightIndex( int ySize, int xSize, double[] extent, List<String> zoneIds, int[][] cells, float[][] weights ) {
+		this.ySize = ySize;
+		this.xSize = xSize;
+		this.extent = extent;
+		this.zoneIds = Collections.unmodifiableList( zoneIds );
+		this.cells = cells;
+		this.weights = weights;
+	}
+
+	/**
+	 * Build the index of zones on the grid with default sub-samples.
+	 *
+	 * @param yAxis y or lat axis of grid
+	 * @param xAxis x or lon axis of grid
+	 * @param zones polygon by zone id
+	 * @return index
+	 */
+	public static CellWeightIndex build( CoordinateAxis yAxis, CoordinateAxis xAxis, Map<String, Polygon> zones ) {
+		return build( yAxis, xAxis, zones, DEFAULT_SAMPLES );
+	}
+
+	/**
+	 * Build the index of zones on the grid, the zones are filled by scanlines of sub-samples.
+	 *
+	 * @param yAxis y or lat axis of grid
+	 * @param xAxis x or lon axis of grid
+	 * @param zones polygon by zone id, the order is kept
+	 * @param samples count of sub-samples on each side of cell
+	 * @return index
+	 */
+	public static CellWeightIndex build( CoordinateAxis yAxis, CoordinateAxis xAxis, Map<String, Polygon> zones, int samples ) {
+		Preconditions.checkNotNull( yAxis, "CellWeightIndex: yAxis should not be null." );
+		Preconditions.checkNotNull( xAxis, "CellWeightIndex: xAxis should not be null." );
+		Preconditions.checkNotNull( zones, "CellWeightIndex: zones should not be null." );
+		Preconditions.checkArgument( samples > 0, "CellWeightIndex: the samples should be greater than 0." );
+		Preconditions.checkArgument( yAxis.size() > 1 && xAxis.size() > 1, "CellWeightIndex: the axis should has 2 coordinates at least." );
+		Preconditions.checkArgument( yAxis.isMonotonic() && xAxis.isMonotonic(), "CellWeightIndex: the axis should be monotonic." );
+
+		double[] yEdges = edges( yAxis );
+		double[] xEdges = edges( xAxis );
+		List<String> zoneIds = new ArrayList<>( zones.keySet() );
+		int[][] cells = new int[ zoneIds.size() ][];
+		float[][] weights = new float[ zoneIds.size() ][];
+		IntStream.range( 0, zoneIds.size() ).parallel().forEach( zone -> {
+			String zoneId = zoneIds.get( zone );
+			float[] zoneWeights = new float[ 0 ];
+			int[] zoneCells = new int[ 0 ];
+			Polygon polygon = Preconditions.checkNotNull( zones.get( zoneId ), "CellWeightIndex: polygon should not be null." );
+			int[] rows = overlap( yEdges, polygon.getMinY(), polygon.getMaxY() );
+			int[] cols = overlap( xEdges, polygon.getMinX(), polygon.getMaxX() );
+			if ( rows != null && cols != null ) {
+				int colCount = cols[ 1 ] - cols[ 0 ] + 1;
+				int[] inside = new int[ ( rows[ 1 ] - rows[ 0 ] + 1 ) * colCount ];
+				for ( int row = rows[ 0 ]; row <= rows[ 1 ]; row++ ) {
+					for ( int s = 0; s < samples; s++ ) {
+						double y = yEdges[ row ] + ( s + 0.5 ) / samples * ( yEdges[ row + 1 ] - yEdges[ row ] );
+						double[] crossings = polygon.crossings( y );
+						if ( crossings.length == 0 ) {
+							continue;
+						}
+						for ( int col = cols[ 0 ]; col <= cols[ 1 ]; col++ ) {
+							for ( int u = 0; u < samples; u++ ) {
+								double x = xEdges[ col ] + ( u + 0.5 ) / samples * ( xEdges[ col + 1 ] - xEdges[ col ] );
+								int position = Arrays.binarySearch( crossings, x );
+								if ( ( position < 0 ? -position - 1 : position ) % 2 == 1 ) {
+									inside[ ( row - rows[ 0 ] ) * colCount + col - cols[ 0 ] ]++;
+								}
+							}
+						}
+					}
+				}
+
+				int count = (int) Arrays.stream( inside ).filter( value -> value > 0 ).count();
+				zoneCells = new int[ count ];
+				zoneWeights = new float[ count ];
+				float total = samples * samples;
+				int next = 0;
+				for ( int i = 0; i < inside.length; i++ ) {
+					if ( inside[ i ] > 0 ) {
+						zoneCells[ next ] = ( rows[ 0 ] + i / colCount ) * xAxis.size() + cols[ 0 ] + i % colCount;
+						zoneWeights[ next++ ] = inside[ i ] / total;
+					}
+				}
+			}
+			cells[ zone ] = zoneCells;
+			weights[ zone ] = zoneWeights;
+		} );
+		return new CellWeightIndex( yAxis.size(), xAxis.size(), extent( yAxis, xAxis ), zoneIds, cells, weights );
+	}
+
+	/**
+	 * Load the index from file.
+	 *
+	 * @param path path of index file
+	 * @return index
+	 * @throws IOException has IO Exception
+	 */
+	public static CellWeightIndex load( Path path ) throws IOException {
+		Preconditions.checkNotNull( path );
+		try ( DataInputStream input = new DataInputStream( new BufferedInputStream( Files.newInputStream( path ) ) ) ) {
+			if ( input.readInt() != MAGIC || input.readInt() != VERSION ) {
+				throw new IOException( "CellWeightIndex: the file is not a cell-weight index: " + path );
+			}
+			int ySize = input.readInt();
+			int xSize = input.readInt();
+			double[] extent = new double[ 4 ];
+			for ( int i = 0; i < extent.length; i++ ) {
+				extent[ i ] = input.readDouble();
+			}
+			int zones = input.readInt();
+			List<String> zoneIds = new ArrayList<>( zones );
+			int[][] cells = new int[ zones ][];
+			float[][] weights = new float[ zones ][];
+			for ( int zone = 0; zone < zones; zone++ ) {
+				zoneIds.add( input.readUTF() );
+				int count = input.readInt();
+				cells[ zone ] = new int[ count ];
+				weights[ zone ] = new float[ count ];
+				for ( int i = 0; i < count; i++ ) {
+					cells[ zone ][ i ] = input.readInt();
+					weights[ zone ][ i ] = input.readFloat();
+				}
+			}
+			return new CellWeightIndex( ySize, xSize, extent, zoneIds, cells, weights );
+		}
+	}
+
+	/**
+	 * Save the index to file, it can be reused by the files with the same grid.
+	 *
+	 * @param path path of index file
+	 * @throws IOException has IO Exception
+	 */
+	public void save( Path path ) throws IOException {
+		Preconditions.checkNotNull( path );
+		try ( DataOutputStream output = new DataOutputStream( new BufferedOutputStream( Files.newOutputStream( path ) ) ) ) {
+			output.writeInt( MAGIC );
+			output.writeInt( VERSION );
+			output.writeInt( this.ySize );
+			output.writeInt( this.xSize );
+			for ( double value : this.extent ) {
+				output.writeDouble( value );
+			}
+			output.writeInt( this.zoneIds.size() );
+			for ( int zone = 0; zone < this.zoneIds.size(); zone++ ) {
+				output.writeUTF( this.zoneIds.get( zone ) );
+				output.writeInt( this.cells[ zone ].length );
+				for ( int i = 0; i < this.cells[ zone ].length; i++ ) {
+					output.writeInt( this.cells[ zone ][ i ] );
+					output.writeFloat( this.weights[ zone ][ i ] );
+				}
+			}
+		}
+	}
+
+	public int getYSize() {
+		return ySize;
+	}
+
+	public int getXSize() {
+		return xSize;
+	}
+
+	public List<String> getZoneIds() {
+		return zoneIds;
+	}
+
+	/**
+	 * Get the row-major cells of zone, the array is not copied.
+	 *
+	 * @param zone index of zone
+	 * @return cells of zone
+	 */
+	public int[] getCells( int zone ) {
+		return this.cells[ zone ];
+	}
+
+	/**
+	 * Get the weights of cells of zone, the array is not copied.
+	 *
+	 * @param zone index of zone
+	 * @return weights of cells
+	 */
+	public float[] getWeights( int zone ) {
+		return this.weights[ zone ];
+	}
+
+	/**
+	 * Check the index is built on the same grid.
+	 *
+	 * @param yAxis y or lat axis of grid
+	 * @param xAxis x or lon axis of grid
+	 * @return is same grid or not
+	 */
+	public boolean isSameGrid( CoordinateAxis yAxis, CoordinateAxis xAxis ) {
+		if ( yAxis.size() != this.ySize || xAxis.size() != this.xSize ) {
+			return false;
+		}
+		double[] other = extent( yAxis, xAxis );
+		double yTolerance = Math.abs( yAxis.getStep() ) * 1e-3;
+		double xTolerance = Math.abs( xAxis.getStep() ) * 1e-3;
+		return Math.abs( other[ 0 ] - this.extent[ 0 ] ) <= yTolerance && Math.abs( other[ 1 ] - this.extent[ 1 ] ) <= yTolerance &&
+				Math.abs( other[ 2 ] - this.extent[ 2 ] ) <= xTolerance && Math.abs( other[ 3 ] - this.extent[ 3 ] ) <= xTolerance;
+	}
+
+	/**
+	 * Compute the weighted mean of each zone on the row-major grid values. <br/>
+	 * The missing values are skipped and the weights are normalized with the valid cells, the zone without any valid cell is NaN.
+	 *
+	 * @param values row-major grid values with the order of file
+	 * @return weighted mean of each zone
+	 */
+	public double[] means( float[] values ) {
+		Preconditions.checkNotNull( values, "CellWeightIndex: values should not be null." );
+		Preconditions.checkArgument( values.length == this.ySize * this.xSize, "CellWeightIndex: the size of values is not same as the grid." );
+		double[] means = new double[ this.zoneIds.size() ];
+		for ( int zone = 0; zone < means.length; zone++ ) {
+			int[] zoneCells = this.cells[ zone ];
+			float[] zoneWeights = this.weights[ zone ];
+			double sum = 0;
+			double weight = 0;
+			for ( int i = 0; i < zoneCells.length; i++ ) {
+				float value = values[ zoneCells[ i ] ];
+				if ( value != MISSING_FLOAT && !Float.isNaN( value ) ) {
+					sum += value * zoneWeights[ i ];
+					weight += zoneWeights[ i ];
+				}
+			}
+			means[ zone ] = weight == 0 ? Double.NaN : sum / weight;
+		}
+		return means;
+	}
+
+	/**
+	 * Compute the edges of cells with the midpoints between the coordinates, the edges follow the order of coordinates.
+	 *
+	 * @param axis coordinate axis
+	 * @return edges of cells
+	 */
+	private static double[] edges( CoordinateAxis axis ) {
+		int size = axis.size();
+		double[] edges = new double[ size + 1 ];
+		for ( int i = 1; i < size; i++ ) {
+			edges[ i ] = ( axis.getValue( i - 1 ) + axis.getValue( i ) ) / 2;
+		}
+		edges[ 0 ] = axis.getValue( 0 ) - ( axis.getValue( 1 ) - axis.getValue( 0 ) ) / 2;
+		edges[ size ] = axis.getValue( size - 1 ) + ( axis.getValue( size - 1 ) - axis.getValue( size - 2 ) ) / 2;
+		return edges;
+	}
+
+	/**
+	 * Find the range of cells which overlap with the range of values.
+	 *
+	 * @param edges edges of cells
+	 * @param min min value
+	 * @param max max value
+	 * @return first and last index of cells, or null if not overlap
+	 */
+	private static int[] overlap( double[] edges, double min, double max ) {
+		int first = -1;
+		int last = -1;
+		for ( int i = 0; i < edges.length - 1; i++ ) {
+			double low = Math.min( edges[ i ], edges[ i + 1 ] );
+			double high = Math.max( edges[ i ], edges[ i + 1 ] );
+			if ( high >= min && low <= max ) {
+				if ( first < 0 ) {
+					first = i;
+				}
+				last = i;
+			}
+		}
+		return first < 0 ? null : new int[]{ first, last };
+	}
+
+	/**
+	 * Get the extent of grid.
+	 *
+	 * @param yAxis y or lat axis of grid
+	 * @param xAxis x or lon axis of grid
+	 * @return first y, last y, first x and last x
+	 */
+	private static double[] extent( CoordinateAxis yAxis, CoordinateAxis xAxis ) {
+		return new double[]{ yAxis.getFirst(), yAxis.getLast(), xAxis.getFirst(), xAxis.getLast() };
+	}
+
+	@Override
+	public String toString() {
+		return "CellWeightIndex{" + "ySize=" + ySize + ", xSize=" + xSize + ", zones=" + zoneIds.size() + '}';
+	}
+}
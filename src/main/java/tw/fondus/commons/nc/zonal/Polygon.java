@@ -0,0 +1,181 @@
+package tw.fondus.commons.nc.zonal;
+
+import com.google.common.base.Preconditions;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The value object used to store the polygon with rings, e.g. the basin boundary. <br/>
+ * The rings are filled with the even-odd rule, so the holes and the parts of multi-polygon are stored as same as the rings.
+ *
+ * @author Brad Chen
+ * @since 1.3.0
+ */
+public class Polygon {
+	private static final Pattern RING_PATTERN = Pattern.compile( "\\(([^()]+)\\)" );
+
+	private final List<double[]> xRings;
+	private final List<double[]> yRings;
+	private final double minX;
+	private final double minY;
+	private final double maxX;
+	private final double maxY;
+
+	private Polygon( List<double[]> xRings, List<double[]> yRings ) {
+		this.xRings = Collections.unmodifiableList( xRings );
+		this.yRings = Collections.unmodifiableList( yRings );
+		double minX = Double.POSITIVE_INFINITY;
+		double minY = Double.POSITIVE_INFINITY;
+		double maxX = Double.NEGATIVE_INFINITY;
+		double maxY = Double.NEGATIVE_INFINITY;
+		for ( int r = 0; r < xRings.size(); r++ ) {
+			for ( int i = 0; i < xRings.get( r ).length; i++ ) {
+				minX = Math.min( minX, xRings.get( r )[ i ] );
+				maxX = Math.max( maxX, xRings.get( r )[ i ] );
+				minY = Math.min( minY, yRings.get( r )[ i ] );
+				maxY = Math.max( maxY, yRings.get( r )[ i ] );
+			}
+		}
+		this.minX = minX;
+		this.minY = minY;
+		this.maxX = maxX;
+		this.maxY = maxY;
+	}
+
+	/**
+	 * Create the polygon with one ring of coordinates, the ring is closed automatically.
+	 *
+	 * @param xs x or lon of vertices
+	 * @param ys y or lat of vertices
+	 * @return polygon
+	 */
+	public static Polygon of( double[] xs, double[] ys ) {
+		Preconditions.checkNotNull( xs, "Polygon: xs should not be null." );
+		Preconditions.checkNotNull( ys, "Polygon: ys should not be null." );
+		Preconditions.checkArgument( xs.length == ys.length, "Polygon: the length of xs and ys should be equal." );
+		Preconditions.checkArgument( xs.length >= 3, "Polygon: the ring should has 3 vertices at least." );
+		List<double[]> xRings = new ArrayList<>();
+		List<double[]> yRings = new ArrayList<>();
+		xRings.add( xs.clone() );
+		yRings.add( ys.clone() );
+		return new Polygon( xRings, yRings );
+	}
+
+	/**
+	 * Parse the polygon from the WKT of POLYGON or MULTIPOLYGON, the Z and M values are ignored.
+	 *
+	 * @param wkt well-known text
+	 * @return polygon
+	 */
+	public static Polygon parse( String wkt ) {
+		Preconditions.checkNotNull( wkt, "Polygon: wkt should not be null." );
+		String text = wkt.trim().toUpperCase( Locale.ROOT );
+		Preconditions.checkArgument( text.startsWith( "POLYGON" ) || text.startsWith( "MULTIPOLYGON" ),
+				"Polygon: the WKT should be POLYGON or MULTIPOLYGON." );
+
+		List<double[]> xRings = new ArrayList<>();
+		List<double[]> yRings = new ArrayList<>();
+		Matcher matcher = RING_PATTERN.matcher( text );
+		while ( matcher.find() ) {
+			String[] points = matcher.group( 1 ).split( "," );
+			Preconditions.checkArgument( points.length >= 3, "Polygon: the ring should has 3 vertices at least." );
+			double[] xs = new double[ points.length ];
+			double[] ys = new double[ points.length ];
+			for ( int i = 0; i < points.length; i++ ) {
+				String[] ordinates = points[ i ].trim().split( "\\s+" );
+				Preconditions.checkArgument( ordinates.length >= 2, "Polygon: the vertex should has x and y." );
+				try {
+					xs[ i ] = Double.parseDouble( ordinates[ 0 ] );
+					ys[ i ] = Double.parseDouble( ordinates[ 1 ] );
+				} catch (NumberFormatException e) {
+					throw new IllegalArgumentException( "Polygon: the vertex is not a number: " + points[ i ], e );
+				}
+			}
+			xRings.add( xs );
+			yRings.add( ys );
+		}
+		Preconditions.checkArgument( !xRings.isEmpty(), "Polygon: the WKT without any ring." );
+		return new Polygon( xRings, yRings );
+	}
+
+	/**
+	 * Get the count of rings.
+	 *
+	 * @return count of rings
+	 */
+	public int getRings() {
+		return this.xRings.size();
+	}
+
+	public double getMinX() {
+		return minX;
+	}
+
+	public double getMinY() {
+		return minY;
+	}
+
+	public double getMaxX() {
+		return maxX;
+	}
+
+	public double getMaxY() {
+		return maxY;
+	}
+
+	/**
+	 * Check the point is inside the polygon with the even-odd rule.
+	 *
+	 * @param x x or lon of point
+	 * @param y y or lat of point
+	 * @return is inside or not
+	 */
+	public boolean contains( double x, double y ) {
+		if ( x < this.minX || x > this.maxX || y < this.minY || y > this.maxY ) {
+			return false;
+		}
+		double[] crossings = this.crossings( y );
+		int count = 0;
+		while ( count < crossings.length && crossings[ count ] < x ) {
+			count++;
+		}
+		return count % 2 == 1;
+	}
+
+	/**
+	 * Find the sorted x of the crossings between the edges and the horizontal line, it's used for the scanline fill.
+	 *
+	 * @param y y or lat of horizontal line
+	 * @return sorted x of crossings
+	 */
+	double[] crossings( double y ) {
+		double[] crossings = new double[ 16 ];
+		int count = 0;
+		for ( int r = 0; r < this.xRings.size(); r++ ) {
+			double[] xs = this.xRings.get( r );
+			double[] ys = this.yRings.get( r );
+			for ( int i = 0, j = xs.length - 1; i < xs.length; j = i++ ) {
+				if ( ( ys[ i ] > y ) != ( ys[ j ] > y ) ) {
+					if ( count == crossings.length ) {
+						crossings = Arrays.copyOf( crossings, count * 2 );
+					}
+					crossings[ count++ ] = xs[ j ] + ( y - ys[ j ] ) * ( xs[ i ] - xs[ j ] ) / ( ys[ i ] - ys[ j ] );
+				}
+			}
+		}
+		double[] sorted = Arrays.copyOf( crossings, count );
+		Arrays.sort( sorted );
+		return sorted;
+	}
+
+	@Override
+	public String toString() {
+		return "Polygon{" + "rings=" + xRings.size() + ", minX=" + minX + ", minY=" + minY + ", maxX=" + maxX + ", maxY=" + maxY + '}';
+	}
+}
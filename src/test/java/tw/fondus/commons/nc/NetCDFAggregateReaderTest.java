@@ -0,0 +1,162 @@
+package tw.fondus.commons.nc;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import tw.fondus.commons.nc.util.NetCDFUtils;
+import tw.fondus.commons.nc.util.TimeFactor;
+import tw.fondus.commons.nc.util.key.DimensionName;
+import tw.fondus.commons.nc.util.key.VariableAttribute;
+import tw.fondus.commons.nc.util.key.VariableName;
+import tw.fondus.commons.nc.vo.grid.TimeStepGrid;
+import tw.fondus.commons.nc.vo.index.IndexRange;
+import tw.fondus.commons.nc.vo.index.IndexYX;
+import ucar.ma2.Array;
+import ucar.ma2.ArrayFloat;
+import ucar.ma2.DataType;
+import ucar.ma2.InvalidRangeException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * The unit test of aggregate reader of the files split along the time dimension.
+ *
+ * @author Brad Chen
+ *
+ */
+public class NetCDFAggregateReaderTest {
+	private static final Path INDEX = Paths.get( "src/test/resources/aggregate.idx" );
+	private static final int FILES = 3;
+	private static final int STEPS = 3;
+	private static final int Y_SIZE = 2;
+	private static final int X_SIZE = 3;
+
+	@BeforeAll
+	public static void prepareData() throws IOException, InvalidRangeException {
+		Files.deleteIfExists( INDEX );
+		for ( int file = 0; file < FILES; file++ ) {
+			Path path = path( file );
+			Files.deleteIfExists( path );
+			try ( NetCDFWriter writer = NetCDFBuilder.create( path )
+					.addUnlimitedDimension( DimensionName.TIME )
+					.addDimension( DimensionName.Y, Y_SIZE )
+					.addDimension( DimensionName.X, X_SIZE )
+					.addVariable( VariableName.TIME, DataType.DOUBLE, DimensionName.TIME )
+					.addVariableAttribute( VariableName.TIME, VariableAttribute.KEY_UNITS, VariableAttribute.UNITS_TIME_MINUTES )
+					.addVariable( "rainfall", DataType.FLOAT, DimensionName.TIME, DimensionName.Y, DimensionName.X )
+					.build();
+					NetCDFStreamWriter stream = writer.stream( "rainfall", VariableName.TIME, STEPS ) ) {
+				for ( int step = 0; step < STEPS; step++ ) {
+					int t = file * STEPS + step;
+					ArrayFloat.D2 values = NetCDFUtils.empty2DArrayFloat( Y_SIZE, X_SIZE );
+					for ( int cell = 0; cell < Y_SIZE * X_SIZE; cell++ ) {
+						values.setFloat( cell, t * 100 + cell );
+					}
+					stream.append( ( t + 1 ) * 10, values );
+				}
+			}
+		}
+
+		// The station files, the middle file has no station B
+		for ( int file = 0; file < FILES; file++ ) {
+			Path path = stationPath( file );
+			Files.deleteIfExists( path );
+			List<String> stations = file == 1 ? Collections.singletonList( "A" ) : Arrays.asList( "A", "B" );
+			try ( NetCDFWriter writer = NetCDFBuilder.create( path )
+					.addDimension( DimensionName.TIME, STEPS )
+					.addDimension( DimensionName.STATION, stations.size() )
+					.addVariable( VariableName.TIME, DataType.DOUBLE, DimensionName.TIME )
+					.addVariableAttribute( VariableName.TIME, VariableAttribute.KEY_UNITS, VariableAttribute.UNITS_TIME_MINUTES )
+					.addStringVariable( VariableName.ID_STATION, 4, DimensionName.STATION )
+					.addVariable( "level", DataType.FLOAT, DimensionName.TIME, DimensionName.STATION )
+					.build() ) {
+				ArrayFloat.D2 levels = NetCDFUtils.empty2DArrayFloat( STEPS, stations.size() );
+				double[] times = new double[ STEPS ];
+				for ( int step = 0; step < STEPS; step++ ) {
+					int t = file * STEPS + step;
+					times[ step ] = ( t + 1 ) * 10;
+					for ( int station = 0; station < stations.size(); station++ ) {
+						levels.set( step, station, t * 10 + station );
+					}
+				}
+				writer.writeValues( VariableName.TIME, NetCDFUtils.create1DArrayDouble( times ) )
+						.writeValues( VariableName.ID_STATION, NetCDFUtils.create2DArrayChar( stations, 4 ) )
+						.writeValues( "level", levels );
+			}
+		}
+	}
+
+	@Test
+	public void test() throws IOException {
+		// The files are given in reverse order, the index sort them by time
+		List<Path> files = Stream.of( 2, 1, 0 ).map( NetCDFAggregateReaderTest::path ).collect( Collectors.toList() );
+		try ( NetCDFAggregateReader reader = NetCDFAggregateReader.open( files, TimeFactor.MINUTE, INDEX, 2 ) ) {
+			Assertions.assertTrue( Files.exists( INDEX ) );
+			Assertions.assertEquals( FILES * STEPS, reader.getTimeAxis().size() );
+			Assertions.assertEquals( 10 * TimeFactor.MINUTE, reader.getTimeAxis().getTime( 0 ) );
+			Assertions.assertEquals( 90 * TimeFactor.MINUTE, reader.getTimeAxis().getTime( FILES * STEPS - 1 ) );
+
+			// Section across the boundary of files
+			Array section = reader.readSection( "rainfall", new IndexRange( 2, 4 ), null, new IndexRange( 1, 1 ) )
+					.orElseThrow( IllegalStateException::new );
+			Assertions.assertArrayEquals( new int[]{ 3, Y_SIZE, 1 }, section.getShape() );
+			Assertions.assertEquals( 201F, section.getFloat( 0 ) );
+			Assertions.assertEquals( 401F, section.getFloat( 4 ) );
+
+			float[][] series = reader.readPointSeries( "rainfall", Collections.singletonList( new IndexYX( 1, 2 ) ),
+					30 * TimeFactor.MINUTE, 70 * TimeFactor.MINUTE ).orElseThrow( IllegalStateException::new );
+			Assertions.assertArrayEquals( new float[]{ 205, 305, 405, 505, 605 }, series[ 0 ] );
+
+			try ( Stream<TimeStepGrid> steps = reader.streamTimeSteps( "rainfall", 50 * TimeFactor.MINUTE, 80 * TimeFactor.MINUTE ) ) {
+				List<TimeStepGrid> grids = steps.collect( Collectors.toList() );
+				Assertions.assertEquals( Arrays.asList( 4, 5, 6, 7 ),
+						grids.stream().map( TimeStepGrid::getTimeIndex ).collect( Collectors.toList() ) );
+				Assertions.assertEquals( 700F, grids.get( 3 ).getValue( 0, 0 ) );
+			}
+			Assertions.assertTrue( reader.getOpenHandles() <= 2 );
+			Assertions.assertThrows( IllegalArgumentException.class, () -> reader.readSection( "rainfall", new IndexRange( 0, 0 ), null ) );
+		}
+
+		// The persisted index is reused without scanning
+		NetCDFAggregateIndex index = NetCDFAggregateIndex.load( INDEX );
+		Assertions.assertEquals( FILES, index.getMembers().size() );
+		Assertions.assertEquals( 1, index.memberOf( 5 ) );
+		NetCDFAggregateIndex refreshed = NetCDFAggregateIndex.refresh( files, TimeFactor.MINUTE, index );
+		for ( int member = 0; member < FILES; member++ ) {
+			Assertions.assertSame( index.getMembers().get( member ), refreshed.getMembers().get( member ) );
+		}
+	}
+
+	@Test
+	public void testStationSeries() throws IOException {
+		List<Path> files = Stream.of( 0, 1, 2 ).map( NetCDFAggregateReaderTest::stationPath ).collect( Collectors.toList() );
+		try ( NetCDFAggregateReader reader = NetCDFAggregateReader.open( files, TimeFactor.MINUTE, 2 ) ) {
+			float missing = VariableAttribute.MISSING.floatValue();
+
+			// The middle file has none of the stations, it's still counted by its steps
+			float[] series = reader.readStationSeries( "level", Collections.singletonList( "B" ) )
+					.orElseThrow( IllegalStateException::new ).get( "B" );
+			Assertions.assertArrayEquals( new float[]{ 1, 11, 21, missing, missing, missing, 61, 71, 81 }, series );
+
+			series = reader.readStationSeries( "level", Collections.singletonList( "B" ), 30 * TimeFactor.MINUTE, 70 * TimeFactor.MINUTE )
+					.orElseThrow( IllegalStateException::new ).get( "B" );
+			Assertions.assertArrayEquals( new float[]{ 21, missing, missing, missing, 61 }, series );
+		}
+	}
+
+	private static Path stationPath( int file ) {
+		return Paths.get( "src/test/resources/aggregate_station_" + file + ".nc" );
+	}
+
+	private static Path path( int file ) {
+		return Paths.get( "src/test/resources/aggregate_" + file + ".nc" );
+	}
+}
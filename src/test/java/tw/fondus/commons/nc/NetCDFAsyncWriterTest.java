@@ -0,0 +1,130 @@
+package tw.fondus.commons.nc;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import tw.fondus.commons.nc.util.NetCDFUtils;
+import tw.fondus.commons.nc.util.key.DimensionName;
+import ucar.ma2.Array;
+import ucar.ma2.ArrayFloat;
+import ucar.ma2.DataType;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * The unit test of use asynchronous writer to write NetCDF.
+ *
+ * @author Brad Chen
+ *
+ */
+public class NetCDFAsyncWriterTest {
+	private static final Path PATH = Paths.get( "src/test/resources/async.nc" );
+	private static final int T_SIZE = 20;
+	private static final int Y_SIZE = 30;
+	private static final int X_SIZE = 40;
+
+	@BeforeAll
+	public static void prepareData() throws IOException {
+		Files.deleteIfExists( PATH );
+	}
+
+	@Test
+	public void test() throws IOException {
+		List<CompletableFuture<Void>> futures = new ArrayList<>();
+		try ( NetCDFAsyncWriter writer = this.define().async( 2 ) ) {
+			// Double buffering, fill the next buffer while the previous one is writing
+			ArrayFloat.D3[] buffers = { NetCDFUtils.empty3DArrayFloat( 1, Y_SIZE, X_SIZE ),
+					NetCDFUtils.empty3DArrayFloat( 1, Y_SIZE, X_SIZE ) };
+			for ( int t = 0; t < T_SIZE; t++ ) {
+				if ( t >= 2 ) {
+					futures.get( t - 2 ).join();
+				}
+				ArrayFloat.D3 buffer = buffers[ t % 2 ];
+				for ( int y = 0; y < Y_SIZE; y++ ) {
+					for ( int x = 0; x < X_SIZE; x++ ) {
+						buffer.set( 0, y, x, t * 10000 + y * 100 + x );
+					}
+				}
+				futures.add( writer.writeValues( "rainfall", buffer, new int[]{ t, 0, 0 } ) );
+			}
+		}
+		futures.forEach( future -> Assertions.assertTrue( future.isDone() && !future.isCompletedExceptionally() ) );
+
+		try ( NetCDFReader reader = NetCDFReader.read( PATH ) ) {
+			Array rainfall = reader.readVariable( "rainfall" ).orElseThrow( IllegalStateException::new );
+			for ( int t = 0; t < T_SIZE; t++ ) {
+				for ( int y = 0; y < Y_SIZE; y++ ) {
+					for ( int x = 0; x < X_SIZE; x++ ) {
+						Assertions.assertEquals( t * 10000 + y * 100 + x,
+								rainfall.getFloat( ( t * Y_SIZE + y ) * X_SIZE + x ) );
+					}
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testError() throws IOException {
+		NetCDFAsyncWriter writer = this.define().async( 2 );
+		CompletableFuture<Void> failed = writer.writeValues( "not_exist", NetCDFUtils.empty3DArrayFloat( 1, Y_SIZE, X_SIZE ) );
+		CompletableFuture<Void> skipped = writer.writeValues( "rainfall", NetCDFUtils.empty3DArrayFloat( 1, Y_SIZE, X_SIZE ),
+				new int[]{ 0, 0, 0 } );
+
+		Assertions.assertThrows( IOException.class, writer::close );
+		Assertions.assertThrows( ExecutionException.class, failed::get );
+		Assertions.assertThrows( ExecutionException.class, skipped::get );
+		Assertions.assertThrows( IllegalStateException.class, () -> writer.writeValues( "rainfall",
+				NetCDFUtils.empty3DArrayFloat( 1, Y_SIZE, X_SIZE ) ) );
+	}
+
+	@Test
+	public void testCloseWithBlockedProducer() throws IOException, InterruptedException {
+		NetCDFAsyncWriter writer = this.define().async( 1 );
+		List<CompletableFuture<Void>> futures = new CopyOnWriteArrayList<>();
+		Thread producer = new Thread( () -> {
+			try {
+				// Keep the queue full, so the producer is blocked by the put while closing
+				for ( int t = 0; ; t++ ) {
+					futures.add( writer.writeValues( "rainfall", NetCDFUtils.empty3DArrayFloat( 1, Y_SIZE, X_SIZE ),
+							new int[]{ t % T_SIZE, 0, 0 } ) );
+				}
+			} catch (IllegalStateException e) {
+				// nothing to do, stop by the closed writer
+			}
+		} );
+		producer.start();
+		while ( futures.size() < 3 ) {
+			Thread.sleep( 1 );
+		}
+
+		writer.close();
+		writer.close();
+		producer.join();
+
+		// The task submitted before the end task is written, and no task is left behind
+		futures.forEach( future -> Assertions.assertTrue( future.isDone() && !future.isCompletedExceptionally() ) );
+	}
+
+	/**
+	 * Define the NetCDF file structures.
+	 *
+	 * @return writer
+	 * @throws IOException has IO Exception
+	 */
+	private NetCDFWriter define() throws IOException {
+		return NetCDFBuilder.create( PATH )
+				.addDimension( DimensionName.TIME, T_SIZE )
+				.addDimension( DimensionName.Y, Y_SIZE )
+				.addDimension( DimensionName.X, X_SIZE )
+				.addVariable( "rainfall", DataType.FLOAT, DimensionName.TIME, DimensionName.Y, DimensionName.X )
+				.build();
+	}
+}
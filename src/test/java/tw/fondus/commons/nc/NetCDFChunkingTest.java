@@ -0,0 +1,90 @@
+package tw.fondus.commons.nc;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import tw.fondus.commons.nc.util.AccessPattern;
+import ucar.ma2.DataType;
+import ucar.nc2.Dimension;
+import ucar.nc2.NetcdfFileWriter;
+import ucar.nc2.Variable;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * The unit test of chunk shape computation for netCDF-4 output.
+ *
+ * @author Brad Chen
+ *
+ */
+public class NetCDFChunkingTest {
+	private static final int[] SHAPE = { 0, 500, 400 };
+	private static final boolean[] UNLIMITED = { true, false, false };
+	private static final long CHUNK_BYTES = 1L << 20;
+
+	@Test
+	public void testMap() {
+		int[] chunk = NetCDFChunking.computeChunkShape( AccessPattern.MAP, SHAPE, UNLIMITED, 4, CHUNK_BYTES );
+		Assertions.assertArrayEquals( new int[] { 1, 500, 400 }, chunk );
+
+		// The rows are split when the whole plane is greater than the target bytes
+		chunk = NetCDFChunking.computeChunkShape( AccessPattern.MAP, SHAPE, UNLIMITED, 4, 400 * 4 * 100 );
+		Assertions.assertArrayEquals( new int[] { 1, 100, 400 }, chunk );
+	}
+
+	@Test
+	public void testTimeSeries() {
+		int[] chunk = NetCDFChunking.computeChunkShape( AccessPattern.TIME_SERIES, SHAPE, UNLIMITED, 4, CHUNK_BYTES );
+		Assertions.assertEquals( NetCDFChunking.UNLIMITED_LENGTH, chunk[ 0 ] );
+		Assertions.assertEquals( 16, chunk[ 1 ] );
+		Assertions.assertEquals( 16, chunk[ 2 ] );
+
+		chunk = NetCDFChunking.computeChunkShape( AccessPattern.TIME_SERIES, new int[] { 240, 30 }, new boolean[] { false, false }, 8,
+				CHUNK_BYTES );
+		Assertions.assertArrayEquals( new int[] { 240, 30 }, chunk );
+	}
+
+	@Test
+	public void testBalanced() {
+		// The small variable is one chunk
+		int[] chunk = NetCDFChunking.computeChunkShape( AccessPattern.BALANCED, new int[] { 24, 50, 40 }, new boolean[3], 4,
+				CHUNK_BYTES );
+		Assertions.assertArrayEquals( new int[] { 24, 50, 40 }, chunk );
+
+		chunk = NetCDFChunking.computeChunkShape( AccessPattern.BALANCED, SHAPE, UNLIMITED, 4, CHUNK_BYTES );
+		long elements = 1;
+		for ( int i = 0; i < chunk.length; i++ ) {
+			Assertions.assertTrue( chunk[ i ] > 1 && chunk[ i ] < ( i == 0 ? NetCDFChunking.UNLIMITED_LENGTH : SHAPE[ i ] ) );
+			elements *= chunk[ i ];
+		}
+		Assertions.assertTrue( elements * 4 <= CHUNK_BYTES * 1.1 && elements * 4 >= CHUNK_BYTES * 0.9 );
+	}
+
+	@Test
+	public void testDeflate() {
+		NetCDFChunking chunking = new NetCDFChunking();
+		Assertions.assertThrows( IllegalArgumentException.class, () -> chunking.setDefaultDeflate( 10, true ) );
+		Assertions.assertThrows( IllegalArgumentException.class, () -> chunking.setChunkShape( "rainfall", new int[] { 1, 0 } ) );
+		Assertions.assertThrows( IllegalArgumentException.class, () -> chunking.setChunkBytes( 0 ) );
+	}
+
+	@Test
+	public void testChunkShape() throws IOException {
+		// The variable is only defined, the file is never created
+		NetcdfFileWriter writer = NetcdfFileWriter.createNew( NetcdfFileWriter.Version.netcdf3, "target/chunking.nc" );
+		Dimension time = writer.addUnlimitedDimension( "time" );
+		Dimension y = writer.addDimension( null, "y", 5 );
+		Dimension x = writer.addDimension( null, "x", 4 );
+		Variable variable = writer.addVariable( null, "rainfall", DataType.FLOAT, Arrays.asList( time, y, x ) );
+
+		// The chunk of unlimited dimension is not limited by the current length
+		NetCDFChunking chunking = new NetCDFChunking();
+		chunking.setChunkShape( "rainfall", new int[] { 24, 5, 4 } );
+		Assertions.assertArrayEquals( new long[] { 24, 5, 4 }, chunking.computeChunking( variable ) );
+
+		chunking.setChunkShape( "rainfall", new int[] { 1, 6, 4 } );
+		Assertions.assertThrows( IllegalStateException.class, () -> chunking.computeChunking( variable ) );
+		chunking.setChunkShape( "rainfall", new int[] { 1, 5 } );
+		Assertions.assertThrows( IllegalStateException.class, () -> chunking.computeChunking( variable ) );
+	}
+}
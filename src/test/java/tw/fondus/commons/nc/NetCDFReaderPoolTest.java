@@ -0,0 +1,109 @@
+package tw.fondus.commons.nc;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import tw.fondus.commons.nc.util.key.DimensionName;
+import tw.fondus.commons.nc.util.key.VariableName;
+import ucar.ma2.DataType;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+
+/**
+ * The unit test of NetCDF reader pool.
+ *
+ * @author Brad Chen
+ *
+ */
+public class NetCDFReaderPoolTest {
+	private static final Path FIRST = Paths.get( "src/test/resources/pool_first.nc" );
+	private static final Path SECOND = Paths.get( "src/test/resources/pool_second.nc" );
+
+	@BeforeAll
+	public static void prepareData() throws IOException {
+		create( FIRST, 10 );
+		create( SECOND, 20 );
+	}
+
+	@Test
+	public void testLease() throws IOException {
+		try ( NetCDFReaderPool pool = new NetCDFReaderPool( 1, Long.MAX_VALUE ) ) {
+			NetCDFReader reader;
+			try ( NetCDFReaderPool.Lease lease = pool.lease( FIRST ) ) {
+				reader = lease.getReader();
+				Assertions.assertEquals( 10, reader.getDimensionLength( DimensionName.TIME ) );
+			}
+			try ( NetCDFReaderPool.Lease lease = pool.lease( FIRST );
+					NetCDFReaderPool.Lease other = pool.lease( FIRST ) ) {
+				// The close of shared reader by one holder is ignored
+				try ( NetCDFReader shared = lease.getReader() ) {
+					Assertions.assertSame( reader, shared );
+				}
+				Assertions.assertEquals( 10, other.getReader().getDimensionLength( DimensionName.TIME ) );
+			}
+			Assertions.assertEquals( 2, pool.getHitCount() );
+			Assertions.assertEquals( 1, pool.getMissCount() );
+
+			// The second file evict the idle first one
+			try ( NetCDFReaderPool.Lease lease = pool.lease( SECOND ) ) {
+				Assertions.assertEquals( 20, lease.getReader().getDimensionLength( DimensionName.TIME ) );
+			}
+			Assertions.assertEquals( 1, pool.getEvictionCount() );
+			Assertions.assertEquals( 1, pool.getOpenHandles() );
+			Assertions.assertFalse( pool.isPooled( FIRST ) );
+			Assertions.assertTrue( pool.isPooled( SECOND ) );
+		}
+	}
+
+	@Test
+	public void testLeasedNotEvicted() throws IOException {
+		try ( NetCDFReaderPool pool = new NetCDFReaderPool( 1, 1 ) ) {
+			try ( NetCDFReaderPool.Lease first = pool.lease( FIRST );
+					NetCDFReaderPool.Lease second = pool.lease( SECOND ) ) {
+				Assertions.assertEquals( 2, pool.getOpenHandles() );
+				Assertions.assertEquals( 10, first.getReader().getDimensionLength( DimensionName.TIME ) );
+				Assertions.assertEquals( 20, second.getReader().getDimensionLength( DimensionName.TIME ) );
+			}
+			Assertions.assertEquals( 0, pool.getOpenHandles() );
+			Assertions.assertEquals( 0, pool.getWeight() );
+		}
+	}
+
+	@Test
+	public void testInvalidate() throws IOException {
+		try ( NetCDFReaderPool pool = new NetCDFReaderPool( 10, Long.MAX_VALUE ) ) {
+			NetCDFReaderPool.Lease lease = pool.lease( FIRST );
+			NetCDFReader stale = lease.getReader();
+
+			// The file changed on disk is opened again, the stale reader still work until released
+			Files.setLastModifiedTime( FIRST, FileTime.fromMillis( Files.getLastModifiedTime( FIRST ).toMillis() + 1000 ) );
+			try ( NetCDFReaderPool.Lease changed = pool.lease( FIRST ) ) {
+				Assertions.assertNotSame( stale, changed.getReader() );
+				Assertions.assertEquals( 10, stale.getDimensionLength( DimensionName.TIME ) );
+			}
+			lease.close();
+			Assertions.assertEquals( 1, pool.getInvalidationCount() );
+			Assertions.assertThrows( IllegalStateException.class, lease::getReader );
+		}
+	}
+
+	/**
+	 * Create the NetCDF file with time dimension.
+	 *
+	 * @param path path of file
+	 * @param tSize size of time
+	 * @throws IOException has IO Exception
+	 */
+	private static void create( Path path, int tSize ) throws IOException {
+		Files.deleteIfExists( path );
+		NetCDFBuilder.create( path )
+				.addDimension( DimensionName.TIME, tSize )
+				.addVariable( VariableName.TIME, DataType.DOUBLE, DimensionName.TIME )
+				.build()
+				.close();
+	}
+}
@@ -3,14 +3,36 @@ package tw.fondus.commons.nc;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
+import tw.fondus.commons.nc.util.NetCDFUtils;
+import tw.fondus.commons.nc.util.StatisticsUtils;
+import tw.fondus.commons.nc.util.TimeFactor;
 import tw.fondus.commons.nc.util.key.DimensionName;
+import tw.fondus.commons.nc.util.key.VariableAttribute;
+import tw.fondus.commons.nc.util.key.VariableName;
+import tw.fondus.commons.nc.vo.axis.TimeAxis;
+import tw.fondus.commons.nc.vo.grid.TimeStepGrid;
+import tw.fondus.commons.nc.vo.index.IndexYX;
+import tw.fondus.commons.nc.vo.statistics.GridStatistics;
+import tw.fondus.commons.nc.vo.statistics.Statistics;
+import ucar.ma2.Array;
+import ucar.ma2.ArrayFloat;
+import ucar.ma2.DataType;
+import ucar.ma2.Index;
+import ucar.nc2.Variable;
 
 import java.math.BigDecimal;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * The unit test of NerCDF reader.
@@ -134,6 +156,10 @@ public class NetCDFReaderTest {
 			Assertions.assertTrue( optionalY.isPresent() );
 			Assertions.assertTrue( optionalX.isPresent() );
 
+			// The coordinates are built from the cached axis, each call return the same values
+			Assertions.assertEquals( reader.findYAxis().map( axis -> axis.size() ).orElse( 0 ).intValue(), optionalY.get().size() );
+			Assertions.assertEquals( optionalX.get(), reader.findXCoordinates().orElseThrow( IllegalStateException::new ) );
+
 			optionalY.ifPresent( y -> {
 				reader.findFirstY().ifPresent( firstY -> Assertions.assertEquals( firstY, y.get( 0 ) ) );
 				reader.findLastY().ifPresent( lastY -> Assertions.assertEquals( lastY, y.get( y.size() - 1 ) ) );
@@ -154,6 +180,199 @@ public class NetCDFReaderTest {
 		}
 	}
 
+	@Test
+	public void testReadSubset() throws Exception {
+		try ( NetCDFReader reader = NetCDFReader.read( url )){
+			TimeAxis axis = reader.findTimeAxis( TimeFactor.MINUTE ).orElseThrow( IllegalStateException::new );
+			Assertions.assertEquals( 144, axis.size() );
+			Assertions.assertEquals( 1, axis.indexOfTime( axis.getTime( 1 ) ) );
+
+			Optional<Array> optional = reader.readSubset( "precipitation_radar", TimeFactor.MINUTE, axis.getTime( 0 ), axis.getTime( 1 ),
+					120.0, 23.0, 120.5, 23.5 );
+			Assertions.assertTrue( optional.isPresent() );
+			optional.ifPresent( subset -> {
+				Assertions.assertArrayEquals( new int[]{ 2, 40, 40 }, subset.getShape() );
+				reader.readVariable( "precipitation_radar" ).ifPresent( values -> {
+					Index index = values.getIndex();
+					Assertions.assertEquals( values.getShort( index.set( 1, 241, 160 ) ), subset.getShort( subset.getIndex().set( 1, 0, 0 ) ) );
+				} );
+			} );
+
+			Assertions.assertFalse( reader.readSubset( "precipitation_radar", 100.0, 10.0, 101.0, 11.0 ).isPresent() );
+		}
+	}
+
+	@Test
+	public void testReadSubsetByPosition() throws Exception {
+		// The y and x dimensions are not named as the keys, they are resolved by the position
+		Path path = Paths.get( "src/test/resources/subset_position.nc" );
+		Files.deleteIfExists( path );
+		try ( NetCDFWriter writer = NetCDFBuilder.create( path )
+				.addDimension( DimensionName.TIME, 2 )
+				.addDimension( "latitude", 4 )
+				.addDimension( "longitude", 5 )
+				.addVariable( VariableName.LAT, DataType.DOUBLE, "latitude" )
+				.addVariable( VariableName.LON, DataType.DOUBLE, "longitude" )
+				.addVariable( "rainfall", DataType.FLOAT, DimensionName.TIME, "latitude", "longitude" )
+				.build() ) {
+			ArrayFloat.D3 rainfall = NetCDFUtils.empty3DArrayFloat( 2, 4, 5 );
+			for ( int t = 0; t < 2; t++ ) {
+				for ( int y = 0; y < 4; y++ ) {
+					for ( int x = 0; x < 5; x++ ) {
+						rainfall.set( t, y, x, t * 100 + y * 10 + x );
+					}
+				}
+			}
+			writer.writeValues( VariableName.LAT, NetCDFUtils.create1DArrayDouble( new double[]{ 20, 21, 22, 23 } ) )
+					.writeValues( VariableName.LON, NetCDFUtils.create1DArrayDouble( new double[]{ 120, 121, 122, 123, 124 } ) )
+					.writeValues( "rainfall", rainfall );
+		}
+
+		try ( NetCDFReader reader = NetCDFReader.read( path ) ) {
+			Array subset = reader.readSubset( "rainfall", 121.0, 21.0, 122.0, 22.0 ).orElseThrow( IllegalStateException::new );
+			Assertions.assertArrayEquals( new int[]{ 2, 2, 2 }, subset.getShape() );
+			Assertions.assertEquals( 111, subset.getFloat( subset.getIndex().set( 1, 0, 0 ) ) );
+			Assertions.assertEquals( 22, subset.getFloat( subset.getIndex().set( 0, 1, 1 ) ) );
+		}
+	}
+
+	@Test
+	public void testReadPointSeries() throws Exception {
+		try ( NetCDFReader reader = NetCDFReader.read( url )){
+			List<IndexYX> points = Arrays.asList( new IndexYX( 0, 0 ), new IndexYX( 200, 300 ), new IndexYX( 440, 560 ) );
+			Optional<float[][]> optional = reader.readPointSeries( "precipitation_radar", points );
+			Assertions.assertTrue( optional.isPresent() );
+
+			Variable variable = reader.findVariable( "precipitation_radar" ).orElseThrow( IllegalStateException::new );
+			float scale = NetCDFUtils.readVariableAttributeAsNumber( variable, VariableAttribute.KEY_SCALE, BigDecimal.ONE ).floatValue();
+			float offset = NetCDFUtils.readVariableAttributeAsNumber( variable, VariableAttribute.KEY_OFFSET, BigDecimal.ZERO ).floatValue();
+			float missing = NetCDFUtils.readVariableAttributeAsNumber( variable, VariableAttribute.KEY_MISSING, VariableAttribute.MISSING ).floatValue();
+			float[][] grids = NetCDFUtils.readTYXDimensionArrayFloats( variable.read(), scale, offset, missing, false );
+			optional.ifPresent( series -> {
+				Assertions.assertEquals( points.size(), series.length );
+				for ( int p = 0; p < points.size(); p++ ) {
+					Assertions.assertEquals( 144, series[ p ].length );
+					int cell = NetCDFUtils.create1DIndex( points.get( p ).getRow(), points.get( p ).getCol(), 441 );
+					for ( int t = 0; t < 144; t++ ) {
+						Assertions.assertEquals( grids[ t ][ cell ], series[ p ][ t ] );
+					}
+				}
+			} );
+
+			float[][] outside = reader.readPointSeries( "precipitation_radar", new double[]{ 100.0 }, new double[]{ 10.0 } )
+					.orElseThrow( IllegalStateException::new );
+			Assertions.assertEquals( VariableAttribute.MISSING.floatValue(), outside[ 0 ][ 0 ] );
+		}
+	}
+
+	@Test
+	public void testStreamTimeSteps() throws Exception {
+		try ( NetCDFReader reader = NetCDFReader.read( url )){
+			Variable variable = reader.findVariable( "precipitation_radar" ).orElseThrow( IllegalStateException::new );
+			float scale = NetCDFUtils.readVariableAttributeAsNumber( variable, VariableAttribute.KEY_SCALE, BigDecimal.ONE ).floatValue();
+			float offset = NetCDFUtils.readVariableAttributeAsNumber( variable, VariableAttribute.KEY_OFFSET, BigDecimal.ZERO ).floatValue();
+			float missing = NetCDFUtils.readVariableAttributeAsNumber( variable, VariableAttribute.KEY_MISSING, VariableAttribute.MISSING ).floatValue();
+			float[][] grids = NetCDFUtils.readTYXDimensionArrayFloats( variable.read(), scale, offset, missing, false );
+
+			List<TimeStepGrid> steps = reader.streamTimeSteps( "precipitation_radar" ).collect( Collectors.toList() );
+			Assertions.assertEquals( 144, steps.size() );
+			steps.forEach( step -> Assertions.assertArrayEquals( grids[ step.getTimeIndex() ], step.getValues() ) );
+
+			long parallel = reader.streamTimeSteps( "precipitation_radar" ).parallel()
+					.filter( step -> Arrays.equals( grids[ step.getTimeIndex() ], step.getValues() ) )
+					.count();
+			Assertions.assertEquals( 144, parallel );
+			Assertions.assertEquals( 0, reader.streamTimeSteps( "not_exist" ).count() );
+
+			// Close the short-circuited stream, the pending read-ahead is cancelled and the remaining steps are not read
+			Stream<TimeStepGrid> stream = reader.streamTimeSteps( "precipitation_radar" );
+			Iterator<TimeStepGrid> iterator = stream.iterator();
+			Assertions.assertEquals( 0, iterator.next().getTimeIndex() );
+			stream.close();
+			Assertions.assertFalse( iterator.hasNext() );
+		}
+	}
+
+	@Test
+	public void testComputeStatistics() throws Exception {
+		try ( NetCDFReader reader = NetCDFReader.read( url )){
+			Variable variable = reader.findVariable( "precipitation_radar" ).orElseThrow( IllegalStateException::new );
+			float[][] grids = NetCDFUtils.readTYXDimensionArrayFloats( variable.read(), reader.findCodec( "precipitation_radar" )
+					.orElseThrow( IllegalStateException::new ), false );
+
+			GridStatistics cells = reader.computeCellStatistics( "precipitation_radar" ).orElseThrow( IllegalStateException::new );
+			Assertions.assertEquals( 144, cells.getSteps() );
+			// The cell with the most valid steps, so the statistics are always asserted
+			float missing = VariableAttribute.MISSING.floatValue();
+			int cell = 0;
+			int bestCount = -1;
+			for ( int i = 0; i < grids[ 0 ].length; i++ ) {
+				int count = 0;
+				for ( int t = 0; t < 144; t++ ) {
+					if ( grids[ t ][ i ] != missing ) {
+						count++;
+					}
+				}
+				if ( count > bestCount ) {
+					bestCount = count;
+					cell = i;
+				}
+			}
+
+			int count = 0;
+			float max = Float.NEGATIVE_INFINITY;
+			double sum = 0;
+			for ( int t = 0; t < 144; t++ ) {
+				if ( grids[ t ][ cell ] != missing ) {
+					count++;
+					max = Math.max( max, grids[ t ][ cell ] );
+					sum += grids[ t ][ cell ];
+				}
+			}
+			Assertions.assertTrue( count > 0 );
+			Assertions.assertEquals( count, cells.getCounts()[ cell ] );
+			Assertions.assertEquals( max, cells.getMaxs()[ cell ] );
+			Assertions.assertEquals( sum, cells.getSums()[ cell ], 1e-3 );
+
+			Statistics[] steps = reader.computeStepStatistics( "precipitation_radar", null ).orElseThrow( IllegalStateException::new );
+			Assertions.assertEquals( 144, steps.length );
+			for ( int t = 0; t < 144; t++ ) {
+				Assertions.assertEquals( StatisticsUtils.compute( grids[ t ] ).getSum(), steps[ t ].getSum(), 1e-3 );
+			}
+			Assertions.assertFalse( reader.computeStepStatistics( "not_exist", null ).isPresent() );
+		}
+	}
+
+	@Test
+	public void testReadStationSeries() throws Exception {
+		try ( NetCDFReader reader = NetCDFReader.read( "src/test/resources/Tide_6M_CWB.nc" ) ){
+			List<String> ids = reader.findStationIds().orElseThrow( IllegalStateException::new );
+			Map<String, float[]> all = reader.readStationSeries( "level_tide_observed" ).orElseThrow( IllegalStateException::new );
+			Assertions.assertEquals( ids, new ArrayList<>( all.keySet() ) );
+
+			int tSize = reader.getDimensionLength( DimensionName.TIME );
+			Variable variable = reader.findVariable( "level_tide_observed" ).orElseThrow( IllegalStateException::new );
+			List<BigDecimal> expected = NetCDFUtils.readTimeStationArrayValues( variable.read(), 1,
+					NetCDFUtils.readVariableAttributeAsNumber( variable, VariableAttribute.KEY_SCALE, BigDecimal.ONE ),
+					NetCDFUtils.readVariableAttributeAsNumber( variable, VariableAttribute.KEY_OFFSET, BigDecimal.ZERO ),
+					NetCDFUtils.readVariableAttributeAsNumber( variable, VariableAttribute.KEY_MISSING, VariableAttribute.MISSING ) );
+			float[] column = all.get( "1116" );
+			Assertions.assertEquals( tSize, column.length );
+			for ( int t = 0; t < tSize; t++ ) {
+				Assertions.assertEquals( expected.get( t ).floatValue(), column[ t ], 1e-4 );
+			}
+
+			Map<String, float[]> subset = reader.readStationSeries( "level_tide_observed", Arrays.asList( "1116", "not_exist" ) )
+					.orElseThrow( IllegalStateException::new );
+			Assertions.assertEquals( Collections.singleton( "1116" ), subset.keySet() );
+
+			List<Long> times = reader.findTimes();
+			Map<String, float[]> window = reader.readStationSeries( "level_tide_observed", Collections.singletonList( "1116" ), 1,
+					times.get( 1 ), times.get( 2 ) ).orElseThrow( IllegalStateException::new );
+			Assertions.assertArrayEquals( new float[]{ column[ 1 ], column[ 2 ] }, window.get( "1116" ) );
+		}
+	}
+
 	@Test
 	public void testFindStationId() throws Exception {
 		String url = "src/test/resources/Tide_6M_CWB.nc";
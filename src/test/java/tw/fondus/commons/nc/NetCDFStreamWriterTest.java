@@ -0,0 +1,97 @@
+package tw.fondus.commons.nc;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import tw.fondus.commons.nc.util.NetCDFUtils;
+import tw.fondus.commons.nc.util.key.DimensionName;
+import tw.fondus.commons.nc.util.key.VariableName;
+import ucar.ma2.Array;
+import ucar.ma2.ArrayFloat;
+import ucar.ma2.DataType;
+import ucar.ma2.InvalidRangeException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * The unit test of use stream writer to append time steps into NetCDF.
+ *
+ * @author Brad Chen
+ *
+ */
+public class NetCDFStreamWriterTest {
+	private static final Path PATH = Paths.get( "src/test/resources/stream.nc" );
+	private static final int T_SIZE = 7;
+	private static final int Y_SIZE = 3;
+	private static final int X_SIZE = 4;
+
+	@BeforeAll
+	public static void prepareData() throws IOException {
+		Files.deleteIfExists( PATH );
+	}
+
+	@Test
+	public void test() throws IOException, InvalidRangeException {
+		try ( NetCDFWriter writer = NetCDFBuilder.create( PATH )
+				.addUnlimitedDimension( DimensionName.TIME )
+				.addDimension( DimensionName.Y, Y_SIZE )
+				.addDimension( DimensionName.X, X_SIZE )
+				.addVariable( VariableName.TIME, DataType.DOUBLE, DimensionName.TIME )
+				.addVariable( "rainfall", DataType.FLOAT, DimensionName.TIME, DimensionName.Y, DimensionName.X )
+				.build() ) {
+			try ( NetCDFStreamWriter stream = writer.stream( "rainfall", VariableName.TIME, 3 ) ) {
+				// Single steps, the buffer will be flushed at third step
+				for ( int t = 0; t < 4; t++ ) {
+					stream.append( t * 60, this.step( t ) );
+				}
+
+				// Batch steps cross the buffer boundary
+				ArrayFloat.D3 steps = NetCDFUtils.empty3DArrayFloat( T_SIZE - 4, Y_SIZE, X_SIZE );
+				double[] times = new double[ T_SIZE - 4 ];
+				for ( int t = 4; t < T_SIZE; t++ ) {
+					Array.arraycopy( this.step( t ), 0, steps, ( t - 4 ) * Y_SIZE * X_SIZE, Y_SIZE * X_SIZE );
+					times[ t - 4 ] = t * 60;
+				}
+				stream.appendBatch( times, steps );
+				Assertions.assertEquals( T_SIZE, stream.getSteps() );
+
+				// The values with different element type are rejected before copied into buffer
+				Assertions.assertThrows( IllegalArgumentException.class,
+						() -> stream.append( NetCDFUtils.empty2DArrayDouble( Y_SIZE, X_SIZE ) ) );
+				Assertions.assertEquals( T_SIZE, stream.getSteps() );
+			}
+		}
+
+		try ( NetCDFReader reader = NetCDFReader.read( PATH ) ) {
+			Assertions.assertEquals( T_SIZE, reader.getDimensionLength( DimensionName.TIME ) );
+			Array times = reader.readVariable( VariableName.TIME ).orElseThrow( IllegalStateException::new );
+			Array rainfall = reader.readVariable( "rainfall" ).orElseThrow( IllegalStateException::new );
+			for ( int t = 0; t < T_SIZE; t++ ) {
+				Assertions.assertEquals( t * 60, times.getDouble( t ) );
+				Array expected = this.step( t );
+				for ( int cell = 0; cell < Y_SIZE * X_SIZE; cell++ ) {
+					Assertions.assertEquals( expected.getFloat( cell ), rainfall.getFloat( t * Y_SIZE * X_SIZE + cell ) );
+				}
+			}
+		}
+	}
+
+	/**
+	 * Create the values of time step.
+	 *
+	 * @param t time index
+	 * @return values of time step
+	 */
+	private Array step( int t ) {
+		ArrayFloat.D2 step = NetCDFUtils.empty2DArrayFloat( Y_SIZE, X_SIZE );
+		for ( int y = 0; y < Y_SIZE; y++ ) {
+			for ( int x = 0; x < X_SIZE; x++ ) {
+				step.set( y, x, t * 100 + y * 10 + x );
+			}
+		}
+		return step;
+	}
+}
@@ -0,0 +1,102 @@
+package tw.fondus.commons.nc.catalog;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import tw.fondus.commons.nc.NetCDFBuilder;
+import tw.fondus.commons.nc.NetCDFWriter;
+import tw.fondus.commons.nc.util.TimeFactor;
+import tw.fondus.commons.nc.util.key.DimensionName;
+import tw.fondus.commons.nc.util.key.VariableAttribute;
+import tw.fondus.commons.nc.util.key.VariableName;
+import ucar.ma2.Array;
+import ucar.ma2.DataType;
+import ucar.ma2.InvalidRangeException;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+/**
+ * The unit test of metadata catalog.
+ *
+ * @author Brad Chen
+ *
+ */
+public class NetCDFCatalogTest {
+	private static final Path DIRECTORY = Paths.get( "src/test/resources/catalog" );
+	private static final Path CATALOG = Paths.get( "src/test/resources/catalog.bin" );
+
+	@BeforeAll
+	public static void prepareData() throws IOException, InvalidRangeException {
+		Files.createDirectories( DIRECTORY );
+		Files.deleteIfExists( CATALOG );
+		create( DIRECTORY.resolve( "rainfall_0.nc" ), "rainfall", 0, 120 );
+		create( DIRECTORY.resolve( "rainfall_1.nc" ), "rainfall", 180, 300 );
+		create( DIRECTORY.resolve( "temperature.nc" ), "temperature", 0, 300 );
+		Files.write( DIRECTORY.resolve( "readme.txt" ), "not a NetCDF".getBytes( StandardCharsets.US_ASCII ) );
+	}
+
+	@Test
+	public void test() throws IOException {
+		NetCDFCatalog catalog = NetCDFCatalog.scan( DIRECTORY, TimeFactor.MINUTE );
+		Assertions.assertEquals( 3, catalog.getEntries().size() );
+
+		CatalogEntry entry = catalog.findEntry( DIRECTORY.resolve( "rainfall_1.nc" ) ).orElseThrow( IllegalStateException::new );
+		Assertions.assertEquals( 180 * TimeFactor.MINUTE, entry.getFirstTime() );
+		Assertions.assertEquals( 300 * TimeFactor.MINUTE, entry.getLastTime() );
+		Assertions.assertEquals( 3, entry.getTimeCount() );
+		Assertions.assertEquals( 2, entry.getDimensions().get( DimensionName.Y ).intValue() );
+		Assertions.assertEquals( 121.5, entry.getMaxX() );
+		Assertions.assertEquals( 23.0, entry.getMinY() );
+
+		List<CatalogEntry> found = catalog.find( CatalogQuery.create().variable( "rainfall" ).time( 150 * TimeFactor.MINUTE, 200 * TimeFactor.MINUTE ) );
+		Assertions.assertEquals( 1, found.size() );
+		Assertions.assertEquals( entry.getPath(), found.get( 0 ).getPath() );
+		Assertions.assertEquals( 2, catalog.find( CatalogQuery.create().time( 250 * TimeFactor.MINUTE, 400 * TimeFactor.MINUTE ) ).size() );
+		Assertions.assertEquals( 3, catalog.find( CatalogQuery.create().boundingBox( 121.2, 23.2, 122, 24 ) ).size() );
+		Assertions.assertTrue( catalog.find( CatalogQuery.create().boundingBox( 100, 10, 101, 11 ) ).isEmpty() );
+		Assertions.assertTrue( catalog.find( CatalogQuery.create().variable( "unknown" ) ).isEmpty() );
+
+		// The saved catalog is reused, only the changed files are scanned
+		catalog.save( CATALOG );
+		NetCDFCatalog loaded = NetCDFCatalog.load( CATALOG );
+		Assertions.assertEquals( catalog.getEntries().size(), loaded.getEntries().size() );
+		Assertions.assertEquals( catalog.findVariables(), loaded.findVariables() );
+		NetCDFCatalog refreshed = NetCDFCatalog.refresh( DIRECTORY, TimeFactor.MINUTE, loaded );
+		for ( int i = 0; i < loaded.getEntries().size(); i++ ) {
+			Assertions.assertSame( loaded.getEntries().get( i ), refreshed.getEntries().get( i ) );
+		}
+	}
+
+	/**
+	 * Create the file with three time steps and two by two grid.
+	 *
+	 * @param path path of file
+	 * @param variable name of variable
+	 * @param firstTime first time in minutes
+	 * @param lastTime last time in minutes
+	 * @throws IOException has IO Exception
+	 * @throws InvalidRangeException has Invalid Range Exception
+	 */
+	private static void create( Path path, String variable, int firstTime, int lastTime ) throws IOException, InvalidRangeException {
+		Files.deleteIfExists( path );
+		try ( NetCDFWriter writer = NetCDFBuilder.create( path )
+				.addDimension( DimensionName.TIME, 3 )
+				.addDimension( DimensionName.Y, 2 )
+				.addDimension( DimensionName.X, 2 )
+				.addVariable( VariableName.TIME, DataType.DOUBLE, DimensionName.TIME )
+				.addVariableAttribute( VariableName.TIME, VariableAttribute.KEY_UNITS, VariableAttribute.UNITS_TIME_MINUTES )
+				.addVariable( VariableName.Y, DataType.DOUBLE, DimensionName.Y )
+				.addVariable( VariableName.X, DataType.DOUBLE, DimensionName.X )
+				.addVariable( variable, DataType.FLOAT, DimensionName.TIME, DimensionName.Y, DimensionName.X )
+				.build() ) {
+			writer.writeValues( VariableName.TIME, Array.factory( new double[]{ firstTime, ( firstTime + lastTime ) / 2.0, lastTime } ) );
+			writer.writeValues( VariableName.Y, Array.factory( new double[]{ 23.0, 23.5 } ) );
+			writer.writeValues( VariableName.X, Array.factory( new double[]{ 121.0, 121.5 } ) );
+		}
+	}
+}
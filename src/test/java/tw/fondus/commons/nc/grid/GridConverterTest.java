@@ -0,0 +1,80 @@
+package tw.fondus.commons.nc.grid;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import tw.fondus.commons.nc.NetCDFReader;
+import ucar.nc2.dt.GridDatatype;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The unit test of grid converter.
+ *
+ * @author Brad Chen
+ *
+ */
+public class GridConverterTest {
+	private static final Path INPUT = Paths.get( "src/test/resources/gfs.t00z.pgrb2.0p25.anl" );
+	private static final Path OUTPUT = Paths.get( "src/test/resources/gfs_converted.nc" );
+	private static final String GRID = "Temperature_height_above_ground";
+
+	@BeforeAll
+	public static void setUp() throws IOException {
+		Assertions.assertTrue( Files.exists( INPUT ) );
+		Files.deleteIfExists( OUTPUT );
+	}
+
+	@Test
+	public void testConvert() throws Exception {
+		// The small slice limit force the grids to be read level by level
+		ConversionResult result = new GridConverter( 1, 1L << 20 ).convert( INPUT, OUTPUT );
+		Assertions.assertTrue( result.isSuccess(), result.getError().orElse( "" ) );
+		Assertions.assertTrue( result.getVariables().contains( GRID ) );
+		Assertions.assertTrue( result.getBytes() > 0 );
+
+		try ( GridDataReader grid = GridDataReader.read( INPUT.toString() );
+				NetCDFReader reader = NetCDFReader.read( OUTPUT ) ) {
+			GridDatatype source = grid.findGridDataType( GRID ).orElseThrow( IllegalStateException::new );
+			Assertions.assertTrue( reader.hasVariable( GRID ) );
+			Assertions.assertArrayEquals( source.getShape(), reader.findVariable( GRID ).orElseThrow( IllegalStateException::new ).getShape() );
+			Assertions.assertEquals( source.readDataSlice( 0, 0, 10, 10 ).getFloat( 0 ),
+					reader.readVariable( GRID ).orElseThrow( IllegalStateException::new ).getFloat( 10 * source.getShape()[ source.getRank() - 1 ] + 10 ) );
+		}
+	}
+
+	@Test
+	public void testConvertAll() {
+		Path missing = Paths.get( "src/test/resources/missing.grb2" );
+		ConversionReport report = new GridConverter( 2, GridConverter.DEFAULT_SLICE_BYTES )
+				.convertAll( Arrays.asList( INPUT, missing ), Paths.get( "src/test/resources" ) );
+		Assertions.assertEquals( 2, report.getFiles() );
+		Assertions.assertEquals( 1, report.getSucceeded() );
+		Assertions.assertFalse( report.getResults().get( 1 ).isSuccess() );
+		Assertions.assertFalse( Files.exists( Paths.get( "src/test/resources/missing.nc" ) ) );
+		Assertions.assertTrue( report.getBytesPerSecond() > 0 );
+	}
+
+	@Test
+	public void testUniqueOutputs() {
+		// The same name in different directories, e.g. the GFS archive split by date
+		Path first = Paths.get( "src/test/resources/20200101/missing.grb2" );
+		Path second = Paths.get( "src/test/resources/20200102/missing.grb2" );
+		Path directory = Paths.get( "src/test/resources" );
+		ConversionReport report = new GridConverter( 2, GridConverter.DEFAULT_SLICE_BYTES )
+				.convertAll( Arrays.asList( first, second ), directory );
+		Assertions.assertEquals( directory.resolve( "missing.nc" ), report.getResults().get( 0 ).getOutput() );
+		Assertions.assertEquals( directory.resolve( "missing_1.nc" ), report.getResults().get( 1 ).getOutput() );
+
+		Map<Path, Path> jobs = new LinkedHashMap<>();
+		jobs.put( first, directory.resolve( "missing.nc" ) );
+		jobs.put( second, directory.resolve( "missing.nc" ) );
+		Assertions.assertThrows( IllegalArgumentException.class, () -> new GridConverter( 2, GridConverter.DEFAULT_SLICE_BYTES ).convertAll( jobs ) );
+	}
+}
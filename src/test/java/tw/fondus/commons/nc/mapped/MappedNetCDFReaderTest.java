@@ -0,0 +1,125 @@
+package tw.fondus.commons.nc.mapped;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import tw.fondus.commons.nc.NetCDFBuilder;
+import tw.fondus.commons.nc.NetCDFReader;
+import tw.fondus.commons.nc.NetCDFWriter;
+import tw.fondus.commons.nc.util.NetCDFUtils;
+import tw.fondus.commons.nc.util.key.DimensionName;
+import tw.fondus.commons.nc.util.key.VariableAttribute;
+import tw.fondus.commons.nc.util.key.VariableName;
+import ucar.ma2.Array;
+import ucar.ma2.ArrayDouble;
+import ucar.ma2.ArrayFloat;
+import ucar.ma2.ArrayShort;
+import ucar.ma2.DataType;
+import ucar.ma2.InvalidRangeException;
+
+import java.io.IOException;
+import java.nio.FloatBuffer;
+import java.nio.ShortBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * The unit test of memory-mapped reader compare with NetCDF reader.
+ *
+ * @author Brad Chen
+ *
+ */
+public class MappedNetCDFReaderTest {
+	private static final int T_SIZE = 3;
+	private static final int Y_SIZE = 5;
+	private static final int X_SIZE = 7;
+
+	@Test
+	public void testClassic() throws IOException, InvalidRangeException {
+		this.testMapped( Paths.get( "src/test/resources/mapped_classic.nc" ), false );
+	}
+
+	@Test
+	public void testLargeFile() throws IOException, InvalidRangeException {
+		this.testMapped( Paths.get( "src/test/resources/mapped_large.nc" ), true );
+	}
+
+	private void testMapped( Path path, boolean isLargeFile ) throws IOException, InvalidRangeException {
+		this.create( path, isLargeFile );
+
+		try ( MappedNetCDFReader mapped = MappedNetCDFReader.read( path );
+				NetCDFReader reader = NetCDFReader.read( path ) ) {
+			Assertions.assertEquals( isLargeFile, mapped.isLargeFile() );
+			Assertions.assertEquals( T_SIZE, mapped.getRecords() );
+
+			FloatBuffer rainfall = mapped.readFloats( "rainfall" ).orElseThrow( IllegalStateException::new );
+			Array expectedRainfall = reader.readVariable( "rainfall" ).orElseThrow( IllegalStateException::new );
+			Assertions.assertEquals( expectedRainfall.getSize(), rainfall.remaining() );
+			for ( int i = 0; i < rainfall.remaining(); i++ ) {
+				Assertions.assertEquals( expectedRainfall.getFloat( i ), rainfall.get( i ) );
+			}
+
+			ShortBuffer packed = mapped.readShorts( "packed" ).orElseThrow( IllegalStateException::new );
+			Array expectedPacked = reader.readVariable( "packed" ).orElseThrow( IllegalStateException::new );
+			for ( int i = 0; i < packed.remaining(); i++ ) {
+				Assertions.assertEquals( expectedPacked.getShort( i ), packed.get( i ) );
+			}
+			MappedVariable variable = mapped.findVariable( "packed" ).orElseThrow( IllegalStateException::new );
+			Assertions.assertEquals( 0.5F, variable.findNumberAttribute( VariableAttribute.KEY_SCALE )
+					.orElseThrow( IllegalStateException::new ).floatValue() );
+
+			Array y = mapped.readVariable( VariableName.Y ).orElseThrow( IllegalStateException::new );
+			Assertions.assertArrayEquals( new int[]{ Y_SIZE }, y.getShape() );
+			Assertions.assertEquals( Y_SIZE - 1, y.getDouble( Y_SIZE - 1 ) );
+
+			Assertions.assertTrue( mapped.findVariable( VariableName.TIME ).orElseThrow( IllegalStateException::new ).isRecord() );
+			Assertions.assertThrows( IllegalStateException.class, () -> mapped.readDoubles( VariableName.TIME ) );
+			Assertions.assertThrows( IllegalArgumentException.class, () -> mapped.readDoubles( "rainfall" ) );
+			Assertions.assertFalse( mapped.readFloats( "not_exist" ).isPresent() );
+		}
+	}
+
+	/**
+	 * Create the NetCDF with record and non-record variables.
+	 *
+	 * @param path path of file
+	 * @param isLargeFile is 64-bit offset format or not
+	 * @throws IOException has IO Exception
+	 * @throws InvalidRangeException has Invalid Range Exception
+	 */
+	private void create( Path path, boolean isLargeFile ) throws IOException, InvalidRangeException {
+		Files.deleteIfExists( path );
+		ArrayDouble.D1 times = NetCDFUtils.empty1DArrayDouble( T_SIZE );
+		ArrayDouble.D1 y = NetCDFUtils.empty1DArrayDouble( Y_SIZE );
+		ArrayFloat.D3 rainfall = NetCDFUtils.empty3DArrayFloat( T_SIZE, Y_SIZE, X_SIZE );
+		ArrayShort.D2 packed = new ArrayShort.D2( Y_SIZE, X_SIZE );
+		for ( int t = 0; t < T_SIZE; t++ ) {
+			times.set( t, t * 60 );
+			for ( int j = 0; j < Y_SIZE; j++ ) {
+				y.set( j, j );
+				for ( int i = 0; i < X_SIZE; i++ ) {
+					rainfall.set( t, j, i, t * 100 + j * 10 + i + 0.5F );
+					packed.set( j, i, (short) ( j * X_SIZE + i - 10 ) );
+				}
+			}
+		}
+
+		try ( NetCDFWriter writer = NetCDFBuilder.create( path, isLargeFile )
+				.addUnlimitedDimension( DimensionName.TIME )
+				.addDimension( "time_step", T_SIZE )
+				.addDimension( DimensionName.Y, Y_SIZE )
+				.addDimension( DimensionName.X, X_SIZE )
+				.addVariable( VariableName.TIME, DataType.DOUBLE, DimensionName.TIME )
+				.addVariable( VariableName.Y, DataType.DOUBLE, DimensionName.Y )
+				.addVariable( "rainfall", DataType.FLOAT, "time_step", DimensionName.Y, DimensionName.X )
+				.addVariableAttribute( "rainfall", VariableAttribute.KEY_UNITS, "mm" )
+				.addVariable( "packed", DataType.SHORT, DimensionName.Y, DimensionName.X )
+				.addVariableAttribute( "packed", VariableAttribute.KEY_SCALE, 0.5F )
+				.build() ) {
+			writer.writeValues( VariableName.TIME, times )
+					.writeValues( VariableName.Y, y )
+					.writeValues( "rainfall", rainfall )
+					.writeValues( "packed", packed );
+		}
+	}
+}
@@ -0,0 +1,99 @@
+package tw.fondus.commons.nc.resample;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import tw.fondus.commons.nc.NetCDFBuilder;
+import tw.fondus.commons.nc.NetCDFReader;
+import tw.fondus.commons.nc.NetCDFStreamWriter;
+import tw.fondus.commons.nc.NetCDFWriter;
+import tw.fondus.commons.nc.util.NetCDFUtils;
+import tw.fondus.commons.nc.util.TimeFactor;
+import tw.fondus.commons.nc.util.key.DimensionName;
+import tw.fondus.commons.nc.util.key.VariableAttribute;
+import tw.fondus.commons.nc.util.key.VariableName;
+import ucar.ma2.Array;
+import ucar.ma2.ArrayFloat;
+import ucar.ma2.DataType;
+import ucar.ma2.InvalidRangeException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * The unit test of temporal resampler.
+ *
+ * @author Brad Chen
+ *
+ */
+public class TimeResamplerTest {
+	private static final Path SOURCE = Paths.get( "src/test/resources/resample_source.nc" );
+	private static final Path TARGET = Paths.get( "src/test/resources/resample_target.nc" );
+	private static final long MINUTE = 60000L;
+	private static final float MISSING = VariableAttribute.MISSING.floatValue();
+
+	@BeforeAll
+	public static void prepareData() throws IOException {
+		Files.deleteIfExists( SOURCE );
+		Files.deleteIfExists( TARGET );
+	}
+
+	@Test
+	public void testSeries() {
+		// 10-minute series from 00:10 to 01:30 with a missing value and a gap of the second hour
+		long[] times = new long[]{ 10 * MINUTE, 20 * MINUTE, 30 * MINUTE, 40 * MINUTE, 50 * MINUTE, 60 * MINUTE, 130 * MINUTE };
+		float[] values = new float[]{ 1, 2, MISSING, 4, 5, 6, 7 };
+
+		ResampledSeries sum = TimeResampler.of( Aggregation.SUM, TimeFactor.HOUR ).resample( times, values );
+		Assertions.assertArrayEquals( new long[]{ TimeFactor.HOUR, 2 * TimeFactor.HOUR, 3 * TimeFactor.HOUR }, sum.getTimes() );
+		Assertions.assertArrayEquals( new float[]{ 18, MISSING, 7 }, sum.getValues() );
+
+		ResampledSeries max = TimeResampler.of( Aggregation.MAX, TimeFactor.HOUR ).leftClosed().resample( times, values );
+		Assertions.assertArrayEquals( new long[]{ 0, TimeFactor.HOUR, 2 * TimeFactor.HOUR }, max.getTimes() );
+		Assertions.assertArrayEquals( new float[]{ 5, 6, 7 }, max.getValues() );
+
+		ResampledSeries mean = TimeResampler.of( Aggregation.MEAN, TimeFactor.HOUR ).withMinCount( 6 ).resample( times, values );
+		Assertions.assertEquals( MISSING, mean.getValues()[ 0 ] );
+		Assertions.assertEquals( 0, TimeResampler.of( Aggregation.LAST, TimeFactor.HOUR ).resample( new long[ 0 ], new float[ 0 ] ).size() );
+		Assertions.assertThrows( IllegalArgumentException.class,
+				() -> TimeResampler.of( Aggregation.SUM, TimeFactor.HOUR ).resample( new long[]{ 2, 1 }, new float[]{ 1, 1 } ) );
+	}
+
+	@Test
+	public void testGrid() throws IOException, InvalidRangeException {
+		// Twelve 10-minute steps in minutes since epoch, each cell is the step index
+		try ( NetCDFWriter writer = NetCDFBuilder.create( SOURCE )
+				.addUnlimitedDimension( DimensionName.TIME )
+				.addDimension( DimensionName.Y, 2 )
+				.addDimension( DimensionName.X, 3 )
+				.addVariable( VariableName.TIME, DataType.DOUBLE, DimensionName.TIME )
+				.addVariableAttribute( VariableName.TIME, VariableAttribute.KEY_UNITS, VariableAttribute.UNITS_TIME_MINUTES )
+				.addVariable( "rainfall", DataType.FLOAT, DimensionName.TIME, DimensionName.Y, DimensionName.X )
+				.build();
+				NetCDFStreamWriter stream = writer.stream( "rainfall", VariableName.TIME, 4 ) ) {
+			for ( int t = 1; t <= 12; t++ ) {
+				ArrayFloat.D2 step = NetCDFUtils.empty2DArrayFloat( 2, 3 );
+				for ( int cell = 0; cell < 6; cell++ ) {
+					step.setFloat( cell, t );
+				}
+				stream.append( t * 10, step );
+			}
+		}
+
+		try ( NetCDFReader reader = NetCDFReader.read( SOURCE ) ) {
+			int windows = TimeResampler.of( Aggregation.SUM, TimeFactor.HOUR ).resample( reader, "rainfall", TimeFactor.MINUTE, TARGET );
+			Assertions.assertEquals( 2, windows );
+		}
+
+		try ( NetCDFReader reader = NetCDFReader.read( TARGET ) ) {
+			Array times = reader.readVariable( VariableName.TIME ).orElseThrow( IllegalStateException::new );
+			Array rainfall = reader.readVariable( "rainfall" ).orElseThrow( IllegalStateException::new );
+			Assertions.assertEquals( 60, times.getDouble( 0 ) );
+			Assertions.assertEquals( 120, times.getDouble( 1 ) );
+			Assertions.assertEquals( 21F, rainfall.getFloat( 0 ) );
+			Assertions.assertEquals( 57F, rainfall.getFloat( 6 ) );
+		}
+	}
+}
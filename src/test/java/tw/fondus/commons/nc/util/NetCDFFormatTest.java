@@ -0,0 +1,59 @@
+package tw.fondus.commons.nc.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import tw.fondus.commons.nc.NetCDFReader;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+/**
+ * The unit test of NetCDF format detection.
+ *
+ * @author Brad Chen
+ *
+ */
+public class NetCDFFormatTest {
+	@Test
+	public void testDetect() throws IOException {
+		Assertions.assertEquals( NetCDFFormat.HDF5, NetCDFFormat.detect( "src/test/resources/Tide_6M_CWB.nc" ) );
+		Assertions.assertEquals( NetCDFFormat.UNKNOWN, NetCDFFormat.detect( "src/test/resources/not_exist.nc" ) );
+
+		Path classic = Paths.get( "src/test/resources/format_classic.nc" );
+		Files.write( classic, new byte[] { 'C', 'D', 'F', 1, 0, 0, 0, 0 } );
+		Assertions.assertEquals( NetCDFFormat.NETCDF3_CLASSIC, NetCDFFormat.detect( classic ) );
+		Assertions.assertTrue( NetCDFFormat.detect( classic ).isClassic() );
+
+		Path grib = Paths.get( "src/test/resources/format_grib.grb2" );
+		Files.write( grib, "WMO HEADER\r\r\nGRIB\0\0\0\2".getBytes( StandardCharsets.ISO_8859_1 ) );
+		Assertions.assertEquals( NetCDFFormat.GRIB2, NetCDFFormat.detect( grib ) );
+
+		// The HDF5 super block after the user block, in the header and after the header
+		Path hdf5 = Paths.get( "src/test/resources/format_hdf5.nc" );
+		byte[] magic = { (byte) 0x89, 'H', 'D', 'F', '\r', '\n', 0x1A, '\n' };
+		byte[] bytes = new byte[ 8192 + 64 ];
+		System.arraycopy( magic, 0, bytes, 512, magic.length );
+		Files.write( hdf5, bytes );
+		Assertions.assertEquals( NetCDFFormat.HDF5, NetCDFFormat.detect( hdf5 ) );
+		Arrays.fill( bytes, (byte) 0 );
+		System.arraycopy( magic, 0, bytes, 8192, magic.length );
+		Files.write( hdf5, bytes );
+		Assertions.assertEquals( NetCDFFormat.HDF5, NetCDFFormat.detect( hdf5 ) );
+
+		Files.deleteIfExists( classic );
+		Files.deleteIfExists( grib );
+		Files.deleteIfExists( hdf5 );
+	}
+
+	@Test
+	public void testRead() throws IOException {
+		try ( NetCDFReader reader = NetCDFReader.read( "src/test/resources/Tide_6M_CWB.nc" ) ) {
+			Assertions.assertEquals( NetCDFFormat.HDF5, reader.getFormat() );
+		}
+		Assertions.assertThrows( IllegalStateException.class, () -> NetCDFReader.read( "src/test/resources/not_exist.nc" ) );
+	}
+}
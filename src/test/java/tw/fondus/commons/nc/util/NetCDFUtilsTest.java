@@ -7,11 +7,15 @@ import tw.fondus.commons.nc.NetCDFReader;
 import tw.fondus.commons.nc.util.key.VariableAttribute;
 import tw.fondus.commons.nc.util.key.VariableName;
 import ucar.ma2.Array;
+import ucar.ma2.ArrayFloat;
+import ucar.ma2.ArrayShort;
 import ucar.ma2.DataType;
 import ucar.ma2.Index;
 
 import java.io.IOException;
 import java.math.BigDecimal;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -127,6 +131,31 @@ public class NetCDFUtilsTest {
 		);
 	}
 
+	@Test
+	public void testPrimitiveArray(){
+		float[] yxValues = new float[ 12 * 11 ];
+		IntStream.range( 0, yxValues.length ).forEach( i -> yxValues[i] = i );
+
+		Assertions.assertAll( "Create Array with Primitive",
+				() -> Assertions.assertEquals( 10, NetCDFUtils.create1DArrayShort( new short[10] ).getSize() ),
+				() -> Assertions.assertEquals( 10, NetCDFUtils.create1DArrayInteger( new int[10] ).getSize() ),
+				() -> Assertions.assertEquals( 10, NetCDFUtils.create1DArrayDouble( new double[10] ).getSize() ),
+				() -> Assertions.assertSame( yxValues, NetCDFUtils.create2DArrayFloat( yxValues, 12, 11 ).getStorage() ),
+				() -> Assertions.assertSame( yxValues, NetCDFUtils.create2DArrayFloat( FloatBuffer.wrap( yxValues ), 12, 11, false ).getStorage() ),
+				() -> Assertions.assertEquals( 3 * 4 * 11, NetCDFUtils.create3DArrayDouble( DoubleBuffer.allocate( 3 * 4 * 11 ), 3, 4, 11, true ).getSize() )
+		);
+
+		ArrayFloat.D2 inverted = NetCDFUtils.create2DArrayFloat( yxValues, 12, 11, true );
+		Assertions.assertEquals( yxValues[ NetCDFUtils.create1DIndex( 11, 3, 11 ) ], inverted.get( 0, 3 ) );
+		Assertions.assertEquals( yxValues[ NetCDFUtils.create1DIndex( 0, 10, 11 ) ], inverted.get( 11, 10 ) );
+
+		short[] tyxValues = new short[ 2 * 12 * 11 ];
+		IntStream.range( 0, tyxValues.length ).forEach( i -> tyxValues[i] = (short) i );
+		ArrayShort.D3 invertedCube = NetCDFUtils.create3DArrayShort( tyxValues, 2, 12, 11, true );
+		Assertions.assertEquals( tyxValues[ 12 * 11 + NetCDFUtils.create1DIndex( 11, 5, 11 ) ], invertedCube.get( 1, 0, 5 ) );
+		Assertions.assertThrows( IllegalArgumentException.class, () -> NetCDFUtils.create2DArrayFloat( yxValues, 11, 11 ) );
+	}
+
 	@Test
 	public void testDataType() throws IOException {
 		try ( NetCDFReader reader = NetCDFReader.read( url ) ){
@@ -272,6 +301,34 @@ public class NetCDFUtilsTest {
 		}
 	}
 
+	@Test
+	public void testReadPrimitiveArrayValues(){
+		ArrayShort.D3 values = NetCDFUtils.empty3DArrayShort( 3, 4, 5 );
+		IntStream.range( 0, 3 ).forEach( t ->
+			IntStream.range( 0, 4 ).forEach( y ->
+				IntStream.range( 0, 5 ).forEach( x -> values.set( t, y, x, (short) ( t * 100 + y * 10 + x ) ) )
+			)
+		);
+		values.set( 1, 2, 3, Short.MIN_VALUE );
+
+		BigDecimal scale = new BigDecimal( "0.25" );
+		BigDecimal offset = new BigDecimal( "1" );
+		BigDecimal missing = new BigDecimal( Short.MIN_VALUE );
+		List<List<BigDecimal>> expected = NetCDFUtils.readTYXDimensionArrayValues( values, scale, offset, missing, true );
+		float[][] floats = NetCDFUtils.readTYXDimensionArrayFloats( values, 0.25F, 1F, Short.MIN_VALUE, true );
+		double[][] doubles = NetCDFUtils.readTYXDimensionArrayDoubles( values, 0.25, 1, Short.MIN_VALUE, true );
+
+		Assertions.assertEquals( expected.size(), floats.length );
+		IntStream.range( 0, expected.size() ).forEach( t -> {
+			Assertions.assertEquals( expected.get( t ).size(), floats[t].length );
+			IntStream.range( 0, floats[t].length ).forEach( i -> {
+				Assertions.assertEquals( expected.get( t ).get( i ).floatValue(), floats[t][i] );
+				Assertions.assertEquals( expected.get( t ).get( i ).doubleValue(), doubles[t][i] );
+			} );
+		} );
+		Assertions.assertEquals( VariableAttribute.MISSING.floatValue(), NetCDFUtils.sliceTDimensionArrayYXFloats( values, 1, 0.25F, 1F, Short.MIN_VALUE, false )[ 2 * 5 + 3 ] );
+	}
+
 	@Test
 	public void testReadTimeStationArrayValues() throws IOException {
 		Path path = Paths.get( "src/test/resources/Tide_6M_CWB.nc" );
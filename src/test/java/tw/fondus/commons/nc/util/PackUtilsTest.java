@@ -0,0 +1,54 @@
+package tw.fondus.commons.nc.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import tw.fondus.commons.nc.util.key.VariableAttribute;
+
+import java.math.BigDecimal;
+
+/**
+ * The unit test of bulk pack and unpack kernels compare with NetCDF tools.
+ *
+ * @author Brad Chen
+ *
+ */
+public class PackUtilsTest {
+	private static final float MISSING = VariableAttribute.MISSING.floatValue();
+
+	@Test
+	public void testPackShorts() {
+		float[] values = { 0F, 0.125F, -0.125F, 0.375F, -0.375F, 12.3F, -7.9F, 100F };
+		short[] packed = PackUtils.packShorts( values, 0.25F, 0F, Short.MIN_VALUE );
+		BigDecimal scale = new BigDecimal( "0.25" );
+		for ( int i = 0; i < values.length; i++ ) {
+			BigDecimal expected = NetCDFUtils.packageValue( new BigDecimal( String.valueOf( values[ i ] ) ), scale, BigDecimal.ZERO );
+			Assertions.assertEquals( expected.shortValue(), packed[ i ] );
+		}
+	}
+
+	@Test
+	public void testMissingAndClamp() {
+		float[] values = { MISSING, Float.NaN, 1e6F, -1e6F };
+		short[] packed = PackUtils.packShorts( values, 1F, 0F, Short.MIN_VALUE );
+		Assertions.assertArrayEquals( new short[]{ Short.MIN_VALUE, Short.MIN_VALUE, Short.MAX_VALUE, Short.MIN_VALUE + 1 }, packed );
+
+		float[] unpacked = new float[ packed.length ];
+		PackUtils.unpack( packed, 1F, 0F, Short.MIN_VALUE, unpacked );
+		Assertions.assertEquals( MISSING, unpacked[ 0 ] );
+		Assertions.assertEquals( MISSING, unpacked[ 1 ] );
+		Assertions.assertEquals( Short.MAX_VALUE, unpacked[ 2 ] );
+	}
+
+	@Test
+	public void testRoundTrip() {
+		double[] values = { 1.05, 2.15, -3.25, 1000.5, MISSING };
+		int[] packed = new int[ values.length ];
+		PackUtils.packInts( values, 0.1, 1.0, -1, packed );
+		double[] unpacked = new double[ values.length ];
+		PackUtils.unpack( packed, 0.1, 1.0, -1, unpacked );
+		for ( int i = 0; i < values.length; i++ ) {
+			Assertions.assertEquals( values[ i ], unpacked[ i ], 0.05 + 1e-9 );
+		}
+		Assertions.assertEquals( -1, packed[ values.length - 1 ] );
+	}
+}
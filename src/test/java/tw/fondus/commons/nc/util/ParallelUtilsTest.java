@@ -0,0 +1,116 @@
+package tw.fondus.commons.nc.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import ucar.ma2.ArrayFloat;
+import ucar.ma2.Index;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.stream.IntStream;
+
+/**
+ * The unit test of parallel tools, which also stress the parallel decode compare with serial decode.
+ *
+ * @author Brad Chen
+ *
+ */
+public class ParallelUtilsTest {
+	private static final int T_SIZE = 12;
+	private static final int Y_SIZE = 257;
+	private static final int X_SIZE = 263;
+	private static final float SCALE = 0.25F;
+	private static final float OFFSET = 1F;
+	private static final float MISSING = -32768F;
+
+	private static ArrayFloat.D3 values;
+	private static float[][] expected;
+
+	@BeforeAll
+	public static void prepareData() {
+		values = NetCDFUtils.empty3DArrayFloat( T_SIZE, Y_SIZE, X_SIZE );
+		expected = new float[ T_SIZE ][ Y_SIZE * X_SIZE ];
+		Index index = values.getIndex();
+		for ( int t = 0; t < T_SIZE; t++ ) {
+			for ( int y = 0; y < Y_SIZE; y++ ) {
+				for ( int x = 0; x < X_SIZE; x++ ) {
+					float value = ( t * 31 + y * 7 + x ) % 97 == 0 ? MISSING : t * 1000 + y * 3 + x;
+					values.setFloat( index.set( t, y, x ), value );
+					expected[ t ][ NetCDFUtils.create1DIndex( Y_SIZE - y - 1, x, X_SIZE ) ] =
+							NetCDFUtils.originalValue( value, SCALE, OFFSET, MISSING );
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testRowBlockCoverage() {
+		int rows = 10007;
+		AtomicIntegerArray visits = new AtomicIntegerArray( rows );
+		ForkJoinPool pool = new ForkJoinPool( 4 );
+		try {
+			ParallelUtils.forEachRowBlock( pool, rows, 13, ( fromRow, toRow ) ->
+					IntStream.range( fromRow, toRow ).forEach( visits::incrementAndGet ) );
+		} finally {
+			pool.shutdown();
+		}
+		IntStream.range( 0, rows ).forEach( row -> Assertions.assertEquals( 1, visits.get( row ) ) );
+	}
+
+	@Test
+	public void testIndexVisitorCoverage() {
+		AtomicIntegerArray visits = new AtomicIntegerArray( T_SIZE * Y_SIZE * X_SIZE );
+		ParallelUtils.forEachIndex( T_SIZE, Y_SIZE, X_SIZE, ( t, y, x, cell ) -> {
+			Assertions.assertEquals( NetCDFUtils.create1DIndex( y, x, X_SIZE ), cell );
+			visits.incrementAndGet( t * Y_SIZE * X_SIZE + cell );
+		} );
+		IntStream.range( 0, visits.length() ).forEach( i -> Assertions.assertEquals( 1, visits.get( i ) ) );
+
+		AtomicIntegerArray shimVisits = new AtomicIntegerArray( 3 * 4 * 5 );
+		NetCDFUtils.parallelRange3D( 3, 4, 5 ).forEach( index ->
+				shimVisits.incrementAndGet( index.getTime() * 20 + NetCDFUtils.create1DIndex( index.getRow(), index.getCol(), 5 ) ) );
+		IntStream.range( 0, shimVisits.length() ).forEach( i -> Assertions.assertEquals( 1, shimVisits.get( i ) ) );
+	}
+
+	@Test
+	public void testConcurrentDecodeEqualsSerial() throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool( 8 );
+		try {
+			List<Future<float[][]>> futures = new ArrayList<>();
+			IntStream.range( 0, 32 ).forEach( i -> futures.add( executor.submit( () ->
+					NetCDFUtils.readTYXDimensionArrayFloats( values, SCALE, OFFSET, MISSING, true ) ) ) );
+			for ( Future<float[][]> future : futures ) {
+				float[][] decoded = future.get();
+				IntStream.range( 0, T_SIZE ).forEach( t -> Assertions.assertArrayEquals( expected[ t ], decoded[ t ] ) );
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void testConcurrentSliceEqualsSerial() throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool( 8 );
+		try {
+			List<Future<List<BigDecimal>>> futures = new ArrayList<>();
+			IntStream.range( 0, 16 ).forEach( i -> futures.add( executor.submit( () ->
+					NetCDFUtils.sliceTDimensionArrayYXValues( values, i % T_SIZE, new BigDecimal( "0.25" ), BigDecimal.ONE,
+							new BigDecimal( "-32768" ), true ) ) ) );
+			for ( int i = 0; i < futures.size(); i++ ) {
+				List<BigDecimal> decoded = futures.get( i ).get();
+				float[] grid = expected[ i % T_SIZE ];
+				Assertions.assertEquals( grid.length, decoded.size() );
+				IntStream.range( 0, grid.length ).forEach( cell -> Assertions.assertEquals( grid[ cell ], decoded.get( cell ).floatValue() ) );
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+}
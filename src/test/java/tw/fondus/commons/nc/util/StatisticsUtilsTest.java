@@ -0,0 +1,71 @@
+package tw.fondus.commons.nc.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import tw.fondus.commons.nc.util.key.VariableAttribute;
+import tw.fondus.commons.nc.vo.grid.TimeStepGrid;
+import tw.fondus.commons.nc.vo.statistics.GridStatistics;
+import tw.fondus.commons.nc.vo.statistics.Statistics;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * The unit test of grid statistics tools.
+ *
+ * @author Brad Chen
+ *
+ */
+public class StatisticsUtilsTest {
+	private static final float MISSING = VariableAttribute.MISSING.floatValue();
+
+	@Test
+	public void testCompute() {
+		float[] values = { 1F, MISSING, 3F, Float.NaN, 5F };
+		Statistics statistics = StatisticsUtils.compute( values );
+		Assertions.assertEquals( 3, statistics.getCount() );
+		Assertions.assertEquals( 9D, statistics.getSum() );
+		Assertions.assertEquals( 1F, statistics.getMin() );
+		Assertions.assertEquals( 5F, statistics.getMax() );
+		Assertions.assertEquals( 3D, statistics.getMean() );
+
+		Statistics masked = StatisticsUtils.compute( values, new boolean[]{ false, true, true, true, false } );
+		Assertions.assertEquals( 1, masked.getCount() );
+		Assertions.assertEquals( 3F, masked.getMax() );
+
+		Statistics empty = StatisticsUtils.compute( new float[]{ MISSING } );
+		Assertions.assertEquals( 0, empty.getCount() );
+		Assertions.assertTrue( Double.isNaN( empty.getMean() ) );
+	}
+
+	@Test
+	public void testComputeCells() {
+		GridStatistics statistics = StatisticsUtils.computeCells( IntStream.range( 0, 100 ).parallel()
+				.mapToObj( t -> new TimeStepGrid( t, 1, 2, new float[]{ t, t % 2 == 0 ? MISSING : 1F } ) ), 1, 2 );
+		Assertions.assertEquals( 100, statistics.getSteps() );
+		Assertions.assertArrayEquals( new int[]{ 100, 50 }, statistics.getCounts() );
+		Assertions.assertEquals( 4950D, statistics.getSums()[ 0 ] );
+		Assertions.assertEquals( 50D, statistics.getSums()[ 1 ] );
+		Assertions.assertEquals( 0F, statistics.getStatistics( 0, 0 ).getMin() );
+		Assertions.assertEquals( 99F, statistics.getStatistics( 0, 0 ).getMax() );
+		Assertions.assertEquals( 1D, statistics.getMeans()[ 1 ] );
+	}
+
+	@Test
+	public void testComputeCellsRowBlocks() {
+		// The grid is larger than one row block, so each step is accumulated by the blocks in parallel
+		int ySize = 300;
+		int xSize = 200;
+		GridStatistics statistics = StatisticsUtils.computeCells( IntStream.range( 0, 3 ).parallel().mapToObj( t -> {
+			float[] values = new float[ ySize * xSize ];
+			Arrays.fill( values, t );
+			return new TimeStepGrid( t, ySize, xSize, values );
+		} ), ySize, xSize );
+		Assertions.assertEquals( 3, statistics.getSteps() );
+		for ( int i = 0; i < ySize * xSize; i++ ) {
+			Assertions.assertEquals( 3, statistics.getCounts()[ i ] );
+			Assertions.assertEquals( 3D, statistics.getSums()[ i ] );
+		}
+		Assertions.assertEquals( 2F, statistics.getStatistics( ySize - 1, xSize - 1 ).getMax() );
+	}
+}
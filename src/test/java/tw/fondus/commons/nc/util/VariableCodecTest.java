@@ -0,0 +1,101 @@
+package tw.fondus.commons.nc.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import tw.fondus.commons.nc.util.key.VariableAttribute;
+
+import java.math.BigDecimal;
+
+/**
+ * The unit test of variable packing codec compare with NetCDF tools.
+ *
+ * @author Brad Chen
+ *
+ */
+public class VariableCodecTest {
+	private static final float MISSING = VariableAttribute.MISSING.floatValue();
+
+	@Test
+	public void testUnpack() {
+		VariableCodec codec = VariableCodec.of( 0.1F, 5F, -99F );
+		Assertions.assertFalse( codec.isIdentity() );
+		short[] packed = { 0, 10, -99, 1234 };
+		float[] values = new float[ packed.length ];
+		codec.unpack( packed, values );
+		for ( int i = 0; i < packed.length; i++ ) {
+			Assertions.assertEquals( NetCDFUtils.originalValue( packed[ i ], 0.1F, 5F, -99F ), values[ i ] );
+			Assertions.assertEquals( values[ i ], codec.unpack( (float) packed[ i ] ) );
+		}
+		Assertions.assertEquals( MISSING, values[ 2 ] );
+	}
+
+	@Test
+	public void testUnpackUnsigned() {
+		// The unsigned short fill is matched both as 65535 and as the storage bits -1
+		short[] packed = { 0, 1000, (short) 40000, (short) 65535 };
+		float[] values = new float[ packed.length ];
+		for ( VariableCodec codec : new VariableCodec[]{ VariableCodec.of( 0.5F, 1F, 65535F ), VariableCodec.of( 0.5F, 1F, -1F ) } ) {
+			codec.unpackUnsigned( packed, values );
+			Assertions.assertArrayEquals( new float[]{ 1F, 501F, 20001F, MISSING }, values );
+		}
+
+		// The signed short is not matched with the fill out of range
+		VariableCodec.of( 0.5F, 1F, 65535F ).unpack( packed, values );
+		Assertions.assertEquals( 0.5F, values[ 3 ] );
+
+		int[] packedInts = { 7, -1 };
+		float[] intValues = new float[ packedInts.length ];
+		VariableCodec.of( BigDecimal.ONE, BigDecimal.ZERO, new BigDecimal( "4294967295" ) ).unpackUnsigned( packedInts, intValues );
+		Assertions.assertArrayEquals( new float[]{ 7F, MISSING }, intValues );
+	}
+
+	@Test
+	public void testMissingPrecision() {
+		// The int storage is compared with the integer fill, not the fill narrowed to float
+		int[] packed = { 16777217, 16777216 };
+		float[] values = new float[ packed.length ];
+		VariableCodec.of( BigDecimal.ONE, BigDecimal.ONE, new BigDecimal( "16777217" ) ).unpack( packed, values );
+		Assertions.assertEquals( MISSING, values[ 0 ] );
+		Assertions.assertNotEquals( MISSING, values[ 1 ] );
+
+		// The double value is compared with the fill without narrowed to float
+		VariableCodec codec = VariableCodec.of( BigDecimal.ONE, BigDecimal.ONE, new BigDecimal( "0.1" ) );
+		Assertions.assertEquals( VariableAttribute.MISSING.doubleValue(), codec.unpack( 0.1D ) );
+		Assertions.assertNotEquals( VariableAttribute.MISSING.doubleValue(), codec.unpack( (double) 0.1F ) );
+	}
+
+	@Test
+	public void testIdentity() {
+		float[] packed = { 1.5F, MISSING, -3F };
+		float[] values = new float[ packed.length ];
+		VariableCodec.DEFAULT.unpack( packed, values );
+		Assertions.assertTrue( VariableCodec.DEFAULT.isIdentity() );
+		Assertions.assertArrayEquals( packed, values );
+
+		VariableCodec codec = VariableCodec.of( BigDecimal.ONE, BigDecimal.ZERO, new BigDecimal( "-3" ) );
+		codec.unpack( packed, values );
+		Assertions.assertArrayEquals( new float[]{ 1.5F, MISSING, MISSING }, values );
+	}
+
+	@Test
+	public void testPack() {
+		VariableCodec codec = VariableCodec.of( 0.5F, 10F, -99F );
+		float[] values = { 10F, 12.5F, MISSING };
+		float[] packed = new float[ values.length ];
+		codec.pack( values, packed );
+		Assertions.assertArrayEquals( new float[]{ 0F, 5F, -99F }, packed );
+		for ( int i = 0; i < values.length; i++ ) {
+			Assertions.assertEquals( packed[ i ], codec.pack( values[ i ] ) );
+			Assertions.assertEquals( values[ i ], codec.unpack( packed[ i ] ) );
+		}
+	
+		// The missing value which can't be stored is rejected instead of wrapped
+		short[] shorts = new short[ values.length ];
+		codec.pack( values, shorts );
+		Assertions.assertEquals( -99, shorts[ 2 ] );
+		Assertions.assertThrows( IllegalArgumentException.class, () -> VariableCodec.of( 0.5F, 10F, 40000F ).pack( values, shorts ) );
+		Assertions.assertThrows( IllegalArgumentException.class, () -> VariableCodec.of( 0.5F, 10F, Float.NaN ).pack( values, shorts ) );
+		Assertions.assertThrows( IllegalArgumentException.class,
+				() -> VariableCodec.of( 0.5F, 10F, 3e9F ).pack( values, new int[ values.length ] ) );
+	}
+}
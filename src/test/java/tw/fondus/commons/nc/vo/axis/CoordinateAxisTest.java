@@ -0,0 +1,55 @@
+package tw.fondus.commons.nc.vo.axis;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import tw.fondus.commons.nc.vo.index.IndexRange;
+
+import java.util.Optional;
+
+/**
+ * The unit test of coordinate axis lookup.
+ *
+ * @author Brad Chen
+ *
+ */
+public class CoordinateAxisTest {
+
+	@Test
+	public void testRegular() {
+		double[] values = new double[ 441 ];
+		for ( int i = 0; i < values.length; i++ ) {
+			values[ i ] = (float) ( 118.00625 + i * 0.0125 );
+		}
+		CoordinateAxis axis = new CoordinateAxis( values );
+		Assertions.assertTrue( axis.isRegular() );
+		Assertions.assertEquals( 0, axis.nearestIndex( 118.0 ) );
+		Assertions.assertEquals( 160, axis.nearestIndex( 120.008 ) );
+		Assertions.assertEquals( 440, axis.nearestIndex( 123.51 ) );
+		Assertions.assertEquals( -1, axis.nearestIndex( 117.99 ) );
+		Assertions.assertEquals( -1, axis.nearestIndex( 123.52 ) );
+
+		Assertions.assertEquals( Optional.of( new IndexRange( 160, 199 ) ), axis.rangeIndex( 120.0, 120.5 ) );
+		Assertions.assertEquals( Optional.of( new IndexRange( 0, 440 ) ), axis.rangeIndex( 100, 130 ) );
+		Assertions.assertFalse( axis.rangeIndex( 130, 131 ).isPresent() );
+	}
+
+	@Test
+	public void testIrregularAndDescending() {
+		CoordinateAxis irregular = new CoordinateAxis( new double[]{ 0, 1, 3, 7, 15 } );
+		Assertions.assertFalse( irregular.isRegular() );
+		Assertions.assertEquals( 2, irregular.nearestIndex( 4 ) );
+		Assertions.assertEquals( 3, irregular.nearestIndex( 6 ) );
+		Assertions.assertEquals( 4, irregular.nearestIndex( 18 ) );
+		Assertions.assertEquals( -1, irregular.nearestIndex( 20 ) );
+		Assertions.assertEquals( Optional.of( new IndexRange( 2, 3 ) ), irregular.rangeIndex( 2, 10 ) );
+
+		CoordinateAxis descending = new CoordinateAxis( new double[]{ 40, 30, 20, 10 } );
+		Assertions.assertTrue( descending.isDescending() && descending.isRegular() );
+		Assertions.assertEquals( 1, descending.nearestIndex( 32 ) );
+		Assertions.assertEquals( Optional.of( new IndexRange( 1, 2 ) ), descending.rangeIndex( 15, 35 ) );
+
+		CoordinateAxis stations = new CoordinateAxis( new double[]{ 22.5, 25.1, 23.9 } );
+		Assertions.assertFalse( stations.isMonotonic() );
+		Assertions.assertEquals( 2, stations.nearestIndex( 24 ) );
+	}
+}
@@ -0,0 +1,68 @@
+package tw.fondus.commons.nc.vo.axis;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import tw.fondus.commons.nc.util.TimeFactor;
+import tw.fondus.commons.nc.vo.index.IndexRange;
+
+import java.util.Optional;
+
+/**
+ * The unit test of time axis lookup.
+ *
+ * @author Brad Chen
+ *
+ */
+public class TimeAxisTest {
+	private final TimeAxis axis = new TimeAxis( new long[]{ 0, 10, 20, 30, 40 } );
+
+	@Test
+	public void testLookup() {
+		Assertions.assertTrue( this.axis.isAscending() );
+		Assertions.assertEquals( 2, this.axis.indexOfTime( 20 ) );
+		Assertions.assertEquals( -1, this.axis.indexOfTime( 25 ) );
+
+		Assertions.assertEquals( 2, this.axis.floorIndex( 25 ) );
+		Assertions.assertEquals( 2, this.axis.floorIndex( 20 ) );
+		Assertions.assertEquals( -1, this.axis.floorIndex( -1 ) );
+		Assertions.assertEquals( 4, this.axis.floorIndex( 100 ) );
+
+		Assertions.assertEquals( 3, this.axis.ceilingIndex( 25 ) );
+		Assertions.assertEquals( 0, this.axis.ceilingIndex( -1 ) );
+		Assertions.assertEquals( -1, this.axis.ceilingIndex( 41 ) );
+	}
+
+	@Test
+	public void testRange() {
+		Assertions.assertEquals( Optional.of( new IndexRange( 1, 3 ) ), this.axis.rangeIndices( 5, 35 ) );
+		Assertions.assertEquals( Optional.of( new IndexRange( 0, 4 ) ), this.axis.rangeIndices( 0, 40 ) );
+		Assertions.assertEquals( 3, this.axis.rangeIndices( 10, 30 ).map( IndexRange::getSize ).orElse( 0 ).intValue() );
+		Assertions.assertFalse( this.axis.rangeIndices( 11, 19 ).isPresent() );
+		Assertions.assertFalse( this.axis.rangeIndices( 50, 60 ).isPresent() );
+	}
+
+	@Test
+	public void testScaleAndUnsorted() {
+		TimeAxis scaled = this.axis.scale( TimeFactor.MINUTE );
+		Assertions.assertEquals( 3, scaled.indexOfTime( 30 * TimeFactor.MINUTE ) );
+		Assertions.assertEquals( 5, scaled.toList().size() );
+
+		TimeAxis unsorted = new TimeAxis( new long[]{ 30, 10, 20 } );
+		Assertions.assertFalse( unsorted.isAscending() );
+		Assertions.assertEquals( 1, unsorted.indexOfTime( 10 ) );
+		Assertions.assertEquals( 2, unsorted.floorIndex( 25 ) );
+		Assertions.assertEquals( 0, unsorted.ceilingIndex( 25 ) );
+		Assertions.assertFalse( unsorted.rangeIndices( 10, 20 ).isPresent() );
+	}
+
+	@Test
+	public void testDuplicates() {
+		TimeAxis duplicates = new TimeAxis( new long[]{ 0, 10, 10, 10, 20, 20, 30 } );
+		Assertions.assertTrue( duplicates.isAscending() );
+		Assertions.assertEquals( 1, duplicates.indexOfTime( 10 ) );
+		Assertions.assertEquals( 3, duplicates.floorIndex( 10 ) );
+		Assertions.assertEquals( 1, duplicates.ceilingIndex( 10 ) );
+		Assertions.assertEquals( Optional.of( new IndexRange( 1, 5 ) ), duplicates.rangeIndices( 10, 20 ) );
+		Assertions.assertEquals( Optional.of( new IndexRange( 4, 5 ) ), duplicates.rangeIndices( 15, 25 ) );
+	}
+}
@@ -0,0 +1,75 @@
+package tw.fondus.commons.nc.zonal;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import tw.fondus.commons.nc.util.key.VariableAttribute;
+import tw.fondus.commons.nc.vo.axis.CoordinateAxis;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The unit test of polygon and cell-weight index.
+ *
+ * @author Brad Chen
+ *
+ */
+public class CellWeightIndexTest {
+	// The cells are centered at 0.5, 1.5, ..., 9.5, the y axis is descending as the most grids
+	private static final CoordinateAxis X_AXIS = new CoordinateAxis( new double[]{ 0.5, 1.5, 2.5, 3.5, 4.5, 5.5, 6.5, 7.5, 8.5, 9.5 } );
+	private static final CoordinateAxis Y_AXIS = new CoordinateAxis( new double[]{ 9.5, 8.5, 7.5, 6.5, 5.5, 4.5, 3.5, 2.5, 1.5, 0.5 } );
+
+	@Test
+	public void testPolygon() {
+		Polygon polygon = Polygon.parse( "POLYGON ((0 0, 4 0, 4 4, 0 4, 0 0), (1 1, 3 1, 3 3, 1 3, 1 1))" );
+		Assertions.assertEquals( 2, polygon.getRings() );
+		Assertions.assertTrue( polygon.contains( 0.5, 0.5 ) );
+		Assertions.assertFalse( polygon.contains( 2, 2 ) );
+		Assertions.assertFalse( polygon.contains( 5, 5 ) );
+
+		Polygon multi = Polygon.parse( "MULTIPOLYGON (((0 0, 1 0, 1 1, 0 1, 0 0)), ((5 5, 6 5, 6 6, 5 6, 5 5)))" );
+		Assertions.assertTrue( multi.contains( 5.5, 5.5 ) );
+		Assertions.assertThrows( IllegalArgumentException.class, () -> Polygon.parse( "POINT (1 1)" ) );
+	}
+
+	@Test
+	public void testIndex() throws IOException {
+		Map<String, Polygon> zones = new LinkedHashMap<>();
+		zones.put( "square", Polygon.of( new double[]{ 0, 2, 2, 0 }, new double[]{ 0, 0, 2, 2 } ) );
+		zones.put( "half", Polygon.of( new double[]{ 5, 5.5, 5.5, 5 }, new double[]{ 5, 5, 6, 6 } ) );
+		zones.put( "outside", Polygon.of( new double[]{ 20, 21, 21 }, new double[]{ 20, 20, 21 } ) );
+		CellWeightIndex index = CellWeightIndex.build( Y_AXIS, X_AXIS, zones );
+
+		Assertions.assertEquals( 4, index.getCells( 0 ).length );
+		for ( float weight : index.getWeights( 0 ) ) {
+			Assertions.assertEquals( 1F, weight );
+		}
+		Assertions.assertArrayEquals( new int[]{ 4 * 10 + 5 }, index.getCells( 1 ) );
+		Assertions.assertEquals( 0.5F, index.getWeights( 1 )[ 0 ] );
+		Assertions.assertEquals( 0, index.getCells( 2 ).length );
+
+		float[] values = new float[ 100 ];
+		for ( int i = 0; i < values.length; i++ ) {
+			values[ i ] = i;
+		}
+		values[ 8 * 10 ] = VariableAttribute.MISSING.floatValue();
+		double[] means = index.means( values );
+		Assertions.assertEquals( ( 81 + 90 + 91 ) / 3D, means[ 0 ], 1e-9 );
+		Assertions.assertEquals( 45D, means[ 1 ], 1e-9 );
+		Assertions.assertTrue( Double.isNaN( means[ 2 ] ) );
+
+		Path path = Paths.get( "src/test/resources/cell_weight.idx" );
+		index.save( path );
+		CellWeightIndex loaded = CellWeightIndex.load( path );
+		Files.deleteIfExists( path );
+		Assertions.assertEquals( index.getZoneIds(), loaded.getZoneIds() );
+		Assertions.assertArrayEquals( index.getCells( 0 ), loaded.getCells( 0 ) );
+		Assertions.assertArrayEquals( index.means( values ), loaded.means( values ) );
+		Assertions.assertTrue( loaded.isSameGrid( Y_AXIS, X_AXIS ) );
+		Assertions.assertFalse( loaded.isSameGrid( X_AXIS, X_AXIS ) );
+	}
+}